@@ -57,11 +57,17 @@ android {
         compose = true
         buildConfig = true
     }
+    testOptions {
+        // Lets Robolectric load the merged manifest instead of falling back to a bare one
+        unitTests.isIncludeAndroidResources = true
+    }
 }
 
 dependencies {
     implementation(libs.androidx.core.ktx)
     implementation(libs.androidx.lifecycle.runtime.ktx)
+    implementation(libs.androidx.lifecycle.viewmodel)
+    implementation(libs.androidx.lifecycle.livedata)
     implementation(libs.androidx.activity.compose)
     implementation(platform(libs.androidx.compose.bom))
     implementation(libs.androidx.compose.ui)
@@ -75,6 +81,9 @@ dependencies {
     implementation(libs.androidx.constraintlayout)
     implementation(libs.material)
     testImplementation(libs.junit)
+    // SQLite and the other framework classes the data layer needs, on the JVM
+    testImplementation(libs.robolectric)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.androidx.junit)
     androidTestImplementation(libs.androidx.espresso.core)
     androidTestImplementation(platform(libs.androidx.compose.bom))
@@ -86,6 +95,6 @@ dependencies {
     implementation(libs.retrofit)
     implementation(libs.converter.gson)
 
-    // OkHttp for logging
-    implementation(libs.okhttp.logging.interceptor)
+    // OkHttp 4, for the cache, event listener and interceptor APIs used by ApiClient
+    implementation(libs.okhttp)
 }
\ No newline at end of file
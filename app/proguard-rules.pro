@@ -18,4 +18,24 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# Gson: generic signatures are needed for List<T> and DeltaResponse<T> bodies, and
+# @SerializedName/@JsonAdapter must survive for the models read reflectively.
+-keepattributes Signature, *Annotation*, InnerClasses, EnclosingMethod
+
+# Models without an adapter in network.json.ModelAdapters are read and written by
+# reflection, which needs their field names and no-arg constructors.
+-keepclassmembers class com.example.soilifymobileapp.models.** {
+    <fields>;
+    <init>();
+}
+
+# Instantiated by Gson through @JsonAdapter
+-keep class * extends com.google.gson.TypeAdapter
+-keep class * implements com.google.gson.TypeAdapterFactory
+
+# Retrofit service interfaces are only reached through proxies
+-keep,allowobfuscation interface com.example.soilifymobileapp.network.*Api
+-keepclassmembers,allowshrinking,allowobfuscation interface * {
+    @retrofit2.http.* <methods>;
+}
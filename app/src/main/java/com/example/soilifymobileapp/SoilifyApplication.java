@@ -0,0 +1,18 @@
+package com.example.soilifymobileapp;
+
+import android.app.Application;
+
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.sync.SyncManager;
+
+public class SoilifyApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Before any client is built, so every one of them shares the HTTP cache
+        ApiClient.init(this);
+        // Deliver any mutations journaled before the process was last killed
+        SyncManager.getInstance(this).start();
+    }
+}
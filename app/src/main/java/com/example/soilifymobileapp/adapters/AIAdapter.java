@@ -6,19 +6,32 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.soilifymobileapp.R;
 import com.example.soilifymobileapp.models.AIConversation;
-import java.util.List;
 
-public class AIAdapter extends RecyclerView.Adapter<AIAdapter.ViewHolder> {
+public class AIAdapter extends ListAdapter<AIConversation, AIAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<AIConversation> DIFF_CALLBACK = new DiffUtil.ItemCallback<AIConversation>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull AIConversation oldItem, @NonNull AIConversation newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull AIConversation oldItem, @NonNull AIConversation newItem) {
+            return oldItem.getMessage().equals(newItem.getMessage());
+        }
+    };
 
     private final Context context;
-    private final List<AIConversation> AIConversations;
 
-    public AIAdapter(Context context, List<AIConversation> AIConversations) {
+    public AIAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.AIConversations = AIConversations;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -30,14 +43,14 @@ public class AIAdapter extends RecyclerView.Adapter<AIAdapter.ViewHolder> {
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        AIConversation AIConversation = AIConversations.get(position);
+        AIConversation AIConversation = getItem(position);
         holder.tvTitle.setText(AIConversation.getSender());
         holder.tvDescription.setText(AIConversation.getMessage());
     }
 
     @Override
-    public int getItemCount() {
-        return AIConversations.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
@@ -6,19 +6,36 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.soilifymobileapp.R;
 import com.example.soilifymobileapp.models.Alert;
-import java.util.List;
 
-public class AlertsAdapter extends RecyclerView.Adapter<AlertsAdapter.ViewHolder> {
+public class AlertsAdapter extends ListAdapter<Alert, AlertsAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Alert> DIFF_CALLBACK = new DiffUtil.ItemCallback<Alert>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Alert oldItem, @NonNull Alert newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Alert oldItem, @NonNull Alert newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
 
     private final Context context;
-    private final List<Alert> alertList;
 
-    public AlertsAdapter(Context context, List<Alert> alertList) {
+    /**
+     * Rows are supplied with {@link #submitList}, which diffs against the current list on a
+     * background thread. Pass a new list each time.
+     */
+    public AlertsAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.alertList = alertList;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -30,14 +47,14 @@ public class AlertsAdapter extends RecyclerView.Adapter<AlertsAdapter.ViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Alert alert = alertList.get(position);
+        Alert alert = getItem(position);
         holder.tvTitle.setText(alert.getTitle());
         holder.tvDescription.setText(alert.getDescription());
     }
 
     @Override
-    public int getItemCount() {
-        return alertList.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
@@ -8,6 +8,8 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
@@ -15,9 +17,20 @@ import com.example.soilifymobileapp.models.Field;
 
 import java.util.List;
 
-public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewHolder> {
+public class FieldsAdapter extends ListAdapter<Field, FieldsAdapter.FieldViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Field> DIFF_CALLBACK = new DiffUtil.ItemCallback<Field>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Field oldItem, @NonNull Field newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Field oldItem, @NonNull Field newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
 
-    private List<Field> fieldList;
     private Context context;
     private OnFieldListener onFieldListener;
 
@@ -26,10 +39,11 @@ public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewH
         void onDeleteClick(Field field);
     }
 
-    public FieldsAdapter(Context context, List<Field> fieldList, OnFieldListener onFieldListener) {
+    public FieldsAdapter(Context context, OnFieldListener onFieldListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.fieldList = fieldList;
         this.onFieldListener = onFieldListener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -41,7 +55,7 @@ public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewH
 
     @Override
     public void onBindViewHolder(@NonNull FieldViewHolder holder, int position) {
-        Field field = fieldList.get(position);
+        Field field = getItem(position);
         holder.textViewFieldName.setText(field.getFieldName());
         holder.textViewSoilType.setText("Soil Type: " + field.getSoilType());
         holder.textViewCropType.setText("Crop Type: " + field.getCropType());
@@ -52,13 +66,15 @@ public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewH
     }
 
     @Override
-    public int getItemCount() {
-        return fieldList.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
+    /**
+     * Diff against the current list on a background thread; pass a new list each time.
+     */
     public void setFields(List<Field> fields) {
-        this.fieldList = fields;
-        notifyDataSetChanged();
+        submitList(fields);
     }
 
     public static class FieldViewHolder extends RecyclerView.ViewHolder {
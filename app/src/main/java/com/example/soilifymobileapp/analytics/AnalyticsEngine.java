@@ -0,0 +1,422 @@
+package com.example.soilifymobileapp.analytics;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FertilizerSummary;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherSummary;
+import com.example.soilifymobileapp.models.WeatherTrend;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Computes the analytics screens' figures from locally cached weather and fertiliser rows.
+ *
+ * Every row is folded into running aggregates (count, sum, min and max) per farm, field,
+ * fertiliser type and UTC day as it arrives. An edited row is subtracted with its old values
+ * and added with the new ones, and a deleted row is subtracted, so keeping the figures current
+ * costs O(log n) per changed row and a query only reads the aggregates. Fields and alerts are
+ * small and are passed in at query time.
+ *
+ * Free of Android dependencies so it can be exercised on the JVM. All methods are thread-safe.
+ */
+public class AnalyticsEngine {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    private static final int RECENT_ALERT_DAYS = 7;
+
+    private final Map<Integer, WeatherDataRead> weatherRows = new HashMap<>();
+    private final Map<Integer, FertiliserUsageRead> fertiliserRows = new HashMap<>();
+
+    private final WeatherStats weatherTotals = new WeatherStats(true);
+    private final Map<Integer, WeatherStats> weatherByField = new HashMap<>();
+    private final TreeMap<String, WeatherStats> weatherByDay = new TreeMap<>();
+    private final Map<Integer, TreeMap<String, WeatherStats>> weatherByFieldAndDay = new HashMap<>();
+    private final SortedCounts<Long> weatherTimes = new SortedCounts<>();
+
+    private final FertiliserStats fertiliserTotals = new FertiliserStats();
+    private final Map<String, FertiliserStats> fertiliserByType = new HashMap<>();
+    private final Map<Integer, FertiliserStats> fertiliserByField = new HashMap<>();
+
+    private final SimpleDateFormat dayFormat = utcFormat("yyyy-MM-dd");
+    private final SimpleDateFormat timestampFormat = utcFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    public synchronized void upsertWeather(Collection<WeatherDataRead> rows) {
+        for (WeatherDataRead row : rows) {
+            if (row.getId() == null) {
+                continue;
+            }
+            WeatherDataRead old = weatherRows.put(row.getId(), row);
+            if (old != null) {
+                applyWeather(old, -1);
+            }
+            applyWeather(row, 1);
+        }
+    }
+
+    public synchronized void deleteWeather(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            WeatherDataRead old = weatherRows.remove(id);
+            if (old != null) {
+                applyWeather(old, -1);
+            }
+        }
+    }
+
+    public synchronized void retainWeather(Set<Integer> ids) {
+        Iterator<WeatherDataRead> iterator = weatherRows.values().iterator();
+        while (iterator.hasNext()) {
+            WeatherDataRead row = iterator.next();
+            if (!ids.contains(row.getId())) {
+                iterator.remove();
+                applyWeather(row, -1);
+            }
+        }
+    }
+
+    public synchronized void upsertFertiliser(Collection<FertiliserUsageRead> rows) {
+        for (FertiliserUsageRead row : rows) {
+            FertiliserUsageRead old = fertiliserRows.put(row.getId(), row);
+            if (old != null) {
+                applyFertiliser(old, -1);
+            }
+            applyFertiliser(row, 1);
+        }
+    }
+
+    public synchronized void deleteFertiliser(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            FertiliserUsageRead old = fertiliserRows.remove(id);
+            if (old != null) {
+                applyFertiliser(old, -1);
+            }
+        }
+    }
+
+    public synchronized void retainFertiliser(Set<Integer> ids) {
+        Iterator<FertiliserUsageRead> iterator = fertiliserRows.values().iterator();
+        while (iterator.hasNext()) {
+            FertiliserUsageRead row = iterator.next();
+            if (!ids.contains(row.getId())) {
+                iterator.remove();
+                applyFertiliser(row, -1);
+            }
+        }
+    }
+
+    /**
+     * @return whether any weather or fertiliser rows have been loaded
+     */
+    public synchronized boolean hasData() {
+        return !weatherRows.isEmpty() || !fertiliserRows.isEmpty();
+    }
+
+    /**
+     * Equivalent of {@code GET api/analytics/overview}.
+     */
+    public synchronized FarmOverview overview(List<FieldRead> fields, List<AlertRead> alerts, long now) {
+        FarmOverview overview = new FarmOverview();
+        float area = 0;
+        for (FieldRead field : fields) {
+            area += field.getSizeHectares();
+        }
+        overview.setTotalFields(fields.size());
+        overview.setTotalAreaHectares(area);
+
+        FertilizerSummary fertilizer = new FertilizerSummary();
+        fertilizer.setTotalApplications(fertiliserTotals.amount.count());
+        fertilizer.setTotalAmountKg(fertiliserTotals.amount.sum());
+        Float averageAmount = fertiliserTotals.amount.average();
+        fertilizer.setAverageAmountPerApplication(averageAmount != null ? averageAmount : 0);
+        fertilizer.setMostUsedFertilizer(mostUsedFertiliser());
+        fertilizer.setFieldsFertilized(fertiliserByField.size());
+        overview.setFertilizerSummary(fertilizer);
+
+        WeatherSummary weather = new WeatherSummary();
+        weather.setTotalRecords(weatherTotals.records);
+        weather.setAverageTemperature(weatherTotals.temperature.average());
+        weather.setAverageRainfall(weatherTotals.rainfall.average());
+        weather.setAverageSoilMoisture(weatherTotals.soilMoisture.average());
+        weather.setMaxTemperature(weatherTotals.temperature.max());
+        weather.setMinTemperature(weatherTotals.temperature.min());
+        weather.setMaxRainfall(weatherTotals.rainfall.max());
+        weather.setFieldsMonitored(weatherByField.size());
+        overview.setWeatherSummary(weather);
+
+        overview.setTotalAlerts(alerts.size());
+        overview.setAlertsThisWeek(countSince(alerts, null, now - RECENT_ALERT_DAYS * DAY_MS));
+        overview.setAlertsToday(countSince(alerts, null, startOfDay(now)));
+        overview.setLastAlert(latestAlert(alerts, null));
+
+        overview.setLastFertilizerApplication(fertiliserTotals.dates.last());
+        Long lastWeather = weatherTimes.last();
+        overview.setLastWeatherRecord(lastWeather != null ? timestampFormat.format(new Date(lastWeather)) : null);
+        return overview;
+    }
+
+    /**
+     * Equivalent of {@code GET api/analytics/fertilizer/by-type}, largest total first.
+     */
+    public synchronized List<FertilizerByType> fertilizerByType() {
+        float total = fertiliserTotals.amount.sum();
+        List<FertilizerByType> result = new ArrayList<>(fertiliserByType.size());
+        for (Map.Entry<String, FertiliserStats> entry : fertiliserByType.entrySet()) {
+            RunningStats amount = entry.getValue().amount;
+            FertilizerByType byType = new FertilizerByType();
+            byType.setFertiliserType(entry.getKey());
+            byType.setTotalAmountKg(amount.sum());
+            byType.setApplicationCount(amount.count());
+            byType.setPercentageOfTotal(total > 0 ? amount.sum() * 100 / total : 0);
+            result.add(byType);
+        }
+        result.sort((a, b) -> Float.compare(b.getTotalAmountKg(), a.getTotalAmountKg()));
+        return result;
+    }
+
+    /**
+     * Equivalent of {@code GET api/analytics/weather/trends}: daily averages for the last
+     * {@code days} UTC days, oldest first, for one field or (with a null id) the whole farm.
+     */
+    public synchronized List<WeatherTrend> weatherTrends(int days, Integer fieldId, long now) {
+        TreeMap<String, WeatherStats> byDay = fieldId == null ? weatherByDay : weatherByFieldAndDay.get(fieldId);
+        List<WeatherTrend> result = new ArrayList<>();
+        if (byDay == null || days <= 0) {
+            return result;
+        }
+        String from = dayFormat.format(new Date(now - (days - 1) * DAY_MS));
+        String to = dayFormat.format(new Date(now));
+        for (Map.Entry<String, WeatherStats> entry : byDay.subMap(from, true, to, true).entrySet()) {
+            WeatherStats stats = entry.getValue();
+            WeatherTrend trend = new WeatherTrend();
+            trend.setDate(entry.getKey());
+            trend.setAverageTemperature(orZero(stats.temperature.average()));
+            trend.setAverageRainfall(orZero(stats.rainfall.average()));
+            trend.setAverageSoilMoisture(orZero(stats.soilMoisture.average()));
+            result.add(trend);
+        }
+        return result;
+    }
+
+    /**
+     * Equivalent of {@code GET api/analytics/field/{field_id}}.
+     */
+    public synchronized FieldAnalytics fieldAnalytics(FieldRead field, List<AlertRead> alerts, long now) {
+        FieldAnalytics analytics = new FieldAnalytics();
+        analytics.setFieldId(field.getId());
+        analytics.setFieldName(field.getFieldName());
+        analytics.setSoilType(field.getSoilType());
+        analytics.setCropType(field.getCropType());
+        analytics.setSizeHectares(field.getSizeHectares());
+
+        FertiliserStats fertiliser = fertiliserByField.get(field.getId());
+        if (fertiliser != null) {
+            analytics.setTotalFertilizerKg(fertiliser.amount.sum());
+            analytics.setFertilizerApplications(fertiliser.amount.count());
+            analytics.setLastFertilizerDate(fertiliser.dates.last());
+        }
+
+        WeatherStats weather = weatherByField.get(field.getId());
+        if (weather != null) {
+            analytics.setWeatherRecords(weather.records);
+            analytics.setAvgTemperature(orZero(weather.temperature.average()));
+            analytics.setAvgRainfall(orZero(weather.rainfall.average()));
+            analytics.setAvgSoilMoisture(orZero(weather.soilMoisture.average()));
+        }
+
+        analytics.setTotalAlerts(countSince(alerts, field.getId(), Long.MIN_VALUE));
+        analytics.setRecentAlerts(countSince(alerts, field.getId(), now - RECENT_ALERT_DAYS * DAY_MS));
+        return analytics;
+    }
+
+    private void applyWeather(WeatherDataRead row, int sign) {
+        weatherTotals.apply(row, sign);
+        Integer fieldId = row.getFieldId();
+        if (fieldId != null) {
+            applyToBucket(weatherByField, fieldId, () -> new WeatherStats(false), row, sign);
+        }
+        if (row.getCreatedAt() == null) {
+            return;
+        }
+        long time = row.getCreatedAt().getTime();
+        if (sign > 0) {
+            weatherTimes.add(time);
+        } else {
+            weatherTimes.remove(time);
+        }
+        String day = dayFormat.format(row.getCreatedAt());
+        applyToBucket(weatherByDay, day, () -> new WeatherStats(false), row, sign);
+        if (fieldId != null) {
+            TreeMap<String, WeatherStats> byDay = weatherByFieldAndDay.get(fieldId);
+            if (byDay == null) {
+                byDay = new TreeMap<>();
+                weatherByFieldAndDay.put(fieldId, byDay);
+            }
+            applyToBucket(byDay, day, () -> new WeatherStats(false), row, sign);
+            if (byDay.isEmpty()) {
+                weatherByFieldAndDay.remove(fieldId);
+            }
+        }
+    }
+
+    private void applyFertiliser(FertiliserUsageRead row, int sign) {
+        fertiliserTotals.apply(row, sign);
+        applyToBucket(fertiliserByField, row.getFieldId(), FertiliserStats::new, row, sign);
+        if (row.getFertiliserType() != null) {
+            applyToBucket(fertiliserByType, row.getFertiliserType(), FertiliserStats::new, row, sign);
+        }
+    }
+
+    /**
+     * Add a row to (or subtract it from) a keyed bucket, dropping the bucket once it is empty
+     * so counts such as "fields monitored" stay exact.
+     */
+    private static <K, R, B extends Bucket<R>> void applyToBucket(Map<K, B> buckets, K key, Supplier<B> factory,
+                                                                   R row, int sign) {
+        B bucket = buckets.get(key);
+        if (bucket == null) {
+            if (sign < 0) {
+                return;
+            }
+            bucket = factory.get();
+            buckets.put(key, bucket);
+        }
+        bucket.apply(row, sign);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * The type applied most often; ties go to the larger total amount.
+     */
+    private String mostUsedFertiliser() {
+        String best = null;
+        RunningStats bestAmount = null;
+        for (Map.Entry<String, FertiliserStats> entry : fertiliserByType.entrySet()) {
+            RunningStats amount = entry.getValue().amount;
+            if (bestAmount == null || amount.count() > bestAmount.count()
+                    || (amount.count() == bestAmount.count() && amount.sum() > bestAmount.sum())) {
+                best = entry.getKey();
+                bestAmount = amount;
+            }
+        }
+        return best;
+    }
+
+    private static int countSince(List<AlertRead> alerts, Integer fieldId, long since) {
+        int count = 0;
+        for (AlertRead alert : alerts) {
+            if (fieldId != null && !fieldId.equals(alert.getFieldId())) {
+                continue;
+            }
+            if (since == Long.MIN_VALUE || (alert.getCreatedAt() != null && alert.getCreatedAt().getTime() >= since)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String latestAlert(List<AlertRead> alerts, Integer fieldId) {
+        Date latest = null;
+        for (AlertRead alert : alerts) {
+            if ((fieldId == null || fieldId.equals(alert.getFieldId())) && alert.getCreatedAt() != null
+                    && (latest == null || alert.getCreatedAt().after(latest))) {
+                latest = alert.getCreatedAt();
+            }
+        }
+        return latest != null ? timestampFormat.format(latest) : null;
+    }
+
+    private static long startOfDay(long time) {
+        return time - Math.floorMod(time, DAY_MS);
+    }
+
+    private static float orZero(Float value) {
+        return value != null ? value : 0;
+    }
+
+    private static SimpleDateFormat utcFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    private interface Bucket<R> {
+        void apply(R row, int sign);
+
+        boolean isEmpty();
+    }
+
+    private static final class WeatherStats implements Bucket<WeatherDataRead> {
+        int records;
+        final RunningStats temperature;
+        final RunningStats rainfall;
+        final RunningStats soilMoisture;
+
+        WeatherStats(boolean trackExtremes) {
+            temperature = new RunningStats(trackExtremes);
+            rainfall = new RunningStats(trackExtremes);
+            soilMoisture = new RunningStats(false);
+        }
+
+        @Override
+        public void apply(WeatherDataRead row, int sign) {
+            records += sign;
+            if (sign > 0) {
+                temperature.add(row.getTemperature());
+                rainfall.add(row.getRainfall());
+                soilMoisture.add(row.getSoilMoisture());
+            } else {
+                temperature.remove(row.getTemperature());
+                rainfall.remove(row.getRainfall());
+                soilMoisture.remove(row.getSoilMoisture());
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return records == 0;
+        }
+    }
+
+    private static final class FertiliserStats implements Bucket<FertiliserUsageRead> {
+        final RunningStats amount = new RunningStats(false);
+        final SortedCounts<String> dates = new SortedCounts<>();
+
+        @Override
+        public void apply(FertiliserUsageRead row, int sign) {
+            if (sign > 0) {
+                amount.add(row.getAmountKg());
+                if (row.getDate() != null) {
+                    dates.add(row.getDate());
+                }
+            } else {
+                amount.remove(row.getAmountKg());
+                if (row.getDate() != null) {
+                    dates.remove(row.getDate());
+                }
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return amount.count() == 0;
+        }
+    }
+}
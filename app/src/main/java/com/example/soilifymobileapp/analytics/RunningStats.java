@@ -0,0 +1,64 @@
+package com.example.soilifymobileapp.analytics;
+
+/**
+ * Count and sum of a metric, kept up to date as values are added and removed, with optional
+ * min/max tracking. Null values are ignored, matching how the server averages nullable columns.
+ */
+final class RunningStats {
+
+    private int count;
+    private double sum;
+    private final SortedCounts<Float> extremes;
+
+    RunningStats(boolean trackExtremes) {
+        extremes = trackExtremes ? new SortedCounts<>() : null;
+    }
+
+    void add(Float value) {
+        if (value == null) {
+            return;
+        }
+        count++;
+        sum += value;
+        if (extremes != null) {
+            extremes.add(value);
+        }
+    }
+
+    void remove(Float value) {
+        if (value == null) {
+            return;
+        }
+        count--;
+        sum -= value;
+        if (extremes != null) {
+            extremes.remove(value);
+        }
+        if (count == 0) {
+            sum = 0; // Do not let rounding drift survive an empty bucket
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    float sum() {
+        return (float) sum;
+    }
+
+    /**
+     * @return the mean, or null if there are no values
+     */
+    Float average() {
+        return count == 0 ? null : (float) (sum / count);
+    }
+
+    Float min() {
+        return extremes != null ? extremes.first() : null;
+    }
+
+    Float max() {
+        return extremes != null ? extremes.last() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.soilifymobileapp.analytics;
+
+import java.util.TreeMap;
+
+/**
+ * A sorted multiset: values can be added and removed in any order while the smallest and
+ * largest stay available in O(log n), which a plain running min/max cannot offer once rows
+ * are deleted or edited.
+ */
+final class SortedCounts<K extends Comparable<K>> {
+
+    private final TreeMap<K, Integer> counts = new TreeMap<>();
+
+    void add(K value) {
+        counts.merge(value, 1, Integer::sum);
+    }
+
+    void remove(K value) {
+        Integer count = counts.get(value);
+        if (count == null) {
+            return;
+        }
+        if (count == 1) {
+            counts.remove(value);
+        } else {
+            counts.put(value, count - 1);
+        }
+    }
+
+    K first() {
+        return counts.isEmpty() ? null : counts.firstKey();
+    }
+
+    K last() {
+        return counts.isEmpty() ? null : counts.lastKey();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+
+import com.example.soilifymobileapp.data.local.AlertDao;
+import com.example.soilifymobileapp.data.local.OutboxDao;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.network.AlertsApi;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.sync.SyncManager;
+
+import java.util.List;
+
+/**
+ * Single source of alerts for the UI: cached rows first, then a background refresh.
+ */
+public class AlertRepository {
+
+    /**
+     * How many alerts the alerts screen shows.
+     */
+    public static final int RECENT_LIMIT = 50;
+
+    private static volatile AlertRepository instance;
+
+    private final AlertsApi alertsApi;
+    private final AlertDao alertDao;
+    private final OutboxDao outboxDao;
+
+    public static AlertRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AlertRepository.class) {
+                if (instance == null) {
+                    instance = new AlertRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AlertRepository(Context context) {
+        alertsApi = ApiClient.getService(context, AlertsApi.class);
+        alertDao = new AlertDao(SoilifyDatabase.getInstance(context));
+        outboxDao = SyncManager.getInstance(context).getOutboxDao();
+    }
+
+    public void getRecentAlerts(int limit, DataCallback<List<AlertRead>> callback) {
+        CacheThenNetwork.load(() -> alertDao.getRecent(limit), alertsApi.getAllAlerts(null, limit),
+                this::replaceCache, callback);
+    }
+
+    /**
+     * Refresh the cached recent alerts in the background, e.g. before the user opens the screen.
+     */
+    public void prefetchRecentAlerts(int limit) {
+        CacheThenNetwork.refresh(alertsApi.getAllAlerts(null, limit), this::replaceCache);
+    }
+
+    private void replaceCache(List<AlertRead> alerts) {
+        alertDao.replaceAll(alerts, outboxDao);
+    }
+}
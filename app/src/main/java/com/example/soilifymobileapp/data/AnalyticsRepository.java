@@ -0,0 +1,185 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.analytics.AnalyticsEngine;
+import com.example.soilifymobileapp.data.local.AlertDao;
+import com.example.soilifymobileapp.data.local.FertiliserUsageDao;
+import com.example.soilifymobileapp.data.local.FieldDao;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.data.local.WeatherDataDao;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.example.soilifymobileapp.network.AnalyticsApi;
+import com.example.soilifymobileapp.network.ApiClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Analytics for the UI: figures computed on the device from the cached records first, so the
+ * screen works offline and opens instantly, then the server's figures once they arrive.
+ *
+ * The {@link AnalyticsEngine} is filled from the database once per process and afterwards
+ * follows every write to the weather and fertiliser tables incrementally.
+ */
+public class AnalyticsRepository {
+
+    private static volatile AnalyticsRepository instance;
+
+    private final AnalyticsApi analyticsApi;
+    private final SoilifyDatabase database;
+    private final WeatherDataDao weatherDataDao;
+    private final FertiliserUsageDao fertiliserUsageDao;
+    private final FieldDao fieldDao;
+    private final AlertDao alertDao;
+    private final AppExecutors executors;
+    private final AnalyticsEngine engine = new AnalyticsEngine();
+
+    // Only accessed on the disk thread
+    private boolean engineLoaded;
+
+    public static AnalyticsRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AnalyticsRepository.class) {
+                if (instance == null) {
+                    instance = new AnalyticsRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AnalyticsRepository(Context context) {
+        analyticsApi = ApiClient.getService(context, AnalyticsApi.class);
+        database = SoilifyDatabase.getInstance(context);
+        weatherDataDao = new WeatherDataDao(database);
+        fertiliserUsageDao = new FertiliserUsageDao(database);
+        fieldDao = new FieldDao(database);
+        alertDao = new AlertDao(database);
+        executors = AppExecutors.getInstance();
+    }
+
+    public void getFarmOverview(DataCallback<FarmOverview> callback) {
+        localThenNetwork(() -> engine.overview(fieldDao.getAll(), alertDao.getRecent(Integer.MAX_VALUE),
+                System.currentTimeMillis()), analyticsApi.getFarmOverview(), callback);
+    }
+
+    public void getFertilizerByType(DataCallback<List<FertilizerByType>> callback) {
+        localThenNetwork(engine::fertilizerByType, analyticsApi.getFertilizerByType(), callback);
+    }
+
+    public void getWeatherTrends(int days, Integer fieldId, DataCallback<List<WeatherTrend>> callback) {
+        localThenNetwork(() -> engine.weatherTrends(days, fieldId, System.currentTimeMillis()),
+                analyticsApi.getWeatherTrends(days, fieldId), callback);
+    }
+
+    public void getFieldAnalytics(int fieldId, DataCallback<FieldAnalytics> callback) {
+        localThenNetwork(() -> {
+            FieldRead field = fieldDao.getById(fieldId);
+            return field != null ? engine.fieldAnalytics(field, alertDao.getRecent(Integer.MAX_VALUE),
+                    System.currentTimeMillis()) : null;
+        }, analyticsApi.getFieldAnalytics(fieldId), callback);
+    }
+
+    /**
+     * Deliver the locally computed value (as {@code fromCache}) unless the server has already
+     * answered, then the server's value.
+     */
+    private <T> void localThenNetwork(Supplier<T> local, Call<T> networkCall, DataCallback<T> callback) {
+        AtomicBoolean networkDelivered = new AtomicBoolean(false);
+
+        executors.diskIO().execute(() -> {
+            loadEngine();
+            T computed = engine.hasData() ? local.get() : null;
+            if (computed != null) {
+                executors.mainThread().execute(() -> {
+                    if (!networkDelivered.get()) {
+                        callback.onData(computed, true);
+                    }
+                });
+            }
+        });
+
+        networkCall.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                T body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    networkDelivered.set(true);
+                    callback.onData(body, false);
+                } else {
+                    CacheThenNetwork.afterCacheRead(executors, () -> callback.onError(null));
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                CacheThenNetwork.afterCacheRead(executors, () -> callback.onError(t));
+            }
+        });
+    }
+
+    /**
+     * Fill the engine from the database and subscribe it to later writes. Holding the engine's
+     * lock throughout means a write that lands meanwhile is applied after the initial load,
+     * never before it.
+     */
+    private void loadEngine() {
+        if (engineLoaded) {
+            return;
+        }
+        engineLoaded = true;
+        synchronized (engine) {
+            database.weatherDataChanges().addObserver(new TableChanges.Observer<WeatherDataRead>() {
+                @Override
+                public void onUpserted(List<WeatherDataRead> rows) {
+                    engine.upsertWeather(rows);
+                }
+
+                @Override
+                public void onDeleted(Collection<Integer> ids) {
+                    engine.deleteWeather(ids);
+                }
+
+                @Override
+                public void onRetained(Set<Integer> ids) {
+                    engine.retainWeather(ids);
+                }
+            });
+            database.fertiliserUsageChanges().addObserver(new TableChanges.Observer<FertiliserUsageRead>() {
+                @Override
+                public void onUpserted(List<FertiliserUsageRead> rows) {
+                    engine.upsertFertiliser(rows);
+                }
+
+                @Override
+                public void onDeleted(Collection<Integer> ids) {
+                    engine.deleteFertiliser(ids);
+                }
+
+                @Override
+                public void onRetained(Set<Integer> ids) {
+                    engine.retainFertiliser(ids);
+                }
+            });
+            engine.upsertWeather(weatherDataDao.getAll());
+            engine.upsertFertiliser(fertiliserUsageDao.getAll());
+        }
+    }
+}
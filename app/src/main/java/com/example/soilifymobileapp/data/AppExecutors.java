@@ -0,0 +1,54 @@
+package com.example.soilifymobileapp.data;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared executors for the data layer. Disk work is serialised on a single thread so
+ * that reads always observe earlier writes; results are posted back on the main thread.
+ * Blocking network reads that must not hold up the disk thread run on {@link #networkIO()}.
+ */
+public class AppExecutors {
+
+    private static final AppExecutors INSTANCE = new AppExecutors();
+
+    private final ExecutorService diskIO = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soilify-disk-io");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final ExecutorService networkIO = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "soilify-network-io");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Executor mainThread = mainHandler::post;
+
+    public static AppExecutors getInstance() {
+        return INSTANCE;
+    }
+
+    private AppExecutors() {
+    }
+
+    public ExecutorService diskIO() {
+        return diskIO;
+    }
+
+    public ExecutorService networkIO() {
+        return networkIO;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    public Handler mainHandler() {
+        return mainHandler;
+    }
+}
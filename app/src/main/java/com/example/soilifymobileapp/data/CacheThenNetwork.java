@@ -0,0 +1,87 @@
+package com.example.soilifymobileapp.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Serves the cached copy of a list straight from disk, then refreshes it from the
+ * network in the background and writes the fresh copy back to disk. The refreshed list is
+ * delivered as read back from disk, so it reflects local changes the cache writer kept.
+ */
+final class CacheThenNetwork {
+
+    private CacheThenNetwork() {
+    }
+
+    static <T extends Collection<?>> void load(Supplier<T> cacheReader,
+                                               Call<T> networkCall,
+                                               Consumer<T> cacheWriter,
+                                               DataCallback<T> callback) {
+        AppExecutors executors = AppExecutors.getInstance();
+
+        executors.diskIO().execute(() -> {
+            T cached = cacheReader.get();
+            if (cached != null && !cached.isEmpty()) {
+                executors.mainThread().execute(() -> callback.onData(cached, true));
+            }
+        });
+
+        networkCall.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                T body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    // Queued behind the cache read, so the older disk copy can never follow it
+                    executors.diskIO().execute(() -> {
+                        cacheWriter.accept(body);
+                        T stored = cacheReader.get();
+                        executors.mainThread().execute(() -> callback.onData(stored, false));
+                    });
+                } else {
+                    afterCacheRead(executors, () -> callback.onError(null));
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                afterCacheRead(executors, () -> callback.onError(t));
+            }
+        });
+    }
+
+    /**
+     * Run {@code delivery} on the main thread once the cache read queued before it has posted
+     * its result, so an error is always the last thing a callback hears. The disk thread is
+     * serial and the main thread runs posts in order.
+     */
+    static void afterCacheRead(AppExecutors executors, Runnable delivery) {
+        executors.diskIO().execute(() -> executors.mainThread().execute(delivery));
+    }
+
+    /**
+     * Download a fresh copy and write it to disk without delivering it anywhere, so the next
+     * {@link #load} finds it in the cache. Failures are ignored; the next load retries.
+     */
+    static <T> void refresh(Call<T> networkCall, Consumer<T> cacheWriter) {
+        networkCall.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                T body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    AppExecutors.getInstance().diskIO().execute(() -> cacheWriter.accept(body));
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            }
+        });
+    }
+}
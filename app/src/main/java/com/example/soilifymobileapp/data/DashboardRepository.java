@@ -0,0 +1,164 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.models.DashboardResponse;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.HomeApi;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Stale-while-revalidate source for the home dashboard.
+ *
+ * The last successful {@link DashboardResponse} is kept on disk with the time it was fetched.
+ * {@link #getDashboard} serves that copy straight away, so the home screen paints without
+ * waiting for the backend, and revalidates against the network in the background.
+ */
+public class DashboardRepository {
+
+    private static final String TAG = "DashboardRepository";
+    private static final String CACHE_FILE = "dashboard.json";
+
+    /**
+     * Called on the main thread, at most twice per load: once with the cached copy if there is
+     * one, then once with the revalidated copy or an error. The second call is always the last.
+     */
+    public interface Callback {
+        /**
+         * @param fetchedAt when this copy was received from the server, in epoch millis
+         */
+        void onDashboard(DashboardResponse dashboard, long fetchedAt, boolean fromCache);
+
+        /**
+         * @param t the failure, or null if the server returned an error response
+         * @param httpCode the HTTP status, or 0 if no response was received
+         */
+        void onError(Throwable t, int httpCode);
+    }
+
+    private static volatile DashboardRepository instance;
+
+    private final HomeApi homeApi;
+    private final AtomicFile cacheFile;
+    private final Gson gson = ApiClient.getGson();
+    private final AppExecutors executors = AppExecutors.getInstance();
+
+    public static DashboardRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DashboardRepository.class) {
+                if (instance == null) {
+                    instance = new DashboardRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private DashboardRepository(Context context) {
+        homeApi = ApiClient.getService(context, HomeApi.class);
+        cacheFile = new AtomicFile(new File(context.getFilesDir(), CACHE_FILE));
+    }
+
+    public void getDashboard(Callback callback) {
+        AtomicBoolean networkDelivered = new AtomicBoolean(false);
+
+        executors.diskIO().execute(() -> {
+            CachedDashboard cached = readCache();
+            if (cached != null && cached.dashboard != null) {
+                executors.mainThread().execute(() -> {
+                    // A fast network answer must not be overwritten by the older disk copy
+                    if (!networkDelivered.get()) {
+                        callback.onDashboard(cached.dashboard, cached.fetchedAt, true);
+                    }
+                });
+            }
+        });
+
+        homeApi.getDashboard().enqueue(new retrofit2.Callback<DashboardResponse>() {
+            @Override
+            public void onResponse(@NonNull Call<DashboardResponse> call, @NonNull Response<DashboardResponse> response) {
+                DashboardResponse dashboard = response.body();
+                if (!response.isSuccessful() || dashboard == null) {
+                    CacheThenNetwork.afterCacheRead(executors, () -> callback.onError(null, response.code()));
+                    return;
+                }
+                long fetchedAt = System.currentTimeMillis();
+                networkDelivered.set(true);
+                callback.onDashboard(dashboard, fetchedAt, false);
+                executors.diskIO().execute(() -> writeCache(new CachedDashboard(dashboard, fetchedAt)));
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<DashboardResponse> call, @NonNull Throwable t) {
+                CacheThenNetwork.afterCacheRead(executors, () -> callback.onError(t, 0));
+            }
+        });
+    }
+
+    /**
+     * Forget the cached dashboard, e.g. when the user signs out.
+     */
+    public void clear() {
+        executors.diskIO().execute(cacheFile::delete);
+    }
+
+    private CachedDashboard readCache() {
+        try (Reader reader = new InputStreamReader(cacheFile.openRead(), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, CachedDashboard.class);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Discarding unreadable dashboard cache", e);
+            cacheFile.delete();
+            return null;
+        }
+    }
+
+    private void writeCache(CachedDashboard cached) {
+        FileOutputStream out = null;
+        try {
+            out = cacheFile.startWrite();
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(cached, writer);
+            writer.flush();
+            cacheFile.finishWrite(out);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to cache dashboard", e);
+            if (out != null) {
+                cacheFile.failWrite(out);
+            }
+        }
+    }
+
+    /**
+     * On-disk form: the response exactly as the API shaped it, plus when it was fetched.
+     */
+    private static class CachedDashboard {
+        DashboardResponse dashboard;
+        long fetchedAt;
+
+        CachedDashboard(DashboardResponse dashboard, long fetchedAt) {
+            this.dashboard = dashboard;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
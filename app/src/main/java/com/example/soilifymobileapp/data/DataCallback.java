@@ -0,0 +1,16 @@
+package com.example.soilifymobileapp.data;
+
+/**
+ * Receives data from a repository on the main thread. {@link #onData} may be called twice:
+ * first with the cached copy ({@code fromCache == true}) and again once the network answers.
+ * The network answer, or {@link #onError}, is always the last call.
+ */
+public interface DataCallback<T> {
+
+    void onData(T data, boolean fromCache);
+
+    /**
+     * @param t the network failure, or {@code null} if the server returned an error response
+     */
+    void onError(Throwable t);
+}
@@ -0,0 +1,193 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.soilifymobileapp.data.local.FertiliserUsageDao;
+import com.example.soilifymobileapp.data.local.FieldDao;
+import com.example.soilifymobileapp.data.local.OutboxDao;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.models.DeltaResponse;
+import com.example.soilifymobileapp.models.FertiliserUsageCreate;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.ServerTime;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.FertiliserApi;
+import com.example.soilifymobileapp.sync.DeltaSyncEngine;
+import com.example.soilifymobileapp.sync.SyncManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * Single source of fertiliser records for the UI: a paged window over the cached rows, kept current
+ * by incremental sync.
+ */
+public class FertiliserUsageRepository {
+
+    private static final int PAGE_SIZE = 30;
+    private static final int PREFETCH_PAGES = 1;
+    private static final int MAX_PAGES = 5;
+
+    private static volatile FertiliserUsageRepository instance;
+
+    private final FertiliserApi fertiliserApi;
+    private final FertiliserUsageDao fertiliserUsageDao;
+    private final FieldDao fieldDao;
+    private final TableChanges<FertiliserUsageRead> changes;
+    private final OutboxDao outboxDao;
+    private final SyncManager syncManager;
+    private final DeltaSyncEngine deltaSyncEngine;
+    private final DeltaSyncEngine.Source<FertiliserUsageRead> source;
+    private final DeltaSyncEngine.Store<FertiliserUsageRead> store;
+
+    public static FertiliserUsageRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FertiliserUsageRepository.class) {
+                if (instance == null) {
+                    instance = new FertiliserUsageRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private FertiliserUsageRepository(Context context) {
+        fertiliserApi = ApiClient.getService(context, FertiliserApi.class);
+        SoilifyDatabase database = SoilifyDatabase.getInstance(context);
+        fertiliserUsageDao = new FertiliserUsageDao(database);
+        fieldDao = new FieldDao(database);
+        changes = database.fertiliserUsageChanges();
+        syncManager = SyncManager.getInstance(context);
+        outboxDao = syncManager.getOutboxDao();
+        deltaSyncEngine = DeltaSyncEngine.getInstance(context);
+        source = new DeltaSyncEngine.Source<FertiliserUsageRead>() {
+            @Override
+            public Call<DeltaResponse<FertiliserUsageRead>> changesSince(String cursor) {
+                return fertiliserApi.getFertiliserUsageChanges(cursor);
+            }
+
+            @Override
+            public Class<FertiliserUsageRead> type() {
+                return FertiliserUsageRead.class;
+            }
+
+            @Override
+            public Call<ResponseBody> page(FertiliserUsageRead last, int limit) {
+                if (last == null) {
+                    return fertiliserApi.getFertiliserUsagePage(limit, null, null);
+                }
+                return fertiliserApi.getFertiliserUsagePage(limit, last.getCreatedAt(), last.getId());
+            }
+        };
+        store = new DeltaSyncEngine.Store<FertiliserUsageRead>() {
+            @Override
+            public void applyChanges(List<FertiliserUsageRead> changed, List<Integer> deletedIds) {
+                fertiliserUsageDao.applyChanges(changed, deletedIds);
+            }
+
+            @Override
+            public void retainOnly(Set<Integer> ids) {
+                fertiliserUsageDao.retainOnly(ids);
+            }
+
+            @Override
+            public int idOf(FertiliserUsageRead item) {
+                return item.getId();
+            }
+        };
+    }
+
+    /**
+     * Row-level changes to the cached fertiliser records, from any writer: sync results, local deletes
+     * and refreshes. Observers are called on the writing thread.
+     */
+    public TableChanges<FertiliserUsageRead> changes() {
+        return changes;
+    }
+
+    /**
+     * A memory-bounded window over the cached list, read from disk a page at a time.
+     * {@code mapper} turns each record into what the list binds, on the disk thread as the
+     * page is read; {@code diffCallback} decides which rows a refresh has to rebind.
+     */
+    public <R> PagedWindow<R> newPagedWindow(Function<FertiliserUsageRead, R> mapper, DiffUtil.ItemCallback<R> diffCallback) {
+        return new PagedWindow<>(new PagedWindow.PageReader<R>() {
+            @Override
+            public int count() {
+                return fertiliserUsageDao.count();
+            }
+
+            @Override
+            public List<R> read(int offset, int limit) {
+                List<FertiliserUsageRead> page = fertiliserUsageDao.getPage(offset, limit);
+                List<R> rows = new ArrayList<>(page.size());
+                for (FertiliserUsageRead record : page) {
+                    rows.add(mapper.apply(record));
+                }
+                return rows;
+            }
+        }, diffCallback, PAGE_SIZE, PREFETCH_PAGES, MAX_PAGES);
+    }
+
+    /**
+     * Bring the cache up to date with the server; windows over it should refresh on progress
+     * and on completion.
+     */
+    public void refreshFertiliserUsage(DeltaSyncEngine.Callback callback) {
+        deltaSyncEngine.sync(OutboxEntry.TYPE_FERTILISER_USAGE, source, store, callback);
+    }
+
+    /**
+     * Journal a new record; it is sent to the server by {@link SyncManager}. The record is cached
+     * straight away under its negative local id, so lists show it as pending before the server
+     * has seen it; the sync swaps in the server's copy, or drops it if the server rejects it.
+     */
+    public void createFertiliserUsage(FertiliserUsageCreate usage, Runnable onSaved) {
+        syncManager.journal(() -> {
+            int localId = outboxDao.enqueueCreate(OutboxEntry.TYPE_FERTILISER_USAGE, usage);
+            fertiliserUsageDao.upsert(pendingRecord(localId, usage));
+        }, onSaved);
+    }
+
+    private FertiliserUsageRead pendingRecord(int localId, FertiliserUsageCreate usage) {
+        FertiliserUsageRead record = new FertiliserUsageRead();
+        record.setId(localId);
+        record.setFieldId(usage.getFieldId());
+        FieldRead field = fieldDao.getById(usage.getFieldId());
+        record.setFieldName(field != null ? field.getFieldName() : null);
+        record.setFertiliserType(usage.getFertiliserType());
+        record.setAmountKg(usage.getAmountKg());
+        record.setWeather(usage.getWeather());
+        record.setNotes(usage.getNotes());
+        record.setDate(usage.getDate());
+        // Sorts the new record first, as the server's timestamp will
+        record.setCreatedAt(ServerTime.format(new Date()));
+        return record;
+    }
+
+    public void updateFertiliserUsage(int id, FertiliserUsageUpdate usage, Runnable onSaved) {
+        syncManager.journal(() -> outboxDao.enqueueUpdate(OutboxEntry.TYPE_FERTILISER_USAGE, id, usage), onSaved);
+    }
+
+    /**
+     * Journal a delete and drop the cached row straight away.
+     */
+    public void deleteFertiliserUsage(int id, Runnable onSaved) {
+        syncManager.journal(() -> {
+            outboxDao.enqueueDelete(OutboxEntry.TYPE_FERTILISER_USAGE, id);
+            fertiliserUsageDao.delete(id);
+        }, onSaved);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+
+import com.example.soilifymobileapp.data.local.FieldDao;
+import com.example.soilifymobileapp.data.local.OutboxDao;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.models.FieldCreate;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.FieldUpdate;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.FieldsApi;
+import com.example.soilifymobileapp.sync.SyncManager;
+
+import java.util.List;
+
+/**
+ * Single source of field data for the UI: cached rows first, then a background refresh.
+ */
+public class FieldRepository {
+
+    private static volatile FieldRepository instance;
+
+    private final FieldsApi fieldsApi;
+    private final FieldDao fieldDao;
+    private final TableChanges<FieldRead> changes;
+    private final OutboxDao outboxDao;
+    private final SyncManager syncManager;
+
+    public static FieldRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FieldRepository.class) {
+                if (instance == null) {
+                    instance = new FieldRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private FieldRepository(Context context) {
+        fieldsApi = ApiClient.getService(context, FieldsApi.class);
+        SoilifyDatabase database = SoilifyDatabase.getInstance(context);
+        fieldDao = new FieldDao(database);
+        changes = database.fieldChanges();
+        syncManager = SyncManager.getInstance(context);
+        outboxDao = syncManager.getOutboxDao();
+    }
+
+    /**
+     * Row-level changes to the cached fields, from any writer: sync results, local deletes
+     * and refreshes. Observers are called on the writing thread.
+     */
+    public TableChanges<FieldRead> changes() {
+        return changes;
+    }
+
+    public void getFields(DataCallback<List<FieldRead>> callback) {
+        CacheThenNetwork.load(fieldDao::getAll, fieldsApi.getAllFields(), this::replaceCache, callback);
+    }
+
+    /**
+     * Refresh the cached field list in the background, e.g. before the user opens the screen.
+     */
+    public void prefetchFields() {
+        CacheThenNetwork.refresh(fieldsApi.getAllFields(), this::replaceCache);
+    }
+
+    private void replaceCache(List<FieldRead> fields) {
+        fieldDao.replaceAll(fields, outboxDao);
+    }
+
+    /**
+     * Journal a new record; it is sent to the server by {@link SyncManager}.
+     */
+    public void createField(FieldCreate field, Runnable onSaved) {
+        syncManager.journal(() -> outboxDao.enqueueCreate(OutboxEntry.TYPE_FIELD, field), onSaved);
+    }
+
+    public void updateField(int id, FieldUpdate field, Runnable onSaved) {
+        syncManager.journal(() -> outboxDao.enqueueUpdate(OutboxEntry.TYPE_FIELD, id, field), onSaved);
+    }
+
+    /**
+     * Journal a delete and drop the cached row straight away.
+     */
+    public void deleteField(int id, Runnable onSaved) {
+        syncManager.journal(() -> {
+            outboxDao.enqueueDelete(OutboxEntry.TYPE_FIELD, id);
+            fieldDao.delete(id);
+        }, onSaved);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.soilifymobileapp.data;
+
+import android.util.SparseArray;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A bounded, page-at-a-time view of a long cached list for a RecyclerView.
+ *
+ * The adapter sees the full item count, but only the pages around the visible range are held
+ * in memory; everything else is a null placeholder. Pages within {@code prefetchPages} of the
+ * visible range are read from disk ahead of the scroll, and pages further away than
+ * {@code maxPages} allows are evicted, so memory stays constant however long the history is.
+ * A refresh is diffed against the rows on screen on the disk thread, so the adapter only
+ * rebinds rows that were actually inserted, removed or changed.
+ * Call every method on the main thread.
+ */
+public class PagedWindow<T> {
+
+    /**
+     * Reads the backing list. Called on the disk thread.
+     */
+    public interface PageReader<T> {
+        int count();
+
+        List<T> read(int offset, int limit);
+    }
+
+    private final PageReader<T> reader;
+    private final DiffUtil.ItemCallback<T> diffCallback;
+    private final int pageSize;
+    private final int prefetchPages;
+    private final int maxPages;
+    private final AppExecutors executors;
+
+    private final SparseArray<List<T>> pages = new SparseArray<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private ListUpdateCallback updateCallback;
+    private int count;
+    private int firstVisiblePage;
+    private int lastVisiblePage;
+    // Bumped on refresh so pages read before it are discarded
+    private int generation;
+
+    public PagedWindow(PageReader<T> reader, DiffUtil.ItemCallback<T> diffCallback, int pageSize,
+                       int prefetchPages, int maxPages) {
+        this.reader = reader;
+        this.diffCallback = diffCallback;
+        this.pageSize = pageSize;
+        this.prefetchPages = prefetchPages;
+        this.maxPages = maxPages;
+        this.executors = AppExecutors.getInstance();
+    }
+
+    /**
+     * Receives row-level updates, normally {@code new AdapterListUpdateCallback(adapter)}.
+     */
+    public void setUpdateCallback(ListUpdateCallback updateCallback) {
+        this.updateCallback = updateCallback;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return the item, or null if its page is not loaded yet (a load is scheduled)
+     */
+    public T get(int position) {
+        int page = position / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        int index = position % pageSize;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    /**
+     * Report the visible adapter positions; prefetches ahead of them and evicts far pages.
+     */
+    public void onVisibleRange(int firstPosition, int lastPosition) {
+        if (firstPosition < 0 || lastPosition < 0) {
+            return;
+        }
+        firstVisiblePage = firstPosition / pageSize;
+        lastVisiblePage = lastPosition / pageSize;
+
+        int lastPage = (count - 1) / pageSize;
+        for (int page = Math.max(0, firstVisiblePage - prefetchPages);
+             page <= Math.min(lastPage, lastVisiblePage + prefetchPages); page++) {
+            if (pages.get(page) == null) {
+                load(page);
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Re-read the count and the resident pages, e.g. after a sync or a local edit. The old rows
+     * stay on screen until the new ones are ready, so a refresh never flashes placeholders.
+     */
+    public void refresh() {
+        int refreshGeneration = ++generation;
+        loading.clear();
+        int oldCount = count;
+        SparseArray<List<T>> oldPages = pages.clone();
+        List<Integer> resident = new ArrayList<>();
+        for (int i = 0; i < pages.size(); i++) {
+            resident.add(pages.keyAt(i));
+        }
+        if (resident.isEmpty()) {
+            resident.add(firstVisiblePage);
+        }
+
+        executors.diskIO().execute(() -> {
+            int newCount = reader.count();
+            SparseArray<List<T>> newPages = new SparseArray<>();
+            for (int page : resident) {
+                if (page * pageSize < newCount) {
+                    newPages.put(page, reader.read(page * pageSize, pageSize));
+                }
+            }
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(
+                    new WindowDiff(oldPages, oldCount, newPages, newCount), false);
+            executors.mainThread().execute(() -> {
+                if (refreshGeneration != generation) {
+                    return;
+                }
+                count = newCount;
+                pages.clear();
+                for (int i = 0; i < newPages.size(); i++) {
+                    pages.put(newPages.keyAt(i), newPages.valueAt(i));
+                }
+                if (updateCallback != null) {
+                    diff.dispatchUpdatesTo(updateCallback);
+                }
+            });
+        });
+    }
+
+    /**
+     * Swap a resident row for a new copy of the same item, e.g. the server's answer to an edit,
+     * and rebind only that row. Only for changes that keep the row in place; inserts, deletes
+     * and reorders need {@link #refresh()}.
+     *
+     * @return false if the item is not resident, so there is nothing on screen to patch
+     */
+    public boolean replace(T row) {
+        for (int i = 0; i < pages.size(); i++) {
+            List<T> rows = pages.valueAt(i);
+            for (int index = 0; index < rows.size(); index++) {
+                T old = rows.get(index);
+                if (old == null || !diffCallback.areItemsTheSame(old, row)) {
+                    continue;
+                }
+                if (!diffCallback.areContentsTheSame(old, row)) {
+                    // Pages may be shared with a refresh snapshot, so copy before writing
+                    List<T> patched = new ArrayList<>(rows);
+                    patched.set(index, row);
+                    pages.setValueAt(i, patched);
+                    if (updateCallback != null) {
+                        updateCallback.onChanged(pages.keyAt(i) * pageSize + index, 1, null);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void load(int page) {
+        if (loading.contains(page) || page * pageSize >= count) {
+            return;
+        }
+        loading.add(page);
+        int loadGeneration = generation;
+        executors.diskIO().execute(() -> {
+            List<T> rows = reader.read(page * pageSize, pageSize);
+            executors.mainThread().execute(() -> {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                loading.remove(page);
+                pages.put(page, rows);
+                evict();
+                if (updateCallback != null) {
+                    int start = page * pageSize;
+                    updateCallback.onChanged(start, Math.min(pageSize, count - start), null);
+                }
+            });
+        });
+    }
+
+    /**
+     * Drop the pages furthest from the visible range until at most {@code maxPages} remain.
+     */
+    private void evict() {
+        while (pages.size() > maxPages) {
+            int furthest = pages.keyAt(0);
+            int furthestDistance = distanceFromVisible(furthest);
+            for (int i = 1; i < pages.size(); i++) {
+                int distance = distanceFromVisible(pages.keyAt(i));
+                if (distance > furthestDistance) {
+                    furthest = pages.keyAt(i);
+                    furthestDistance = distance;
+                }
+            }
+            pages.remove(furthest);
+        }
+    }
+
+    private T itemAt(SparseArray<List<T>> snapshot, int position) {
+        List<T> rows = snapshot.get(position / pageSize);
+        int index = position % pageSize;
+        return rows != null && index < rows.size() ? rows.get(index) : null;
+    }
+
+    /**
+     * Compares two snapshots of the window. Rows are matched by the item callback; placeholders
+     * only match the placeholder at the same position, since nothing is known about them.
+     */
+    private class WindowDiff extends DiffUtil.Callback {
+        private final SparseArray<List<T>> oldPages;
+        private final int oldCount;
+        private final SparseArray<List<T>> newPages;
+        private final int newCount;
+
+        WindowDiff(SparseArray<List<T>> oldPages, int oldCount, SparseArray<List<T>> newPages, int newCount) {
+            this.oldPages = oldPages;
+            this.oldCount = oldCount;
+            this.newPages = newPages;
+            this.newCount = newCount;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldCount;
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newCount;
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            T oldItem = itemAt(oldPages, oldPosition);
+            T newItem = itemAt(newPages, newPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == null && newItem == null && oldPosition == newPosition;
+            }
+            return diffCallback.areItemsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            T oldItem = itemAt(oldPages, oldPosition);
+            T newItem = itemAt(newPages, newPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return diffCallback.areContentsTheSame(oldItem, newItem);
+        }
+    }
+
+    private int distanceFromVisible(int page) {
+        if (page < firstVisiblePage) {
+            return firstVisiblePage - page;
+        }
+        return Math.max(0, page - lastVisiblePage);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.BatteryManager;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.network.AnalyticsApi;
+import com.example.soilifymobileapp.network.ApiClient;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Warms the caches behind the screens users usually open from the dashboard: the field list
+ * and recent alerts go into the local database, the analytics overview into the HTTP cache.
+ *
+ * {@link #schedule()} waits until the main thread is idle (the dashboard has rendered) and no
+ * request is running, then prefetches once, unless the network is metered, the device is in
+ * battery saver, or the battery is low and not charging. Prefetches are at least
+ * {@link #MIN_INTERVAL_MS} apart, so returning to the dashboard does not repeat them.
+ * Call on the main thread.
+ */
+public class PrefetchScheduler {
+
+    private static final String TAG = "PrefetchScheduler";
+
+    private static final long MIN_INTERVAL_MS = 5 * 60_000;
+    private static final long BUSY_RETRY_MS = 1_000;
+    private static final int MAX_BUSY_RETRIES = 10;
+    private static final int LOW_BATTERY_PERCENT = 20;
+
+    private static volatile PrefetchScheduler instance;
+
+    private final Context context;
+    private final ConnectivityManager connectivityManager;
+    private final PowerManager powerManager;
+    private final AppExecutors executors;
+
+    private boolean scheduled;
+    private long lastPrefetchAt;
+
+    public static PrefetchScheduler getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PrefetchScheduler.class) {
+                if (instance == null) {
+                    instance = new PrefetchScheduler(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private PrefetchScheduler(Context context) {
+        this.context = context;
+        connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        executors = AppExecutors.getInstance();
+    }
+
+    /**
+     * Prefetch once the main thread and the network are idle, if the constraints allow it.
+     */
+    public void schedule() {
+        if (scheduled || (lastPrefetchAt != 0 && SystemClock.elapsedRealtime() - lastPrefetchAt < MIN_INTERVAL_MS)) {
+            return;
+        }
+        scheduled = true;
+        Looper.myQueue().addIdleHandler(() -> {
+            runWhenNetworkIdle(0);
+            return false;
+        });
+    }
+
+    private void runWhenNetworkIdle(int attempt) {
+        if (!ApiClient.isNetworkIdle() && attempt < MAX_BUSY_RETRIES) {
+            executors.mainHandler().postDelayed(() -> runWhenNetworkIdle(attempt + 1), BUSY_RETRY_MS);
+            return;
+        }
+        scheduled = false;
+        if (!constraintsMet()) {
+            return;
+        }
+        lastPrefetchAt = SystemClock.elapsedRealtime();
+        Log.d(TAG, "Prefetching fields, alerts and analytics overview");
+
+        FieldRepository.getInstance(context).prefetchFields();
+        AlertRepository.getInstance(context).prefetchRecentAlerts(AlertRepository.RECENT_LIMIT);
+        ApiClient.getService(context, AnalyticsApi.class).getFarmOverview().enqueue(new Callback<FarmOverview>() {
+            @Override
+            public void onResponse(@NonNull Call<FarmOverview> call, @NonNull Response<FarmOverview> response) {
+                // Only needed in the HTTP cache
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<FarmOverview> call, @NonNull Throwable t) {
+            }
+        });
+    }
+
+    private boolean constraintsMet() {
+        Network network = connectivityManager.getActiveNetwork();
+        NetworkCapabilities capabilities = network != null ? connectivityManager.getNetworkCapabilities(network) : null;
+        if (capabilities == null
+                || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)) {
+            return false;
+        }
+        if (powerManager.isPowerSaveMode()) {
+            return false;
+        }
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery == null) {
+            return true;
+        }
+        int status = battery.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+        boolean charging = status == BatteryManager.BATTERY_STATUS_CHARGING
+                || status == BatteryManager.BATTERY_STATUS_FULL;
+        int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+        int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+        return charging || level < 0 || scale <= 0 || level * 100 / scale > LOW_BATTERY_PERCENT;
+    }
+}
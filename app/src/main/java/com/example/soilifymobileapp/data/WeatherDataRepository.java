@@ -0,0 +1,192 @@
+package com.example.soilifymobileapp.data;
+
+import android.content.Context;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.soilifymobileapp.data.local.FieldDao;
+import com.example.soilifymobileapp.data.local.OutboxDao;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.data.local.WeatherDataDao;
+import com.example.soilifymobileapp.models.DeltaResponse;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.ServerTime;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherDataUpdate;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.WeatherApi;
+import com.example.soilifymobileapp.sync.DeltaSyncEngine;
+import com.example.soilifymobileapp.sync.SyncManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * Single source of weather records for the UI: a paged window over the cached rows, kept current
+ * by incremental sync.
+ */
+public class WeatherDataRepository {
+
+    private static final int PAGE_SIZE = 30;
+    private static final int PREFETCH_PAGES = 1;
+    private static final int MAX_PAGES = 5;
+
+    private static volatile WeatherDataRepository instance;
+
+    private final WeatherApi weatherApi;
+    private final WeatherDataDao weatherDataDao;
+    private final FieldDao fieldDao;
+    private final TableChanges<WeatherDataRead> changes;
+    private final OutboxDao outboxDao;
+    private final SyncManager syncManager;
+    private final DeltaSyncEngine deltaSyncEngine;
+    private final DeltaSyncEngine.Source<WeatherDataRead> source;
+    private final DeltaSyncEngine.Store<WeatherDataRead> store;
+
+    public static WeatherDataRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (WeatherDataRepository.class) {
+                if (instance == null) {
+                    instance = new WeatherDataRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private WeatherDataRepository(Context context) {
+        weatherApi = ApiClient.getService(context, WeatherApi.class);
+        SoilifyDatabase database = SoilifyDatabase.getInstance(context);
+        weatherDataDao = new WeatherDataDao(database);
+        fieldDao = new FieldDao(database);
+        changes = database.weatherDataChanges();
+        syncManager = SyncManager.getInstance(context);
+        outboxDao = syncManager.getOutboxDao();
+        deltaSyncEngine = DeltaSyncEngine.getInstance(context);
+        source = new DeltaSyncEngine.Source<WeatherDataRead>() {
+            @Override
+            public Call<DeltaResponse<WeatherDataRead>> changesSince(String cursor) {
+                return weatherApi.getWeatherDataChanges(cursor);
+            }
+
+            @Override
+            public Class<WeatherDataRead> type() {
+                return WeatherDataRead.class;
+            }
+
+            @Override
+            public Call<ResponseBody> page(WeatherDataRead last, int limit) {
+                if (last == null) {
+                    return weatherApi.getWeatherDataPage(limit, null, null);
+                }
+                String before = last.getCreatedAt() != null
+                        ? ServerTime.format(last.getCreatedAt()) : null;
+                return weatherApi.getWeatherDataPage(limit, before, last.getId());
+            }
+        };
+        store = new DeltaSyncEngine.Store<WeatherDataRead>() {
+            @Override
+            public void applyChanges(List<WeatherDataRead> changed, List<Integer> deletedIds) {
+                weatherDataDao.applyChanges(changed, deletedIds);
+            }
+
+            @Override
+            public void retainOnly(Set<Integer> ids) {
+                weatherDataDao.retainOnly(ids);
+            }
+
+            @Override
+            public int idOf(WeatherDataRead item) {
+                return item.getId();
+            }
+        };
+    }
+
+    /**
+     * Row-level changes to the cached weather records, from any writer: sync results, local deletes
+     * and refreshes. Observers are called on the writing thread.
+     */
+    public TableChanges<WeatherDataRead> changes() {
+        return changes;
+    }
+
+    /**
+     * A memory-bounded window over the cached list, read from disk a page at a time.
+     * {@code mapper} turns each record into what the list binds, on the disk thread as the
+     * page is read; {@code diffCallback} decides which rows a refresh has to rebind.
+     */
+    public <R> PagedWindow<R> newPagedWindow(Function<WeatherDataRead, R> mapper, DiffUtil.ItemCallback<R> diffCallback) {
+        return new PagedWindow<>(new PagedWindow.PageReader<R>() {
+            @Override
+            public int count() {
+                return weatherDataDao.count();
+            }
+
+            @Override
+            public List<R> read(int offset, int limit) {
+                List<WeatherDataRead> page = weatherDataDao.getPage(offset, limit);
+                List<R> rows = new ArrayList<>(page.size());
+                for (WeatherDataRead record : page) {
+                    rows.add(mapper.apply(record));
+                }
+                return rows;
+            }
+        }, diffCallback, PAGE_SIZE, PREFETCH_PAGES, MAX_PAGES);
+    }
+
+    /**
+     * Bring the cache up to date with the server; windows over it should refresh on progress
+     * and on completion.
+     */
+    public void refreshWeatherData(DeltaSyncEngine.Callback callback) {
+        deltaSyncEngine.sync(OutboxEntry.TYPE_WEATHER_DATA, source, store, callback);
+    }
+
+    /**
+     * Journal a new record; it is sent to the server by {@link SyncManager}. The record is cached
+     * straight away under its negative local id, so lists show it as pending before the server
+     * has seen it; the sync swaps in the server's copy, or drops it if the server rejects it.
+     */
+    public void createWeatherData(WeatherDataCreate weatherData, Runnable onSaved) {
+        syncManager.journal(() -> {
+            int localId = outboxDao.enqueueCreate(OutboxEntry.TYPE_WEATHER_DATA, weatherData);
+            weatherDataDao.upsert(pendingRecord(localId, weatherData));
+        }, onSaved);
+    }
+
+    private WeatherDataRead pendingRecord(int localId, WeatherDataCreate weatherData) {
+        WeatherDataRead record = new WeatherDataRead();
+        record.setId(localId);
+        record.setFieldId(weatherData.getFieldId());
+        FieldRead field = weatherData.getFieldId() != null ? fieldDao.getById(weatherData.getFieldId()) : null;
+        record.setFieldName(field != null ? field.getFieldName() : null);
+        record.setTemperature(weatherData.getTemperature());
+        record.setRainfall(weatherData.getRainfall());
+        record.setSoilMoisture(weatherData.getSoilMoisture());
+        record.setCreatedAt(new Date());
+        return record;
+    }
+
+    public void updateWeatherData(int id, WeatherDataUpdate weatherData, Runnable onSaved) {
+        syncManager.journal(() -> outboxDao.enqueueUpdate(OutboxEntry.TYPE_WEATHER_DATA, id, weatherData), onSaved);
+    }
+
+    /**
+     * Journal a delete and drop the cached row straight away.
+     */
+    public void deleteWeatherData(int id, Runnable onSaved) {
+        syncManager.journal(() -> {
+            outboxDao.enqueueDelete(OutboxEntry.TYPE_WEATHER_DATA, id);
+            weatherDataDao.delete(id);
+        }, onSaved);
+    }
+}
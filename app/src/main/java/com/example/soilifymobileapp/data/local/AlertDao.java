@@ -0,0 +1,83 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.soilifymobileapp.models.AlertRead;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes cached {@link AlertRead} rows. Call from a background thread.
+ */
+public class AlertDao {
+
+    private final SoilifyDatabase database;
+
+    public AlertDao(SoilifyDatabase database) {
+        this.database = database;
+    }
+
+    public List<AlertRead> getRecent(int limit) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        List<AlertRead> alerts = new ArrayList<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_ALERTS, null, null, null,
+                null, null, "created_at DESC", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                alerts.add(fromCursor(cursor));
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * Replace the cached list with a full list from the server, leaving out alerts for fields
+     * whose delete is still queued in {@code outboxDao}.
+     */
+    public void replaceAll(List<AlertRead> alerts, OutboxDao outboxDao) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Set<Integer> deletedFields = outboxDao.pendingDeletes(OutboxEntry.TYPE_FIELD);
+            db.delete(SoilifyDatabase.TABLE_ALERTS, null, null);
+            for (AlertRead alert : alerts) {
+                if (!deletedFields.contains(alert.getFieldId())) {
+                    db.insert(SoilifyDatabase.TABLE_ALERTS, null, toValues(alert));
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static ContentValues toValues(AlertRead alert) {
+        ContentValues values = new ContentValues();
+        values.put("id", alert.getId());
+        values.put("farmer_id", alert.getFarmerId());
+        values.put("farmer_name", alert.getFarmerName());
+        values.put("field_id", alert.getFieldId());
+        values.put("field_name", alert.getFieldName());
+        values.put("message", alert.getMessage());
+        values.put("created_at", alert.getCreatedAt() != null ? alert.getCreatedAt().getTime() : null);
+        return values;
+    }
+
+    private static AlertRead fromCursor(Cursor cursor) {
+        AlertRead alert = new AlertRead();
+        alert.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        alert.setFarmerId(cursor.getInt(cursor.getColumnIndexOrThrow("farmer_id")));
+        alert.setFarmerName(cursor.getString(cursor.getColumnIndexOrThrow("farmer_name")));
+        int fieldId = cursor.getColumnIndexOrThrow("field_id");
+        alert.setFieldId(cursor.isNull(fieldId) ? null : cursor.getInt(fieldId));
+        alert.setFieldName(cursor.getString(cursor.getColumnIndexOrThrow("field_name")));
+        alert.setMessage(cursor.getString(cursor.getColumnIndexOrThrow("message")));
+        int createdAt = cursor.getColumnIndexOrThrow("created_at");
+        alert.setCreatedAt(cursor.isNull(createdAt) ? null : new Date(cursor.getLong(createdAt)));
+        return alert;
+    }
+}
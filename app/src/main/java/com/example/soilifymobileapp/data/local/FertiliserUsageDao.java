@@ -0,0 +1,200 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes cached {@link FertiliserUsageRead} rows. Call from a background thread.
+ */
+public class FertiliserUsageDao {
+
+    private final SoilifyDatabase database;
+
+    public FertiliserUsageDao(SoilifyDatabase database) {
+        this.database = database;
+    }
+
+    public List<FertiliserUsageRead> getAll() {
+        return query(null, null);
+    }
+
+    public List<FertiliserUsageRead> getByFieldId(int fieldId) {
+        return query("field_id = ?", new String[]{String.valueOf(fieldId)});
+    }
+
+    public FertiliserUsageRead getById(int id) {
+        List<FertiliserUsageRead> rows = query("id = ?", new String[]{String.valueOf(id)});
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public int count() {
+        return (int) DatabaseUtils.queryNumEntries(database.getReadableDatabase(), SoilifyDatabase.TABLE_FERTILISER_USAGE);
+    }
+
+    /**
+     * One page of the list in display order, for windowed adapters.
+     */
+    public List<FertiliserUsageRead> getPage(int offset, int limit) {
+        return query(null, null, offset + "," + limit);
+    }
+
+    /**
+     * Replace the cached list with a full list from the server.
+     */
+    public void replaceAll(List<FertiliserUsageRead> usageList) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(SoilifyDatabase.TABLE_FERTILISER_USAGE, null, null);
+            for (FertiliserUsageRead usage : usageList) {
+                db.insert(SoilifyDatabase.TABLE_FERTILISER_USAGE, null, toValues(usage));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (FertiliserUsageRead usage : usageList) {
+            ids.add(usage.getId());
+        }
+        database.fertiliserUsageChanges().notifyRetained(ids);
+        database.fertiliserUsageChanges().notifyUpserted(usageList);
+    }
+
+    /**
+     * Merge an incremental change set: upsert changed rows and drop deleted ids in one transaction.
+     */
+    public void applyChanges(List<FertiliserUsageRead> changed, List<Integer> deletedIds) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (changed != null) {
+                for (FertiliserUsageRead usage : changed) {
+                    db.insertWithOnConflict(SoilifyDatabase.TABLE_FERTILISER_USAGE, null, toValues(usage),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            if (deletedIds != null) {
+                for (Integer id : deletedIds) {
+                    db.delete(SoilifyDatabase.TABLE_FERTILISER_USAGE, "id = ?", new String[]{String.valueOf(id)});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.fertiliserUsageChanges().notifyUpserted(changed);
+        database.fertiliserUsageChanges().notifyDeleted(deletedIds);
+    }
+
+    /**
+     * Drop every cached row whose id is not in {@code ids}, after a full paged download.
+     * Local rows (negative ids) that are still waiting to be synced are kept.
+     */
+    public void retainOnly(Set<Integer> ids) {
+        Set<Integer> retained = new HashSet<>(ids);
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_FERTILISER_USAGE, new String[]{"id"}, null, null,
+                null, null, null)) {
+            while (cursor.moveToNext()) {
+                int id = cursor.getInt(0);
+                if (id < 0) {
+                    retained.add(id);
+                } else if (!ids.contains(id)) {
+                    db.delete(SoilifyDatabase.TABLE_FERTILISER_USAGE, "id = ?", new String[]{String.valueOf(id)});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.fertiliserUsageChanges().notifyRetained(retained);
+    }
+
+    /**
+     * Swap the local row a create was shown as for the server's copy, which has the real id.
+     */
+    public void reconcile(int localId, FertiliserUsageRead saved) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(SoilifyDatabase.TABLE_FERTILISER_USAGE, "id = ?", new String[]{String.valueOf(localId)});
+            db.insertWithOnConflict(SoilifyDatabase.TABLE_FERTILISER_USAGE, null, toValues(saved),
+                    SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.fertiliserUsageChanges().notifyDeleted(Collections.singletonList(localId));
+        database.fertiliserUsageChanges().notifyUpserted(Collections.singletonList(saved));
+    }
+
+    public void upsert(FertiliserUsageRead usage) {
+        database.getWritableDatabase().insertWithOnConflict(SoilifyDatabase.TABLE_FERTILISER_USAGE, null,
+                toValues(usage), SQLiteDatabase.CONFLICT_REPLACE);
+        database.fertiliserUsageChanges().notifyUpserted(Collections.singletonList(usage));
+    }
+
+    public void delete(int id) {
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_FERTILISER_USAGE, "id = ?",
+                new String[]{String.valueOf(id)});
+        database.fertiliserUsageChanges().notifyDeleted(Collections.singletonList(id));
+    }
+
+    private List<FertiliserUsageRead> query(String selection, String[] selectionArgs) {
+        return query(selection, selectionArgs, null);
+    }
+
+    private List<FertiliserUsageRead> query(String selection, String[] selectionArgs, String limit) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        List<FertiliserUsageRead> rows = new ArrayList<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_FERTILISER_USAGE, null, selection, selectionArgs,
+                null, null, "created_at DESC, id DESC", limit)) {
+            while (cursor.moveToNext()) {
+                rows.add(fromCursor(cursor));
+            }
+        }
+        return rows;
+    }
+
+    static ContentValues toValues(FertiliserUsageRead usage) {
+        ContentValues values = new ContentValues();
+        values.put("id", usage.getId());
+        values.put("farmer_id", usage.getFarmerId());
+        values.put("field_id", usage.getFieldId());
+        values.put("field_name", usage.getFieldName());
+        values.put("fertiliser_type", usage.getFertiliserType());
+        values.put("amount_kg", usage.getAmountKg());
+        values.put("weather", usage.getWeather());
+        values.put("notes", usage.getNotes());
+        values.put("date", usage.getDate());
+        values.put("created_at", usage.getCreatedAt());
+        return values;
+    }
+
+    static FertiliserUsageRead fromCursor(Cursor cursor) {
+        FertiliserUsageRead usage = new FertiliserUsageRead();
+        usage.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        usage.setFarmerId(cursor.getInt(cursor.getColumnIndexOrThrow("farmer_id")));
+        usage.setFieldId(cursor.getInt(cursor.getColumnIndexOrThrow("field_id")));
+        usage.setFieldName(cursor.getString(cursor.getColumnIndexOrThrow("field_name")));
+        usage.setFertiliserType(cursor.getString(cursor.getColumnIndexOrThrow("fertiliser_type")));
+        usage.setAmountKg(cursor.getFloat(cursor.getColumnIndexOrThrow("amount_kg")));
+        usage.setWeather(cursor.getString(cursor.getColumnIndexOrThrow("weather")));
+        usage.setNotes(cursor.getString(cursor.getColumnIndexOrThrow("notes")));
+        usage.setDate(cursor.getString(cursor.getColumnIndexOrThrow("date")));
+        usage.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
+        return usage;
+    }
+}
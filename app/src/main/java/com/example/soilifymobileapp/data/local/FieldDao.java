@@ -0,0 +1,118 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.soilifymobileapp.models.FieldRead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes cached {@link FieldRead} rows. Call from a background thread.
+ */
+public class FieldDao {
+
+    private final SoilifyDatabase database;
+
+    public FieldDao(SoilifyDatabase database) {
+        this.database = database;
+    }
+
+    public List<FieldRead> getAll() {
+        SQLiteDatabase db = database.getReadableDatabase();
+        List<FieldRead> fields = new ArrayList<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_FIELDS, null, null, null,
+                null, null, "created_at DESC")) {
+            while (cursor.moveToNext()) {
+                fields.add(fromCursor(cursor));
+            }
+        }
+        return fields;
+    }
+
+    public FieldRead getById(int id) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_FIELDS, null, "id = ?",
+                new String[]{String.valueOf(id)}, null, null, null)) {
+            return cursor.moveToFirst() ? fromCursor(cursor) : null;
+        }
+    }
+
+    /**
+     * Replace the cached list with a full list from the server. Fields deleted locally whose
+     * delete is still queued in {@code outboxDao} are left out, and local rows (negative ids)
+     * are kept, so a refresh never undoes a change that has not been synced yet.
+     */
+    public void replaceAll(List<FieldRead> fields, OutboxDao outboxDao) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        List<FieldRead> stored = new ArrayList<>();
+        Set<Integer> retained = new HashSet<>();
+        db.beginTransaction();
+        try {
+            // Read inside the transaction so a delete journaled meanwhile is either seen or waits
+            Set<Integer> deleted = outboxDao.pendingDeletes(OutboxEntry.TYPE_FIELD);
+            db.delete(SoilifyDatabase.TABLE_FIELDS, "id >= 0", null);
+            try (Cursor cursor = db.query(SoilifyDatabase.TABLE_FIELDS, new String[]{"id"}, null, null,
+                    null, null, null)) {
+                while (cursor.moveToNext()) {
+                    retained.add(cursor.getInt(0));
+                }
+            }
+            for (FieldRead field : fields) {
+                if (!deleted.contains(field.getId())) {
+                    db.insert(SoilifyDatabase.TABLE_FIELDS, null, toValues(field));
+                    stored.add(field);
+                    retained.add(field.getId());
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.fieldChanges().notifyRetained(retained);
+        database.fieldChanges().notifyUpserted(stored);
+    }
+
+    public void upsert(FieldRead field) {
+        database.getWritableDatabase().insertWithOnConflict(SoilifyDatabase.TABLE_FIELDS, null,
+                toValues(field), SQLiteDatabase.CONFLICT_REPLACE);
+        database.fieldChanges().notifyUpserted(Collections.singletonList(field));
+    }
+
+    public void delete(int id) {
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_FIELDS, "id = ?",
+                new String[]{String.valueOf(id)});
+        database.fieldChanges().notifyDeleted(Collections.singletonList(id));
+    }
+
+    private static ContentValues toValues(FieldRead field) {
+        ContentValues values = new ContentValues();
+        values.put("id", field.getId());
+        values.put("farmer_id", field.getFarmerId());
+        values.put("field_name", field.getFieldName());
+        values.put("soil_type", field.getSoilType());
+        values.put("crop_type", field.getCropType());
+        values.put("size_hectares", field.getSizeHectares());
+        values.put("created_at", field.getCreatedAt() != null ? field.getCreatedAt().getTime() : null);
+        return values;
+    }
+
+    private static FieldRead fromCursor(Cursor cursor) {
+        FieldRead field = new FieldRead();
+        field.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        field.setFarmerId(cursor.getInt(cursor.getColumnIndexOrThrow("farmer_id")));
+        field.setFieldName(cursor.getString(cursor.getColumnIndexOrThrow("field_name")));
+        field.setSoilType(cursor.getString(cursor.getColumnIndexOrThrow("soil_type")));
+        field.setCropType(cursor.getString(cursor.getColumnIndexOrThrow("crop_type")));
+        field.setSizeHectares(cursor.getFloat(cursor.getColumnIndexOrThrow("size_hectares")));
+        int createdAt = cursor.getColumnIndexOrThrow("created_at");
+        field.setCreatedAt(cursor.isNull(createdAt) ? null : new Date(cursor.getLong(createdAt)));
+        return field;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Durable journal of local mutations. Repeated edits to the same entity are coalesced
+ * so that only the net change is sent:
+ * <ul>
+ *     <li>update after create: the create payload absorbs the update</li>
+ *     <li>update after update: the newer fields overwrite the older ones</li>
+ *     <li>delete after create: both disappear, the server never sees the entity</li>
+ *     <li>delete after update: the update is replaced by the delete</li>
+ * </ul>
+ * Each entry belongs to the account that made it. Only the current account's entries are
+ * batched or coalesced, so edits left queued by one user are never sent with another's token;
+ * they wait until their own account signs in again.
+ * Call from a background thread.
+ */
+public class OutboxDao {
+
+    private final SoilifyDatabase database;
+    private final Gson gson;
+    // Empty until an account is known, e.g. for a session from before accounts were recorded
+    private volatile String account = "";
+
+    public OutboxDao(SoilifyDatabase database, Gson gson) {
+        this.database = database;
+        this.gson = gson;
+    }
+
+    /**
+     * Make {@code account} the owner of new entries and the only one whose entries are sent.
+     */
+    public void setAccount(String account) {
+        this.account = account != null ? account : "";
+    }
+
+    /**
+     * Give entries queued before any account was known to the current account.
+     */
+    public void claimUnowned() {
+        String owner = account;
+        if (owner.isEmpty()) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put("account", owner);
+        database.getWritableDatabase().update(SoilifyDatabase.TABLE_OUTBOX, values, "account = ''", null);
+    }
+
+    /**
+     * Journal a create and return the negative local id that identifies it until it is synced.
+     */
+    public int enqueueCreate(String entityType, Object payload) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            long rowId = db.insert(SoilifyDatabase.TABLE_OUTBOX, null,
+                    toValues(entityType, 0, OutboxEntry.OP_CREATE, gson.toJson(payload)));
+            int localId = (int) -rowId;
+            ContentValues values = new ContentValues();
+            values.put("entity_id", localId);
+            db.update(SoilifyDatabase.TABLE_OUTBOX, values, "id = ?", new String[]{String.valueOf(rowId)});
+            db.setTransactionSuccessful();
+            return localId;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void enqueueUpdate(String entityType, int entityId, Object payload) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            OutboxEntry pending = findPending(db, entityType, entityId);
+            JsonObject update = gson.toJsonTree(payload).getAsJsonObject();
+            if (pending == null) {
+                db.insert(SoilifyDatabase.TABLE_OUTBOX, null,
+                        toValues(entityType, entityId, OutboxEntry.OP_UPDATE, update.toString()));
+            } else if (!OutboxEntry.OP_DELETE.equals(pending.getOperation())) {
+                JsonObject merged = gson.fromJson(pending.getPayload(), JsonObject.class);
+                for (Map.Entry<String, JsonElement> field : update.entrySet()) {
+                    merged.add(field.getKey(), field.getValue());
+                }
+                ContentValues values = new ContentValues();
+                values.put("payload", merged.toString());
+                db.update(SoilifyDatabase.TABLE_OUTBOX, values, "id = ?",
+                        new String[]{String.valueOf(pending.getId())});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void enqueueDelete(String entityType, int entityId) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            OutboxEntry pending = findPending(db, entityType, entityId);
+            if (pending != null) {
+                db.delete(SoilifyDatabase.TABLE_OUTBOX, "id = ?", new String[]{String.valueOf(pending.getId())});
+            }
+            if (pending == null || !OutboxEntry.OP_CREATE.equals(pending.getOperation())) {
+                db.insert(SoilifyDatabase.TABLE_OUTBOX, null,
+                        toValues(entityType, entityId, OutboxEntry.OP_DELETE, null));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * The current account's entries, oldest first, so the server sees mutations in the order
+     * they were made.
+     */
+    public List<OutboxEntry> getBatch(int limit) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        List<OutboxEntry> entries = new ArrayList<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_OUTBOX, null, "account = ?", new String[]{account},
+                null, null, "id ASC", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                entries.add(fromCursor(cursor));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Ids of {@code entityType} records the current account has deleted locally but the server
+     * has not been told about yet. A full download still lists them.
+     */
+    public Set<Integer> pendingDeletes(String entityType) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        Set<Integer> ids = new HashSet<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_OUTBOX, new String[]{"entity_id"},
+                "entity_type = ? AND operation = ? AND account = ?",
+                new String[]{entityType, OutboxEntry.OP_DELETE, account}, null, null, null)) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+        }
+        return ids;
+    }
+
+    public long count() {
+        return DatabaseUtils.queryNumEntries(database.getReadableDatabase(), SoilifyDatabase.TABLE_OUTBOX);
+    }
+
+    /**
+     * Drop an entry the server rejected outright; retrying it would fail the same way.
+     */
+    public void remove(long id) {
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_OUTBOX, "id = ?",
+                new String[]{String.valueOf(id)});
+    }
+
+    /**
+     * Mark an update or delete as delivered. If the entry was coalesced with a newer edit
+     * while the request was in flight it stays queued so the newer edit is sent too.
+     */
+    public void complete(OutboxEntry sent) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        if (OutboxEntry.OP_DELETE.equals(sent.getOperation())) {
+            remove(sent.getId());
+        } else {
+            db.delete(SoilifyDatabase.TABLE_OUTBOX, "id = ? AND payload = ?",
+                    new String[]{String.valueOf(sent.getId()), sent.getPayload()});
+        }
+    }
+
+    /**
+     * Mark a create as delivered. Edits that were coalesced into it while the request was
+     * in flight are re-addressed to the id the server assigned.
+     *
+     * @return false if the entity was deleted locally while the create was in flight; a
+     * delete for the server id has been queued in its place
+     */
+    public boolean completeCreate(OutboxEntry sent, int serverId) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            OutboxEntry current = findById(db, sent.getId());
+            boolean kept = current != null;
+            if (current == null) {
+                // Deleted locally while the create was in flight
+                db.insert(SoilifyDatabase.TABLE_OUTBOX, null,
+                        toValues(sent.getEntityType(), serverId, OutboxEntry.OP_DELETE, null));
+            } else if (sent.getPayload().equals(current.getPayload())) {
+                remove(sent.getId());
+            } else {
+                ContentValues values = new ContentValues();
+                values.put("entity_id", serverId);
+                values.put("operation", OutboxEntry.OP_UPDATE);
+                db.update(SoilifyDatabase.TABLE_OUTBOX, values, "id = ?",
+                        new String[]{String.valueOf(sent.getId())});
+            }
+            db.setTransactionSuccessful();
+            return kept;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void incrementAttempts(long id) {
+        database.getWritableDatabase().execSQL("UPDATE " + SoilifyDatabase.TABLE_OUTBOX
+                + " SET attempts = attempts + 1 WHERE id = ?", new Object[]{id});
+    }
+
+    private static OutboxEntry findById(SQLiteDatabase db, long id) {
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_OUTBOX, null, "id = ?",
+                new String[]{String.valueOf(id)}, null, null, null)) {
+            return cursor.moveToFirst() ? fromCursor(cursor) : null;
+        }
+    }
+
+    private OutboxEntry findPending(SQLiteDatabase db, String entityType, int entityId) {
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_OUTBOX, null,
+                "entity_type = ? AND entity_id = ? AND account = ?",
+                new String[]{entityType, String.valueOf(entityId), account}, null, null, "id DESC", "1")) {
+            return cursor.moveToFirst() ? fromCursor(cursor) : null;
+        }
+    }
+
+    private ContentValues toValues(String entityType, int entityId, String operation, String payload) {
+        ContentValues values = new ContentValues();
+        values.put("entity_type", entityType);
+        values.put("entity_id", entityId);
+        values.put("operation", operation);
+        values.put("payload", payload);
+        values.put("created_at", System.currentTimeMillis());
+        values.put("account", account);
+        return values;
+    }
+
+    private static OutboxEntry fromCursor(Cursor cursor) {
+        return new OutboxEntry(
+                cursor.getLong(cursor.getColumnIndexOrThrow("id")),
+                cursor.getString(cursor.getColumnIndexOrThrow("entity_type")),
+                cursor.getInt(cursor.getColumnIndexOrThrow("entity_id")),
+                cursor.getString(cursor.getColumnIndexOrThrow("operation")),
+                cursor.getString(cursor.getColumnIndexOrThrow("payload")),
+                cursor.getInt(cursor.getColumnIndexOrThrow("attempts")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.soilifymobileapp.data.local;
+
+/**
+ * A journaled create/update/delete that still has to be sent to the server.
+ * Creates use a negative local id until the server assigns the real one.
+ */
+public class OutboxEntry {
+
+    public static final String TYPE_FIELD = "field";
+    public static final String TYPE_WEATHER_DATA = "weather_data";
+    public static final String TYPE_FERTILISER_USAGE = "fertiliser_usage";
+
+    public static final String OP_CREATE = "create";
+    public static final String OP_UPDATE = "update";
+    public static final String OP_DELETE = "delete";
+
+    private final long id;
+    private final String entityType;
+    private final int entityId;
+    private final String operation;
+    private final String payload;
+    private final int attempts;
+
+    public OutboxEntry(long id, String entityType, int entityId, String operation, String payload, int attempts) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.payload = payload;
+        this.attempts = attempts;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+
+import java.util.Collections;
+
+/**
+ * On-device copy of the records shown in the list screens.
+ * Tables mirror the *Read models returned by the API; every table is indexed on
+ * field_id and created_at, which are the columns the screens filter and sort by.
+ * The outbox table holds local mutations that have not reached the server yet, and
+ * sync_state keeps the per-collection cursor used for incremental downloads.
+ */
+public class SoilifyDatabase extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "soilify.db";
+    private static final int DATABASE_VERSION = 2;
+
+    public static final String TABLE_FIELDS = "fields";
+    public static final String TABLE_WEATHER_DATA = "weather_data";
+    public static final String TABLE_FERTILISER_USAGE = "fertiliser_usage";
+    public static final String TABLE_ALERTS = "alerts";
+    public static final String TABLE_OUTBOX = "outbox";
+    public static final String TABLE_SYNC_STATE = "sync_state";
+
+    private static volatile SoilifyDatabase instance;
+
+    private final TableChanges<FieldRead> fieldChanges = new TableChanges<>();
+    private final TableChanges<WeatherDataRead> weatherDataChanges = new TableChanges<>();
+    private final TableChanges<FertiliserUsageRead> fertiliserUsageChanges = new TableChanges<>();
+
+    public static SoilifyDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SoilifyDatabase.class) {
+                if (instance == null) {
+                    instance = new SoilifyDatabase(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private SoilifyDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    public TableChanges<FieldRead> fieldChanges() {
+        return fieldChanges;
+    }
+
+    public TableChanges<WeatherDataRead> weatherDataChanges() {
+        return weatherDataChanges;
+    }
+
+    public TableChanges<FertiliserUsageRead> fertiliserUsageChanges() {
+        return fertiliserUsageChanges;
+    }
+
+    /**
+     * Delete every cached record, e.g. when the user signs out, so the next account to sign in
+     * on this device never sees them. Sync cursors go too: they describe what the old cache
+     * held, and a delta from them would leave the next account's cache missing everything
+     * older. Observers are told that no rows remain. Call from a background thread.
+     */
+    public void clearCache() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_FIELDS, null, null);
+            db.delete(TABLE_WEATHER_DATA, null, null);
+            db.delete(TABLE_FERTILISER_USAGE, null, null);
+            db.delete(TABLE_ALERTS, null, null);
+            db.delete(TABLE_SYNC_STATE, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        fieldChanges.notifyRetained(Collections.emptySet());
+        weatherDataChanges.notifyRetained(Collections.emptySet());
+        fertiliserUsageChanges.notifyRetained(Collections.emptySet());
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_FIELDS + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "farmer_id INTEGER, "
+                + "field_name TEXT, "
+                + "soil_type TEXT, "
+                + "crop_type TEXT, "
+                + "size_hectares REAL, "
+                + "created_at INTEGER)");
+        db.execSQL("CREATE INDEX idx_fields_created_at ON " + TABLE_FIELDS + " (created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_WEATHER_DATA + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "field_id INTEGER, "
+                + "field_name TEXT, "
+                + "temperature REAL, "
+                + "rainfall REAL, "
+                + "soil_moisture REAL, "
+                + "created_at INTEGER)");
+        db.execSQL("CREATE INDEX idx_weather_data_field_id ON " + TABLE_WEATHER_DATA + " (field_id)");
+        db.execSQL("CREATE INDEX idx_weather_data_created_at ON " + TABLE_WEATHER_DATA + " (created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_FERTILISER_USAGE + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "farmer_id INTEGER, "
+                + "field_id INTEGER, "
+                + "field_name TEXT, "
+                + "fertiliser_type TEXT, "
+                + "amount_kg REAL, "
+                + "weather TEXT, "
+                + "notes TEXT, "
+                + "date TEXT, "
+                + "created_at TEXT)");
+        db.execSQL("CREATE INDEX idx_fertiliser_usage_field_id ON " + TABLE_FERTILISER_USAGE + " (field_id)");
+        db.execSQL("CREATE INDEX idx_fertiliser_usage_created_at ON " + TABLE_FERTILISER_USAGE + " (created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_ALERTS + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "farmer_id INTEGER, "
+                + "farmer_name TEXT, "
+                + "field_id INTEGER, "
+                + "field_name TEXT, "
+                + "message TEXT, "
+                + "created_at INTEGER)");
+        db.execSQL("CREATE INDEX idx_alerts_field_id ON " + TABLE_ALERTS + " (field_id)");
+        db.execSQL("CREATE INDEX idx_alerts_created_at ON " + TABLE_ALERTS + " (created_at)");
+
+        createOutbox(db);
+        createSyncState(db);
+    }
+
+    private static void createOutbox(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "entity_type TEXT NOT NULL, "
+                + "entity_id INTEGER NOT NULL, "
+                + "operation TEXT NOT NULL, "
+                + "payload TEXT, "
+                + "attempts INTEGER NOT NULL DEFAULT 0, "
+                + "created_at INTEGER NOT NULL, "
+                + "account TEXT NOT NULL DEFAULT '')");
+        db.execSQL("CREATE INDEX idx_outbox_entity ON " + TABLE_OUTBOX + " (entity_type, entity_id)");
+    }
+
+    private static void createSyncState(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + "entity_type TEXT PRIMARY KEY, "
+                + "cursor TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Version 1 held only the cache tables. Cache tables can always be rebuilt from the
+        // server, the outbox cannot, so later upgrades must migrate it in place.
+        if (oldVersion < 2) {
+            createOutbox(db);
+            createSyncState(db);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Per-collection high-water marks for incremental sync. Call from a background thread.
+ */
+public class SyncStateDao {
+
+    private final SoilifyDatabase database;
+
+    public SyncStateDao(SoilifyDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * @return the cursor from the last successful sync, or null if the collection was never synced
+     */
+    public String getCursor(String entityType) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_SYNC_STATE, new String[]{"cursor"},
+                "entity_type = ?", new String[]{entityType}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    public void setCursor(String entityType, String value) {
+        ContentValues values = new ContentValues();
+        values.put("entity_type", entityType);
+        values.put("cursor", value);
+        database.getWritableDatabase().insertWithOnConflict(SoilifyDatabase.TABLE_SYNC_STATE, null,
+                values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Forget the cursor, so the next sync of the collection downloads it in full.
+     */
+    public void clearCursor(String entityType) {
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_SYNC_STATE, "entity_type = ?",
+                new String[]{entityType});
+    }
+}
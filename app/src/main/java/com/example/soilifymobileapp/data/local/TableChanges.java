@@ -0,0 +1,62 @@
+package com.example.soilifymobileapp.data.local;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Row-level change notifications for one cached table, so derived state (such as local
+ * analytics) can be updated incrementally instead of re-reading the table. Observers are
+ * called on the writing thread after the change has been committed.
+ */
+public final class TableChanges<T> {
+
+    public interface Observer<T> {
+        /**
+         * Rows were inserted or replaced.
+         */
+        void onUpserted(List<T> rows);
+
+        void onDeleted(Collection<Integer> ids);
+
+        /**
+         * Every row whose id is not in {@code ids} was deleted.
+         */
+        void onRetained(Set<Integer> ids);
+    }
+
+    private final List<Observer<T>> observers = new CopyOnWriteArrayList<>();
+
+    public void addObserver(Observer<T> observer) {
+        observers.add(observer);
+    }
+
+    public void removeObserver(Observer<T> observer) {
+        observers.remove(observer);
+    }
+
+    void notifyUpserted(List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        for (Observer<T> observer : observers) {
+            observer.onUpserted(rows);
+        }
+    }
+
+    void notifyDeleted(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        for (Observer<T> observer : observers) {
+            observer.onDeleted(ids);
+        }
+    }
+
+    void notifyRetained(Set<Integer> ids) {
+        for (Observer<T> observer : observers) {
+            observer.onRetained(ids);
+        }
+    }
+}
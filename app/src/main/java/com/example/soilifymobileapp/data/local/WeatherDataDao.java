@@ -0,0 +1,202 @@
+package com.example.soilifymobileapp.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.soilifymobileapp.models.WeatherDataRead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes cached {@link WeatherDataRead} rows. Call from a background thread.
+ */
+public class WeatherDataDao {
+
+    private final SoilifyDatabase database;
+
+    public WeatherDataDao(SoilifyDatabase database) {
+        this.database = database;
+    }
+
+    public List<WeatherDataRead> getAll() {
+        return query(null, null);
+    }
+
+    public List<WeatherDataRead> getByFieldId(int fieldId) {
+        return query("field_id = ?", new String[]{String.valueOf(fieldId)});
+    }
+
+    public WeatherDataRead getById(int id) {
+        List<WeatherDataRead> rows = query("id = ?", new String[]{String.valueOf(id)});
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public int count() {
+        return (int) DatabaseUtils.queryNumEntries(database.getReadableDatabase(), SoilifyDatabase.TABLE_WEATHER_DATA);
+    }
+
+    /**
+     * One page of the list in display order, for windowed adapters.
+     */
+    public List<WeatherDataRead> getPage(int offset, int limit) {
+        return query(null, null, offset + "," + limit);
+    }
+
+    /**
+     * Replace the cached list with a full list from the server.
+     */
+    public void replaceAll(List<WeatherDataRead> weatherDataList) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(SoilifyDatabase.TABLE_WEATHER_DATA, null, null);
+            for (WeatherDataRead weatherData : weatherDataList) {
+                db.insert(SoilifyDatabase.TABLE_WEATHER_DATA, null, toValues(weatherData));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (WeatherDataRead weatherData : weatherDataList) {
+            ids.add(weatherData.getId());
+        }
+        database.weatherDataChanges().notifyRetained(ids);
+        database.weatherDataChanges().notifyUpserted(weatherDataList);
+    }
+
+    /**
+     * Merge an incremental change set: upsert changed rows and drop deleted ids in one transaction.
+     */
+    public void applyChanges(List<WeatherDataRead> changed, List<Integer> deletedIds) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (changed != null) {
+                for (WeatherDataRead weatherData : changed) {
+                    db.insertWithOnConflict(SoilifyDatabase.TABLE_WEATHER_DATA, null, toValues(weatherData),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            if (deletedIds != null) {
+                for (Integer id : deletedIds) {
+                    db.delete(SoilifyDatabase.TABLE_WEATHER_DATA, "id = ?", new String[]{String.valueOf(id)});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.weatherDataChanges().notifyUpserted(changed);
+        database.weatherDataChanges().notifyDeleted(deletedIds);
+    }
+
+    /**
+     * Drop every cached row whose id is not in {@code ids}, after a full paged download.
+     * Local rows (negative ids) that are still waiting to be synced are kept.
+     */
+    public void retainOnly(Set<Integer> ids) {
+        Set<Integer> retained = new HashSet<>(ids);
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_WEATHER_DATA, new String[]{"id"}, null, null,
+                null, null, null)) {
+            while (cursor.moveToNext()) {
+                int id = cursor.getInt(0);
+                if (id < 0) {
+                    retained.add(id);
+                } else if (!ids.contains(id)) {
+                    db.delete(SoilifyDatabase.TABLE_WEATHER_DATA, "id = ?", new String[]{String.valueOf(id)});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.weatherDataChanges().notifyRetained(retained);
+    }
+
+    /**
+     * Swap the local row a create was shown as for the server's copy, which has the real id.
+     */
+    public void reconcile(int localId, WeatherDataRead saved) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(SoilifyDatabase.TABLE_WEATHER_DATA, "id = ?", new String[]{String.valueOf(localId)});
+            db.insertWithOnConflict(SoilifyDatabase.TABLE_WEATHER_DATA, null, toValues(saved),
+                    SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        database.weatherDataChanges().notifyDeleted(Collections.singletonList(localId));
+        database.weatherDataChanges().notifyUpserted(Collections.singletonList(saved));
+    }
+
+    public void upsert(WeatherDataRead weatherData) {
+        database.getWritableDatabase().insertWithOnConflict(SoilifyDatabase.TABLE_WEATHER_DATA, null,
+                toValues(weatherData), SQLiteDatabase.CONFLICT_REPLACE);
+        database.weatherDataChanges().notifyUpserted(Collections.singletonList(weatherData));
+    }
+
+    public void delete(int id) {
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_WEATHER_DATA, "id = ?",
+                new String[]{String.valueOf(id)});
+        database.weatherDataChanges().notifyDeleted(Collections.singletonList(id));
+    }
+
+    private List<WeatherDataRead> query(String selection, String[] selectionArgs) {
+        return query(selection, selectionArgs, null);
+    }
+
+    private List<WeatherDataRead> query(String selection, String[] selectionArgs, String limit) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        List<WeatherDataRead> rows = new ArrayList<>();
+        try (Cursor cursor = db.query(SoilifyDatabase.TABLE_WEATHER_DATA, null, selection, selectionArgs,
+                null, null, "created_at DESC, id DESC", limit)) {
+            while (cursor.moveToNext()) {
+                rows.add(fromCursor(cursor));
+            }
+        }
+        return rows;
+    }
+
+    static ContentValues toValues(WeatherDataRead weatherData) {
+        ContentValues values = new ContentValues();
+        values.put("id", weatherData.getId());
+        values.put("field_id", weatherData.getFieldId());
+        values.put("field_name", weatherData.getFieldName());
+        values.put("temperature", weatherData.getTemperature());
+        values.put("rainfall", weatherData.getRainfall());
+        values.put("soil_moisture", weatherData.getSoilMoisture());
+        values.put("created_at", weatherData.getCreatedAt() != null ? weatherData.getCreatedAt().getTime() : null);
+        return values;
+    }
+
+    static WeatherDataRead fromCursor(Cursor cursor) {
+        WeatherDataRead weatherData = new WeatherDataRead();
+        weatherData.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        int fieldId = cursor.getColumnIndexOrThrow("field_id");
+        weatherData.setFieldId(cursor.isNull(fieldId) ? null : cursor.getInt(fieldId));
+        weatherData.setFieldName(cursor.getString(cursor.getColumnIndexOrThrow("field_name")));
+        weatherData.setTemperature(getFloatOrNull(cursor, "temperature"));
+        weatherData.setRainfall(getFloatOrNull(cursor, "rainfall"));
+        weatherData.setSoilMoisture(getFloatOrNull(cursor, "soil_moisture"));
+        int createdAt = cursor.getColumnIndexOrThrow("created_at");
+        weatherData.setCreatedAt(cursor.isNull(createdAt) ? null : new Date(cursor.getLong(createdAt)));
+        return weatherData;
+    }
+
+    private static Float getFloatOrNull(Cursor cursor, String column) {
+        int index = cursor.getColumnIndexOrThrow(column);
+        return cursor.isNull(index) ? null : cursor.getFloat(index);
+    }
+}
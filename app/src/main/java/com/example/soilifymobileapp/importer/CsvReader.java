@@ -0,0 +1,142 @@
+package com.example.soilifymobileapp.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV (RFC 4180) one record at a time from a stream.
+ *
+ * Only the current record is held: the characters go through a fixed buffer, and the record
+ * list and field builder are reused from one record to the next, so memory stays the same
+ * however long the file is. Quoted fields may contain commas, doubled quotes and line breaks.
+ * Lines may end in LF, CRLF or CR; blank lines and a leading byte order mark are skipped.
+ * A field longer than {@link #MAX_FIELD_LENGTH}, usually an unbalanced quote swallowing the
+ * rest of the file, fails the read rather than growing without bound.
+ */
+public final class CsvReader implements Closeable {
+
+    public static final int MAX_FIELD_LENGTH = 4096;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final List<String> record = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean started;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input. The list is
+     * reused by the next call, so copy anything that must outlive it.
+     */
+    public List<String> next() throws IOException {
+        record.clear();
+        field.setLength(0);
+
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            endOfLine(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        // Closing quote; whatever follows is handled as unquoted text
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append((char) c);
+            } else if (c == ',') {
+                endField();
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c != -1) {
+                    endOfLine(c);
+                }
+                endField();
+                return record;
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return the line the last record returned by {@link #next()} started on, counting from 1
+     */
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void endField() {
+        record.add(field.toString());
+        field.setLength(0);
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field longer than " + MAX_FIELD_LENGTH + " characters on line " + recordLine);
+        }
+        field.append(c);
+    }
+
+    /**
+     * Consume the rest of a line ending that started with {@code c}.
+     */
+    private void endOfLine(int c) throws IOException {
+        line++;
+        if (c == '\r' && read() != '\n' && position > 0) {
+            // A lone CR; give back the character after it
+            position--;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
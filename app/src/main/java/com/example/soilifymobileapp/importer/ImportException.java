@@ -0,0 +1,10 @@
+package com.example.soilifymobileapp.importer;
+
+/**
+ * An import cannot go on, e.g. because the server refused a batch; the message says why.
+ */
+final class ImportException extends Exception {
+    ImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.soilifymobileapp.importer;
+
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherImportResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One pass over an import file: reads it through {@link CsvReader}, validates each row with
+ * {@link WeatherCsvSchema}, skips rows repeating a field and time seen earlier in the file,
+ * and hands the rest to an {@link Uploader} a batch at a time.
+ *
+ * A pass resuming from a checkpoint re-reads the rows before it only to rebuild the
+ * de-duplication set; they are neither counted nor uploaded again. Free of Android so the
+ * row handling can be exercised on the JVM; {@link WeatherImporter} supplies the file, the
+ * uploads and the persistence. Not thread-safe; use one per pass.
+ */
+final class ImportPass {
+
+    private static final int PUBLISH_EVERY_ROWS = 1_000;
+
+    interface Uploader {
+        WeatherImportResult upload(List<WeatherDataCreate> batch) throws ImportException, IOException;
+    }
+
+    interface Listener {
+        /**
+         * A batch was accepted; a later pass can resume after {@link #getRowsRead()} rows.
+         */
+        void onCheckpoint(ImportPass pass);
+
+        /**
+         * Called after each batch and every {@value #PUBLISH_EVERY_ROWS} rows.
+         */
+        void onProgress(ImportPass pass);
+    }
+
+    private final int batchSize;
+    private final long resumeAfterRows;
+    private long rowsRead;
+    private long uploaded;
+    private long duplicates;
+    private long invalid;
+    private String note;
+
+    /**
+     * @param resumeAfterRows data rows already dealt with by an earlier pass, 0 to start afresh
+     * @param note            the first message to report, or null; later ones do not replace it
+     */
+    ImportPass(int batchSize, long resumeAfterRows, long uploaded, long duplicates, long invalid, String note) {
+        this.batchSize = batchSize;
+        this.resumeAfterRows = resumeAfterRows;
+        this.uploaded = uploaded;
+        this.duplicates = duplicates;
+        this.invalid = invalid;
+        this.note = note;
+    }
+
+    /**
+     * @param stopRequested polled before each row
+     * @return true if the whole file was imported, false if the pass was stopped
+     * @throws IOException if the file cannot be read or is not a weather export
+     */
+    boolean run(Reader in, Uploader uploader, BooleanSupplier stopRequested, Listener listener)
+            throws ImportException, IOException {
+        CsvReader csv = new CsvReader(in);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IOException("The file is empty");
+        }
+        WeatherCsvSchema schema = WeatherCsvSchema.fromHeader(header);
+        LongSet seen = new LongSet();
+        List<WeatherDataCreate> batch = new ArrayList<>(batchSize);
+
+        List<String> row;
+        while ((row = csv.next()) != null) {
+            if (stopRequested.getAsBoolean()) {
+                return false;
+            }
+            rowsRead++;
+            boolean replaying = rowsRead <= resumeAfterRows;
+
+            WeatherDataCreate reading;
+            try {
+                reading = schema.parse(row);
+            } catch (WeatherCsvSchema.InvalidRowException e) {
+                if (!replaying) {
+                    invalid++;
+                    if (note == null) {
+                        note = "Line " + csv.getLineNumber() + " skipped: " + e.getMessage();
+                    }
+                }
+                continue;
+            }
+            boolean fresh = seen.add(schema.lastKey());
+            if (replaying) {
+                continue;
+            }
+            if (!fresh) {
+                duplicates++;
+            } else {
+                batch.add(reading);
+            }
+
+            boolean sent = batch.size() == batchSize;
+            if (sent) {
+                send(uploader, batch);
+                batch.clear();
+                listener.onCheckpoint(this);
+            }
+            if (sent || rowsRead % PUBLISH_EVERY_ROWS == 0) {
+                listener.onProgress(this);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            send(uploader, batch);
+        }
+        return true;
+    }
+
+    private void send(Uploader uploader, List<WeatherDataCreate> batch) throws ImportException, IOException {
+        WeatherImportResult result = uploader.upload(batch);
+        uploaded += result.getInserted();
+        duplicates += result.getDuplicates();
+    }
+
+    /**
+     * @return data rows read from the file so far, including any replayed ones
+     */
+    long getRowsRead() {
+        return rowsRead;
+    }
+
+    long getUploaded() {
+        return uploaded;
+    }
+
+    long getDuplicates() {
+        return duplicates;
+    }
+
+    long getInvalid() {
+        return invalid;
+    }
+
+    String getNote() {
+        return note;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.soilifymobileapp.importer;
+
+/**
+ * A snapshot of a CSV import, published by {@link WeatherImporter}.
+ */
+public final class ImportProgress {
+
+    public enum State {
+        RUNNING,
+        // Stopped by the user or by the app being closed; can be resumed
+        STOPPED,
+        // Stopped by an error; can be resumed once the cause is fixed
+        FAILED,
+        DONE
+    }
+
+    private final State state;
+    private final long rowsRead;
+    private final long uploaded;
+    private final long duplicates;
+    private final long invalid;
+    private final float fraction;
+    private final String message;
+
+    ImportProgress(State state, long rowsRead, long uploaded, long duplicates, long invalid, float fraction,
+                   String message) {
+        this.state = state;
+        this.rowsRead = rowsRead;
+        this.uploaded = uploaded;
+        this.duplicates = duplicates;
+        this.invalid = invalid;
+        this.fraction = fraction;
+        this.message = message;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isResumable() {
+        return state == State.STOPPED || state == State.FAILED;
+    }
+
+    /**
+     * @return data rows read from the file so far
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * @return readings the server has accepted
+     */
+    public long getUploaded() {
+        return uploaded;
+    }
+
+    /**
+     * @return readings skipped because the file or the server already had one for the same
+     * field and time
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * @return the share of the file read, from 0 to 1, or -1 if its size is unknown
+     */
+    public float getFraction() {
+        return fraction;
+    }
+
+    /**
+     * @return why the import stopped, or the first invalid row; null if there is nothing to say
+     */
+    public String getMessage() {
+        return message;
+    }
+}
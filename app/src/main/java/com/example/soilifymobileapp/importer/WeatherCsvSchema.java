@@ -0,0 +1,231 @@
+package com.example.soilifymobileapp.importer;
+
+import com.example.soilifymobileapp.models.ServerTime;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps the columns of a logger export to {@link WeatherDataCreate} and validates each row.
+ *
+ * Columns are found by their header, in any order and with common aliases, so exports from
+ * different loggers work without a mapping step. A row needs a field id, a timestamp and at
+ * least one reading; readings outside physically plausible ranges are rejected rather than
+ * uploaded. Timestamps without a zone are taken as device local time, which is what loggers
+ * write, and sent to the server in UTC. Not thread-safe; use one per import.
+ */
+final class WeatherCsvSchema {
+
+    /**
+     * A row that cannot be imported; the message says why.
+     */
+    static final class InvalidRowException extends Exception {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+
+    // Tried in order, most specific first; parsing starts from the last one that matched
+    private static final String[] TIME_PATTERNS = {
+            "yyyy-MM-dd'T'HH:mm:ss.SSSX",
+            "yyyy-MM-dd'T'HH:mm:ssX",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm",
+            "yyyy-MM-dd HH:mm",
+            "yyyy-MM-dd",
+    };
+    // Readings up to a day ahead are allowed for loggers whose clocks run fast
+    private static final long MAX_FUTURE_MS = 24 * 60 * 60_000L;
+    // Field ids and epoch seconds are packed into one long for de-duplication
+    private static final int SECONDS_BITS = 33;
+
+    private final int fieldColumn;
+    private final int timeColumn;
+    private final int temperatureColumn;
+    private final int rainfallColumn;
+    private final int soilMoistureColumn;
+    private final SimpleDateFormat[] timeFormats = new SimpleDateFormat[TIME_PATTERNS.length];
+    private final ParsePosition parsePosition = new ParsePosition(0);
+    private int lastTimeFormat;
+    private long lastKey;
+
+    private WeatherCsvSchema(int fieldColumn, int timeColumn, int temperatureColumn, int rainfallColumn,
+                             int soilMoistureColumn) {
+        this.fieldColumn = fieldColumn;
+        this.timeColumn = timeColumn;
+        this.temperatureColumn = temperatureColumn;
+        this.rainfallColumn = rainfallColumn;
+        this.soilMoistureColumn = soilMoistureColumn;
+        for (int i = 0; i < TIME_PATTERNS.length; i++) {
+            timeFormats[i] = new SimpleDateFormat(TIME_PATTERNS[i], Locale.US);
+            timeFormats[i].setLenient(false);
+        }
+    }
+
+    /**
+     * @throws IOException if the header lacks a field id, a timestamp or any reading column
+     */
+    static WeatherCsvSchema fromHeader(List<String> header) throws IOException {
+        int field = -1, time = -1, temperature = -1, rainfall = -1, soilMoisture = -1;
+        for (int i = 0; i < header.size(); i++) {
+            switch (normalise(header.get(i))) {
+                case "field_id":
+                case "fieldid":
+                case "field":
+                    field = i;
+                    break;
+                case "recorded_at":
+                case "timestamp":
+                case "datetime":
+                case "date_time":
+                case "time":
+                case "date":
+                    time = i;
+                    break;
+                case "temperature":
+                case "temperature_c":
+                case "temp":
+                    temperature = i;
+                    break;
+                case "rainfall":
+                case "rainfall_mm":
+                case "rain":
+                    rainfall = i;
+                    break;
+                case "soil_moisture":
+                case "soil_moisture_pct":
+                case "moisture":
+                    soilMoisture = i;
+                    break;
+                default:
+                    // Other columns, e.g. battery voltage, are ignored
+            }
+        }
+        if (field < 0) {
+            throw new IOException("The header has no field_id column");
+        }
+        if (time < 0) {
+            throw new IOException("The header has no timestamp column");
+        }
+        if (temperature < 0 && rainfall < 0 && soilMoisture < 0) {
+            throw new IOException("The header has no temperature, rainfall or soil_moisture column");
+        }
+        return new WeatherCsvSchema(field, time, temperature, rainfall, soilMoisture);
+    }
+
+    /**
+     * Validate one data row. On success {@link #lastKey()} identifies its field and time.
+     */
+    WeatherDataCreate parse(List<String> row) throws InvalidRowException {
+        String fieldText = cell(row, fieldColumn);
+        int fieldId;
+        try {
+            fieldId = Integer.parseInt(fieldText);
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException("field_id \"" + fieldText + "\" is not a number");
+        }
+        if (fieldId <= 0 || fieldId >= 1 << (63 - SECONDS_BITS)) {
+            throw new InvalidRowException("field_id " + fieldId + " is out of range");
+        }
+
+        Date recordedAt = parseTime(cell(row, timeColumn));
+        if (recordedAt.getTime() > System.currentTimeMillis() + MAX_FUTURE_MS) {
+            throw new InvalidRowException("timestamp " + cell(row, timeColumn) + " is in the future");
+        }
+        long seconds = recordedAt.getTime() / 1000;
+        if (seconds < 0 || seconds >= 1L << SECONDS_BITS) {
+            throw new InvalidRowException("timestamp " + cell(row, timeColumn) + " is out of range");
+        }
+
+        Float temperature = reading(row, temperatureColumn, "temperature", -60f, 70f);
+        Float rainfall = reading(row, rainfallColumn, "rainfall", 0f, 1000f);
+        Float soilMoisture = reading(row, soilMoistureColumn, "soil_moisture", 0f, 100f);
+        if (temperature == null && rainfall == null && soilMoisture == null) {
+            throw new InvalidRowException("no readings");
+        }
+
+        lastKey = ((long) fieldId << SECONDS_BITS) | seconds;
+        WeatherDataCreate reading = new WeatherDataCreate(fieldId, temperature, rainfall, soilMoisture);
+        reading.setRecordedAt(ServerTime.format(recordedAt));
+        return reading;
+    }
+
+    /**
+     * @return the field and time of the row last returned by {@link #parse(List)}, never 0
+     */
+    long lastKey() {
+        return lastKey;
+    }
+
+    private Date parseTime(String text) throws InvalidRowException {
+        if (text.isEmpty()) {
+            throw new InvalidRowException("no timestamp");
+        }
+        if (isDigits(text)) {
+            // Epoch seconds, or milliseconds when longer than seconds run until 2286
+            try {
+                long value = Long.parseLong(text);
+                return new Date(text.length() > 10 ? value : value * 1000);
+            } catch (NumberFormatException e) {
+                throw new InvalidRowException("timestamp " + text + " is out of range");
+            }
+        }
+        for (int i = 0; i < timeFormats.length; i++) {
+            int index = (lastTimeFormat + i) % timeFormats.length;
+            parsePosition.setIndex(0);
+            parsePosition.setErrorIndex(-1);
+            Date date = timeFormats[index].parse(text, parsePosition);
+            // Require the whole cell to match, or "2024-05-01 10:00" would parse as a date alone
+            if (date != null && parsePosition.getIndex() == text.length()) {
+                lastTimeFormat = index;
+                return date;
+            }
+        }
+        throw new InvalidRowException("timestamp \"" + text + "\" is not a recognised date and time");
+    }
+
+    private static Float reading(List<String> row, int column, String name, float min, float max)
+            throws InvalidRowException {
+        if (column < 0) {
+            return null;
+        }
+        String text = cell(row, column);
+        if (text.isEmpty()) {
+            return null;
+        }
+        float value;
+        try {
+            value = Float.parseFloat(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(name + " \"" + text + "\" is not a number");
+        }
+        // Also rejects NaN, which Float.parseFloat accepts
+        if (!(value >= min && value <= max)) {
+            throw new InvalidRowException(name + " " + text + " is outside " + min + " to " + max);
+        }
+        return value;
+    }
+
+    private static String cell(List<String> row, int column) {
+        return column < row.size() ? row.get(column).trim() : "";
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalise(String name) {
+        return name.trim().toLowerCase(Locale.US).replace(' ', '_').replace('-', '_');
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.soilifymobileapp.importer;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.OpenableColumns;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherImportResult;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.WeatherApi;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Imports weather readings from a logger's CSV export.
+ *
+ * The file is streamed through an {@link ImportPass} on the import thread, so memory does not
+ * grow with its length apart from one packed key per accepted row for de-duplication.
+ * Rows are validated by {@link WeatherCsvSchema}, rows repeating a field and time already seen
+ * in the file are skipped, and the rest are uploaded {@link #BATCH_SIZE} at a time to the bulk
+ * endpoint. Transient failures are retried with backoff before the import gives up.
+ *
+ * After each acknowledged batch the number of rows consumed is checkpointed, so an import that
+ * is stopped, fails or is killed with the app resumes from the last acknowledged batch. Resuming
+ * re-reads the rows before the checkpoint only to rebuild the de-duplication set. A batch whose
+ * response was lost is sent again, which the server absorbs as duplicates.
+ *
+ * Imported readings reach the cache through the next weather sync. One import runs at a time;
+ * call the public methods from the main thread.
+ */
+public class WeatherImporter {
+
+    private static final String TAG = "WeatherImporter";
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long INITIAL_BACKOFF_MS = 2_000;
+
+    private static final String PREFS = "weather_import";
+    private static final String KEY_URI = "uri";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_ROWS = "rows";
+    private static final String KEY_UPLOADED = "uploaded";
+    private static final String KEY_DUPLICATES = "duplicates";
+    private static final String KEY_INVALID = "invalid";
+
+    private static volatile WeatherImporter instance;
+
+    private final ContentResolver resolver;
+    private final AppExecutors executors = AppExecutors.getInstance();
+    private final WeatherApi weatherApi;
+    private final SharedPreferences preferences;
+    private final long initialBackoffMs;
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "soilify-import"));
+    private final MutableLiveData<ImportProgress> progress = new MutableLiveData<>();
+
+    // Main thread only
+    private boolean running;
+    private volatile boolean stopRequested;
+    private volatile Call<?> inFlight;
+    // Import thread only: the last acknowledged position of the import in progress
+    private Checkpoint checkpoint;
+
+    public static WeatherImporter getInstance(Context context) {
+        if (instance == null) {
+            synchronized (WeatherImporter.class) {
+                if (instance == null) {
+                    instance = new WeatherImporter(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private WeatherImporter(Context context) {
+        this(context, ApiClient.getService(context, WeatherApi.class), INITIAL_BACKOFF_MS);
+    }
+
+    /**
+     * For tests, which upload to a local server and do not want to wait out the backoff.
+     */
+    WeatherImporter(Context context, WeatherApi weatherApi, long initialBackoffMs) {
+        resolver = context.getContentResolver();
+        this.weatherApi = weatherApi;
+        this.initialBackoffMs = initialBackoffMs;
+        preferences = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        Checkpoint saved = Checkpoint.load(preferences);
+        if (saved != null) {
+            // The app was closed part way through; offer to carry on
+            progress.setValue(saved.toProgress(ImportProgress.State.STOPPED, -1,
+                    "The last import was interrupted"));
+        }
+    }
+
+    /**
+     * @return the current import, or null when there is none to show
+     */
+    public LiveData<ImportProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Import {@code uri} from the start, discarding any unfinished import.
+     */
+    public void start(Uri uri) {
+        if (running) {
+            return;
+        }
+        Checkpoint previous = Checkpoint.load(preferences);
+        if (previous != null && !previous.uri.equals(uri)) {
+            releasePermission(previous.uri);
+        }
+        try {
+            // Keeps the file readable for a resume after the app restarts
+            resolver.takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            Log.i(TAG, "No persistable permission for " + uri + "; resuming needs the app to stay open");
+        }
+        Checkpoint checkpoint = new Checkpoint(uri, -1, 0, 0, 0, 0);
+        checkpoint.save(preferences);
+        run(checkpoint);
+    }
+
+    /**
+     * Carry on from the last acknowledged batch of a stopped or failed import.
+     */
+    public void resume() {
+        Checkpoint saved = Checkpoint.load(preferences);
+        if (running || saved == null) {
+            return;
+        }
+        run(saved);
+    }
+
+    /**
+     * Stop after the row or request in progress. The import can be resumed later.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        stopRequested = true;
+        Call<?> call = inFlight;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Forget a finished, stopped or failed import.
+     */
+    public void discard() {
+        if (running) {
+            return;
+        }
+        Checkpoint saved = Checkpoint.load(preferences);
+        if (saved != null) {
+            releasePermission(saved.uri);
+        }
+        preferences.edit().clear().apply();
+        progress.setValue(null);
+    }
+
+    private void run(Checkpoint from) {
+        running = true;
+        stopRequested = false;
+        progress.setValue(from.toProgress(ImportProgress.State.RUNNING, -1, null));
+        importExecutor.execute(() -> {
+            ImportProgress result = importFrom(from);
+            executors.mainThread().execute(() -> {
+                running = false;
+                progress.setValue(result);
+            });
+        });
+    }
+
+    /**
+     * Runs on the import thread.
+     *
+     * @return the final progress
+     */
+    private ImportProgress importFrom(Checkpoint from) {
+        long size = querySize(from.uri);
+        checkpoint = from;
+        String note = null;
+        if (from.rows > 0 && from.size != size) {
+            // Row counts only line up with the file they were taken from
+            checkpoint = new Checkpoint(from.uri, size, 0, 0, 0, 0);
+            checkpoint.save(preferences);
+            note = "The file has changed since the last attempt, so the import started over";
+        }
+
+        ImportPass pass = new ImportPass(BATCH_SIZE, checkpoint.rows, checkpoint.uploaded,
+                checkpoint.duplicates, checkpoint.invalid, note);
+        CountingInputStream counting = null;
+        boolean finished;
+        try (InputStream raw = resolver.openInputStream(checkpoint.uri)) {
+            if (raw == null) {
+                throw new IOException("The file could not be opened");
+            }
+            counting = new CountingInputStream(raw);
+            CountingInputStream read = counting;
+            finished = pass.run(new InputStreamReader(counting, StandardCharsets.UTF_8), this::upload,
+                    () -> stopRequested, new ImportPass.Listener() {
+                        @Override
+                        public void onCheckpoint(ImportPass pass) {
+                            checkpoint = new Checkpoint(checkpoint.uri, size, pass.getRowsRead(),
+                                    pass.getUploaded(), pass.getDuplicates(), pass.getInvalid());
+                            checkpoint.save(preferences);
+                        }
+
+                        @Override
+                        public void onProgress(ImportPass pass) {
+                            progress.postValue(new ImportProgress(ImportProgress.State.RUNNING,
+                                    pass.getRowsRead(), pass.getUploaded(), pass.getDuplicates(),
+                                    pass.getInvalid(), fraction(read, size), pass.getNote()));
+                        }
+                    });
+        } catch (ImportException | IOException e) {
+            if (stopRequested) {
+                // Cancelling the request in flight surfaces here as an IOException
+                return checkpoint.toProgress(ImportProgress.State.STOPPED, fraction(counting, size), pass.getNote());
+            }
+            Log.w(TAG, "Import failed", e);
+            return checkpoint.toProgress(ImportProgress.State.FAILED, fraction(counting, size), e.getMessage());
+        } catch (SecurityException e) {
+            // The permission to read the file was not kept across a restart
+            Log.w(TAG, "Import file no longer readable", e);
+            return checkpoint.toProgress(ImportProgress.State.FAILED, -1,
+                    "The file can no longer be read; import it again");
+        }
+        if (!finished) {
+            return checkpoint.toProgress(ImportProgress.State.STOPPED, fraction(counting, size), pass.getNote());
+        }
+
+        preferences.edit().clear().apply();
+        releasePermission(checkpoint.uri);
+        return new ImportProgress(ImportProgress.State.DONE, pass.getRowsRead(), pass.getUploaded(),
+                pass.getDuplicates(), pass.getInvalid(), 1f, pass.getNote());
+    }
+
+    /**
+     * Send one batch, retrying transient failures with exponential backoff.
+     */
+    private WeatherImportResult upload(List<WeatherDataCreate> batch) throws ImportException, IOException {
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            Call<WeatherImportResult> call = weatherApi.importWeatherData(batch);
+            inFlight = call;
+            String failure;
+            try {
+                Response<WeatherImportResult> response = call.execute();
+                if (response.isSuccessful() && response.body() != null) {
+                    return response.body();
+                }
+                if (response.code() == 404) {
+                    throw new ImportException("This server does not accept bulk weather imports");
+                }
+                if (response.code() < 500) {
+                    // Sending the same batch again would be refused the same way
+                    throw new ImportException("The server refused a batch of readings (HTTP " + response.code() + ")");
+                }
+                failure = "HTTP " + response.code();
+            } catch (IOException e) {
+                if (stopRequested) {
+                    throw e;
+                }
+                failure = e.getMessage();
+            } finally {
+                inFlight = null;
+            }
+
+            if (attempt == MAX_ATTEMPTS || stopRequested) {
+                throw new ImportException("Upload failed after " + attempt + " attempts: " + failure);
+            }
+            Log.i(TAG, "Batch upload failed (" + failure + "), retrying in " + backoffMs + " ms");
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ImportException("Import interrupted");
+            }
+            backoffMs *= 2;
+        }
+    }
+
+    private long querySize(Uri uri) {
+        try (Cursor cursor = resolver.query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+        } catch (RuntimeException e) {
+            Log.i(TAG, "Could not read the size of " + uri, e);
+        }
+        return -1;
+    }
+
+    private void releasePermission(Uri uri) {
+        try {
+            resolver.releasePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            // It was never persisted
+        }
+    }
+
+    private static float fraction(CountingInputStream counting, long size) {
+        if (counting == null || size <= 0) {
+            return -1;
+        }
+        return Math.min(1f, (float) counting.count / size);
+    }
+
+    /**
+     * Where an import got to: the rows consumed through the last acknowledged batch and the
+     * counts at that point.
+     */
+    private static final class Checkpoint {
+        final Uri uri;
+        // The file's size when the checkpoint was taken, or -1 if unknown
+        final long size;
+        final long rows;
+        final long uploaded;
+        final long duplicates;
+        final long invalid;
+
+        Checkpoint(Uri uri, long size, long rows, long uploaded, long duplicates, long invalid) {
+            this.uri = uri;
+            this.size = size;
+            this.rows = rows;
+            this.uploaded = uploaded;
+            this.duplicates = duplicates;
+            this.invalid = invalid;
+        }
+
+        static Checkpoint load(SharedPreferences preferences) {
+            String uri = preferences.getString(KEY_URI, null);
+            if (uri == null) {
+                return null;
+            }
+            return new Checkpoint(Uri.parse(uri), preferences.getLong(KEY_SIZE, -1),
+                    preferences.getLong(KEY_ROWS, 0), preferences.getLong(KEY_UPLOADED, 0),
+                    preferences.getLong(KEY_DUPLICATES, 0), preferences.getLong(KEY_INVALID, 0));
+        }
+
+        void save(SharedPreferences preferences) {
+            preferences.edit()
+                    .putString(KEY_URI, uri.toString())
+                    .putLong(KEY_SIZE, size)
+                    .putLong(KEY_ROWS, rows)
+                    .putLong(KEY_UPLOADED, uploaded)
+                    .putLong(KEY_DUPLICATES, duplicates)
+                    .putLong(KEY_INVALID, invalid)
+                    .apply();
+        }
+
+        ImportProgress toProgress(ImportProgress.State state, float fraction, String message) {
+            return new ImportProgress(state, rows, uploaded, duplicates, invalid, fraction, message);
+        }
+    }
+
+    /**
+     * Counts the bytes read, so progress can be shown against the file's size.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.soilifymobileapp.logging;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded on-disk log written from a background thread.
+ *
+ * Callers only enqueue a line; formatting, the optional logcat echo and file I/O happen on the
+ * log thread, so logging never blocks the caller on disk. Lines go to {@code current.log}
+ * until it reaches {@code maxFileBytes}, when it replaces {@code previous.log} and a new file
+ * is started, so the log never takes more than twice that on disk. If the writer falls more
+ * than {@value #MAX_PENDING} lines behind, new lines are dropped and counted instead of piling
+ * up in memory.
+ */
+public class RingFileLog {
+
+    private static final String TAG = "RingFileLog";
+    private static final int MAX_PENDING = 500;
+
+    private final File current;
+    private final File previous;
+    private final long maxFileBytes;
+    private final boolean echoToLogcat;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService writerThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soilify-log");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Only accessed on the log thread
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+    private Writer writer;
+    private long fileBytes;
+
+    /**
+     * @param echoToLogcat also send each line to logcat, for debug builds
+     */
+    public RingFileLog(File directory, long maxFileBytes, boolean echoToLogcat) {
+        this.current = new File(directory, "current.log");
+        this.previous = new File(directory, "previous.log");
+        this.maxFileBytes = maxFileBytes;
+        this.echoToLogcat = echoToLogcat;
+    }
+
+    public void log(String tag, String message) {
+        if (pending.incrementAndGet() > MAX_PENDING) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        long time = System.currentTimeMillis();
+        writerThread.execute(() -> {
+            pending.decrementAndGet();
+            write(time, tag, message);
+        });
+    }
+
+    /**
+     * @return the log files, oldest first; either may not exist yet
+     */
+    public File[] getFiles() {
+        return new File[]{previous, current};
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void write(long time, String tag, String message) {
+        if (echoToLogcat) {
+            Log.d(tag, message);
+        }
+        long lost = dropped.getAndSet(0);
+        String line = timeFormat.format(new Date(time)) + " " + tag + ": "
+                + (lost > 0 ? "(" + lost + " lines dropped) " : "") + message + "\n";
+        try {
+            if (writer == null) {
+                open();
+            }
+            if (fileBytes > 0 && fileBytes + line.length() > maxFileBytes) {
+                rotate();
+            }
+            writer.write(line);
+            writer.flush();
+            // Characters, not bytes, but close enough for a size cap
+            fileBytes += line.length();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write log file", e);
+            closeQuietly();
+        }
+    }
+
+    private void open() throws IOException {
+        File directory = current.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        fileBytes = current.length();
+        writer = new OutputStreamWriter(new FileOutputStream(current, true), StandardCharsets.UTF_8);
+    }
+
+    private void rotate() throws IOException {
+        closeQuietly();
+        if (previous.exists() && !previous.delete()) {
+            Log.w(TAG, "Failed to delete " + previous);
+        }
+        if (!current.renameTo(previous)) {
+            Log.w(TAG, "Failed to rotate " + current);
+        }
+        open();
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // Nothing left to do with a log we cannot close
+            }
+            writer = null;
+        }
+    }
+}
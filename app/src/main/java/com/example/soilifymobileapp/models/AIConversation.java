@@ -1,12 +1,39 @@
 package com.example.soilifymobileapp.models;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One message in the AI conversation. Immutable, because the list adapter compares snapshots on
+ * a background thread: a reply that changes, e.g. as it streams in, is replaced by a copy made
+ * with {@link #withMessage(String)}, which keeps its id so it stays in the same row.
+ */
 public class AIConversation {
-    private String sender;
-    private String message;
+    // Messages only live in memory, so ids just need to be unique within the process
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private final long id;
+    private final String sender;
+    private final String message;
+    // Rows behind a data-query answer, if any
+    private final QueryResultTable results;
 
     public AIConversation(String sender, String message) {
+        this(sender, message, null);
+    }
+
+    public AIConversation(String sender, String message, QueryResultTable results) {
+        this(NEXT_ID.getAndIncrement(), sender, message, results);
+    }
+
+    private AIConversation(long id, String sender, String message, QueryResultTable results) {
+        this.id = id;
         this.sender = sender;
-        this.message = message;
+        this.message = message != null ? message : "";
+        this.results = results;
+    }
+
+    public long getId() {
+        return id;
     }
 
     public String getSender() {
@@ -16,4 +43,15 @@ public class AIConversation {
     public String getMessage() {
         return message;
     }
+
+    public QueryResultTable getResults() {
+        return results;
+    }
+
+    /**
+     * @return the same message, in the same row, with new text
+     */
+    public AIConversation withMessage(String message) {
+        return new AIConversation(id, sender, message, results);
+    }
 }
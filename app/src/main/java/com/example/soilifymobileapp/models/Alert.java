@@ -1,14 +1,22 @@
 package com.example.soilifymobileapp.models;
 
+import java.util.Objects;
+
 public class Alert {
+    private int id;
     private String title;
     private String description;
 
-    public Alert(String title, String description) {
+    public Alert(int id, String title, String description) {
+        this.id = id;
         this.title = title;
         this.description = description;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -16,4 +24,19 @@ public class Alert {
     public String getDescription() {
         return description;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Alert that = (Alert) o;
+        return id == that.id
+                && Objects.equals(title, that.title)
+                && Objects.equals(description, that.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description);
+    }
 }
@@ -30,27 +30,55 @@ public class AlertRead {
         return id;
     }
 
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public int getFarmerId() {
         return farmerId;
     }
 
+    public void setFarmerId(int farmerId) {
+        this.farmerId = farmerId;
+    }
+
     public String getFarmerName() {
         return farmerName;
     }
 
+    public void setFarmerName(String farmerName) {
+        this.farmerName = farmerName;
+    }
+
     public Integer getFieldId() {
         return fieldId;
     }
 
+    public void setFieldId(Integer fieldId) {
+        this.fieldId = fieldId;
+    }
+
     public String getFieldName() {
         return fieldName;
     }
 
+    public void setFieldName(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
     public String getMessage() {
         return message;
     }
 
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.soilifymobileapp.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * One server-sent event from the streaming chat endpoint. Every event carries the next
+ * piece of the reply in {@code token}; the final event has {@code done} set and the
+ * session details that {@link ChatResponse} returns for the non-streaming endpoint.
+ */
+public class ChatStreamEvent {
+    @SerializedName("token")
+    private String token;
+
+    @SerializedName("done")
+    private boolean done;
+
+    @SerializedName("conversation_id")
+    private Integer conversationId;
+
+    @SerializedName("session_id")
+    private String sessionId;
+
+    @SerializedName("error")
+    private String error;
+
+    public ChatStreamEvent() {}
+
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public Integer getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Integer conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
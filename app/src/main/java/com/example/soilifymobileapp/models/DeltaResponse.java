@@ -0,0 +1,45 @@
+package com.example.soilifymobileapp.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Changes to a collection since a cursor: rows created or updated since then, ids deleted
+ * since then, and the server time to use as the cursor for the next request.
+ */
+public class DeltaResponse<T> {
+    @SerializedName("items")
+    private List<T> items;
+
+    @SerializedName("deleted_ids")
+    private List<Integer> deletedIds;
+
+    @SerializedName("server_time")
+    private String serverTime; // ISO datetime string
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<Integer> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Integer> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public String getServerTime() {
+        return serverTime;
+    }
+
+    public void setServerTime(String serverTime) {
+        this.serverTime = serverTime;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.soilifymobileapp.models;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 /**
  * Model for reading fertiliser usage data from the API.
  * Dates are represented as Strings (YYYY-MM-DD for date, ISO format for created_at).
@@ -118,4 +120,26 @@ public class FertiliserUsageRead {
     public void setCreatedAt(String createdAt) {
         this.createdAt = createdAt;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FertiliserUsageRead that = (FertiliserUsageRead) o;
+        return id == that.id
+                && farmerId == that.farmerId
+                && fieldId == that.fieldId
+                && Objects.equals(fieldName, that.fieldName)
+                && Objects.equals(fertiliserType, that.fertiliserType)
+                && Float.compare(amountKg, that.amountKg) == 0
+                && Objects.equals(weather, that.weather)
+                && Objects.equals(notes, that.notes)
+                && Objects.equals(date, that.date)
+                && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, farmerId, fieldId, fieldName, fertiliserType, amountKg, weather, notes, date, createdAt);
+    }
 }
@@ -3,6 +3,7 @@ package com.example.soilifymobileapp.models;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.Date;
+import java.util.Objects;
 
 public class Field {
 
@@ -82,4 +83,23 @@ public class Field {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Field that = (Field) o;
+        return id == that.id
+                && farmerId == that.farmerId
+                && Objects.equals(fieldName, that.fieldName)
+                && Objects.equals(soilType, that.soilType)
+                && Objects.equals(cropType, that.cropType)
+                && Double.compare(sizeHectares, that.sizeHectares) == 0
+                && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, farmerId, fieldName, soilType, cropType, sizeHectares, createdAt);
+    }
 }
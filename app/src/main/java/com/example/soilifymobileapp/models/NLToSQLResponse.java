@@ -1,7 +1,6 @@
 package com.example.soilifymobileapp.models;
 
 import com.google.gson.annotations.SerializedName;
-import java.util.Map;
 
 public class NLToSQLResponse {
     @SerializedName("question")
@@ -11,7 +10,7 @@ public class NLToSQLResponse {
     private String sqlQuery;
 
     @SerializedName("results")
-    private Map<String, Object> results;  // Contains "columns" and "rows"
+    private QueryResultTable results;
 
     @SerializedName("natural_response")
     private String naturalResponse;
@@ -38,11 +37,11 @@ public class NLToSQLResponse {
         this.sqlQuery = sqlQuery;
     }
 
-    public Map<String, Object> getResults() {
+    public QueryResultTable getResults() {
         return results;
     }
 
-    public void setResults(Map<String, Object> results) {
+    public void setResults(QueryResultTable results) {
         this.results = results;
     }
 
@@ -0,0 +1,313 @@
+package com.example.soilifymobileapp.models;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The rows returned by an NL-to-SQL query, stored by column.
+ *
+ * Each column keeps its display strings in one array and, if every value is numeric, the
+ * numbers in a parallel {@code double[]} for sorting. The JSON ({@code {"columns": [...],
+ * "rows": [...]}}, rows as arrays or as objects keyed by column) is read with a streaming
+ * {@link JsonReader} straight into these arrays, so no per-cell maps or boxed values are built.
+ */
+@JsonAdapter(QueryResultTable.Adapter.class)
+public class QueryResultTable {
+
+    private final String[] columnNames;
+    private final String[][] text;     // [column][row], null for SQL NULL
+    private final double[][] numbers;  // [column][row], null for non-numeric columns
+    private final int rowCount;
+
+    QueryResultTable(String[] columnNames, String[][] text, double[][] numbers, int rowCount) {
+        this.columnNames = columnNames;
+        this.text = text;
+        this.numbers = numbers;
+        this.rowCount = rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    public boolean isNumeric(int column) {
+        return numbers[column] != null;
+    }
+
+    /**
+     * @return the display text of a cell, or null for SQL NULL
+     */
+    public String getText(int column, int row) {
+        return text[column][row];
+    }
+
+    /**
+     * Row indices that match {@code filter} (a case-insensitive substring of any cell), ordered
+     * by {@code sortColumn}. Nulls sort last in both directions.
+     *
+     * @param sortColumn the column to sort by, or -1 to keep the server's order
+     * @param filter     text to look for, or null/empty for every row
+     */
+    public int[] query(int sortColumn, boolean ascending, String filter) {
+        String needle = filter == null || filter.trim().isEmpty() ? null : filter.trim().toLowerCase(Locale.ROOT);
+        Integer[] rows = new Integer[rowCount];
+        int matched = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (needle == null || rowContains(row, needle)) {
+                rows[matched++] = row;
+            }
+        }
+        rows = Arrays.copyOf(rows, matched);
+
+        if (sortColumn >= 0) {
+            String[] columnText = text[sortColumn];
+            double[] columnNumbers = numbers[sortColumn];
+            Comparator<Integer> order = columnNumbers != null
+                    ? (a, b) -> Double.compare(columnNumbers[a], columnNumbers[b])
+                    : (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(columnText[a], columnText[b]);
+            Comparator<Integer> directed = ascending ? order : order.reversed();
+            Arrays.sort(rows, (a, b) -> {
+                boolean aNull = columnText[a] == null;
+                boolean bNull = columnText[b] == null;
+                if (aNull || bNull) {
+                    return Boolean.compare(aNull, bNull);
+                }
+                return directed.compare(a, b);
+            });
+        }
+
+        int[] result = new int[matched];
+        for (int i = 0; i < matched; i++) {
+            result[i] = rows[i];
+        }
+        return result;
+    }
+
+    private boolean rowContains(int row, String needle) {
+        for (String[] column : text) {
+            String value = column[row];
+            if (value != null && value.toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streams the results object into growable column builders.
+     */
+    public static class Adapter extends TypeAdapter<QueryResultTable> {
+
+        @Override
+        public void write(JsonWriter out, QueryResultTable table) throws IOException {
+            if (table == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("columns").beginArray();
+            for (String name : table.columnNames) {
+                out.value(name);
+            }
+            out.endArray();
+            out.name("rows").beginArray();
+            for (int row = 0; row < table.rowCount; row++) {
+                out.beginArray();
+                for (int column = 0; column < table.columnNames.length; column++) {
+                    if (table.numbers[column] != null && table.text[column][row] != null) {
+                        out.value(table.numbers[column][row]);
+                    } else {
+                        out.value(table.text[column][row]);
+                    }
+                }
+                out.endArray();
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public QueryResultTable read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Builder builder = new Builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("columns".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    int index = 0;
+                    while (in.hasNext()) {
+                        builder.column(index++).name = in.peek() == JsonToken.NULL ? nullName(in) : in.nextString();
+                    }
+                    in.endArray();
+                } else if ("rows".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        readRow(in, builder);
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+
+        private static String nullName(JsonReader in) throws IOException {
+            in.nextNull();
+            return "";
+        }
+
+        private static void readRow(JsonReader in, Builder builder) throws IOException {
+            int row = builder.rowCount;
+            if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                int index = 0;
+                while (in.hasNext()) {
+                    readCell(in, builder.column(index++), row);
+                }
+                in.endArray();
+            } else if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    readCell(in, builder.column(in.nextName()), row);
+                }
+                in.endObject();
+            } else {
+                in.skipValue();
+                return;
+            }
+            builder.rowCount++;
+        }
+
+        private static void readCell(JsonReader in, ColumnBuilder column, int row) throws IOException {
+            switch (in.peek()) {
+                case NULL:
+                    in.nextNull();
+                    column.set(row, null, Double.NaN, true);
+                    break;
+                case NUMBER:
+                    String raw = in.nextString();
+                    double value;
+                    try {
+                        value = Double.parseDouble(raw);
+                    } catch (NumberFormatException e) {
+                        column.set(row, raw, Double.NaN, false);
+                        break;
+                    }
+                    column.set(row, formatNumber(raw, value), value, true);
+                    break;
+                case STRING:
+                    column.set(row, in.nextString(), Double.NaN, false);
+                    break;
+                case BOOLEAN:
+                    column.set(row, String.valueOf(in.nextBoolean()), Double.NaN, false);
+                    break;
+                default:
+                    // Nested JSON is shown as-is rather than dropped
+                    JsonElement nested = new JsonParser().parse(in);
+                    column.set(row, nested.toString(), Double.NaN, false);
+                    break;
+            }
+        }
+
+        private static String formatNumber(String raw, double value) {
+            if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+                return String.valueOf((long) value);
+            }
+            // Trim float noise such as 12.300000000000001
+            return raw.length() > 12 ? String.format(Locale.US, "%.4f", value).replaceAll("\\.?0+$", "") : raw;
+        }
+    }
+
+    private static final class Builder {
+        final List<ColumnBuilder> columns = new ArrayList<>();
+        final Map<String, ColumnBuilder> byName = new HashMap<>();
+        int rowCount;
+
+        ColumnBuilder column(int index) {
+            while (columns.size() <= index) {
+                ColumnBuilder column = new ColumnBuilder();
+                column.name = "column_" + (columns.size() + 1);
+                columns.add(column);
+            }
+            return columns.get(index);
+        }
+
+        ColumnBuilder column(String name) {
+            ColumnBuilder column = byName.get(name);
+            if (column == null) {
+                // Prefer a column announced in "columns", else add a new one
+                for (ColumnBuilder candidate : columns) {
+                    if (name.equals(candidate.name)) {
+                        column = candidate;
+                    }
+                }
+                if (column == null) {
+                    column = column(columns.size());
+                    column.name = name;
+                }
+                byName.put(name, column);
+            }
+            return column;
+        }
+
+        QueryResultTable build() {
+            int columnCount = columns.size();
+            String[] names = new String[columnCount];
+            String[][] text = new String[columnCount][];
+            double[][] numbers = new double[columnCount][];
+            for (int i = 0; i < columnCount; i++) {
+                ColumnBuilder column = columns.get(i);
+                names[i] = column.name;
+                text[i] = Arrays.copyOf(column.text, rowCount);
+                numbers[i] = column.numeric ? Arrays.copyOf(column.numbers, rowCount) : null;
+            }
+            return new QueryResultTable(names, text, numbers, rowCount);
+        }
+    }
+
+    private static final class ColumnBuilder {
+        String name;
+        String[] text = new String[16];
+        double[] numbers = new double[16];
+        boolean numeric = true;
+
+        void set(int row, String value, double number, boolean isNumber) {
+            if (row >= text.length) {
+                int capacity = Math.max(row + 1, text.length * 2);
+                text = Arrays.copyOf(text, capacity);
+                numbers = Arrays.copyOf(numbers, capacity);
+            }
+            text[row] = value;
+            numbers[row] = number;
+            numeric &= isNumber;
+        }
+    }
+}
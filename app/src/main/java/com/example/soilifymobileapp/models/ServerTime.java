@@ -0,0 +1,25 @@
+package com.example.soilifymobileapp.models;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * The timestamp format the server reads: ISO-8601 in UTC, with milliseconds.
+ */
+public final class ServerTime {
+
+    private ServerTime() {
+    }
+
+    /**
+     * Format a timestamp the way it is sent to the server, e.g. as a sync cursor, a keyset
+     * parameter or a reading's {@code recorded_at}.
+     */
+    public static String format(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(date);
+    }
+}
@@ -15,6 +15,10 @@ public class WeatherDataCreate {
     @SerializedName("soil_moisture")
     private Float soilMoisture;
 
+    // When the reading was taken, for imported logger data; the server uses its own clock if absent
+    @SerializedName("recorded_at")
+    private String recordedAt;
+
     public WeatherDataCreate() {
         // empty constructor for serialization
     }
@@ -57,4 +61,12 @@ public class WeatherDataCreate {
     public void setSoilMoisture(Float soilMoisture) {
         this.soilMoisture = soilMoisture;
     }
+
+    public String getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(String recordedAt) {
+        this.recordedAt = recordedAt;
+    }
 }
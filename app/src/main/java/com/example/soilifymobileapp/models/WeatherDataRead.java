@@ -3,6 +3,7 @@ package com.example.soilifymobileapp.models;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.Date;
+import java.util.Objects;
 
 /**
  * Represents the Weather data returned from the API.
@@ -87,4 +88,23 @@ public class WeatherDataRead {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WeatherDataRead that = (WeatherDataRead) o;
+        return Objects.equals(id, that.id)
+                && Objects.equals(fieldId, that.fieldId)
+                && Objects.equals(fieldName, that.fieldName)
+                && Objects.equals(temperature, that.temperature)
+                && Objects.equals(rainfall, that.rainfall)
+                && Objects.equals(soilMoisture, that.soilMoisture)
+                && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, fieldId, fieldName, temperature, rainfall, soilMoisture, createdAt);
+    }
 }
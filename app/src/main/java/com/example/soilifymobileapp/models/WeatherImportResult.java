@@ -0,0 +1,28 @@
+package com.example.soilifymobileapp.models;
+
+import com.google.gson.annotations.SerializedName;
+
+public class WeatherImportResult {
+    @SerializedName("inserted")
+    private int inserted;
+
+    // Readings the server already held for the same field and time
+    @SerializedName("duplicates")
+    private int duplicates;
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+}
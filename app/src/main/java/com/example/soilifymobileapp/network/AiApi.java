@@ -6,16 +6,28 @@ import com.example.soilifymobileapp.models.FieldAnalysisResponse;
 import com.example.soilifymobileapp.models.NLToSQLRequest;
 import com.example.soilifymobileapp.models.NLToSQLResponse;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface AiApi {
     @POST("api/ai/chat")
     Call<ChatResponse> chatWithAi(@Body ChatRequest chatRequest);
 
+    /**
+     * Same as {@link #chatWithAi} but streams the reply as server-sent events; read it with
+     * {@link ChatStream} rather than through the converter.
+     */
+    @Streaming
+    @Headers("Accept: text/event-stream")
+    @POST("api/ai/chat/stream")
+    Call<ResponseBody> chatWithAiStream(@Body ChatRequest chatRequest);
+
     @POST("api/ai/ask-sql")
     Call<NLToSQLResponse> askWithSql(@Body NLToSQLRequest request);
 
@@ -12,6 +12,7 @@ import retrofit2.http.Query;
 
 public interface AlertsApi {
 
+    @Coalesced
     @GET("api/alerts/fields-dropdown")
     Call<List<FieldOption>> getFieldsForDropdown();
 
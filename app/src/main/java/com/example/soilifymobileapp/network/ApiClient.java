@@ -1,84 +1,286 @@
 package com.example.soilifymobileapp.network;
 
 import android.content.Context;
+import android.util.Log;
 
 import com.example.soilifymobileapp.BuildConfig;
+import com.example.soilifymobileapp.logging.RingFileLog;
+import com.example.soilifymobileapp.network.json.ModelAdapters;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * Process-wide networking stack.
+ *
+ * A single base {@link OkHttpClient} owns the connection pool and dispatcher for the whole
+ * process. The auth, no-auth and AI clients are derived from it with {@code newBuilder()},
+ * so they share sockets, TLS sessions and threads while differing only in interceptors and
+ * timeouts. Retrofit instances and service proxies are created once and cached.
+ *
+ * Once {@link #init(Context)} has run, GET responses go through a disk-backed HTTP cache.
+ * {@link CachePolicy} decides per endpoint how long a response is fresh and how long a stale
+ * copy may stand in when the server is unreachable; cached copies that carry an ETag or
+ * Last-Modified are revalidated, so an unchanged resource costs a 304 rather than a body.
+ * Above the cache, {@link RequestCoalescer} collapses identical {@link Coalesced} calls made
+ * by several screens at once into a single request.
+ *
+ * Bodies are decoded by Gson with the {@link ModelAdapters} registered, so the bulk models
+ * are read without reflection. Every call is timed phase by phase by {@link NetworkMetrics}.
+ */
 public class ApiClient {
     public static final String BASE_URL = BuildConfig.BASE_URL;
-    private static Retrofit retrofit = null;
-    
+
     // Timeout values in seconds - AI endpoints can take longer
     private static final int CONNECT_TIMEOUT = 30;
-    private static final int READ_TIMEOUT = 120;  // 2 minutes for AI responses
+    private static final int READ_TIMEOUT = 30;
+    private static final int AI_READ_TIMEOUT = 120;  // 2 minutes for AI responses
     private static final int WRITE_TIMEOUT = 30;
 
+    private static final String TAG = "ApiClient";
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024;
+    private static final long HTTP_LOG_FILE_SIZE = 256L * 1024;
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelAdapters())
+            .create();
+    private static final CacheStats cacheStats = new CacheStats();
+    private static final NetworkMetrics networkMetrics = new NetworkMetrics();
+    private static final RequestCoalescer coalescer = new RequestCoalescer();
+
+    private static String baseUrl = BASE_URL;
+    private static Cache httpCache;
+    private static RingFileLog httpLog;
+
+    private static HttpLogInterceptor logInterceptor;
+    private static OkHttpClient baseClient;
+    private static OkHttpClient authHttpClient;
+    private static Retrofit authRetrofit;
+    private static Retrofit aiRetrofit;
+    private static Retrofit noAuthRetrofit;
+
+    private static final Map<Class<?>, Object> authServices = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Object> noAuthServices = new ConcurrentHashMap<>();
+
     /**
-     * Get Retrofit client with authentication interceptor
-     * @param context Application context to access SharedPreferences
-     * @return Configured Retrofit instance
+     * Set up the HTTP cache and request log. Call once from {@code Application.onCreate()},
+     * before any client is built; clients built without it neither cache nor log.
      */
-    public static Retrofit getClient(Context context) {
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-        OkHttpClient.Builder httpClient = new OkHttpClient.Builder();
-        
-        // Set timeouts for AI endpoints which can take longer
-        httpClient.connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS);
-        httpClient.readTimeout(READ_TIMEOUT, TimeUnit.SECONDS);
-        httpClient.writeTimeout(WRITE_TIMEOUT, TimeUnit.SECONDS);
-        
-        httpClient.addInterceptor(loggingInterceptor);
-        
-        // Always add the auth interceptor - it will automatically add token if available
-        if (context != null) {
-            httpClient.addInterceptor(new AuthInterceptor(context));
+    public static synchronized void init(Context context) {
+        if (httpCache == null) {
+            File directory = new File(context.getApplicationContext().getCacheDir(), "http");
+            httpCache = new Cache(directory, HTTP_CACHE_SIZE);
         }
+        if (httpLog == null) {
+            File directory = new File(context.getApplicationContext().getFilesDir(), "logs");
+            httpLog = new RingFileLog(directory, HTTP_LOG_FILE_SIZE, BuildConfig.DEBUG);
+        }
+    }
 
-        OkHttpClient client = httpClient.build();
+    /**
+     * The request log, or null before {@link #init(Context)}.
+     */
+    public static RingFileLog getHttpLog() {
+        return httpLog;
+    }
 
-        retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+    /**
+     * Drop every cached response, e.g. on logout so the next user never sees them.
+     * Touches the disk, so call it off the main thread.
+     */
+    public static synchronized void clearCache() {
+        coalescer.invalidateAll();
+        if (httpCache == null) {
+            return;
+        }
+        try {
+            httpCache.evictAll();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to clear HTTP cache", e);
+        }
+    }
+
+    /**
+     * Hit, revalidation and miss counters for the HTTP cache since the process started.
+     */
+    public static CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    /**
+     * Per-endpoint latency, size and error figures for every call since the process started.
+     */
+    public static NetworkMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
 
-        return retrofit;
+    /**
+     * Get Retrofit client with authentication interceptor
+     * @param context Any context; only the application context is retained
+     * @return Shared Retrofit instance
+     */
+    public static synchronized Retrofit getClient(Context context) {
+        if (authRetrofit == null) {
+            authHttpClient = getBaseClient().newBuilder()
+                    .addInterceptor(new AuthInterceptor(context.getApplicationContext()))
+                    .authenticator(new TokenAuthenticator(TokenManager.getInstance(context)))
+                    .build();
+            authRetrofit = buildRetrofit(authHttpClient);
+        }
+        return authRetrofit;
+    }
+
+    /**
+     * Get Retrofit client for the AI endpoints, which share the auth client's connections
+     * but allow much longer reads while the model generates a response. Bodies are not
+     * logged here: previewing a body waits for its first bytes, which would hold back a
+     * streamed chat reply.
+     * @param context Any context; only the application context is retained
+     * @return Shared Retrofit instance
+     */
+    public static synchronized Retrofit getAiClient(Context context) {
+        if (aiRetrofit == null) {
+            getClient(context);
+            OkHttpClient.Builder builder = authHttpClient.newBuilder()
+                    .readTimeout(AI_READ_TIMEOUT, TimeUnit.SECONDS);
+            if (logInterceptor != null) {
+                builder.interceptors().remove(logInterceptor);
+                builder.interceptors().add(0, logInterceptor.withoutBodies());
+            }
+            aiRetrofit = buildRetrofit(builder.build());
+        }
+        return aiRetrofit;
     }
 
     /**
      * Get Retrofit client without authentication (for login/signup)
-     * @return Configured Retrofit instance without auth interceptor
+     * @return Shared Retrofit instance without auth interceptor
+     */
+    public static synchronized Retrofit getClientNoAuth() {
+        if (noAuthRetrofit == null) {
+            noAuthRetrofit = buildRetrofit(getBaseClient());
+        }
+        return noAuthRetrofit;
+    }
+
+    /**
+     * Get a cached, authenticated service proxy. {@link AiApi} is served from the
+     * long-timeout AI client, everything else from the regular auth client.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getService(Context context, Class<T> service) {
+        Object cached = authServices.get(service);
+        if (cached == null) {
+            Retrofit retrofit = service == AiApi.class ? getAiClient(context) : getClient(context);
+            cached = retrofit.create(service);
+            Object existing = authServices.putIfAbsent(service, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+        return (T) cached;
+    }
+
+    /**
+     * Get a cached service proxy that does not send the auth token (for login/signup).
      */
-    public static Retrofit getClientNoAuth() {
-        HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-        OkHttpClient.Builder httpClient = new OkHttpClient.Builder();
-        
-        // Set timeouts
-        httpClient.connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS);
-        httpClient.readTimeout(READ_TIMEOUT, TimeUnit.SECONDS);
-        httpClient.writeTimeout(WRITE_TIMEOUT, TimeUnit.SECONDS);
-        
-        httpClient.addInterceptor(loggingInterceptor);
-
-        OkHttpClient client = httpClient.build();
-
-        retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
+    @SuppressWarnings("unchecked")
+    public static <T> T getServiceNoAuth(Class<T> service) {
+        Object cached = noAuthServices.get(service);
+        if (cached == null) {
+            cached = getClientNoAuth().create(service);
+            Object existing = noAuthServices.putIfAbsent(service, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+        return (T) cached;
+    }
+
+    /**
+     * @return whether no request is running on any client; they all share one dispatcher
+     */
+    public static boolean isNetworkIdle() {
+        return getBaseClient().dispatcher().runningCallsCount() == 0;
+    }
+
+    /**
+     * Shared Gson instance used by the converter, exposed so other layers can
+     * serialise models the same way the network does.
+     */
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    /**
+     * Point every client at {@code url} and forget the clients and proxies built so far, so a
+     * test can run the real stack against a local server.
+     */
+    static synchronized void resetForTesting(String url) {
+        baseUrl = url;
+        baseClient = null;
+        authHttpClient = null;
+        logInterceptor = null;
+        authRetrofit = null;
+        aiRetrofit = null;
+        noAuthRetrofit = null;
+        authServices.clear();
+        noAuthServices.clear();
+    }
+
+    private static synchronized OkHttpClient getBaseClient() {
+        if (baseClient == null) {
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS)
+                    .readTimeout(READ_TIMEOUT, TimeUnit.SECONDS)
+                    .writeTimeout(WRITE_TIMEOUT, TimeUnit.SECONDS)
+                    .cache(httpCache)
+                    .eventListenerFactory(networkMetrics);
+            if (httpLog != null) {
+                logInterceptor = newLogInterceptor(httpLog);
+                builder.addInterceptor(logInterceptor);
+            }
+            baseClient = builder
+                    .addInterceptor(cacheStats)
+                    .addInterceptor(new StaleIfErrorInterceptor())
+                    .addInterceptor(coalescer.invalidator())
+                    .addNetworkInterceptor(new CachePolicyInterceptor())
+                    .build();
+        }
+        return baseClient;
+    }
+
+    /**
+     * Debug builds log the start of every body, staging builds a smaller sample, release builds
+     * only request and status lines.
+     */
+    private static HttpLogInterceptor newLogInterceptor(RingFileLog log) {
+        switch (BuildConfig.BUILD_TYPE) {
+            case "debug":
+                return new HttpLogInterceptor(log, 4 * 1024, 1);
+            case "staging":
+                return new HttpLogInterceptor(log, 1024, 10);
+            default:
+                return new HttpLogInterceptor(log, 0, 1);
+        }
+    }
+
+    private static Retrofit buildRetrofit(OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
                 .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addCallAdapterFactory(coalescer)
+                .addConverterFactory(GsonConverterFactory.create(GSON))
                 .build();
-
-        return retrofit;
     }
 }
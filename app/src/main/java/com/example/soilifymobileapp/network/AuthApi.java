@@ -6,6 +6,7 @@ import com.example.soilifymobileapp.models.UserLogin;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 
 public interface AuthApi {
@@ -14,4 +15,10 @@ public interface AuthApi {
 
     @POST("api/auth/signin")
     Call<Token> signin(@Body UserLogin user);
+
+    /**
+     * Exchange a still-signed but expired access token for a new one.
+     */
+    @POST("api/auth/refresh")
+    Call<Token> refresh(@Header("Authorization") String authorization);
 }
@@ -1,7 +1,6 @@
 package com.example.soilifymobileapp.network;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
 import java.io.IOException;
 
@@ -11,10 +10,10 @@ import okhttp3.Response;
 
 public class AuthInterceptor implements Interceptor {
 
-    private Context context;
+    private final TokenManager tokenManager;
 
     public AuthInterceptor(Context context) {
-        this.context = context;
+        this.tokenManager = TokenManager.getInstance(context);
     }
 
     @Override
@@ -22,9 +21,8 @@ public class AuthInterceptor implements Interceptor {
         Request originalRequest = chain.request();
         Request.Builder builder = originalRequest.newBuilder();
 
-        // Get token from SharedPreferences
-        SharedPreferences sharedPreferences = context.getSharedPreferences("auth", Context.MODE_PRIVATE);
-        String token = sharedPreferences.getString("token", null);
+        // Held in memory by TokenManager; no preferences read per request
+        String token = tokenManager.getToken();
 
         if (token != null && !token.isEmpty()) {
             builder.header("Authorization", "Bearer " + token);
@@ -0,0 +1,65 @@
+package com.example.soilifymobileapp.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint HTTP caching rules, matched by the longest path prefix.
+ *
+ * {@code maxAgeSeconds} is how long a cached GET is served without asking the server; with 0
+ * every use is revalidated with If-None-Match / If-Modified-Since, so an unchanged resource
+ * costs a 304 instead of a full body. {@code staleIfErrorSeconds} is how old a cached copy may
+ * be and still be served when the server is unreachable or failing.
+ */
+final class CachePolicy {
+
+    private static final int DAY = 24 * 60 * 60;
+
+    static final CachePolicy NO_STORE = new CachePolicy(-1, 0);
+    private static final CachePolicy DEFAULT = new CachePolicy(0, DAY);
+
+    private static final Map<String, CachePolicy> POLICIES = new LinkedHashMap<>();
+
+    static {
+        // Delta cursors make every URL unique, so caching them only wastes space
+        POLICIES.put("/api/weather-data/changes", NO_STORE);
+        POLICIES.put("/api/fertilizer-usage/changes", NO_STORE);
+        POLICIES.put("/api/ai/", NO_STORE);
+        POLICIES.put("/api/auth/", NO_STORE);
+
+        // Aggregates change slowly and are expensive to compute
+        POLICIES.put("/api/analytics/", new CachePolicy(60, 7 * DAY));
+
+        // Records the user edits must never be served stale while online
+        POLICIES.put("/api/home/", new CachePolicy(0, 7 * DAY));
+        POLICIES.put("/api/fields", new CachePolicy(0, 7 * DAY));
+        POLICIES.put("/api/alerts", new CachePolicy(0, DAY));
+        POLICIES.put("/api/weather-data", new CachePolicy(0, DAY));
+        POLICIES.put("/api/fertilizer-usage", new CachePolicy(0, DAY));
+    }
+
+    final int maxAgeSeconds;
+    final int staleIfErrorSeconds;
+
+    private CachePolicy(int maxAgeSeconds, int staleIfErrorSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.staleIfErrorSeconds = staleIfErrorSeconds;
+    }
+
+    boolean isCacheable() {
+        return maxAgeSeconds >= 0;
+    }
+
+    static CachePolicy forPath(String path) {
+        CachePolicy match = DEFAULT;
+        int matchLength = -1;
+        for (Map.Entry<String, CachePolicy> entry : POLICIES.entrySet()) {
+            String prefix = entry.getKey();
+            if (path.startsWith(prefix) && prefix.length() > matchLength) {
+                match = entry.getValue();
+                matchLength = prefix.length();
+            }
+        }
+        return match;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.soilifymobileapp.network;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that applies {@link CachePolicy} to responses before they reach the
+ * HTTP cache. Headers the server sets itself are respected; only responses without a
+ * Cache-Control header get the client-side policy.
+ */
+class CachePolicyInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!"GET".equals(request.method()) || response.header("Cache-Control") != null) {
+            return response;
+        }
+
+        CachePolicy policy = CachePolicy.forPath(request.url().encodedPath());
+        Response.Builder builder = response.newBuilder().removeHeader("Pragma");
+        if (!policy.isCacheable()) {
+            return builder.header("Cache-Control", "no-store").build();
+        }
+        builder.header("Cache-Control", "private, max-age=" + policy.maxAgeSeconds);
+        // Responses are per user; never serve one account's cached body to another
+        String vary = response.header("Vary");
+        if (vary == null) {
+            builder.header("Vary", "Authorization");
+        } else if (!vary.contains("Authorization")) {
+            builder.header("Vary", vary + ", Authorization");
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.soilifymobileapp.network;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Counts how GET requests were satisfied by the HTTP cache.
+ *
+ * A hit is served from disk without touching the network; a conditional hit is revalidated
+ * with a 304 and served from disk; anything else is a miss. Bytes saved is the size of the
+ * bodies that did not have to be downloaded for hits and conditional hits.
+ */
+public class CacheStats implements Interceptor {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong conditionalHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!"GET".equals(request.method())) {
+            return response;
+        }
+
+        Response networkResponse = response.networkResponse();
+        if (response.cacheResponse() == null) {
+            misses.incrementAndGet();
+            return response;
+        }
+        if (networkResponse == null) {
+            hits.incrementAndGet();
+        } else if (networkResponse.code() == 304) {
+            conditionalHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            return response;
+        }
+        long length = response.body() != null ? response.body().contentLength() : -1;
+        if (length > 0) {
+            bytesSaved.addAndGet(length);
+        }
+        return response;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getConditionalHitCount() {
+        return conditionalHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * @return the share of GETs served from the cache, with or without revalidation, or 0 if none were made
+     */
+    public double getHitRatio() {
+        long served = hits.get() + conditionalHits.get();
+        long total = served + misses.get();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "hits=%d conditional=%d misses=%d ratio=%.2f saved=%dB",
+                getHitCount(), getConditionalHitCount(), getMissCount(), getHitRatio(), getBytesSaved());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.soilifymobileapp.network;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.soilifymobileapp.models.ChatRequest;
+import com.example.soilifymobileapp.models.ChatStreamEvent;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Reads a streaming AI chat reply ({@link AiApi#chatWithAiStream}) token by token.
+ *
+ * The response is read line by line on a background thread as server-sent events arrive.
+ * Tokens are buffered and handed to the main thread in batches: at most one update is queued
+ * at a time, so a fast stream costs one rebind per frame rather than one per token.
+ */
+public final class ChatStream {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE_SENTINEL = "[DONE]";
+
+    private static final ExecutorService STREAM_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "soilify-ai-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Called on the main thread.
+     */
+    public interface Listener {
+        /**
+         * @param text one or more tokens, in order, to append to the reply
+         */
+        void onText(String text);
+
+        void onComplete(String sessionId);
+
+        /**
+         * @param t the failure, or null if the server returned an error response
+         * @param httpCode the HTTP status, or 0 if no response was received
+         */
+        void onError(Throwable t, int httpCode);
+    }
+
+    private final Call<ResponseBody> call;
+    private final Listener listener;
+    private final Gson gson = ApiClient.getGson();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final StringBuilder pending = new StringBuilder();
+    private boolean updateQueued;
+    private volatile boolean cancelled;
+
+    private final Runnable deliverPending = new Runnable() {
+        @Override
+        public void run() {
+            String text;
+            synchronized (pending) {
+                text = pending.toString();
+                pending.setLength(0);
+                updateQueued = false;
+            }
+            if (!cancelled && !text.isEmpty()) {
+                listener.onText(text);
+            }
+        }
+    };
+
+    private ChatStream(Call<ResponseBody> call, Listener listener) {
+        this.call = call;
+        this.listener = listener;
+    }
+
+    /**
+     * Start streaming a reply. Keep the result to {@link #cancel()} it when the screen goes away.
+     */
+    public static ChatStream start(AiApi aiApi, ChatRequest request, Listener listener) {
+        ChatStream stream = new ChatStream(aiApi.chatWithAiStream(request), listener);
+        STREAM_EXECUTOR.execute(stream::read);
+        return stream;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        call.cancel();
+    }
+
+    private void read() {
+        Response<ResponseBody> response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            postError(e, 0);
+            return;
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            postError(null, response.code());
+            return;
+        }
+
+        String sessionId = null;
+        try (ResponseBody body = response.body()) {
+            BufferedSource source = body.source();
+            StringBuilder data = new StringBuilder();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (line.startsWith(DATA_PREFIX)) {
+                    // An event's data may span several lines
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring(DATA_PREFIX.length()).trim());
+                    continue;
+                }
+                if (!line.isEmpty() || data.length() == 0) {
+                    continue; // Comments, event names and ids are not used
+                }
+
+                // A blank line ends the event
+                String payload = data.toString();
+                data.setLength(0);
+                if (DONE_SENTINEL.equals(payload)) {
+                    break;
+                }
+                ChatStreamEvent event = gson.fromJson(payload, ChatStreamEvent.class);
+                if (event == null) {
+                    continue;
+                }
+                if (event.getError() != null) {
+                    postError(new IOException(event.getError()), response.code());
+                    return;
+                }
+                if (event.getToken() != null) {
+                    postText(event.getToken());
+                }
+                if (event.getSessionId() != null) {
+                    sessionId = event.getSessionId();
+                }
+                if (event.isDone()) {
+                    break;
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            postError(e, 0);
+            return;
+        }
+
+        String finalSessionId = sessionId;
+        mainHandler.post(() -> {
+            deliverPending.run();
+            if (!cancelled) {
+                listener.onComplete(finalSessionId);
+            }
+        });
+    }
+
+    private void postText(String token) {
+        synchronized (pending) {
+            pending.append(token);
+            if (updateQueued) {
+                return;
+            }
+            updateQueued = true;
+        }
+        mainHandler.post(deliverPending);
+    }
+
+    private void postError(Throwable t, int httpCode) {
+        mainHandler.post(() -> {
+            deliverPending.run();
+            if (!cancelled) {
+                listener.onError(t, httpCode);
+            }
+        });
+    }
+}
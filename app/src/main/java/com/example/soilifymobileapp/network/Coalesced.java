@@ -0,0 +1,19 @@
+package com.example.soilifymobileapp.network;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @GET} service method whose concurrent identical calls are collapsed into one
+ * network request by {@link RequestCoalescer}. A successful response is also kept in memory
+ * for {@link #ttlMillis()}, so screens opened in quick succession share it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+    long ttlMillis() default 10_000;
+}
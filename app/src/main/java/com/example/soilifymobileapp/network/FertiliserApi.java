@@ -1,5 +1,6 @@
 package com.example.soilifymobileapp.network;
 
+import com.example.soilifymobileapp.models.DeltaResponse;
 import com.example.soilifymobileapp.models.FertiliserUsageCreate;
 import com.example.soilifymobileapp.models.FertiliserUsageRead;
 import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
@@ -7,6 +8,7 @@ import com.example.soilifymobileapp.models.FieldOption;
 
 import java.util.List;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -14,14 +16,31 @@ import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface FertiliserApi {
+    @Coalesced
     @GET("api/fertilizer-usage/fields-dropdown")
     Call<List<FieldOption>> getFieldsForDropdown();
 
     @GET("api/fertilizer-usage")
     Call<List<FertiliserUsageRead>> getAllFertiliserUsage();
 
+    /**
+     * Keyset page, newest first: rows older than ({@code before}, {@code beforeId}).
+     * Both are omitted for the first page. The body is left unread so the sync can
+     * decode it as it downloads.
+     */
+    @Streaming
+    @GET("api/fertilizer-usage")
+    Call<ResponseBody> getFertiliserUsagePage(@Query("limit") int limit,
+                                              @Query("before") String before,
+                                              @Query("before_id") Integer beforeId);
+
+    @GET("api/fertilizer-usage/changes")
+    Call<DeltaResponse<FertiliserUsageRead>> getFertiliserUsageChanges(@Query("updated_since") String updatedSince);
+
     @GET("api/fertilizer-usage/{usage_id}")
     Call<FertiliserUsageRead> getFertiliserUsage(@Path("usage_id") int usageId);
 
@@ -17,6 +17,7 @@ import retrofit2.http.Path;
 
 public interface FieldsApi {
 
+    @Coalesced
     @GET("api/fields")
     Call<List<FieldRead>> getAllFields();
 
@@ -0,0 +1,144 @@
+package com.example.soilifymobileapp.network;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.logging.RingFileLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Logs one line per request and per response to a {@link RingFileLog}, with bodies only when
+ * asked for and never more than {@code maxBodyBytes} of them.
+ *
+ * A response body is previewed with {@link Response#peekBody(long)}, which reads just the
+ * first {@code maxBodyBytes} ahead of the converter and leaves the rest streaming, so a long
+ * list is never buffered whole for the sake of a log line. Bodies are logged for one call in
+ * {@code bodySampleEvery}; the request and status lines are logged for all of them.
+ *
+ * Headers and query strings are never logged, which keeps the Authorization header out of the
+ * file. Bodies can hold secrets too, so they are never logged for the {@code api/auth/}
+ * endpoints, whose requests carry passwords and whose responses carry tokens, and any
+ * password or token field in other bodies is masked.
+ */
+public class HttpLogInterceptor implements Interceptor {
+
+    private static final String TAG = "Http";
+    // Request bodies larger than this are described rather than copied
+    private static final long MAX_COPIED_REQUEST_BYTES = 64 * 1024;
+    private static final String AUTH_PATH = "/api/auth/";
+    // JSON string members and form fields whose values must not reach the log; the closing
+    // quote is optional so a value cut off by the preview limit is masked too
+    private static final Pattern SECRET_JSON = Pattern.compile(
+            "(\"[\\w-]*(?:password|token|secret)[\\w-]*\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SECRET_FORM = Pattern.compile(
+            "((?:^|&)[\\w-]*(?:password|token|secret)[\\w-]*=)[^&]*", Pattern.CASE_INSENSITIVE);
+
+    private final RingFileLog log;
+    private final int maxBodyBytes;
+    private final int bodySampleEvery;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param maxBodyBytes    bytes of each body to include, or 0 to log no bodies
+     * @param bodySampleEvery include bodies for one call in this many
+     */
+    public HttpLogInterceptor(RingFileLog log, int maxBodyBytes, int bodySampleEvery) {
+        this.log = log;
+        this.maxBodyBytes = maxBodyBytes;
+        this.bodySampleEvery = Math.max(1, bodySampleEvery);
+    }
+
+    /**
+     * The same log without bodies, for clients whose responses are streamed to the user.
+     */
+    public HttpLogInterceptor withoutBodies() {
+        return new HttpLogInterceptor(log, 0, 1);
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String path = request.url().encodedPath();
+        boolean logBodies = maxBodyBytes > 0 && calls.getAndIncrement() % bodySampleEvery == 0
+                && !path.contains(AUTH_PATH);
+        String target = request.method() + " " + path;
+
+        StringBuilder requestLine = new StringBuilder("--> ").append(target);
+        if (logBodies && request.body() != null) {
+            requestLine.append(' ').append(describe(request.body()));
+        }
+        log.log(TAG, requestLine.toString());
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            log.log(TAG, "<-- FAILED " + target + ": " + e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        StringBuilder responseLine = new StringBuilder("<-- ")
+                .append(response.code()).append(' ').append(target)
+                .append(" (").append(tookMs).append("ms");
+        ResponseBody body = response.body();
+        if (body != null && body.contentLength() >= 0) {
+            responseLine.append(", ").append(body.contentLength()).append("B");
+        }
+        if (response.cacheResponse() != null) {
+            responseLine.append(response.networkResponse() == null ? ", cache" : ", revalidated");
+        }
+        responseLine.append(')');
+        if (logBodies && body != null && isText(body.contentType())) {
+            ResponseBody preview = response.peekBody(maxBodyBytes);
+            String text = preview.string();
+            responseLine.append(' ').append(redact(text));
+            if (preview.contentLength() >= maxBodyBytes && body.contentLength() != preview.contentLength()) {
+                responseLine.append("…(truncated)");
+            }
+        }
+        log.log(TAG, responseLine.toString());
+        return response;
+    }
+
+    private String describe(RequestBody body) throws IOException {
+        long length = body.contentLength();
+        if (!isText(body.contentType()) || body.isOneShot() || body.isDuplex()
+                || length < 0 || length > MAX_COPIED_REQUEST_BYTES) {
+            return "(" + (length >= 0 ? length + "-byte" : "unknown-length") + " body)";
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        String text = redact(buffer.readString(Math.min(buffer.size(), maxBodyBytes), StandardCharsets.UTF_8));
+        return buffer.size() > 0 ? text + "…(truncated)" : text;
+    }
+
+    static String redact(String body) {
+        String masked = SECRET_JSON.matcher(body).replaceAll("$1\"***\"");
+        return SECRET_FORM.matcher(masked).replaceAll("$1***");
+    }
+
+    private static boolean isText(MediaType type) {
+        if (type == null) {
+            return false;
+        }
+        String subtype = type.subtype();
+        return "text".equals(type.type()) || subtype.contains("json") || subtype.contains("xml")
+                || subtype.contains("x-www-form-urlencoded");
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.soilifymobileapp.network;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the manner of HdrHistogram.
+ *
+ * Values are in microseconds. Each power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, so any recorded value is reported within about 12% across the whole range
+ * (1 µs to over an hour), in a fixed array of counters. Recording is a couple of bit
+ * operations and one atomic increment, cheap enough to run on every call.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values up to 2^32 µs (about 71 minutes); anything longer lands in the last bucket
+    private static final int MAX_EXPONENT = 32;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long previous = max.get();
+        while (value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxMicros() {
+        return max.get();
+    }
+
+    public long getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : sum.get() / n;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding that percentile, capped at the maximum seen,
+     * or 0 if nothing was recorded
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * @return "p50=… p90=… p99=… max=…", or "-" if nothing was recorded
+     */
+    @Override
+    public String toString() {
+        if (getCount() == 0) {
+            return "-";
+        }
+        return String.format(Locale.US, "p50=%s p90=%s p99=%s max=%s",
+                formatMicros(getPercentileMicros(50)), formatMicros(getPercentileMicros(90)),
+                formatMicros(getPercentileMicros(99)), formatMicros(getMaxMicros()));
+    }
+
+    static String formatMicros(long micros) {
+        if (micros < 1_000) {
+            return micros + "µs";
+        }
+        if (micros < 1_000_000) {
+            return String.format(Locale.US, "%.1fms", micros / 1_000.0);
+        }
+        return String.format(Locale.US, "%.2fs", micros / 1_000_000.0);
+    }
+
+    /**
+     * Values below {@value #SUB_BUCKETS} get a bucket each; above that, the bucket is the
+     * position of the highest set bit plus the next {@value #SUB_BUCKET_BITS} bits.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.soilifymobileapp.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+import retrofit2.http.OPTIONS;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Per-endpoint timings, sizes and failures for every call the shared client makes.
+ *
+ * Calls are grouped by the Retrofit path template they were made from ({@code GET
+ * api/fields/{field_id}}), so every field's detail request lands in one row. For each endpoint
+ * it keeps histograms of DNS, connect, TLS, time to first byte (from sending the request to the
+ * response headers) and total call time, along with bytes sent and received and a count per
+ * failure class. Connection phases are only recorded when they happen; a call on a pooled
+ * connection has no DNS, connect or TLS sample. Calls answered from the HTTP cache count as
+ * cache hits and add no timings.
+ */
+public class NetworkMetrics implements EventListener.Factory {
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<Method, String> templates = new ConcurrentHashMap<>();
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new CallListener(endpointFor(call.request()));
+    }
+
+    /**
+     * @return the endpoints seen so far, sorted by name
+     */
+    public List<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        Collections.sort(sorted, (a, b) -> a.name.compareTo(b.name));
+        return sorted;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * A plain-text report of every endpoint, slowest total p90 first.
+     */
+    public String report() {
+        List<EndpointMetrics> sorted = getEndpoints();
+        Collections.sort(sorted, (a, b) -> Long.compare(b.total.getPercentileMicros(90),
+                a.total.getPercentileMicros(90)));
+        StringBuilder report = new StringBuilder();
+        for (EndpointMetrics endpoint : sorted) {
+            endpoint.appendTo(report);
+            report.append('\n');
+        }
+        return report.length() == 0 ? "No requests recorded yet.\n" : report.toString();
+    }
+
+    /**
+     * Write {@link #report()} to {@code file}, replacing it. Touches the disk, so call it off
+     * the main thread.
+     */
+    public void writeReport(File file) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(report());
+        }
+    }
+
+    private EndpointMetrics endpointFor(Request request) {
+        String name = request.method() + " " + templateOf(request);
+        EndpointMetrics endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = new EndpointMetrics(name);
+            EndpointMetrics existing = endpoints.putIfAbsent(name, endpoint);
+            if (existing != null) {
+                endpoint = existing;
+            }
+        }
+        return endpoint;
+    }
+
+    /**
+     * The relative URL from the service method's annotation, or for requests not made through
+     * Retrofit the path with numeric segments replaced by {id}.
+     */
+    private String templateOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Method method = invocation.method();
+            String template = templates.get(method);
+            if (template == null) {
+                template = annotatedPath(method);
+                templates.put(method, template);
+            }
+            if (!template.isEmpty()) {
+                return template;
+            }
+        }
+        String path = request.url().encodedPath();
+        return path.replaceAll("/\\d+(?=/|$)", "/{id}").replaceFirst("^/", "");
+    }
+
+    private static String annotatedPath(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return ((PATCH) annotation).value();
+            } else if (annotation instanceof HEAD) {
+                return ((HEAD) annotation).value();
+            } else if (annotation instanceof OPTIONS) {
+                return ((OPTIONS) annotation).value();
+            } else if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).path();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Everything recorded for one method and path template.
+     */
+    public static class EndpointMetrics {
+        private final String name;
+        private final LatencyHistogram dns = new LatencyHistogram();
+        private final LatencyHistogram connect = new LatencyHistogram();
+        private final LatencyHistogram tls = new LatencyHistogram();
+        private final LatencyHistogram ttfb = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+        private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+        EndpointMetrics(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCallCount() {
+            return calls.get();
+        }
+
+        public long getCacheHitCount() {
+            return cacheHits.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.get();
+        }
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        public LatencyHistogram getTimeToFirstByte() {
+            return ttfb;
+        }
+
+        /**
+         * @return failures by exception class or HTTP status class ("HTTP 5xx"), sorted by name
+         */
+        public Map<String, Long> getErrors() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().get());
+            }
+            return snapshot;
+        }
+
+        void countError(String errorClass) {
+            AtomicLong counter = errors.get(errorClass);
+            if (counter == null) {
+                counter = new AtomicLong();
+                AtomicLong existing = errors.putIfAbsent(errorClass, counter);
+                if (existing != null) {
+                    counter = existing;
+                }
+            }
+            counter.incrementAndGet();
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append(name).append('\n');
+            out.append(String.format(Locale.US, "  calls=%d cache hits=%d sent=%s received=%s%n",
+                    calls.get(), cacheHits.get(), formatBytes(bytesSent.get()), formatBytes(bytesReceived.get())));
+            out.append("  total   ").append(total).append('\n');
+            out.append("  ttfb    ").append(ttfb).append('\n');
+            if (dns.getCount() > 0) {
+                out.append("  dns     ").append(dns).append('\n');
+            }
+            if (connect.getCount() > 0) {
+                out.append("  connect ").append(connect).append('\n');
+            }
+            if (tls.getCount() > 0) {
+                out.append("  tls     ").append(tls).append('\n');
+            }
+            Map<String, Long> errorCounts = getErrors();
+            if (!errorCounts.isEmpty()) {
+                out.append("  errors  ").append(errorCounts).append('\n');
+            }
+        }
+
+        private static String formatBytes(long bytes) {
+            if (bytes < 1024) {
+                return bytes + "B";
+            }
+            if (bytes < 1024 * 1024) {
+                return String.format(Locale.US, "%.1fKB", bytes / 1024.0);
+            }
+            return String.format(Locale.US, "%.1fMB", bytes / (1024.0 * 1024));
+        }
+    }
+
+    /**
+     * Times one call. OkHttp delivers a call's events one after another, so plain fields do.
+     */
+    private static class CallListener extends EventListener {
+        private final EndpointMetrics endpoint;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private boolean cacheHit;
+
+        CallListener(EndpointMetrics endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                           @NonNull List<InetAddress> inetAddressList) {
+            endpoint.dns.record(since(dnsStart));
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+            endpoint.tls.record(since(secureConnectStart));
+        }
+
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                               @NonNull Proxy proxy, Protocol protocol) {
+            endpoint.connect.record(since(connectStart));
+        }
+
+        @Override
+        public void requestHeadersStart(@NonNull Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+            endpoint.bytesSent.addAndGet(request.headers().byteCount());
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.bytesSent.addAndGet(byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            if (requestStart != 0) {
+                endpoint.ttfb.record(since(requestStart));
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+            endpoint.bytesReceived.addAndGet(response.headers().byteCount());
+            if (response.code() >= 400) {
+                endpoint.countError("HTTP " + response.code() / 100 + "xx");
+            }
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.bytesReceived.addAndGet(byteCount);
+        }
+
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            cacheHit = true;
+            endpoint.cacheHits.incrementAndGet();
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            finish();
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            endpoint.countError(ioe.getClass().getSimpleName());
+            finish();
+        }
+
+        private void finish() {
+            endpoint.calls.incrementAndGet();
+            if (!cacheHit) {
+                endpoint.total.record(since(callStart));
+            }
+        }
+
+        private static long since(long startNanos) {
+            return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        }
+    }
+}
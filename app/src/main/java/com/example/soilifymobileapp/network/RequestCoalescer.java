@@ -0,0 +1,325 @@
+package com.example.soilifymobileapp.network;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Single-flight layer for {@link Coalesced} service methods.
+ *
+ * Calls are keyed by method and URL. While a request is in flight, further enqueued calls with
+ * the same key join it instead of opening another connection, and every caller receives the
+ * one response on the callback executor. A successful response is then served from memory for
+ * the method's TTL. Any successful write through the same clients (see {@link #invalidator()})
+ * drops the remembered responses and detaches requests still in flight, so a screen never sees
+ * a list from before its own edit: a call made after the write starts a request of its own.
+ *
+ * Response bodies are shared between callers and must be treated as read-only.
+ * {@link Call#execute()} is not coalesced.
+ */
+public final class RequestCoalescer extends CallAdapter.Factory {
+
+    private final Map<String, Flight> flights = new HashMap<>();
+
+    @Override
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations,
+                                 @NonNull Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+        Coalesced coalesced = null;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Coalesced) {
+                coalesced = (Coalesced) annotation;
+            }
+        }
+        if (coalesced == null) {
+            return null;
+        }
+
+        Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        long ttlMillis = coalesced.ttlMillis();
+        Executor callbackExecutor = retrofit.callbackExecutor() != null ? retrofit.callbackExecutor() : Runnable::run;
+        return new CallAdapter<Object, Call<Object>>() {
+            @NonNull
+            @Override
+            public Type responseType() {
+                return responseType;
+            }
+
+            @NonNull
+            @Override
+            public Call<Object> adapt(@NonNull Call<Object> call) {
+                return new CoalescedCall(call, ttlMillis, callbackExecutor);
+            }
+        };
+    }
+
+    /**
+     * Application interceptor that forgets remembered responses after a successful write.
+     */
+    public Interceptor invalidator() {
+        return chain -> {
+            Request request = chain.request();
+            okhttp3.Response response = chain.proceed(request);
+            if (!"GET".equals(request.method()) && !"HEAD".equals(request.method()) && response.isSuccessful()) {
+                invalidateAll();
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Forget every remembered response, e.g. on logout. Requests in flight still complete for
+     * the callers already waiting on them, but take no new callers and are not remembered.
+     */
+    public synchronized void invalidateAll() {
+        for (Flight flight : flights.values()) {
+            flight.stale = true;
+        }
+        flights.clear();
+    }
+
+    /**
+     * One network request and the callers waiting for it.
+     */
+    private final class Flight implements Callback<Object> {
+        final String key;
+        final Call<Object> call;
+        final long ttlMillis;
+        final Executor callbackExecutor;
+        final List<CoalescedCall> waiters = new ArrayList<>();
+        Response<Object> response;
+        long expiresAt;
+        boolean stale;
+
+        Flight(String key, Call<Object> call, long ttlMillis, Executor callbackExecutor) {
+            this.key = key;
+            this.call = call;
+            this.ttlMillis = ttlMillis;
+            this.callbackExecutor = callbackExecutor;
+        }
+
+        boolean isFresh() {
+            return response != null && SystemClock.elapsedRealtime() < expiresAt;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<Object> call, @NonNull Response<Object> response) {
+            List<CoalescedCall> joined;
+            synchronized (RequestCoalescer.this) {
+                joined = new ArrayList<>(waiters);
+                waiters.clear();
+                if (response.isSuccessful() && ttlMillis > 0 && !stale) {
+                    this.response = response;
+                    expiresAt = SystemClock.elapsedRealtime() + ttlMillis;
+                } else {
+                    removeSelf();
+                }
+            }
+            if (response.isSuccessful()) {
+                for (CoalescedCall waiter : joined) {
+                    waiter.deliver(response);
+                }
+                return;
+            }
+
+            // An error body can only be read once, so give every caller its own copy
+            byte[] errorBytes = new byte[0];
+            MediaType contentType = null;
+            try (ResponseBody errorBody = response.errorBody()) {
+                if (errorBody != null) {
+                    errorBytes = errorBody.bytes();
+                    contentType = errorBody.contentType();
+                }
+            } catch (IOException ignored) {
+                // Callers still get the status code
+            }
+            for (CoalescedCall waiter : joined) {
+                waiter.deliver(Response.error(ResponseBody.create(errorBytes, contentType), response.raw()));
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<Object> call, @NonNull Throwable t) {
+            List<CoalescedCall> joined;
+            synchronized (RequestCoalescer.this) {
+                joined = new ArrayList<>(waiters);
+                waiters.clear();
+                removeSelf();
+            }
+            for (CoalescedCall waiter : joined) {
+                waiter.fail(t);
+            }
+        }
+
+        private void removeSelf() {
+            if (flights.get(key) == this) {
+                flights.remove(key);
+            }
+        }
+    }
+
+    /**
+     * The {@link Call} handed to callers. Each caller has its own, but enqueued calls with the
+     * same key share a {@link Flight}.
+     */
+    private final class CoalescedCall implements Call<Object> {
+        private final Call<Object> delegate;
+        private final long ttlMillis;
+        private final Executor callbackExecutor;
+        private Callback<Object> callback;
+        // The flight this call joined, guarded by the coalescer
+        private Flight flight;
+        private boolean executed;
+        private volatile boolean canceled;
+
+        CoalescedCall(Call<Object> delegate, long ttlMillis, Executor callbackExecutor) {
+            this.delegate = delegate;
+            this.ttlMillis = ttlMillis;
+            this.callbackExecutor = callbackExecutor;
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<Object> callback) {
+            Request request = delegate.request();
+            String key = request.method() + " " + request.url();
+            Flight flight;
+            boolean start = false;
+            Response<Object> remembered = null;
+            synchronized (RequestCoalescer.this) {
+                if (executed) {
+                    throw new IllegalStateException("Already executed.");
+                }
+                executed = true;
+                this.callback = callback;
+                if (canceled) {
+                    fail(new IOException("Canceled"));
+                    return;
+                }
+
+                flight = flights.get(key);
+                if (flight != null && flight.isFresh()) {
+                    remembered = flight.response;
+                } else {
+                    if (flight == null || flight.response != null) {
+                        flight = new Flight(key, delegate, ttlMillis, callbackExecutor);
+                        flights.put(key, flight);
+                        start = true;
+                    }
+                    flight.waiters.add(this);
+                    this.flight = flight;
+                }
+            }
+            if (remembered != null) {
+                deliver(remembered);
+            } else if (start) {
+                flight.call.enqueue(flight);
+            }
+        }
+
+        void deliver(Response<Object> response) {
+            callbackExecutor.execute(() -> {
+                if (canceled) {
+                    callback.onFailure(this, new IOException("Canceled"));
+                } else {
+                    callback.onResponse(this, response);
+                }
+            });
+        }
+
+        void fail(Throwable t) {
+            callbackExecutor.execute(() -> callback.onFailure(this, canceled ? new IOException("Canceled") : t));
+        }
+
+        @NonNull
+        @Override
+        public Response<Object> execute() throws IOException {
+            synchronized (RequestCoalescer.this) {
+                if (executed) {
+                    throw new IllegalStateException("Already executed.");
+                }
+                executed = true;
+            }
+            return delegate.execute();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            synchronized (RequestCoalescer.this) {
+                return executed;
+            }
+        }
+
+        /**
+         * Cancels the shared request only once every caller waiting on it has cancelled.
+         */
+        @Override
+        public void cancel() {
+            canceled = true;
+            Call<Object> orphaned = null;
+            synchronized (RequestCoalescer.this) {
+                if (flight != null && flight.waiters.contains(this) && allCanceled(flight.waiters)) {
+                    orphaned = flight.call;
+                }
+            }
+            if (orphaned != null) {
+                orphaned.cancel();
+            }
+        }
+
+        private boolean allCanceled(List<CoalescedCall> waiters) {
+            for (CoalescedCall waiter : waiters) {
+                if (!waiter.canceled) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @NonNull
+        @Override
+        public Call<Object> clone() {
+            return new CoalescedCall(delegate.clone(), ttlMillis, callbackExecutor);
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
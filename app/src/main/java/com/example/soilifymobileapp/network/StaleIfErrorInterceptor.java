@@ -0,0 +1,63 @@
+package com.example.soilifymobileapp.network;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Serves a cached GET response, within the endpoint's stale-if-error window, when the network
+ * request fails or the server answers with a 5xx. Without a usable cached copy the original
+ * failure is passed through unchanged.
+ */
+class StaleIfErrorInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CachePolicy policy = CachePolicy.forPath(request.url().encodedPath());
+        if (!"GET".equals(request.method()) || !policy.isCacheable() || policy.staleIfErrorSeconds <= 0) {
+            return chain.proceed(request);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Response cached = cachedCopy(chain, request, policy);
+            if (cached == null) {
+                throw e;
+            }
+            return cached;
+        }
+
+        if (response.code() < 500) {
+            return response;
+        }
+        Response cached = cachedCopy(chain, request, policy);
+        if (cached == null) {
+            return response;
+        }
+        response.close();
+        return cached;
+    }
+
+    private static Response cachedCopy(Chain chain, Request request, CachePolicy policy) throws IOException {
+        Request cacheOnly = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(policy.staleIfErrorSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+        Response cached = chain.proceed(cacheOnly);
+        // OkHttp answers an only-if-cached miss with 504
+        if (cached.code() == 504 && cached.networkResponse() == null && cached.cacheResponse() == null) {
+            cached.close();
+            return null;
+        }
+        return cached;
+    }
+}
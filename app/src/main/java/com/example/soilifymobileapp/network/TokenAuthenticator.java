@@ -0,0 +1,43 @@
+package com.example.soilifymobileapp.network;
+
+import androidx.annotation.NonNull;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Answers a 401 by renewing the access token through {@link TokenManager} and replaying the
+ * request with it. Parallel 401s for the same token share one refresh. If the token cannot be
+ * renewed, or the replay is rejected too, the 401 reaches the caller as before.
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenManager tokenManager;
+
+    public TokenAuthenticator(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    @Override
+    public Request authenticate(Route route, @NonNull Response response) {
+        String authorization = response.request().header("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        if (response.priorResponse() != null) {
+            // Already replayed once with a renewed token
+            return null;
+        }
+        String renewed = tokenManager.refresh(authorization.substring(BEARER.length()));
+        if (renewed == null) {
+            return null;
+        }
+        return response.request().newBuilder()
+                .header("Authorization", BEARER + renewed)
+                .build();
+    }
+}
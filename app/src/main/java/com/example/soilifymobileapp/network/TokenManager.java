@@ -0,0 +1,137 @@
+package com.example.soilifymobileapp.network;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.soilifymobileapp.models.Token;
+
+import java.io.IOException;
+
+import retrofit2.Response;
+
+/**
+ * Holds the signed-in user's access token, and the account it was issued to.
+ *
+ * The token is read from the "auth" preferences once and then served from memory, so adding
+ * it to a request costs a volatile read rather than a preferences lookup on an OkHttp thread.
+ * Writes go through here and are persisted in the background; a change made to the
+ * preferences directly is picked up by a listener.
+ *
+ * {@link #refresh(String)} is single-flight: when a burst of requests is rejected with the same
+ * expired token, the first to arrive refreshes it and the rest wait and then reuse the result.
+ */
+public class TokenManager {
+
+    private static final String TAG = "TokenManager";
+    private static final String PREFS = "auth";
+    private static final String KEY_TOKEN = "token";
+    private static final String KEY_ACCOUNT = "account";
+
+    private static volatile TokenManager instance;
+
+    private final SharedPreferences preferences;
+    // Held here because SharedPreferences only keeps a weak reference to its listeners
+    private final SharedPreferences.OnSharedPreferenceChangeListener listener;
+    private volatile String token;
+
+    // Guarded by this
+    private String lastRejectedToken;
+
+    public static TokenManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TokenManager.class) {
+                if (instance == null) {
+                    instance = new TokenManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private TokenManager(Context context) {
+        preferences = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        token = preferences.getString(KEY_TOKEN, null);
+        listener = (prefs, key) -> {
+            // A null key means the preferences were cleared (API 30+)
+            if (key == null || KEY_TOKEN.equals(key)) {
+                token = prefs.getString(KEY_TOKEN, null);
+            }
+        };
+        preferences.registerOnSharedPreferenceChangeListener(listener);
+    }
+
+    /**
+     * @return the current access token, or null when signed out
+     */
+    public String getToken() {
+        return token;
+    }
+
+    public boolean hasToken() {
+        String current = token;
+        return current != null && !current.isEmpty();
+    }
+
+    public void setToken(String newToken) {
+        token = newToken;
+        preferences.edit().putString(KEY_TOKEN, newToken).apply();
+    }
+
+    /**
+     * @return the email of the account that last signed in, or null if none has been recorded.
+     * Kept after sign-out so work queued by that account can be told apart from the next one's.
+     */
+    public String getAccount() {
+        return preferences.getString(KEY_ACCOUNT, null);
+    }
+
+    public void setAccount(String account) {
+        preferences.edit().putString(KEY_ACCOUNT, account).apply();
+    }
+
+    /**
+     * Forget the token, e.g. on logout or when the server has rejected it for good.
+     */
+    public void clear() {
+        token = null;
+        preferences.edit().remove(KEY_TOKEN).apply();
+    }
+
+    /**
+     * Swap {@code rejectedToken} for a fresh one. Blocks, so call it from an OkHttp thread.
+     *
+     * @param rejectedToken the token the server answered 401 to
+     * @return a token to retry with, or null if the session cannot be renewed
+     */
+    synchronized String refresh(String rejectedToken) {
+        String current = token;
+        if (current == null) {
+            return null;
+        }
+        if (!current.equals(rejectedToken)) {
+            // Another request refreshed it while this one waited, or the user signed in again
+            return current;
+        }
+        if (rejectedToken.equals(lastRejectedToken)) {
+            // Already tried and failed for this token; don't hammer the server once per request
+            return null;
+        }
+        Response<Token> response;
+        try {
+            response = ApiClient.getServiceNoAuth(AuthApi.class).refresh("Bearer " + rejectedToken).execute();
+        } catch (IOException e) {
+            // Not the server's answer, so a later 401 may try again
+            Log.w(TAG, "Token refresh failed", e);
+            return null;
+        }
+        Token body = response.body();
+        String renewed = response.isSuccessful() && body != null ? body.getAccessToken() : null;
+        if (renewed == null || renewed.isEmpty()) {
+            lastRejectedToken = rejectedToken;
+            return null;
+        }
+        setToken(renewed);
+        return renewed;
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.soilifymobileapp.network;
 
+import com.example.soilifymobileapp.models.DeltaResponse;
 import com.example.soilifymobileapp.models.WeatherDataCreate;
 import com.example.soilifymobileapp.models.WeatherDataRead;
 import com.example.soilifymobileapp.models.WeatherDataUpdate;
+import com.example.soilifymobileapp.models.WeatherImportResult;
 
 import java.util.List;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -13,18 +16,41 @@ import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface WeatherApi {
 
     @GET("api/weather-data")
     Call<List<WeatherDataRead>> getAllWeatherData();
 
+    /**
+     * Keyset page, newest first: rows older than ({@code before}, {@code beforeId}).
+     * Both are omitted for the first page. The body is left unread so the sync can
+     * decode it as it downloads.
+     */
+    @Streaming
+    @GET("api/weather-data")
+    Call<ResponseBody> getWeatherDataPage(@Query("limit") int limit,
+                                          @Query("before") String before,
+                                          @Query("before_id") Integer beforeId);
+
+    @GET("api/weather-data/changes")
+    Call<DeltaResponse<WeatherDataRead>> getWeatherDataChanges(@Query("updated_since") String updatedSince);
+
     @GET("api/weather-data/{weather_id}")
     Call<WeatherDataRead> getWeatherData(@Path("weather_id") int weatherId);
 
     @POST("api/weather-data")
     Call<WeatherDataRead> createWeatherData(@Body WeatherDataCreate weatherData);
 
+    /**
+     * Create many readings in one request. The server skips readings it already holds for the
+     * same field and {@code recorded_at}, so a batch can be sent again after a lost response.
+     */
+    @POST("api/weather-data/bulk")
+    Call<WeatherImportResult> importWeatherData(@Body List<WeatherDataCreate> readings);
+
     @PUT("api/weather-data/{weather_id}")
     Call<WeatherDataRead> updateWeatherData(@Path("weather_id") int weatherId, @Body WeatherDataUpdate weatherData);
 
@@ -0,0 +1,65 @@
+package com.example.soilifymobileapp.network.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a top-level JSON array a batch at a time, so a long list is handed on while the rest
+ * is still downloading and never has to be held in memory as a whole.
+ */
+public final class JsonListReader {
+
+    /**
+     * Receives each batch on the reading thread.
+     */
+    public interface BatchConsumer<T> {
+        /**
+         * @return false to stop reading; the rest of the array is left unread
+         */
+        boolean accept(List<T> batch) throws IOException;
+    }
+
+    private JsonListReader() {
+    }
+
+    /**
+     * @param batchSize the largest batch passed to {@code consumer}; only the last may be smaller
+     * @return the number of items read, which is fewer than the array holds if
+     * {@code consumer} stopped the read
+     */
+    public static <T> int read(Reader reader, TypeAdapter<T> adapter, int batchSize,
+                               BatchConsumer<T> consumer) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        if (in.peek() == JsonToken.NULL) {
+            return 0;
+        }
+        int total = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        in.beginArray();
+        while (in.hasNext()) {
+            T item = adapter.read(in);
+            if (item == null) {
+                continue;
+            }
+            batch.add(item);
+            total++;
+            if (batch.size() == batchSize) {
+                if (!consumer.accept(batch)) {
+                    return total;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        in.endArray();
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+        return total;
+    }
+}
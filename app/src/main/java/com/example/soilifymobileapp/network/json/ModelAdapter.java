@@ -0,0 +1,83 @@
+package com.example.soilifymobileapp.network.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Base for the hand-written model adapters: the object loop, null handling and the number
+ * coercions Gson's reflective adapter applies, so each model only lists its fields.
+ *
+ * Unknown names are skipped and a JSON null leaves a primitive field at its default, which is
+ * what the reflective adapter did, so switching adapters does not change what a model reads.
+ */
+abstract class ModelAdapter<T> extends TypeAdapter<T> {
+
+    abstract T create();
+
+    /**
+     * Read the value of {@code name} into {@code target}.
+     *
+     * @return false if the name is not a field of the model; the caller skips its value
+     */
+    abstract boolean readField(JsonReader in, String name, T target) throws IOException;
+
+    abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        T target = create();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if (!readField(in, name, target)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return target;
+    }
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    // Values below are never JSON null; read() has already consumed those
+
+    static int nextInt(JsonReader in) throws IOException {
+        return in.nextInt();
+    }
+
+    static float nextFloat(JsonReader in) throws IOException {
+        return (float) in.nextDouble();
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        // Matches Gson, which reads a boolean into a String field as "true"/"false"
+        return in.peek() == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+    }
+
+    static void writeNumber(JsonWriter out, Number value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value);
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package com.example.soilifymobileapp.network.json;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.AlertSummary;
+import com.example.soilifymobileapp.models.ChatRequest;
+import com.example.soilifymobileapp.models.ChatResponse;
+import com.example.soilifymobileapp.models.ChatStreamEvent;
+import com.example.soilifymobileapp.models.DashboardResponse;
+import com.example.soilifymobileapp.models.DeltaResponse;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertiliserUsageCreate;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FertilizerSummary;
+import com.example.soilifymobileapp.models.FieldAnalysisResponse;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldCreate;
+import com.example.soilifymobileapp.models.FieldOption;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.FieldUpdate;
+import com.example.soilifymobileapp.models.NLToSQLRequest;
+import com.example.soilifymobileapp.models.NLToSQLResponse;
+import com.example.soilifymobileapp.models.QuickStats;
+import com.example.soilifymobileapp.models.RecentAlert;
+import com.example.soilifymobileapp.models.Token;
+import com.example.soilifymobileapp.models.UserCreate;
+import com.example.soilifymobileapp.models.UserLogin;
+import com.example.soilifymobileapp.models.UserWelcome;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherDataUpdate;
+import com.example.soilifymobileapp.models.WeatherImportResult;
+import com.example.soilifymobileapp.models.WeatherSummary;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reflection-free adapters for the models the app reads in bulk: the synced collections,
+ * alerts, field lists and analytics, plus the weather readings a CSV import uploads in bulk.
+ *
+ * Each adapter reads fields through the model's setters by their serialized names, so parsing
+ * a list costs no field lookups or reflective writes and keeps working when R8 renames the
+ * model's fields. Dates go through Gson's own Date adapter so their format is unchanged.
+ * The models left to Gson's reflective adapter are listed in {@link #REFLECTIVE};
+ * proguard-rules.pro keeps their fields for that.
+ *
+ * When a field is added to one of these models, add it to its adapter as well.
+ */
+public final class ModelAdapters implements TypeAdapterFactory {
+
+    /**
+     * Models the API sends or receives that are left to Gson's reflective adapter. Each is
+     * read or written once per request or screen rather than in bulk: request bodies, auth
+     * tokens, the dashboard and its parts, summaries, and the AI answers and stream events.
+     * DeltaResponse is only the envelope of a sync; its rows go through the adapters above.
+     * ModelAdaptersTest fails for a model on the wire that is in neither place.
+     */
+    static final List<Class<?>> REFLECTIVE = Collections.unmodifiableList(Arrays.asList(
+            // Requests
+            ChatRequest.class, FertiliserUsageCreate.class, FertiliserUsageUpdate.class, FieldCreate.class,
+            FieldUpdate.class, NLToSQLRequest.class, UserCreate.class, UserLogin.class, WeatherDataUpdate.class,
+            // Responses
+            AlertSummary.class, ChatResponse.class, ChatStreamEvent.class, DashboardResponse.class,
+            DeltaResponse.class, FarmOverview.class, FertilizerSummary.class, FieldAnalysisResponse.class,
+            NLToSQLResponse.class, QuickStats.class, RecentAlert.class, Token.class, UserWelcome.class,
+            WeatherImportResult.class, WeatherSummary.class));
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        if (raw == WeatherDataRead.class) {
+            return (TypeAdapter<T>) new WeatherDataReadAdapter(gson.getAdapter(Date.class));
+        }
+        if (raw == WeatherDataCreate.class) {
+            return (TypeAdapter<T>) new WeatherDataCreateAdapter();
+        }
+        if (raw == FertiliserUsageRead.class) {
+            return (TypeAdapter<T>) new FertiliserUsageReadAdapter();
+        }
+        if (raw == AlertRead.class) {
+            return (TypeAdapter<T>) new AlertReadAdapter(gson.getAdapter(Date.class));
+        }
+        if (raw == FieldRead.class) {
+            return (TypeAdapter<T>) new FieldReadAdapter(gson.getAdapter(Date.class));
+        }
+        if (raw == FieldOption.class) {
+            return (TypeAdapter<T>) new FieldOptionAdapter();
+        }
+        if (raw == FertilizerByType.class) {
+            return (TypeAdapter<T>) new FertilizerByTypeAdapter();
+        }
+        if (raw == WeatherTrend.class) {
+            return (TypeAdapter<T>) new WeatherTrendAdapter();
+        }
+        if (raw == FieldAnalytics.class) {
+            return (TypeAdapter<T>) new FieldAnalyticsAdapter();
+        }
+        // REFLECTIVE and anything else: Gson's reflective adapter
+        return null;
+    }
+
+    static final class WeatherDataReadAdapter extends ModelAdapter<WeatherDataRead> {
+        private final TypeAdapter<Date> dateAdapter;
+
+        WeatherDataReadAdapter(TypeAdapter<Date> dateAdapter) {
+            this.dateAdapter = dateAdapter;
+        }
+
+        @Override
+        WeatherDataRead create() {
+            return new WeatherDataRead();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, WeatherDataRead target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.setId(nextInt(in));
+                    return true;
+                case "field_id":
+                    target.setFieldId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "temperature":
+                    target.setTemperature(nextFloat(in));
+                    return true;
+                case "rainfall":
+                    target.setRainfall(nextFloat(in));
+                    return true;
+                case "soil_moisture":
+                    target.setSoilMoisture(nextFloat(in));
+                    return true;
+                case "created_at":
+                    target.setCreatedAt(dateAdapter.read(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, WeatherDataRead value) throws IOException {
+            writeNumber(out.name("id"), value.getId());
+            writeNumber(out.name("field_id"), value.getFieldId());
+            out.name("field_name").value(value.getFieldName());
+            writeNumber(out.name("temperature"), value.getTemperature());
+            writeNumber(out.name("rainfall"), value.getRainfall());
+            writeNumber(out.name("soil_moisture"), value.getSoilMoisture());
+            dateAdapter.write(out.name("created_at"), value.getCreatedAt());
+        }
+    }
+
+    static final class WeatherDataCreateAdapter extends ModelAdapter<WeatherDataCreate> {
+        @Override
+        WeatherDataCreate create() {
+            return new WeatherDataCreate();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, WeatherDataCreate target) throws IOException {
+            switch (name) {
+                case "field_id":
+                    target.setFieldId(nextInt(in));
+                    return true;
+                case "temperature":
+                    target.setTemperature(nextFloat(in));
+                    return true;
+                case "rainfall":
+                    target.setRainfall(nextFloat(in));
+                    return true;
+                case "soil_moisture":
+                    target.setSoilMoisture(nextFloat(in));
+                    return true;
+                case "recorded_at":
+                    target.setRecordedAt(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, WeatherDataCreate value) throws IOException {
+            writeNumber(out.name("field_id"), value.getFieldId());
+            writeNumber(out.name("temperature"), value.getTemperature());
+            writeNumber(out.name("rainfall"), value.getRainfall());
+            writeNumber(out.name("soil_moisture"), value.getSoilMoisture());
+            out.name("recorded_at").value(value.getRecordedAt());
+        }
+    }
+
+    static final class FertiliserUsageReadAdapter extends ModelAdapter<FertiliserUsageRead> {
+        @Override
+        FertiliserUsageRead create() {
+            return new FertiliserUsageRead();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, FertiliserUsageRead target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.setId(nextInt(in));
+                    return true;
+                case "farmer_id":
+                    target.setFarmerId(nextInt(in));
+                    return true;
+                case "field_id":
+                    target.setFieldId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "fertiliser_type":
+                    target.setFertiliserType(nextString(in));
+                    return true;
+                case "amount_kg":
+                    target.setAmountKg(nextFloat(in));
+                    return true;
+                case "weather":
+                    target.setWeather(nextString(in));
+                    return true;
+                case "notes":
+                    target.setNotes(nextString(in));
+                    return true;
+                case "date":
+                    target.setDate(nextString(in));
+                    return true;
+                case "created_at":
+                    target.setCreatedAt(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FertiliserUsageRead value) throws IOException {
+            writeNumber(out.name("id"), value.getId());
+            writeNumber(out.name("farmer_id"), value.getFarmerId());
+            writeNumber(out.name("field_id"), value.getFieldId());
+            out.name("field_name").value(value.getFieldName());
+            out.name("fertiliser_type").value(value.getFertiliserType());
+            writeNumber(out.name("amount_kg"), value.getAmountKg());
+            out.name("weather").value(value.getWeather());
+            out.name("notes").value(value.getNotes());
+            out.name("date").value(value.getDate());
+            out.name("created_at").value(value.getCreatedAt());
+        }
+    }
+
+    static final class AlertReadAdapter extends ModelAdapter<AlertRead> {
+        private final TypeAdapter<Date> dateAdapter;
+
+        AlertReadAdapter(TypeAdapter<Date> dateAdapter) {
+            this.dateAdapter = dateAdapter;
+        }
+
+        @Override
+        AlertRead create() {
+            return new AlertRead();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, AlertRead target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.setId(nextInt(in));
+                    return true;
+                case "farmer_id":
+                    target.setFarmerId(nextInt(in));
+                    return true;
+                case "farmer_name":
+                    target.setFarmerName(nextString(in));
+                    return true;
+                case "field_id":
+                    target.setFieldId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "message":
+                    target.setMessage(nextString(in));
+                    return true;
+                case "created_at":
+                    target.setCreatedAt(dateAdapter.read(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AlertRead value) throws IOException {
+            writeNumber(out.name("id"), value.getId());
+            writeNumber(out.name("farmer_id"), value.getFarmerId());
+            out.name("farmer_name").value(value.getFarmerName());
+            writeNumber(out.name("field_id"), value.getFieldId());
+            out.name("field_name").value(value.getFieldName());
+            out.name("message").value(value.getMessage());
+            dateAdapter.write(out.name("created_at"), value.getCreatedAt());
+        }
+    }
+
+    static final class FieldReadAdapter extends ModelAdapter<FieldRead> {
+        private final TypeAdapter<Date> dateAdapter;
+
+        FieldReadAdapter(TypeAdapter<Date> dateAdapter) {
+            this.dateAdapter = dateAdapter;
+        }
+
+        @Override
+        FieldRead create() {
+            return new FieldRead();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, FieldRead target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.setId(nextInt(in));
+                    return true;
+                case "farmer_id":
+                    target.setFarmerId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "soil_type":
+                    target.setSoilType(nextString(in));
+                    return true;
+                case "crop_type":
+                    target.setCropType(nextString(in));
+                    return true;
+                case "size_hectares":
+                    target.setSizeHectares(nextFloat(in));
+                    return true;
+                case "created_at":
+                    target.setCreatedAt(dateAdapter.read(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FieldRead value) throws IOException {
+            writeNumber(out.name("id"), value.getId());
+            writeNumber(out.name("farmer_id"), value.getFarmerId());
+            out.name("field_name").value(value.getFieldName());
+            out.name("soil_type").value(value.getSoilType());
+            out.name("crop_type").value(value.getCropType());
+            writeNumber(out.name("size_hectares"), value.getSizeHectares());
+            dateAdapter.write(out.name("created_at"), value.getCreatedAt());
+        }
+    }
+
+    static final class FieldOptionAdapter extends ModelAdapter<FieldOption> {
+        @Override
+        FieldOption create() {
+            return new FieldOption();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, FieldOption target) throws IOException {
+            switch (name) {
+                case "id":
+                    target.setId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "soil_type":
+                    target.setSoilType(nextString(in));
+                    return true;
+                case "crop_type":
+                    target.setCropType(nextString(in));
+                    return true;
+                case "size_hectares":
+                    target.setSizeHectares(nextFloat(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FieldOption value) throws IOException {
+            writeNumber(out.name("id"), value.getId());
+            out.name("field_name").value(value.getFieldName());
+            out.name("soil_type").value(value.getSoilType());
+            out.name("crop_type").value(value.getCropType());
+            writeNumber(out.name("size_hectares"), value.getSizeHectares());
+        }
+    }
+
+    static final class FertilizerByTypeAdapter extends ModelAdapter<FertilizerByType> {
+        @Override
+        FertilizerByType create() {
+            return new FertilizerByType();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, FertilizerByType target) throws IOException {
+            switch (name) {
+                case "fertiliser_type":
+                    target.setFertiliserType(nextString(in));
+                    return true;
+                case "total_amount_kg":
+                    target.setTotalAmountKg(nextFloat(in));
+                    return true;
+                case "application_count":
+                    target.setApplicationCount(nextInt(in));
+                    return true;
+                case "percentage_of_total":
+                    target.setPercentageOfTotal(nextFloat(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FertilizerByType value) throws IOException {
+            out.name("fertiliser_type").value(value.getFertiliserType());
+            writeNumber(out.name("total_amount_kg"), value.getTotalAmountKg());
+            writeNumber(out.name("application_count"), value.getApplicationCount());
+            writeNumber(out.name("percentage_of_total"), value.getPercentageOfTotal());
+        }
+    }
+
+    static final class WeatherTrendAdapter extends ModelAdapter<WeatherTrend> {
+        @Override
+        WeatherTrend create() {
+            return new WeatherTrend();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, WeatherTrend target) throws IOException {
+            switch (name) {
+                case "date":
+                    target.setDate(nextString(in));
+                    return true;
+                case "average_temperature":
+                    target.setAverageTemperature(nextFloat(in));
+                    return true;
+                case "average_rainfall":
+                    target.setAverageRainfall(nextFloat(in));
+                    return true;
+                case "average_soil_moisture":
+                    target.setAverageSoilMoisture(nextFloat(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, WeatherTrend value) throws IOException {
+            out.name("date").value(value.getDate());
+            writeNumber(out.name("average_temperature"), value.getAverageTemperature());
+            writeNumber(out.name("average_rainfall"), value.getAverageRainfall());
+            writeNumber(out.name("average_soil_moisture"), value.getAverageSoilMoisture());
+        }
+    }
+
+    static final class FieldAnalyticsAdapter extends ModelAdapter<FieldAnalytics> {
+        @Override
+        FieldAnalytics create() {
+            return new FieldAnalytics();
+        }
+
+        @Override
+        boolean readField(JsonReader in, String name, FieldAnalytics target) throws IOException {
+            switch (name) {
+                case "field_id":
+                    target.setFieldId(nextInt(in));
+                    return true;
+                case "field_name":
+                    target.setFieldName(nextString(in));
+                    return true;
+                case "soil_type":
+                    target.setSoilType(nextString(in));
+                    return true;
+                case "crop_type":
+                    target.setCropType(nextString(in));
+                    return true;
+                case "size_hectares":
+                    target.setSizeHectares(nextFloat(in));
+                    return true;
+                case "total_fertilizer_kg":
+                    target.setTotalFertilizerKg(nextFloat(in));
+                    return true;
+                case "fertilizer_applications":
+                    target.setFertilizerApplications(nextInt(in));
+                    return true;
+                case "last_fertilizer_date":
+                    target.setLastFertilizerDate(nextString(in));
+                    return true;
+                case "weather_records":
+                    target.setWeatherRecords(nextInt(in));
+                    return true;
+                case "avg_temperature":
+                    target.setAvgTemperature(nextFloat(in));
+                    return true;
+                case "avg_rainfall":
+                    target.setAvgRainfall(nextFloat(in));
+                    return true;
+                case "avg_soil_moisture":
+                    target.setAvgSoilMoisture(nextFloat(in));
+                    return true;
+                case "total_alerts":
+                    target.setTotalAlerts(nextInt(in));
+                    return true;
+                case "recent_alerts":
+                    target.setRecentAlerts(nextInt(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FieldAnalytics value) throws IOException {
+            writeNumber(out.name("field_id"), value.getFieldId());
+            out.name("field_name").value(value.getFieldName());
+            out.name("soil_type").value(value.getSoilType());
+            out.name("crop_type").value(value.getCropType());
+            writeNumber(out.name("size_hectares"), value.getSizeHectares());
+            writeNumber(out.name("total_fertilizer_kg"), value.getTotalFertilizerKg());
+            writeNumber(out.name("fertilizer_applications"), value.getFertilizerApplications());
+            out.name("last_fertilizer_date").value(value.getLastFertilizerDate());
+            writeNumber(out.name("weather_records"), value.getWeatherRecords());
+            writeNumber(out.name("avg_temperature"), value.getAvgTemperature());
+            writeNumber(out.name("avg_rainfall"), value.getAvgRainfall());
+            writeNumber(out.name("avg_soil_moisture"), value.getAvgSoilMoisture());
+            writeNumber(out.name("total_alerts"), value.getTotalAlerts());
+            writeNumber(out.name("recent_alerts"), value.getRecentAlerts());
+        }
+    }
+}
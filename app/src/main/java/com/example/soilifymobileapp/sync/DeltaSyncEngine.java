@@ -0,0 +1,277 @@
+package com.example.soilifymobileapp.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.SyncStateDao;
+import com.example.soilifymobileapp.models.DeltaResponse;
+import com.example.soilifymobileapp.models.ServerTime;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.json.JsonListReader;
+import com.google.gson.TypeAdapter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Keeps cached collections up to date by downloading only what changed.
+ *
+ * Each collection stores a cursor in sync_state. The first sync downloads the full list in
+ * keyset pages, decoding and storing each page as it streams in, and records the server's
+ * clock as the cursor; later syncs ask for rows updated since the cursor plus ids deleted since then, and merge them
+ * into the cache. If the server does not support the changes endpoint (404) the collection
+ * falls back to full paged downloads for this process. A full download ends at the first page
+ * that is short or brings no rows it has not already seen, so a server that ignores the keyset
+ * cannot page forever, and the number of pages is capped regardless. The same holds within a
+ * response: reading stops at a batch of rows already seen, or once the cap's worth of rows
+ * has been read.
+ */
+public class DeltaSyncEngine {
+
+    private static final String TAG = "DeltaSyncEngine";
+
+    // Cursors taken from the Date header are wound back so rows written while the
+    // full list was being served are picked up again by the next delta.
+    private static final long HEADER_CURSOR_OVERLAP_MS = 60_000;
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 500;
+    private static final int MAX_ROWS = MAX_PAGES * PAGE_SIZE;
+
+    /**
+     * The endpoints a collection is synced from.
+     */
+    public interface Source<T> {
+        Call<DeltaResponse<T>> changesSince(String cursor);
+
+        Class<T> type();
+
+        /**
+         * A page of rows as a JSON array, decoded by the engine as it downloads.
+         *
+         * @param last the oldest row of the previous page, or null for the first page
+         */
+        Call<ResponseBody> page(T last, int limit);
+    }
+
+    /**
+     * The cache a collection is synced into. Writes are made on the disk thread.
+     */
+    public interface Store<T> {
+        void applyChanges(List<T> changed, List<Integer> deletedIds);
+
+        /**
+         * Drop rows that were not seen during a full download.
+         */
+        void retainOnly(Set<Integer> ids);
+
+        int idOf(T item);
+    }
+
+    /**
+     * Result of a sync, delivered on the main thread.
+     */
+    public interface Callback {
+        /**
+         * @param changed whether the cache was modified, so callers can skip re-reading it
+         */
+        void onComplete(boolean changed);
+
+        /**
+         * A page of a full download has been stored; the cache is usable but not yet complete.
+         */
+        default void onProgress() {
+        }
+
+        /**
+         * @param t the failure, or null if the server returned an error response
+         */
+        void onError(Throwable t);
+    }
+
+    private static volatile DeltaSyncEngine instance;
+
+    private final SyncStateDao syncStateDao;
+    private final AppExecutors executors;
+    private final Set<String> deltaUnsupported = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public static DeltaSyncEngine getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DeltaSyncEngine.class) {
+                if (instance == null) {
+                    instance = new DeltaSyncEngine(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private DeltaSyncEngine(Context context) {
+        syncStateDao = new SyncStateDao(SoilifyDatabase.getInstance(context));
+        executors = AppExecutors.getInstance();
+    }
+
+    public <T> void sync(String entityType, Source<T> source, Store<T> store, Callback callback) {
+        executors.diskIO().execute(() -> {
+            String cursor = syncStateDao.getCursor(entityType);
+            executors.mainThread().execute(() -> {
+                if (cursor == null || deltaUnsupported.contains(entityType)) {
+                    fullSync(entityType, source, store, callback);
+                } else {
+                    deltaSync(entityType, cursor, source, store, callback);
+                }
+            });
+        });
+    }
+
+    private <T> void deltaSync(String entityType, String cursor, Source<T> source, Store<T> store,
+                               Callback callback) {
+        source.changesSince(cursor).enqueue(new retrofit2.Callback<DeltaResponse<T>>() {
+            @Override
+            public void onResponse(@NonNull Call<DeltaResponse<T>> call,
+                                   @NonNull Response<DeltaResponse<T>> response) {
+                DeltaResponse<T> delta = response.body();
+                if (response.code() == 404) {
+                    Log.i(TAG, "No changes endpoint for " + entityType + ", using full downloads");
+                    deltaUnsupported.add(entityType);
+                    fullSync(entityType, source, store, callback);
+                    return;
+                }
+                if (!response.isSuccessful() || delta == null) {
+                    callback.onError(null);
+                    return;
+                }
+                String next = delta.getServerTime() != null ? delta.getServerTime() : cursorFromHeader(response);
+                boolean changed = !isEmpty(delta.getItems()) || !isEmpty(delta.getDeletedIds());
+                executors.diskIO().execute(() -> {
+                    if (changed) {
+                        store.applyChanges(delta.getItems(), delta.getDeletedIds());
+                    }
+                    if (next != null) {
+                        syncStateDao.setCursor(entityType, next);
+                    }
+                    executors.mainThread().execute(() -> callback.onComplete(changed));
+                });
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<DeltaResponse<T>> call, @NonNull Throwable t) {
+                callback.onError(t);
+            }
+        });
+    }
+
+    private <T> void fullSync(String entityType, Source<T> source, Store<T> store, Callback callback) {
+        fetchPage(entityType, source, store, callback, null, new HashSet<>(), null, 1);
+    }
+
+    /**
+     * Download one page on the network thread, decoding it a batch at a time and storing each
+     * batch as it is read, so a server that ignores the paging parameters and returns every row
+     * at once is never held in memory as one list.
+     */
+    private <T> void fetchPage(String entityType, Source<T> source, Store<T> store, Callback callback,
+                               T last, Set<Integer> seenIds, String cursor, int page) {
+        Call<ResponseBody> call = source.page(last, PAGE_SIZE);
+        executors.networkIO().execute(() -> {
+            AtomicReference<T> lastItem = new AtomicReference<>();
+            AtomicInteger unseen = new AtomicInteger();
+            AtomicBoolean truncated = new AtomicBoolean();
+            int count;
+            String next;
+            try {
+                Response<ResponseBody> response = call.execute();
+                if (!response.isSuccessful() || response.body() == null) {
+                    executors.mainThread().execute(() -> callback.onError(null));
+                    return;
+                }
+                // The first page's clock is the earliest point the download could have missed
+                next = cursor != null ? cursor : cursorFromHeader(response);
+                TypeAdapter<T> adapter = ApiClient.getGson().getAdapter(source.type());
+                try (ResponseBody body = response.body()) {
+                    count = JsonListReader.read(body.charStream(), adapter, PAGE_SIZE, batch -> {
+                        int fresh = 0;
+                        for (T item : batch) {
+                            if (seenIds.add(store.idOf(item))) {
+                                fresh++;
+                            }
+                        }
+                        unseen.addAndGet(fresh);
+                        lastItem.set(batch.get(batch.size() - 1));
+                        if (seenIds.size() >= MAX_ROWS) {
+                            truncated.set(true);
+                        }
+                        // A full batch of new rows means more may follow, in this response or the
+                        // next page; a full batch of rows already seen means the server is
+                        // repeating itself, so the rest of the response is not read
+                        boolean more = batch.size() == PAGE_SIZE && fresh > 0 && !truncated.get();
+                        executors.diskIO().execute(() -> {
+                            store.applyChanges(batch, null);
+                            if (more) {
+                                executors.mainThread().execute(callback::onProgress);
+                            }
+                        });
+                        return more;
+                    });
+                }
+            } catch (IOException | RuntimeException e) {
+                // Malformed JSON surfaces as a runtime exception from the reader
+                executors.mainThread().execute(() -> callback.onError(e));
+                return;
+            }
+
+            String nextCursor = next;
+            if (truncated.get() || count == PAGE_SIZE && unseen.get() > 0) {
+                if (truncated.get() || page >= MAX_PAGES) {
+                    // Not known to be complete, so prune nothing and keep no cursor; the next
+                    // sync starts the download over
+                    Log.w(TAG, "Stopped downloading " + entityType + " after " + page + " pages, " + seenIds.size() + " rows");
+                    executors.mainThread().execute(() -> callback.onComplete(true));
+                    return;
+                }
+                fetchPage(entityType, source, store, callback, lastItem.get(), seenIds, nextCursor, page + 1);
+                return;
+            }
+            // A full page of rows already seen means the server ignored the keyset and sent
+            // the list again, so the list has been read to its end
+            executors.diskIO().execute(() -> {
+                store.retainOnly(seenIds);
+                if (nextCursor != null) {
+                    syncStateDao.setCursor(entityType, nextCursor);
+                }
+                executors.mainThread().execute(() -> callback.onComplete(true));
+            });
+        });
+    }
+
+    /**
+     * Use the server's clock rather than the device's, which may be skewed.
+     */
+    private static String cursorFromHeader(Response<?> response) {
+        Date serverDate = response.headers().getDate("Date");
+        if (serverDate == null) {
+            return null;
+        }
+        return ServerTime.format(new Date(serverDate.getTime() - HEADER_CURSOR_OVERLAP_MS));
+    }
+
+    private static boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.soilifymobileapp.sync;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.local.FertiliserUsageDao;
+import com.example.soilifymobileapp.data.local.FieldDao;
+import com.example.soilifymobileapp.data.local.OutboxDao;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.SyncStateDao;
+import com.example.soilifymobileapp.data.local.WeatherDataDao;
+import com.example.soilifymobileapp.models.FertiliserUsageCreate;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
+import com.example.soilifymobileapp.models.FieldCreate;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.FieldUpdate;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherDataUpdate;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.FertiliserApi;
+import com.example.soilifymobileapp.network.FieldsApi;
+import com.example.soilifymobileapp.network.TokenManager;
+import com.example.soilifymobileapp.network.WeatherApi;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Drains the outbox to the server.
+ *
+ * Flushing runs on its own thread whenever a mutation is queued or connectivity returns.
+ * Entries are sent oldest first in batches over the shared connection pool; a transient
+ * failure stops the pass and schedules a retry with exponential backoff, while an entry the
+ * server rejects with a 4xx is dropped so it cannot block the queue, and what it did to the
+ * cache is undone. A 401 or 403 says
+ * nothing about the entry, only that the session is no longer valid, so it pauses the queue
+ * with the entry intact. Nothing is sent while signed out or paused; see
+ * {@link #signIn(String)} and {@link #signOut()}.
+ */
+public class SyncManager {
+
+    private static final String TAG = "SyncManager";
+
+    private static final int BATCH_SIZE = 20;
+    private static final long INITIAL_BACKOFF_MS = 2_000;
+    private static final long MAX_BACKOFF_MS = 5 * 60_000;
+
+    /**
+     * Notified on the main thread after outbox entries have been applied or rejected.
+     */
+    public interface Listener {
+        /**
+         * Entries of {@code entityType} reached the server. Their results are already in the
+         * cache, and its change observers have been told, so list screens need not react.
+         */
+        default void onSynced(String entityType) {
+        }
+
+        /**
+         * The server refused an entry for good. A rejected create has already been removed
+         * from the cache, and the row of a rejected update or delete put back as the server
+         * has it.
+         *
+         * @param operation one of the {@code OutboxEntry.OP_*} constants
+         */
+        void onRejected(String entityType, String operation, int httpCode);
+    }
+
+    private static volatile SyncManager instance;
+
+    private final SoilifyDatabase database;
+    private final TokenManager tokenManager;
+    private final ConnectivityManager connectivityManager;
+    private final OutboxDao outboxDao;
+    private final FieldDao fieldDao;
+    private final WeatherDataDao weatherDataDao;
+    private final FertiliserUsageDao fertiliserUsageDao;
+    private final SyncStateDao syncStateDao;
+    private final FieldsApi fieldsApi;
+    private final WeatherApi weatherApi;
+    private final FertiliserApi fertiliserApi;
+    private final Gson gson;
+
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "soilify-sync"));
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private final Runnable retryFlush = this::requestFlush;
+    // Entity types touched by the current batch; only accessed on the sync thread
+    private final Set<String> syncedTypes = new HashSet<>();
+
+    private volatile boolean paused;
+    private boolean started;
+    private boolean flushQueued;
+    private long backoffMs = INITIAL_BACKOFF_MS;
+
+    public static SyncManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SyncManager.class) {
+                if (instance == null) {
+                    instance = new SyncManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private SyncManager(Context context) {
+        database = SoilifyDatabase.getInstance(context);
+        tokenManager = TokenManager.getInstance(context);
+        connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        gson = ApiClient.getGson();
+        outboxDao = new OutboxDao(database, gson);
+        outboxDao.setAccount(tokenManager.getAccount());
+        paused = !tokenManager.hasToken();
+        fieldDao = new FieldDao(database);
+        weatherDataDao = new WeatherDataDao(database);
+        fertiliserUsageDao = new FertiliserUsageDao(database);
+        syncStateDao = new SyncStateDao(database);
+        fieldsApi = ApiClient.getService(context, FieldsApi.class);
+        weatherApi = ApiClient.getService(context, WeatherApi.class);
+        fertiliserApi = ApiClient.getService(context, FertiliserApi.class);
+    }
+
+    public OutboxDao getOutboxDao() {
+        return outboxDao;
+    }
+
+    /**
+     * Start watching connectivity and flush anything left over from a previous process.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                requestFlush();
+            }
+        });
+        requestFlush();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Resume sending, as {@code account}, once a token for it has been saved. Entries that
+     * account left queued in an earlier session are sent; another account's stay queued.
+     */
+    public void signIn(String account) {
+        String owner = account.trim().toLowerCase(Locale.ROOT);
+        tokenManager.setAccount(owner);
+        // Behind any earlier sign-out, so its wipe cannot land on the new session
+        syncExecutor.execute(() -> {
+            outboxDao.setAccount(owner);
+            outboxDao.claimUnowned();
+            paused = false;
+            backoffMs = INITIAL_BACKOFF_MS;
+            requestFlush();
+        });
+    }
+
+    /**
+     * Stop sending until the next {@link #signIn(String)} and drop the cached records. The
+     * outbox is kept for when the same account returns. The wipe waits for a request already
+     * in flight, so that request's result cannot be written back after it.
+     */
+    public void signOut() {
+        paused = true;
+        AppExecutors.getInstance().mainHandler().removeCallbacks(retryFlush);
+        syncExecutor.execute(database::clearCache);
+    }
+
+    /**
+     * Run a journaling write on the disk thread, then kick off a flush.
+     * @param onJournaled run on the main thread once the mutation is durable, may be null
+     */
+    public void journal(Runnable write, Runnable onJournaled) {
+        AppExecutors executors = AppExecutors.getInstance();
+        executors.diskIO().execute(() -> {
+            write.run();
+            requestFlush();
+            if (onJournaled != null) {
+                executors.mainThread().execute(onJournaled);
+            }
+        });
+    }
+
+    /**
+     * Schedule a flush. Calls made while a flush is already queued are folded into it.
+     */
+    public synchronized void requestFlush() {
+        AppExecutors.getInstance().mainHandler().removeCallbacks(retryFlush);
+        if (flushQueued) {
+            return;
+        }
+        flushQueued = true;
+        syncExecutor.execute(this::flush);
+    }
+
+    private void flush() {
+        synchronized (this) {
+            flushQueued = false;
+        }
+        if (paused) {
+            // signIn() will trigger the next attempt
+            return;
+        }
+        if (!isOnline()) {
+            // The network callback will trigger the next attempt
+            return;
+        }
+        while (true) {
+            List<OutboxEntry> batch = outboxDao.getBatch(BATCH_SIZE);
+            if (batch.isEmpty()) {
+                backoffMs = INITIAL_BACKOFF_MS;
+                return;
+            }
+            for (OutboxEntry entry : batch) {
+                if (paused) {
+                    notifySynced();
+                    return;
+                }
+                if (!send(entry)) {
+                    notifySynced();
+                    if (!paused) {
+                        scheduleRetry();
+                    }
+                    return;
+                }
+            }
+            notifySynced();
+        }
+    }
+
+    /**
+     * @return false if the entry hit a transient failure and should be retried later, or the
+     * session was refused and the queue is now paused
+     */
+    private boolean send(OutboxEntry entry) {
+        Response<?> response;
+        try {
+            response = buildCall(entry).execute();
+        } catch (IOException e) {
+            Log.w(TAG, "Outbox flush interrupted: " + e.getMessage());
+            outboxDao.incrementAttempts(entry.getId());
+            return false;
+        }
+
+        int code = response.code();
+        if (response.isSuccessful()) {
+            applyResult(entry, response.body());
+            syncedTypes.add(entry.getEntityType());
+            return true;
+        }
+        if (code >= 500 || code == 408 || code == 429) {
+            outboxDao.incrementAttempts(entry.getId());
+            return false;
+        }
+        if (code == 401 || code == 403) {
+            // The token could not be renewed; retrying before the user signs in again would
+            // fail the same way, and dropping the entry would lose an edit that is still valid
+            Log.w(TAG, "Session refused while sending " + entry.getEntityType() + ": " + code);
+            paused = true;
+            return false;
+        }
+        if (code == 404 && OutboxEntry.OP_DELETE.equals(entry.getOperation())) {
+            // Already gone on the server, which is what we wanted
+            outboxDao.complete(entry);
+            deleteCached(entry.getEntityType(), entry.getEntityId());
+            syncedTypes.add(entry.getEntityType());
+            return true;
+        }
+        Log.w(TAG, "Server rejected " + entry.getOperation() + " " + entry.getEntityType() + ": " + code);
+        outboxDao.remove(entry.getId());
+        rollBack(entry);
+        notifyRejected(entry.getEntityType(), entry.getOperation(), code);
+        return true;
+    }
+
+    private Call<?> buildCall(OutboxEntry entry) {
+        String payload = entry.getPayload();
+        int id = entry.getEntityId();
+        switch (entry.getEntityType()) {
+            case OutboxEntry.TYPE_FIELD:
+                switch (entry.getOperation()) {
+                    case OutboxEntry.OP_CREATE:
+                        return fieldsApi.createField(gson.fromJson(payload, FieldCreate.class));
+                    case OutboxEntry.OP_UPDATE:
+                        return fieldsApi.updateField(id, gson.fromJson(payload, FieldUpdate.class));
+                    default:
+                        return fieldsApi.deleteField(id);
+                }
+            case OutboxEntry.TYPE_WEATHER_DATA:
+                switch (entry.getOperation()) {
+                    case OutboxEntry.OP_CREATE:
+                        return weatherApi.createWeatherData(gson.fromJson(payload, WeatherDataCreate.class));
+                    case OutboxEntry.OP_UPDATE:
+                        return weatherApi.updateWeatherData(id, gson.fromJson(payload, WeatherDataUpdate.class));
+                    default:
+                        return weatherApi.deleteWeatherData(id);
+                }
+            case OutboxEntry.TYPE_FERTILISER_USAGE:
+                switch (entry.getOperation()) {
+                    case OutboxEntry.OP_CREATE:
+                        return fertiliserApi.createFertiliserUsage(gson.fromJson(payload, FertiliserUsageCreate.class));
+                    case OutboxEntry.OP_UPDATE:
+                        return fertiliserApi.updateFertiliserUsage(id, gson.fromJson(payload, FertiliserUsageUpdate.class));
+                    default:
+                        return fertiliserApi.deleteFertiliserUsage(id);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown outbox entity type: " + entry.getEntityType());
+        }
+    }
+
+    private Call<?> buildFetch(String entityType, int id) {
+        switch (entityType) {
+            case OutboxEntry.TYPE_FIELD:
+                return fieldsApi.getField(id);
+            case OutboxEntry.TYPE_WEATHER_DATA:
+                return weatherApi.getWeatherData(id);
+            case OutboxEntry.TYPE_FERTILISER_USAGE:
+                return fertiliserApi.getFertiliserUsage(id);
+            default:
+                throw new IllegalArgumentException("Unknown outbox entity type: " + entityType);
+        }
+    }
+
+    /**
+     * Write the server's copy of the entity into the local cache and settle the outbox entry.
+     */
+    private void applyResult(OutboxEntry entry, Object body) {
+        if (OutboxEntry.OP_DELETE.equals(entry.getOperation())) {
+            outboxDao.complete(entry);
+            // Usually gone already, but not if the row was written back meanwhile, e.g. by
+            // the reconcile of a create that was deleted while it was in flight
+            deleteCached(entry.getEntityType(), entry.getEntityId());
+            return;
+        }
+        int serverId = entry.getEntityId();
+        if (body instanceof FieldRead) {
+            FieldRead field = (FieldRead) body;
+            serverId = field.getId();
+            fieldDao.upsert(field);
+        } else if (body instanceof WeatherDataRead) {
+            WeatherDataRead weatherData = (WeatherDataRead) body;
+            serverId = weatherData.getId();
+            if (isLocalCreate(entry)) {
+                weatherDataDao.reconcile(entry.getEntityId(), weatherData);
+            } else {
+                weatherDataDao.upsert(weatherData);
+            }
+        } else if (body instanceof FertiliserUsageRead) {
+            FertiliserUsageRead usage = (FertiliserUsageRead) body;
+            serverId = usage.getId();
+            if (isLocalCreate(entry)) {
+                fertiliserUsageDao.reconcile(entry.getEntityId(), usage);
+            } else {
+                fertiliserUsageDao.upsert(usage);
+            }
+        }
+        if (OutboxEntry.OP_CREATE.equals(entry.getOperation())) {
+            if (!outboxDao.completeCreate(entry, serverId)) {
+                // Deleted while in flight; the delete now queued for the server id will remove
+                // it there, and the copy just cached must not reappear in the meantime
+                deleteCached(entry.getEntityType(), serverId);
+            }
+        } else {
+            outboxDao.complete(entry);
+        }
+    }
+
+    /**
+     * Undo what the UI was shown for an entry the server refused. A create was cached as a
+     * pending row under its local id; that row is dropped so it does not linger as if saved.
+     * An update or delete was applied to the cache when it was queued, so the server's copy is
+     * fetched and written back over it, or the row dropped if the server no longer has it.
+     * Either way the DAO tells the screens through TableChanges.
+     */
+    private void rollBack(OutboxEntry entry) {
+        if (isLocalCreate(entry)) {
+            deleteCached(entry.getEntityType(), entry.getEntityId());
+        } else if (!OutboxEntry.OP_CREATE.equals(entry.getOperation())) {
+            restoreServerCopy(entry.getEntityType(), entry.getEntityId());
+        }
+    }
+
+    private void restoreServerCopy(String entityType, int id) {
+        Response<?> response = null;
+        try {
+            response = buildFetch(entityType, id).execute();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not fetch " + entityType + " " + id + " to roll back: " + e.getMessage());
+        }
+        if (response != null && response.isSuccessful() && response.body() != null) {
+            cacheServerCopy(response.body());
+        } else if (response != null && response.code() == 404) {
+            deleteCached(entityType, id);
+        } else {
+            // Left as edited for now; without a cursor the next sync downloads the collection
+            // in full, which puts the server's copy back
+            syncStateDao.clearCursor(entityType);
+        }
+    }
+
+    private void cacheServerCopy(Object body) {
+        if (body instanceof FieldRead) {
+            fieldDao.upsert((FieldRead) body);
+        } else if (body instanceof WeatherDataRead) {
+            weatherDataDao.upsert((WeatherDataRead) body);
+        } else if (body instanceof FertiliserUsageRead) {
+            fertiliserUsageDao.upsert((FertiliserUsageRead) body);
+        }
+    }
+
+    private void deleteCached(String entityType, int id) {
+        switch (entityType) {
+            case OutboxEntry.TYPE_FIELD:
+                fieldDao.delete(id);
+                break;
+            case OutboxEntry.TYPE_WEATHER_DATA:
+                weatherDataDao.delete(id);
+                break;
+            case OutboxEntry.TYPE_FERTILISER_USAGE:
+                fertiliserUsageDao.delete(id);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isLocalCreate(OutboxEntry entry) {
+        return OutboxEntry.OP_CREATE.equals(entry.getOperation()) && entry.getEntityId() < 0;
+    }
+
+    private void scheduleRetry() {
+        long delay = backoffMs + ThreadLocalRandom.current().nextLong(backoffMs / 4 + 1);
+        backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        AppExecutors.getInstance().mainHandler().postDelayed(retryFlush, delay);
+    }
+
+    private boolean isOnline() {
+        Network network = connectivityManager.getActiveNetwork();
+        if (network == null) {
+            return false;
+        }
+        NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(network);
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+
+    /**
+     * One notification per entity type per batch rather than one per entry.
+     */
+    private void notifySynced() {
+        if (syncedTypes.isEmpty()) {
+            return;
+        }
+        List<String> types = new ArrayList<>(syncedTypes);
+        syncedTypes.clear();
+        AppExecutors.getInstance().mainThread().execute(() -> {
+            for (String entityType : types) {
+                for (Listener listener : listeners) {
+                    listener.onSynced(entityType);
+                }
+            }
+        });
+    }
+
+    private void notifyRejected(String entityType, String operation, int httpCode) {
+        AppExecutors.getInstance().mainThread().execute(() -> {
+            for (Listener listener : listeners) {
+                listener.onRejected(entityType, operation, httpCode);
+            }
+        });
+    }
+}
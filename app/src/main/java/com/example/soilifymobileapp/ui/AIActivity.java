@@ -12,39 +12,27 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
-import com.example.soilifymobileapp.models.AIConversation;
-import com.example.soilifymobileapp.models.ChatRequest;
-import com.example.soilifymobileapp.models.ChatResponse;
-import com.example.soilifymobileapp.models.FieldAnalysisResponse;
 import com.example.soilifymobileapp.models.FieldRead;
-import com.example.soilifymobileapp.models.NLToSQLRequest;
-import com.example.soilifymobileapp.models.NLToSQLResponse;
-import com.example.soilifymobileapp.network.AiApi;
-import com.example.soilifymobileapp.network.ApiClient;
-import com.example.soilifymobileapp.network.FieldsApi;
 import com.example.soilifymobileapp.ui.adapters.AIConversationsAdapter;
+import com.example.soilifymobileapp.ui.table.QueryResultDialog;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class AIActivity extends AppCompatActivity {
 
-    private enum ChatMode {
+    enum ChatMode {
         CHAT,       // General farming advice
         QUERY,      // Natural language to SQL queries
         ANALYZE     // Field analysis
     }
 
     private AIConversationsAdapter adapter;
-    private final List<AIConversation> conversationList = new ArrayList<>();
     private EditText etChatMessage;
     private RecyclerView rvConversations;
     private TextView tvModeHint;
@@ -53,25 +41,26 @@ public class AIActivity extends AppCompatActivity {
     private Button btnModeChat, btnModeQuery, btnModeAnalyze, btnAnalyzeField;
     private LinearLayout layoutChatbox;
 
-    private ChatMode currentMode = ChatMode.CHAT;
+    // The conversation, session and requests in flight live here so a rotation keeps them
+    private AIViewModel viewModel;
     private List<FieldRead> fieldsList = new ArrayList<>();
-    private FieldRead selectedField = null;
-    private String sessionId = null;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_ai);
 
+        viewModel = new ViewModelProvider(this).get(AIViewModel.class);
+
         initializeViews();
         setupRecyclerView();
         setupModeButtons();
         setupSendButton();
         setupFieldSpinner();
-        loadUserFields();
+        observeViewModel();
 
-        // Set initial mode
-        setMode(ChatMode.CHAT);
+        // Restore the mode the user was in, CHAT the first time
+        setMode(viewModel.getMode());
     }
 
     private void initializeViews() {
@@ -89,8 +78,10 @@ public class AIActivity extends AppCompatActivity {
 
     private void setupRecyclerView() {
         rvConversations.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new AIConversationsAdapter(this, conversationList);
+        adapter = new AIConversationsAdapter(this);
         rvConversations.setAdapter(adapter);
+        adapter.setOnResultsClickListener(conversation ->
+                QueryResultDialog.show(this, "Query results", conversation.getResults()));
     }
 
     private void setupModeButtons() {
@@ -99,8 +90,8 @@ public class AIActivity extends AppCompatActivity {
         btnModeAnalyze.setOnClickListener(v -> setMode(ChatMode.ANALYZE));
 
         btnAnalyzeField.setOnClickListener(v -> {
-            if (selectedField != null) {
-                analyzeSelectedField();
+            if (viewModel.getSelectedField() != null) {
+                viewModel.analyzeSelectedField();
             } else {
                 Toast.makeText(this, "Please select a field first", Toast.LENGTH_SHORT).show();
             }
@@ -122,19 +113,40 @@ public class AIActivity extends AppCompatActivity {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
                 if (position >= 0 && position < fieldsList.size()) {
-                    selectedField = fieldsList.get(position);
+                    viewModel.setSelectedField(fieldsList.get(position));
                 }
             }
 
             @Override
             public void onNothingSelected(AdapterView<?> parent) {
-                selectedField = null;
+                viewModel.setSelectedField(null);
+            }
+        });
+    }
+
+    private void observeViewModel() {
+        // The adapter diffs each snapshot off the main thread and only binds the rows that were
+        // added, removed or changed, such as a reply that is still streaming in
+        viewModel.getConversation().observe(this, conversation ->
+                adapter.submitList(conversation, this::scrollToBottom));
+        viewModel.getFields().observe(this, fields -> {
+            fieldsList = fields;
+            updateFieldSpinner();
+        });
+        viewModel.isAnalyzing().observe(this, analyzing -> {
+            btnAnalyzeField.setEnabled(!analyzing);
+            btnAnalyzeField.setText(analyzing ? "Analyzing..." : "Analyze");
+        });
+        viewModel.getMessages().observe(this, event -> {
+            String message = event.take();
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             }
         });
     }
 
     private void setMode(ChatMode mode) {
-        currentMode = mode;
+        viewModel.setMode(mode);
 
         // Update button states (highlight selected mode)
         btnModeChat.setAlpha(mode == ChatMode.CHAT ? 1.0f : 0.6f);
@@ -163,32 +175,16 @@ public class AIActivity extends AppCompatActivity {
         }
     }
 
-    private void loadUserFields() {
-        FieldsApi fieldsApi = ApiClient.getClient(this).create(FieldsApi.class);
-        Call<List<FieldRead>> call = fieldsApi.getAllFields();
-
-        call.enqueue(new Callback<List<FieldRead>>() {
-            @Override
-            public void onResponse(Call<List<FieldRead>> call, Response<List<FieldRead>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    fieldsList = response.body();
-                    updateFieldSpinner();
-                } else {
-                    Toast.makeText(AIActivity.this, "Failed to load fields", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<FieldRead>> call, Throwable t) {
-                Toast.makeText(AIActivity.this, "Error loading fields", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
     private void updateFieldSpinner() {
         List<String> fieldNames = new ArrayList<>();
-        for (FieldRead field : fieldsList) {
+        int selected = 0;
+        FieldRead selectedField = viewModel.getSelectedField();
+        for (int i = 0; i < fieldsList.size(); i++) {
+            FieldRead field = fieldsList.get(i);
             fieldNames.add(field.getFieldName());
+            if (selectedField != null && field.getId() == selectedField.getId()) {
+                selected = i;
+            }
         }
 
         ArrayAdapter<String> adapter = new ArrayAdapter<>(
@@ -198,19 +194,18 @@ public class AIActivity extends AppCompatActivity {
         );
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         spinnerFields.setAdapter(adapter);
-
-        if (!fieldsList.isEmpty()) {
-            selectedField = fieldsList.get(0);
-        }
+        spinnerFields.setSelection(selected, false);
     }
 
     private void sendMessage(String message) {
-        switch (currentMode) {
+        switch (viewModel.getMode()) {
             case CHAT:
-                getChatResponse(message);
+                etChatMessage.setText("");
+                viewModel.sendChat(message);
                 break;
             case QUERY:
-                getQueryResponse(message);
+                etChatMessage.setText("");
+                viewModel.sendQuery(message);
                 break;
             case ANALYZE:
                 // In analyze mode, use the Analyze button instead
@@ -219,162 +214,6 @@ public class AIActivity extends AppCompatActivity {
         }
     }
 
-    private void getChatResponse(String message) {
-        AiApi aiApi = ApiClient.getClient(this).create(AiApi.class);
-        ChatRequest chatRequest = new ChatRequest(message, sessionId, null);
-
-        // Add user message to conversation
-        conversationList.add(new AIConversation("You", message));
-        etChatMessage.setText("");
-
-        // Add a thinking message
-        final int thinkingMessagePosition = conversationList.size();
-        conversationList.add(new AIConversation("AI", "Thinking..."));
-        adapter.notifyDataSetChanged();
-        scrollToBottom();
-
-        Call<ChatResponse> call = aiApi.chatWithAi(chatRequest);
-        call.enqueue(new Callback<ChatResponse>() {
-            @Override
-            public void onResponse(Call<ChatResponse> call, Response<ChatResponse> response) {
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    ChatResponse chatResponse = response.body();
-                    sessionId = chatResponse.getSessionId(); // Store for conversation continuity
-                    conversationList.add(new AIConversation("AI", chatResponse.getResponse()));
-                } else {
-                    conversationList.add(new AIConversation("AI", "Sorry, I had trouble getting a response. Please try again."));
-                    Toast.makeText(AIActivity.this, "Failed to get response", Toast.LENGTH_SHORT).show();
-                }
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-            }
-
-            @Override
-            public void onFailure(Call<ChatResponse> call, Throwable t) {
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-                conversationList.add(new AIConversation("AI", "Sorry, an error occurred. Please check your connection and try again."));
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-                Toast.makeText(AIActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
-    private void getQueryResponse(String question) {
-        AiApi aiApi = ApiClient.getClient(this).create(AiApi.class);
-        NLToSQLRequest request = new NLToSQLRequest(question, sessionId);
-
-        // Add user message to conversation
-        conversationList.add(new AIConversation("You", question));
-        etChatMessage.setText("");
-
-        // Add thinking message
-        final int thinkingMessagePosition = conversationList.size();
-        conversationList.add(new AIConversation("AI", "Querying data..."));
-        adapter.notifyDataSetChanged();
-        scrollToBottom();
-
-        Call<NLToSQLResponse> call = aiApi.askWithSql(request);
-        call.enqueue(new Callback<NLToSQLResponse>() {
-            @Override
-            public void onResponse(Call<NLToSQLResponse> call, Response<NLToSQLResponse> response) {
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    NLToSQLResponse sqlResponse = response.body();
-                    String aiMessage = sqlResponse.getNaturalResponse();
-                    conversationList.add(new AIConversation("AI", aiMessage));
-                } else {
-                    String errorMsg = "Failed to process query.";
-                    if (response.code() == 400) {
-                        errorMsg = "Invalid query - please try rephrasing.";
-                    }
-                    conversationList.add(new AIConversation("AI", "Sorry, " + errorMsg));
-                    Toast.makeText(AIActivity.this, errorMsg, Toast.LENGTH_SHORT).show();
-                }
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-            }
-
-            @Override
-            public void onFailure(Call<NLToSQLResponse> call, Throwable t) {
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-                conversationList.add(new AIConversation("AI", "Sorry, an error occurred while querying your data."));
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-                Toast.makeText(AIActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
-    private void analyzeSelectedField() {
-        if (selectedField == null) {
-            Toast.makeText(this, "Please select a field", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        AiApi aiApi = ApiClient.getClient(this).create(AiApi.class);
-
-        // Add a message showing what we're analyzing
-        conversationList.add(new AIConversation("You", "Analyze field: " + selectedField.getFieldName()));
-        
-        // Add thinking message
-        final int thinkingMessagePosition = conversationList.size();
-        conversationList.add(new AIConversation("AI", "Analyzing..."));
-        adapter.notifyDataSetChanged();
-        scrollToBottom();
-
-        // Show loading state
-        btnAnalyzeField.setEnabled(false);
-        btnAnalyzeField.setText("Analyzing...");
-
-        Call<FieldAnalysisResponse> call = aiApi.analyzeField(selectedField.getId(), sessionId);
-        call.enqueue(new Callback<FieldAnalysisResponse>() {
-            @Override
-            public void onResponse(Call<FieldAnalysisResponse> call, Response<FieldAnalysisResponse> response) {
-                btnAnalyzeField.setEnabled(true);
-                btnAnalyzeField.setText("Analyze");
-                
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    FieldAnalysisResponse analysisResponse = response.body();
-                    String aiMessage = "📊 Analysis for " + analysisResponse.getFieldName() + ":\n\n" + analysisResponse.getAnalysis();
-                    conversationList.add(new AIConversation("AI", aiMessage));
-                } else {
-                    String errorMsg = "Failed to analyze field.";
-                    if (response.code() == 404) {
-                        errorMsg = "Field not found or access denied.";
-                    }
-                    conversationList.add(new AIConversation("AI", "Sorry, " + errorMsg));
-                    Toast.makeText(AIActivity.this, errorMsg, Toast.LENGTH_SHORT).show();
-                }
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-            }
-
-            @Override
-            public void onFailure(Call<FieldAnalysisResponse> call, Throwable t) {
-                btnAnalyzeField.setEnabled(true);
-                btnAnalyzeField.setText("Analyze");
-
-                // Remove thinking message
-                conversationList.remove(thinkingMessagePosition);
-                conversationList.add(new AIConversation("AI", "Sorry, an error occurred during analysis."));
-                adapter.notifyDataSetChanged();
-                scrollToBottom();
-                Toast.makeText(AIActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
     private void scrollToBottom() {
         if (adapter.getItemCount() > 0) {
             rvConversations.smoothScrollToPosition(adapter.getItemCount() - 1);
@@ -0,0 +1,342 @@
+package com.example.soilifymobileapp.ui;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.soilifymobileapp.models.AIConversation;
+import com.example.soilifymobileapp.models.ChatRequest;
+import com.example.soilifymobileapp.models.ChatResponse;
+import com.example.soilifymobileapp.models.FieldAnalysisResponse;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.NLToSQLRequest;
+import com.example.soilifymobileapp.models.NLToSQLResponse;
+import com.example.soilifymobileapp.network.AiApi;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.ChatStream;
+import com.example.soilifymobileapp.network.FieldsApi;
+import com.example.soilifymobileapp.ui.lifecycle.Event;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Owns the AI conversation for {@link AIActivity}: the messages, the session id that gives the
+ * server its context, and the requests in flight. A rotation therefore neither loses the
+ * conversation nor abandons an answer that is still streaming; requests are cancelled only when
+ * the user leaves the screen for good.
+ */
+public class AIViewModel extends AndroidViewModel {
+
+    private final AiApi aiApi;
+    private final FieldsApi fieldsApi;
+    private final List<AIConversation> conversation = new ArrayList<>();
+    private final MutableLiveData<List<AIConversation>> conversationSnapshot = new MutableLiveData<>();
+    private final MutableLiveData<List<FieldRead>> fields = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> analyzing = new MutableLiveData<>(false);
+    private final MutableLiveData<Event<String>> messages = new MutableLiveData<>();
+    private final Set<Call<?>> calls = new HashSet<>();
+
+    private AIActivity.ChatMode mode = AIActivity.ChatMode.CHAT;
+    private FieldRead selectedField;
+    private String sessionId;
+    private ChatStream chatStream;
+
+    public AIViewModel(@NonNull Application application) {
+        super(application);
+        aiApi = ApiClient.getService(application, AiApi.class);
+        fieldsApi = ApiClient.getService(application, FieldsApi.class);
+        loadUserFields();
+    }
+
+    /**
+     * A snapshot of the conversation, republished whenever a message is added, removed or
+     * replaced, e.g. by the next part of a streamed reply.
+     */
+    public LiveData<List<AIConversation>> getConversation() {
+        return conversationSnapshot;
+    }
+
+    public LiveData<List<FieldRead>> getFields() {
+        return fields;
+    }
+
+    public LiveData<Boolean> isAnalyzing() {
+        return analyzing;
+    }
+
+    public LiveData<Event<String>> getMessages() {
+        return messages;
+    }
+
+    AIActivity.ChatMode getMode() {
+        return mode;
+    }
+
+    void setMode(AIActivity.ChatMode mode) {
+        this.mode = mode;
+    }
+
+    public FieldRead getSelectedField() {
+        return selectedField;
+    }
+
+    public void setSelectedField(FieldRead field) {
+        selectedField = field;
+    }
+
+    private void loadUserFields() {
+        enqueue(fieldsApi.getAllFields(), new Callback<List<FieldRead>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<FieldRead>> call, @NonNull Response<List<FieldRead>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    List<FieldRead> body = response.body();
+                    if (selectedField == null && !body.isEmpty()) {
+                        selectedField = body.get(0);
+                    }
+                    fields.setValue(body);
+                } else {
+                    showMessage("Failed to load fields");
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<FieldRead>> call, @NonNull Throwable t) {
+                showMessage("Error loading fields");
+            }
+        });
+    }
+
+    public void sendChat(String message) {
+        ChatRequest chatRequest = new ChatRequest(message, sessionId, null);
+
+        // Add user message to conversation
+        conversation.add(new AIConversation("You", message));
+
+        // Add a thinking message; the streamed reply takes over its row
+        final AIConversation thinking = new AIConversation("AI", "Thinking...");
+        conversation.add(thinking);
+        publishConversation();
+
+        chatStream = ChatStream.start(aiApi, chatRequest, new ChatStream.Listener() {
+            private final StringBuilder text = new StringBuilder();
+            private boolean receivedText = false;
+
+            @Override
+            public void onText(String chunk) {
+                receivedText = true;
+                text.append(chunk);
+                replaceReply(thinking, text.toString());
+            }
+
+            @Override
+            public void onComplete(String newSessionId) {
+                chatStream = null;
+                if (newSessionId != null) {
+                    sessionId = newSessionId; // Store for conversation continuity
+                }
+                if (!receivedText) {
+                    replaceReply(thinking, "Sorry, I had trouble getting a response. Please try again.");
+                }
+            }
+
+            @Override
+            public void onError(Throwable t, int httpCode) {
+                chatStream = null;
+                if (httpCode == 404 && !receivedText) {
+                    // Server without the streaming endpoint
+                    sendChatInFull(chatRequest, thinking);
+                    return;
+                }
+                if (t == null) {
+                    replaceReply(thinking, "Sorry, I had trouble getting a response. Please try again.");
+                    showMessage("Failed to get response");
+                } else if (!receivedText) {
+                    replaceReply(thinking, "Sorry, an error occurred. Please check your connection and try again.");
+                    showMessage("An error occurred");
+                } else {
+                    showMessage("Response was interrupted");
+                }
+            }
+        });
+    }
+
+    private void sendChatInFull(ChatRequest chatRequest, AIConversation thinking) {
+        enqueue(aiApi.chatWithAi(chatRequest), new Callback<ChatResponse>() {
+            @Override
+            public void onResponse(@NonNull Call<ChatResponse> call, @NonNull Response<ChatResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    ChatResponse chatResponse = response.body();
+                    sessionId = chatResponse.getSessionId(); // Store for conversation continuity
+                    replaceReply(thinking, chatResponse.getResponse());
+                } else {
+                    replaceReply(thinking, "Sorry, I had trouble getting a response. Please try again.");
+                    showMessage("Failed to get response");
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ChatResponse> call, @NonNull Throwable t) {
+                replaceReply(thinking, "Sorry, an error occurred. Please check your connection and try again.");
+                showMessage("An error occurred");
+            }
+        });
+    }
+
+    public void sendQuery(String question) {
+        NLToSQLRequest request = new NLToSQLRequest(question, sessionId);
+
+        // Add user message to conversation
+        conversation.add(new AIConversation("You", question));
+
+        // Add thinking message
+        final AIConversation thinking = new AIConversation("AI", "Querying data...");
+        conversation.add(thinking);
+        publishConversation();
+
+        enqueue(aiApi.askWithSql(request), new Callback<NLToSQLResponse>() {
+            @Override
+            public void onResponse(@NonNull Call<NLToSQLResponse> call, @NonNull Response<NLToSQLResponse> response) {
+                // Remove thinking message
+                conversation.remove(thinking);
+
+                if (response.isSuccessful() && response.body() != null) {
+                    NLToSQLResponse sqlResponse = response.body();
+                    conversation.add(new AIConversation("AI", sqlResponse.getNaturalResponse(),
+                            sqlResponse.getResults()));
+                } else {
+                    String errorMsg = "Failed to process query.";
+                    if (response.code() == 400) {
+                        errorMsg = "Invalid query - please try rephrasing.";
+                    }
+                    conversation.add(new AIConversation("AI", "Sorry, " + errorMsg));
+                    showMessage(errorMsg);
+                }
+                publishConversation();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<NLToSQLResponse> call, @NonNull Throwable t) {
+                // Remove thinking message
+                conversation.remove(thinking);
+                conversation.add(new AIConversation("AI", "Sorry, an error occurred while querying your data."));
+                publishConversation();
+                showMessage("An error occurred");
+            }
+        });
+    }
+
+    public void analyzeSelectedField() {
+        FieldRead field = selectedField;
+        if (field == null) {
+            showMessage("Please select a field");
+            return;
+        }
+
+        // Add a message showing what we're analyzing
+        conversation.add(new AIConversation("You", "Analyze field: " + field.getFieldName()));
+
+        // Add thinking message
+        final AIConversation thinking = new AIConversation("AI", "Analyzing...");
+        conversation.add(thinking);
+        publishConversation();
+        analyzing.setValue(true);
+
+        enqueue(aiApi.analyzeField(field.getId(), sessionId), new Callback<FieldAnalysisResponse>() {
+            @Override
+            public void onResponse(@NonNull Call<FieldAnalysisResponse> call, @NonNull Response<FieldAnalysisResponse> response) {
+                analyzing.setValue(false);
+
+                // Remove thinking message
+                conversation.remove(thinking);
+
+                if (response.isSuccessful() && response.body() != null) {
+                    FieldAnalysisResponse analysisResponse = response.body();
+                    String aiMessage = "📊 Analysis for " + analysisResponse.getFieldName() + ":\n\n" + analysisResponse.getAnalysis();
+                    conversation.add(new AIConversation("AI", aiMessage));
+                } else {
+                    String errorMsg = "Failed to analyze field.";
+                    if (response.code() == 404) {
+                        errorMsg = "Field not found or access denied.";
+                    }
+                    conversation.add(new AIConversation("AI", "Sorry, " + errorMsg));
+                    showMessage(errorMsg);
+                }
+                publishConversation();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<FieldAnalysisResponse> call, @NonNull Throwable t) {
+                analyzing.setValue(false);
+
+                // Remove thinking message
+                conversation.remove(thinking);
+                conversation.add(new AIConversation("AI", "Sorry, an error occurred during analysis."));
+                publishConversation();
+                showMessage("An error occurred");
+            }
+        });
+    }
+
+    @Override
+    protected void onCleared() {
+        if (chatStream != null) {
+            chatStream.cancel();
+            chatStream = null;
+        }
+        for (Call<?> call : calls) {
+            call.cancel();
+        }
+        calls.clear();
+    }
+
+    private <T> void enqueue(Call<T> call, Callback<T> callback) {
+        calls.add(call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> c, @NonNull Response<T> response) {
+                calls.remove(call);
+                callback.onResponse(c, response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> c, @NonNull Throwable t) {
+                calls.remove(call);
+                if (!c.isCanceled()) {
+                    callback.onFailure(c, t);
+                }
+            }
+        });
+    }
+
+    private void publishConversation() {
+        conversationSnapshot.setValue(new ArrayList<>(conversation));
+    }
+
+    /**
+     * Swap the reply in {@code placeholder}'s row for a copy with new text and republish, so the
+     * adapter sees an old and a new message to compare rather than one object changed under it.
+     */
+    private void replaceReply(AIConversation placeholder, String message) {
+        for (int i = 0; i < conversation.size(); i++) {
+            if (conversation.get(i).getId() == placeholder.getId()) {
+                conversation.set(i, conversation.get(i).withMessage(message));
+                publishConversation();
+                return;
+            }
+        }
+    }
+
+    private void showMessage(String message) {
+        messages.setValue(new Event<>(message));
+    }
+}
@@ -2,34 +2,42 @@ package com.example.soilifymobileapp.ui;
 
 import android.graphics.Color;
 import android.os.Bundle;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.soilifymobileapp.R;
 import com.example.soilifymobileapp.models.FarmOverview;
 import com.example.soilifymobileapp.models.FertilizerByType;
 import com.example.soilifymobileapp.models.FertilizerSummary;
-import com.example.soilifymobileapp.network.AnalyticsApi;
-import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.example.soilifymobileapp.ui.charts.TrendChart;
 import com.github.mikephil.charting.charts.BarChart;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class AnalyticsActivity extends AppCompatActivity {
 
     private BarChart barChart;
     private TextView tvSummaryData;
+    private Spinner spinnerTrendField;
+    private TrendChart temperatureChart, rainfallChart, soilMoistureChart;
+    private AnalyticsViewModel viewModel;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -39,10 +47,35 @@ public class AnalyticsActivity extends AppCompatActivity {
         // Initialize UI components from the layout
         barChart = findViewById(R.id.barChart);
         tvSummaryData = findViewById(R.id.tvSummaryData);
+        spinnerTrendField = findViewById(R.id.spinnerTrendField);
+        temperatureChart = new TrendChart(findViewById(R.id.lineChartTemperature), "Temperature (°C)",
+                Color.rgb(255, 138, 101));
+        rainfallChart = new TrendChart(findViewById(R.id.lineChartRainfall), "Rainfall (mm)",
+                Color.rgb(79, 195, 247));
+        soilMoistureChart = new TrendChart(findViewById(R.id.lineChartSoilMoisture), "Soil Moisture (%)",
+                Color.rgb(129, 199, 132));
 
         // Setup the chart and load data
         setupBarChart();
-        loadAnalyticsData();
+        setupTrendFieldSpinner();
+
+        viewModel = new ViewModelProvider(this).get(AnalyticsViewModel.class);
+        viewModel.getOverview().observe(this, this::showSummary);
+        viewModel.getOverviewError().observe(this, message -> {
+            if (message != null) {
+                tvSummaryData.setText(message);
+            }
+        });
+        viewModel.getFertilizerByType().observe(this, this::updateBarChart);
+        viewModel.getTrendFields().observe(this, this::showTrendFields);
+        viewModel.getTrends().observe(this, this::updateTrendCharts);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Kept across rotations; only reloads once the figures are stale
+        viewModel.refreshIfStale();
     }
 
     private void setupBarChart() {
@@ -71,61 +104,85 @@ public class AnalyticsActivity extends AppCompatActivity {
         barChart.getLegend().setEnabled(false);
     }
 
-    private void loadAnalyticsData() {
-        AnalyticsApi apiService = ApiClient.getClient(this).create(AnalyticsApi.class);
+    private void showSummary(FarmOverview overview) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Total Fields: ").append(overview.getTotalFields()).append("\n");
+        summary.append("Total Area: ").append(String.format("%.2f", overview.getTotalAreaHectares())).append(" hectares\n");
+
+        FertilizerSummary fertSummary = overview.getFertilizerSummary();
+        if (fertSummary != null) {
+            String mostUsed = fertSummary.getMostUsedFertilizer();
+            summary.append("Most Used Fertilizer: ").append(mostUsed != null ? mostUsed : "N/A").append("\n");
+            summary.append("Total Applications: ").append(fertSummary.getTotalApplications()).append("\n");
+            summary.append("Total Fertilizer: ").append(String.format("%.2f", fertSummary.getTotalAmountKg())).append(" kg");
+        } else {
+            summary.append("No fertilizer data available");
+        }
+        tvSummaryData.setText(summary.toString());
+    }
 
-        // Fetch farm overview
-        Call<FarmOverview> farmOverviewCall = apiService.getFarmOverview();
-        farmOverviewCall.enqueue(new Callback<FarmOverview>() {
+    private void setupTrendFieldSpinner() {
+        spinnerTrendField.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
-            public void onResponse(Call<FarmOverview> call, Response<FarmOverview> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    FarmOverview overview = response.body();
-                    StringBuilder summary = new StringBuilder();
-                    summary.append("Total Fields: ").append(overview.getTotalFields()).append("\n");
-                    summary.append("Total Area: ").append(String.format("%.2f", overview.getTotalAreaHectares())).append(" hectares\n");
-                    
-                    FertilizerSummary fertSummary = overview.getFertilizerSummary();
-                    if (fertSummary != null) {
-                        String mostUsed = fertSummary.getMostUsedFertilizer();
-                        summary.append("Most Used Fertilizer: ").append(mostUsed != null ? mostUsed : "N/A").append("\n");
-                        summary.append("Total Applications: ").append(fertSummary.getTotalApplications()).append("\n");
-                        summary.append("Total Fertilizer: ").append(String.format("%.2f", fertSummary.getTotalAmountKg())).append(" kg");
-                    } else {
-                        summary.append("No fertilizer data available");
-                    }
-                    tvSummaryData.setText(summary.toString());
-                } else {
-                    tvSummaryData.setText("No summary data available");
-                }
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                // Position 0 is the whole farm
+                List<FieldRead> trendFields = viewModel.getTrendFields().getValue();
+                Integer fieldId = trendFields != null && position > 0 && position <= trendFields.size()
+                        ? trendFields.get(position - 1).getId() : null;
+                viewModel.selectTrendField(fieldId);
             }
 
             @Override
-            public void onFailure(Call<FarmOverview> call, Throwable t) {
-                tvSummaryData.setText("Failed to load summary: " + t.getMessage());
+            public void onNothingSelected(AdapterView<?> parent) {
             }
         });
+    }
 
-        // Fetch fertilizer by type
-        Call<List<FertilizerByType>> fertilizerByTypeCall = apiService.getFertilizerByType();
-        fertilizerByTypeCall.enqueue(new Callback<List<FertilizerByType>>() {
-            @Override
-            public void onResponse(Call<List<FertilizerByType>> call, Response<List<FertilizerByType>> response) {
-                if (response.isSuccessful()) {
-                    List<FertilizerByType> fertilizerData = response.body();
-                    if (fertilizerData != null) {
-                        updateBarChart(fertilizerData);
-                    }
-                } else {
-                    // Handle error
-                }
+    private void showTrendFields(List<FieldRead> fields) {
+        Integer trendFieldId = viewModel.getTrendFieldId();
+        List<String> names = new ArrayList<>();
+        names.add("All fields");
+        int selected = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            names.add(fields.get(i).getFieldName());
+            if (trendFieldId != null && fields.get(i).getId() == trendFieldId) {
+                selected = i + 1;
             }
+        }
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, names);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerTrendField.setAdapter(adapter);
+        spinnerTrendField.setSelection(selected, false);
+    }
 
-            @Override
-            public void onFailure(Call<List<FertilizerByType>> call, Throwable t) {
-                // Handle exception
+    private void updateTrendCharts(List<WeatherTrend> trends) {
+        if (trends == null) {
+            // A newly selected field is loading
+            temperatureChart.clear();
+            rainfallChart.clear();
+            soilMoistureChart.clear();
+            return;
+        }
+        SimpleDateFormat dayFormat = TrendChart.newDayFormat();
+        List<Entry> temperature = new ArrayList<>(trends.size());
+        List<Entry> rainfall = new ArrayList<>(trends.size());
+        List<Entry> soilMoisture = new ArrayList<>(trends.size());
+        for (WeatherTrend trend : trends) {
+            Float x = TrendChart.dayToX(trend.getDate(), dayFormat);
+            if (x == null) {
+                continue;
             }
-        });
+            temperature.add(new Entry(x, trend.getAverageTemperature()));
+            rainfall.add(new Entry(x, trend.getAverageRainfall()));
+            soilMoisture.add(new Entry(x, trend.getAverageSoilMoisture()));
+        }
+        Comparator<Entry> byX = (a, b) -> Float.compare(a.getX(), b.getX());
+        temperature.sort(byX);
+        rainfall.sort(byX);
+        soilMoisture.sort(byX);
+        temperatureChart.setSeries(temperature);
+        rainfallChart.setSeries(rainfall);
+        soilMoistureChart.setSeries(soilMoisture);
     }
 
     private void updateBarChart(List<FertilizerByType> fertilizerData) {
@@ -137,16 +194,22 @@ public class AnalyticsActivity extends AppCompatActivity {
             labels.add(fertilizerData.get(i).getFertiliserType());
         }
 
-        BarDataSet dataSet = new BarDataSet(entries, "Fertilizer Usage (kg)");
-        dataSet.setColors(Color.rgb(104, 241, 175), Color.rgb(255, 208, 140), Color.rgb(140, 234, 255));
-        dataSet.setValueTextColor(Color.BLACK);
-        dataSet.setValueTextSize(12f);
-
-        BarData barData = new BarData(dataSet);
-        barChart.setData(barData);
-
         barChart.getXAxis().setValueFormatter(new IndexAxisValueFormatter(labels));
 
+        // Update the existing data set in place so a second delivery does not rebuild the chart
+        if (barChart.getData() != null && barChart.getData().getDataSetCount() > 0) {
+            BarDataSet dataSet = (BarDataSet) barChart.getData().getDataSetByIndex(0);
+            dataSet.setValues(entries);
+            barChart.getData().notifyDataChanged();
+            barChart.notifyDataSetChanged();
+        } else {
+            BarDataSet dataSet = new BarDataSet(entries, "Fertilizer Usage (kg)");
+            dataSet.setColors(Color.rgb(104, 241, 175), Color.rgb(255, 208, 140), Color.rgb(140, 234, 255));
+            dataSet.setValueTextColor(Color.BLACK);
+            dataSet.setValueTextSize(12f);
+            barChart.setData(new BarData(dataSet));
+        }
+
         barChart.invalidate();
     }
 }
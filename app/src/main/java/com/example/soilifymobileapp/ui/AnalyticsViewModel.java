@@ -0,0 +1,165 @@
+package com.example.soilifymobileapp.ui;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.soilifymobileapp.data.AnalyticsRepository;
+import com.example.soilifymobileapp.data.DataCallback;
+import com.example.soilifymobileapp.data.FieldRepository;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.example.soilifymobileapp.ui.lifecycle.Staleness;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the figures and trend series for {@link AnalyticsActivity}, so a rotation redraws the
+ * charts from memory instead of recomputing and refetching a year of points.
+ */
+public class AnalyticsViewModel extends AndroidViewModel {
+
+    // A year of daily points per field
+    private static final int TREND_DAYS = 365;
+    // The server caches analytics for a minute; asking more often only repeats its answer
+    private static final long MAX_AGE_MS = 60_000;
+
+    private final AnalyticsRepository repository;
+    private final FieldRepository fieldRepository;
+    private final Staleness staleness = new Staleness(MAX_AGE_MS);
+    private final MutableLiveData<FarmOverview> overview = new MutableLiveData<>();
+    private final MutableLiveData<String> overviewError = new MutableLiveData<>();
+    private final MutableLiveData<List<FertilizerByType>> fertilizerByType = new MutableLiveData<>();
+    private final MutableLiveData<List<FieldRead>> trendFields = new MutableLiveData<>();
+    private final MutableLiveData<List<WeatherTrend>> trends = new MutableLiveData<>();
+    private Integer trendFieldId;
+
+    public AnalyticsViewModel(@NonNull Application application) {
+        super(application);
+        repository = AnalyticsRepository.getInstance(application);
+        fieldRepository = FieldRepository.getInstance(application);
+    }
+
+    public LiveData<FarmOverview> getOverview() {
+        return overview;
+    }
+
+    /**
+     * Set, and non-null, only while no overview has been shown; a failed refresh keeps the
+     * figures on screen.
+     */
+    public LiveData<String> getOverviewError() {
+        return overviewError;
+    }
+
+    public LiveData<List<FertilizerByType>> getFertilizerByType() {
+        return fertilizerByType;
+    }
+
+    public LiveData<List<FieldRead>> getTrendFields() {
+        return trendFields;
+    }
+
+    /**
+     * Trend series for {@link #getTrendFieldId()}, or null while a new selection loads; a series
+     * for a previous selection is never published.
+     */
+    public LiveData<List<WeatherTrend>> getTrends() {
+        return trends;
+    }
+
+    /**
+     * @return the field the trends are for, or null for the whole farm
+     */
+    public Integer getTrendFieldId() {
+        return trendFieldId;
+    }
+
+    public void selectTrendField(Integer fieldId) {
+        if (Objects.equals(fieldId, trendFieldId)) {
+            return;
+        }
+        trendFieldId = fieldId;
+        trends.setValue(null);
+        loadWeatherTrends();
+    }
+
+    /**
+     * Reload everything if it has never loaded or has gone stale; otherwise a no-op.
+     */
+    public void refreshIfStale() {
+        if (!staleness.beginIfStale()) {
+            return;
+        }
+        // Computed from local records first, then replaced by the server's
+        repository.getFarmOverview(new DataCallback<FarmOverview>() {
+            @Override
+            public void onData(FarmOverview data, boolean fromCache) {
+                overview.setValue(data);
+                overviewError.setValue(null);
+                if (!fromCache) {
+                    staleness.onLoaded();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                staleness.onFailed();
+                if (overview.getValue() != null) {
+                    return; // Keep the figures already shown
+                }
+                overviewError.setValue(t == null ? "No summary data available"
+                        : "Failed to load summary: " + t.getMessage());
+            }
+        });
+
+        repository.getFertilizerByType(new DataCallback<List<FertilizerByType>>() {
+            @Override
+            public void onData(List<FertilizerByType> data, boolean fromCache) {
+                fertilizerByType.setValue(data);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // The previous bars, if any, stay on screen
+            }
+        });
+
+        fieldRepository.getFields(new DataCallback<List<FieldRead>>() {
+            @Override
+            public void onData(List<FieldRead> data, boolean fromCache) {
+                trendFields.setValue(data);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // The whole-farm trends do not need the field list
+            }
+        });
+
+        loadWeatherTrends();
+    }
+
+    private void loadWeatherTrends() {
+        Integer requestedFieldId = trendFieldId;
+        repository.getWeatherTrends(TREND_DAYS, requestedFieldId, new DataCallback<List<WeatherTrend>>() {
+            @Override
+            public void onData(List<WeatherTrend> data, boolean fromCache) {
+                if (Objects.equals(requestedFieldId, trendFieldId)) {
+                    trends.setValue(data);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Local trends, if any, stay on screen
+            }
+        });
+    }
+}
@@ -2,6 +2,8 @@ package com.example.soilifymobileapp.ui;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.TextUtils;
+import android.text.format.DateUtils;
 import android.view.View;
 import android.widget.Button;
 import android.widget.TextView;
@@ -12,27 +14,34 @@ import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.soilifymobileapp.BuildConfig;
 import com.example.soilifymobileapp.R;
 import com.example.soilifymobileapp.adapters.AlertsAdapter;
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.DashboardRepository;
+import com.example.soilifymobileapp.data.PrefetchScheduler;
 import com.example.soilifymobileapp.models.Alert;
 import com.example.soilifymobileapp.models.DashboardResponse;
 import com.example.soilifymobileapp.models.RecentAlert;
 import com.example.soilifymobileapp.network.ApiClient;
-import com.example.soilifymobileapp.network.HomeApi;
+import com.example.soilifymobileapp.network.TokenManager;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class DashboardActivity extends AppCompatActivity {
 
-    private TextView textGreeting, textUserName, textLocation, textTotalFields, textPendingAlerts, textWeatherToday;
+    private final RequestScope requestScope = RequestScope.of(this);
+
+    private TextView textGreeting, textUserName, textLocation, textTotalFields, textPendingAlerts, textWeatherToday, textLastUpdated;
     private RecyclerView recyclerAlerts;
+    private AlertsAdapter alertsAdapter;
     private CardView layoutEmptyState;
     private Button btnMyFields, btnFertilizerUsage, btnWeatherData, btnAlerts, btnAnalytics, btnAIAdvisor;
+    private long lastFetchedAt;
+    private boolean reportedFullyDrawn;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,6 +55,7 @@ public class DashboardActivity extends AppCompatActivity {
         textTotalFields = findViewById(R.id.textTotalFields);
         textPendingAlerts = findViewById(R.id.textPendingAlerts);
         textWeatherToday = findViewById(R.id.textWeatherToday);
+        textLastUpdated = findViewById(R.id.textLastUpdated);
         recyclerAlerts = findViewById(R.id.recyclerAlerts);
         layoutEmptyState = findViewById(R.id.layoutEmptyState);
         btnMyFields = findViewById(R.id.btnMyFields);
@@ -57,6 +67,8 @@ public class DashboardActivity extends AppCompatActivity {
 
         // Setup RecyclerView
         recyclerAlerts.setLayoutManager(new LinearLayoutManager(this));
+        alertsAdapter = new AlertsAdapter(this);
+        recyclerAlerts.setAdapter(alertsAdapter);
 
         // Load dashboard data
         loadDashboard();
@@ -80,57 +92,108 @@ public class DashboardActivity extends AppCompatActivity {
         btnAIAdvisor.setOnClickListener(v -> {
             startActivity(new Intent(DashboardActivity.this, AIActivity.class));
         });
+        if (BuildConfig.DEBUG) {
+            textGreeting.setOnLongClickListener(v -> {
+                startActivity(new Intent(DashboardActivity.this, NetworkMetricsActivity.class));
+                return true;
+            });
+        }
     }
 
     private void loadDashboard() {
-        // Use getClient(context) to automatically include authentication token
-        HomeApi apiService = ApiClient.getClient(this).create(HomeApi.class);
-        Call<DashboardResponse> call = apiService.getDashboard();
-        call.enqueue(new Callback<DashboardResponse>() {
+        DashboardRepository.getInstance(this).getDashboard(requestScope.bind(new DashboardRepository.Callback() {
             @Override
-            public void onResponse(Call<DashboardResponse> call, Response<DashboardResponse> response) {
-                if (response.isSuccessful()) {
-                    DashboardResponse dashboard = response.body();
-                    if (dashboard != null) {
-                        // Update UI
-                        textGreeting.setText(dashboard.getWelcome().getGreetingMessage());
-                        textUserName.setText(dashboard.getWelcome().getFullName());
-                        textLocation.setText(dashboard.getWelcome().getLocation());
-
-                        textTotalFields.setText(String.valueOf(dashboard.getQuickStats().getTotalFields()));
-                        textPendingAlerts.setText(String.valueOf(dashboard.getQuickStats().getPendingAlerts()));
-                        textWeatherToday.setText(String.valueOf(dashboard.getQuickStats().getWeatherRecordsToday()));
-
-                        setupAlertsList(dashboard.getRecentAlerts());
-
-                        layoutEmptyState.setVisibility(dashboard.isHasFields() ? View.GONE : View.VISIBLE);
-                    }
-                } else {
+            public void onDashboard(DashboardResponse dashboard, long fetchedAt, boolean fromCache) {
+                showDashboard(dashboard);
+                lastFetchedAt = fetchedAt;
+                updateLastUpdated();
+                if (!reportedFullyDrawn) {
+                    // Cold start to meaningful paint, from the cache when there is one
+                    reportedFullyDrawn = true;
+                    reportFullyDrawn();
+                }
+                // Warm the screens reachable from here once this one has settled
+                PrefetchScheduler.getInstance(DashboardActivity.this).schedule();
+            }
+
+            @Override
+            public void onError(Throwable t, int httpCode) {
+                if (t == null) {
                     // Handle error - could be 401 Unauthorized
-                    Toast.makeText(DashboardActivity.this, 
-                        "Failed to load dashboard: " + response.code(), 
+                    Toast.makeText(DashboardActivity.this,
+                        "Failed to load dashboard: " + httpCode,
                         Toast.LENGTH_SHORT).show();
-                    
+
                     // If 401, redirect to login
-                    if (response.code() == 401) {
+                    if (httpCode == 401) {
                         redirectToLogin();
                     }
+                } else if (lastFetchedAt == 0) {
+                    // Handle network exception; with a cached copy on screen the age label says enough
+                    Toast.makeText(DashboardActivity.this,
+                        "Network error: " + t.getMessage(),
+                        Toast.LENGTH_SHORT).show();
                 }
             }
+        }));
+    }
 
-            @Override
-            public void onFailure(Call<DashboardResponse> call, Throwable t) {
-                // Handle network exception
-                Toast.makeText(DashboardActivity.this, 
-                    "Network error: " + t.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
-            }
-        });
+    /**
+     * Apply a dashboard to the widgets, touching only the ones whose value changed, so a
+     * revalidation that matches the cached copy costs no layout.
+     */
+    private void showDashboard(DashboardResponse dashboard) {
+        if (dashboard.getWelcome() != null) {
+            setTextIfChanged(textGreeting, dashboard.getWelcome().getGreetingMessage());
+            setTextIfChanged(textUserName, dashboard.getWelcome().getFullName());
+            setTextIfChanged(textLocation, dashboard.getWelcome().getLocation());
+        }
+
+        if (dashboard.getQuickStats() != null) {
+            setTextIfChanged(textTotalFields, String.valueOf(dashboard.getQuickStats().getTotalFields()));
+            setTextIfChanged(textPendingAlerts, String.valueOf(dashboard.getQuickStats().getPendingAlerts()));
+            setTextIfChanged(textWeatherToday, String.valueOf(dashboard.getQuickStats().getWeatherRecordsToday()));
+        }
+
+        if (dashboard.getRecentAlerts() != null) {
+            setupAlertsList(dashboard.getRecentAlerts());
+        }
+
+        int emptyStateVisibility = dashboard.isHasFields() ? View.GONE : View.VISIBLE;
+        if (layoutEmptyState.getVisibility() != emptyStateVisibility) {
+            layoutEmptyState.setVisibility(emptyStateVisibility);
+        }
+    }
+
+    private static void setTextIfChanged(TextView view, CharSequence text) {
+        if (!TextUtils.equals(view.getText(), text)) {
+            view.setText(text);
+        }
+    }
+
+    private void updateLastUpdated() {
+        if (lastFetchedAt == 0) {
+            return;
+        }
+        CharSequence age = DateUtils.getRelativeTimeSpanString(lastFetchedAt, System.currentTimeMillis(),
+                DateUtils.MINUTE_IN_MILLIS);
+        setTextIfChanged(textLastUpdated, "Updated " + age);
+        textLastUpdated.setVisibility(View.VISIBLE);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        updateLastUpdated(); // The counters have aged while the screen was in the background
     }
 
     private void redirectToLogin() {
         // Clear saved token
-        getSharedPreferences("auth", MODE_PRIVATE).edit().clear().apply();
+        TokenManager.getInstance(this).clear();
+        DashboardRepository.getInstance(this).clear();
+        // The next account to sign in here must not see this one's records
+        SyncManager.getInstance(this).signOut();
+        AppExecutors.getInstance().diskIO().execute(ApiClient::clearCache);
         // Redirect to login
         Intent intent = new Intent(this, LoginActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -141,9 +204,8 @@ public class DashboardActivity extends AppCompatActivity {
     private void setupAlertsList(List<RecentAlert> recentAlerts) {
         List<Alert> alerts = new ArrayList<>();
         for (RecentAlert recentAlert : recentAlerts) {
-            alerts.add(new Alert(recentAlert.getMessage(), recentAlert.getFieldName()));
+            alerts.add(new Alert(recentAlert.getId(), recentAlert.getMessage(), recentAlert.getFieldName()));
         }
-        AlertsAdapter adapter = new AlertsAdapter(this, alerts);
-        recyclerAlerts.setAdapter(adapter);
+        alertsAdapter.submitList(alerts);
     }
 }
@@ -8,10 +8,12 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.FieldRepository;
 import com.example.soilifymobileapp.models.FieldRead;
 import com.example.soilifymobileapp.models.FieldUpdate;
 import com.example.soilifymobileapp.network.ApiClient;
 import com.example.soilifymobileapp.network.FieldsApi;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -19,6 +21,8 @@ import retrofit2.Response;
 
 public class EditFieldActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private EditText editTextFieldName, editTextSoilType, editTextCropType, editTextSize;
     private Button buttonSave;
     private int fieldId;
@@ -47,10 +51,10 @@ public class EditFieldActivity extends AppCompatActivity {
     }
 
     private void loadFieldDetails() {
-        FieldsApi apiService = ApiClient.getClient(this).create(FieldsApi.class);
+        FieldsApi apiService = ApiClient.getService(this, FieldsApi.class);
         Call<FieldRead> call = apiService.getField(fieldId);
 
-        call.enqueue(new Callback<FieldRead>() {
+        requestScope.enqueue(call, new Callback<FieldRead>() {
             @Override
             public void onResponse(Call<FieldRead> call, Response<FieldRead> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -86,24 +90,9 @@ public class EditFieldActivity extends AppCompatActivity {
 
         FieldUpdate fieldUpdate = new FieldUpdate(fieldName, soilType, cropType, size);
 
-        FieldsApi apiService = ApiClient.getClient(this).create(FieldsApi.class);
-        Call<FieldRead> call = apiService.updateField(fieldId, fieldUpdate);
-
-        call.enqueue(new Callback<FieldRead>() {
-            @Override
-            public void onResponse(Call<FieldRead> call, Response<FieldRead> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(EditFieldActivity.this, "Field updated successfully", Toast.LENGTH_SHORT).show();
-                    finish(); // Go back to FieldsActivity
-                } else {
-                    Toast.makeText(EditFieldActivity.this, "Failed to update field", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<FieldRead> call, Throwable t) {
-                Toast.makeText(EditFieldActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        FieldRepository.getInstance(this).updateField(fieldId, fieldUpdate, requestScope.bind(() -> {
+            Toast.makeText(EditFieldActivity.this, "Field updated successfully", Toast.LENGTH_SHORT).show();
+            finish(); // Go back to FieldsActivity
+        }));
     }
 }
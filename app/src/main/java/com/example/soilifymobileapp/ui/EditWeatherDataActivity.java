@@ -10,12 +10,14 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.WeatherDataRepository;
 import com.example.soilifymobileapp.models.FieldRead;
 import com.example.soilifymobileapp.models.WeatherDataRead;
 import com.example.soilifymobileapp.models.WeatherDataUpdate;
 import com.example.soilifymobileapp.network.ApiClient;
 import com.example.soilifymobileapp.network.FieldsApi;
 import com.example.soilifymobileapp.network.WeatherApi;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +28,8 @@ import retrofit2.Response;
 
 public class EditWeatherDataActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private Spinner spinnerField;
     private EditText editTextTemperature, editTextRainfall, editTextSoilMoisture;
     private Button buttonSave;
@@ -56,10 +60,10 @@ public class EditWeatherDataActivity extends AppCompatActivity {
     }
 
     private void loadFieldsAndWeatherData() {
-        FieldsApi fieldsApiService = ApiClient.getClient(this).create(FieldsApi.class);
+        FieldsApi fieldsApiService = ApiClient.getService(this, FieldsApi.class);
         Call<List<FieldRead>> fieldsCall = fieldsApiService.getAllFields();
 
-        fieldsCall.enqueue(new Callback<List<FieldRead>>() {
+        requestScope.enqueue(fieldsCall, new Callback<List<FieldRead>>() {
             @Override
             public void onResponse(Call<List<FieldRead>> call, Response<List<FieldRead>> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -87,10 +91,10 @@ public class EditWeatherDataActivity extends AppCompatActivity {
     }
 
     private void loadWeatherData() {
-        WeatherApi weatherApiService = ApiClient.getClient(this).create(WeatherApi.class);
+        WeatherApi weatherApiService = ApiClient.getService(this, WeatherApi.class);
         Call<WeatherDataRead> weatherCall = weatherApiService.getWeatherData(weatherId);
 
-        weatherCall.enqueue(new Callback<WeatherDataRead>() {
+        requestScope.enqueue(weatherCall, new Callback<WeatherDataRead>() {
             @Override
             public void onResponse(Call<WeatherDataRead> call, Response<WeatherDataRead> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -140,24 +144,9 @@ public class EditWeatherDataActivity extends AppCompatActivity {
 
         WeatherDataUpdate weatherDataUpdate = new WeatherDataUpdate(fieldId, temperature, rainfall, soilMoisture);
 
-        WeatherApi apiService = ApiClient.getClient(this).create(WeatherApi.class);
-        Call<WeatherDataRead> call = apiService.updateWeatherData(weatherId, weatherDataUpdate);
-
-        call.enqueue(new Callback<WeatherDataRead>() {
-            @Override
-            public void onResponse(Call<WeatherDataRead> call, Response<WeatherDataRead> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(EditWeatherDataActivity.this, "Weather data updated successfully", Toast.LENGTH_SHORT).show();
-                    finish();
-                } else {
-                    Toast.makeText(EditWeatherDataActivity.this, "Failed to update weather data", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<WeatherDataRead> call, Throwable t) {
-                Toast.makeText(EditWeatherDataActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        WeatherDataRepository.getInstance(this).updateWeatherData(weatherId, weatherDataUpdate, requestScope.bind(() -> {
+            Toast.makeText(EditWeatherDataActivity.this, "Weather data updated successfully", Toast.LENGTH_SHORT).show();
+            finish();
+        }));
     }
 }
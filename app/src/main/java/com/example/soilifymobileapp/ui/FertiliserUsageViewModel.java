@@ -0,0 +1,194 @@
+package com.example.soilifymobileapp.ui;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.soilifymobileapp.data.FertiliserUsageRepository;
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.PagedWindow;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertiliserUsageCreate;
+import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
+import com.example.soilifymobileapp.models.FieldOption;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.FertiliserApi;
+import com.example.soilifymobileapp.sync.DeltaSyncEngine;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.adapters.FertiliserUsageAdapter;
+import com.example.soilifymobileapp.ui.adapters.FertiliserUsageRow;
+import com.example.soilifymobileapp.ui.lifecycle.Event;
+import com.example.soilifymobileapp.ui.lifecycle.Staleness;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Holds the fertiliser records window and the field dropdown for {@link RecordFertiliserActivity}
+ * across rotations.
+ */
+public class FertiliserUsageViewModel extends AndroidViewModel {
+
+    private static final long MAX_AGE_MS = 5 * 60_000;
+
+    private final FertiliserUsageRepository repository;
+    private final SyncManager syncManager;
+    private final AppExecutors executors = AppExecutors.getInstance();
+    private final FertiliserApi fertiliserApi;
+    private final PagedWindow<FertiliserUsageRow> window;
+    private final Staleness staleness = new Staleness(MAX_AGE_MS);
+    private final MutableLiveData<List<FieldOption>> fieldOptions = new MutableLiveData<>();
+    private final MutableLiveData<Event<String>> messages = new MutableLiveData<>();
+    private Call<List<FieldOption>> fieldOptionsCall;
+
+    private final SyncManager.Listener syncListener = new SyncManager.Listener() {
+        @Override
+        public void onRejected(String entityType, String operation, int httpCode) {
+            if (!OutboxEntry.TYPE_FERTILISER_USAGE.equals(entityType)) {
+                return;
+            }
+            if (OutboxEntry.OP_CREATE.equals(operation)) {
+                // The pending row has been rolled back; say so rather than let it just vanish
+                messages.setValue(new Event<>("Fertiliser record was rejected by the server (HTTP " + httpCode + ") and has been removed"));
+            } else {
+                messages.setValue(new Event<>("Fertiliser change was rejected by the server (HTTP " + httpCode + ") and has been undone"));
+            }
+        }
+    };
+
+    // Patches the window row by row as the cache changes, whoever wrote it
+    private final TableChanges.Observer<FertiliserUsageRead> changeObserver = new TableChanges.Observer<FertiliserUsageRead>() {
+        @Override
+        public void onUpserted(List<FertiliserUsageRead> rows) {
+            if (rows.size() == 1) {
+                // An edit or a synced save: rebind the one row if it is on screen
+                FertiliserUsageRow row = FertiliserUsageRow.from(rows.get(0));
+                executors.mainThread().execute(() -> {
+                    if (!window.replace(row)) {
+                        window.refresh();
+                    }
+                });
+            } else {
+                executors.mainThread().execute(window::refresh);
+            }
+        }
+
+        @Override
+        public void onDeleted(Collection<Integer> ids) {
+            executors.mainThread().execute(window::refresh);
+        }
+
+        @Override
+        public void onRetained(Set<Integer> ids) {
+            executors.mainThread().execute(window::refresh);
+        }
+    };
+
+    public FertiliserUsageViewModel(@NonNull Application application) {
+        super(application);
+        repository = FertiliserUsageRepository.getInstance(application);
+        syncManager = SyncManager.getInstance(application);
+        fertiliserApi = ApiClient.getService(application, FertiliserApi.class);
+        window = repository.newPagedWindow(FertiliserUsageRow::from, FertiliserUsageAdapter.DIFF_CALLBACK);
+        window.refresh();
+        syncManager.addListener(syncListener);
+        repository.changes().addObserver(changeObserver);
+        loadFieldOptions();
+    }
+
+    public PagedWindow<FertiliserUsageRow> getWindow() {
+        return window;
+    }
+
+    public LiveData<List<FieldOption>> getFieldOptions() {
+        return fieldOptions;
+    }
+
+    public LiveData<Event<String>> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Sync with the server if the records have never been synced here, are dirty, or have gone
+     * stale; otherwise a no-op. The window shows the cached rows either way.
+     */
+    public void refreshIfStale() {
+        if (!staleness.beginIfStale()) {
+            return;
+        }
+        repository.refreshFertiliserUsage(new DeltaSyncEngine.Callback() {
+            @Override
+            public void onComplete(boolean changed) {
+                // Changed rows reach the window through changeObserver
+                staleness.onLoaded();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                staleness.onFailed();
+                if (t == null) {
+                    messages.setValue(new Event<>("Failed to load records"));
+                } else {
+                    messages.setValue(new Event<>("An error occurred"));
+                }
+            }
+        });
+    }
+
+    private void loadFieldOptions() {
+        fieldOptionsCall = fertiliserApi.getFieldsForDropdown();
+        fieldOptionsCall.enqueue(new Callback<List<FieldOption>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<FieldOption>> call, @NonNull Response<List<FieldOption>> response) {
+                fieldOptionsCall = null;
+                if (response.isSuccessful() && response.body() != null) {
+                    fieldOptions.setValue(response.body());
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<FieldOption>> call, @NonNull Throwable t) {
+                fieldOptionsCall = null;
+                if (!call.isCanceled()) {
+                    messages.setValue(new Event<>("Failed to load fields"));
+                }
+            }
+        });
+    }
+
+    public void createFertiliserUsage(FertiliserUsageCreate usage) {
+        repository.createFertiliserUsage(usage, () ->
+                messages.setValue(new Event<>("Record saved")));
+    }
+
+    public void updateFertiliserUsage(int usageId, FertiliserUsageUpdate usage) {
+        repository.updateFertiliserUsage(usageId, usage, () ->
+                messages.setValue(new Event<>("Record updated")));
+    }
+
+    public void deleteFertiliserUsage(int usageId) {
+        // The cached row is dropped straight away and changeObserver removes it from the window
+        repository.deleteFertiliserUsage(usageId, () ->
+                messages.setValue(new Event<>("Record deleted")));
+    }
+
+    @Override
+    protected void onCleared() {
+        syncManager.removeListener(syncListener);
+        repository.changes().removeObserver(changeObserver);
+        window.setUpdateCallback(null);
+        if (fieldOptionsCall != null) {
+            fieldOptionsCall.cancel();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.soilifymobileapp.ui;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.DataCallback;
+import com.example.soilifymobileapp.data.FieldRepository;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.lifecycle.Event;
+import com.example.soilifymobileapp.ui.lifecycle.Staleness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Holds the field list for {@link FieldsActivity} across rotations and trips to the edit screens.
+ */
+public class FieldsViewModel extends AndroidViewModel {
+
+    private static final long MAX_AGE_MS = 5 * 60_000;
+
+    private final FieldRepository repository;
+    private final SyncManager syncManager;
+    private final AppExecutors executors = AppExecutors.getInstance();
+    private final Staleness staleness = new Staleness(MAX_AGE_MS);
+    private final MutableLiveData<List<FieldRead>> fields = new MutableLiveData<>();
+    private final MutableLiveData<Event<String>> messages = new MutableLiveData<>();
+
+    private final SyncManager.Listener syncListener = new SyncManager.Listener() {
+        @Override
+        public void onRejected(String entityType, String operation, int httpCode) {
+            if (OutboxEntry.TYPE_FIELD.equals(entityType)) {
+                messages.setValue(new Event<>("Failed to save field"));
+            }
+        }
+    };
+
+    // Patches the loaded list row by row as the cache changes, whoever wrote it
+    private final TableChanges.Observer<FieldRead> changeObserver = new TableChanges.Observer<FieldRead>() {
+        @Override
+        public void onUpserted(List<FieldRead> rows) {
+            executors.mainThread().execute(() -> patch(current -> {
+                for (FieldRead row : rows) {
+                    int index = indexOf(current, row.getId());
+                    if (index >= 0) {
+                        current.set(index, row);
+                    } else {
+                        // Newest first, as the cache orders them
+                        current.add(0, row);
+                    }
+                }
+            }));
+        }
+
+        @Override
+        public void onDeleted(Collection<Integer> ids) {
+            executors.mainThread().execute(() ->
+                    patch(current -> current.removeIf(field -> ids.contains(field.getId()))));
+        }
+
+        @Override
+        public void onRetained(Set<Integer> ids) {
+            executors.mainThread().execute(() ->
+                    patch(current -> current.removeIf(field -> !ids.contains(field.getId()))));
+        }
+    };
+
+    public FieldsViewModel(@NonNull Application application) {
+        super(application);
+        repository = FieldRepository.getInstance(application);
+        syncManager = SyncManager.getInstance(application);
+        syncManager.addListener(syncListener);
+        repository.changes().addObserver(changeObserver);
+    }
+
+    public LiveData<List<FieldRead>> getFields() {
+        return fields;
+    }
+
+    public LiveData<Event<String>> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Load the list if it has never loaded, the last load failed, or it has gone stale;
+     * otherwise a no-op.
+     */
+    public void refreshIfStale() {
+        if (!staleness.beginIfStale()) {
+            return;
+        }
+        repository.getFields(new DataCallback<List<FieldRead>>() {
+            @Override
+            public void onData(List<FieldRead> data, boolean fromCache) {
+                fields.setValue(data);
+                if (!fromCache) {
+                    staleness.onLoaded();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                staleness.onFailed();
+                if (t == null) {
+                    messages.setValue(new Event<>("Failed to load fields"));
+                } else {
+                    messages.setValue(new Event<>("Network error: " + t.getMessage()));
+                }
+            }
+        });
+    }
+
+    public void deleteField(int fieldId) {
+        // The cached row is dropped straight away and changeObserver removes it from the list
+        repository.deleteField(fieldId, () ->
+                messages.setValue(new Event<>("Field deleted successfully")));
+    }
+
+    /**
+     * Apply {@code change} to a copy of the loaded list and publish the copy; the adapter diffs
+     * it, so only the affected rows rebind. Before the first load there is nothing to patch.
+     */
+    private void patch(Consumer<List<FieldRead>> change) {
+        List<FieldRead> current = fields.getValue();
+        if (current == null) {
+            return;
+        }
+        List<FieldRead> patched = new ArrayList<>(current);
+        change.accept(patched);
+        fields.setValue(patched);
+    }
+
+    private static int indexOf(List<FieldRead> fields, int id) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected void onCleared() {
+        syncManager.removeListener(syncListener);
+        repository.changes().removeObserver(changeObserver);
+    }
+}
@@ -2,7 +2,6 @@ package com.example.soilifymobileapp.ui;
 
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.EditText;
@@ -16,6 +15,9 @@ import com.example.soilifymobileapp.models.Token;
 import com.example.soilifymobileapp.models.UserLogin;
 import com.example.soilifymobileapp.network.ApiClient;
 import com.example.soilifymobileapp.network.AuthApi;
+import com.example.soilifymobileapp.network.TokenManager;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -23,6 +25,8 @@ import retrofit2.Response;
 
 public class LoginActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private EditText etEmail, etPassword;
     private Button btnLogin;
     private TextView tvSignUp;
@@ -55,12 +59,12 @@ public class LoginActivity extends AppCompatActivity {
             return;
         }
 
-        // Use getClientNoAuth() for login since we don't have a token yet
-        AuthApi authApi = ApiClient.getClientNoAuth().create(AuthApi.class);
+        // Use getServiceNoAuth() for login since we don't have a token yet
+        AuthApi authApi = ApiClient.getServiceNoAuth(AuthApi.class);
         UserLogin userLogin = new UserLogin(email, null, password);
 
         Call<Token> call = authApi.signin(userLogin);
-        call.enqueue(new Callback<Token>() {
+        requestScope.enqueue(call, new Callback<Token>() {
             @Override
             public void onResponse(Call<Token> call, Response<Token> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -69,7 +73,7 @@ public class LoginActivity extends AppCompatActivity {
                     String accessToken = tokenResponse.getAccessToken();
                     
                     if (accessToken != null && !accessToken.isEmpty()) {
-                        saveToken(accessToken);
+                        saveToken(accessToken, email);
                         Toast.makeText(LoginActivity.this, "Login successful", Toast.LENGTH_SHORT).show();
                         startActivity(new Intent(LoginActivity.this, DashboardActivity.class));
                         finish();
@@ -88,18 +92,16 @@ public class LoginActivity extends AppCompatActivity {
         });
     }
 
-    private void saveToken(String token) {
-        SharedPreferences sharedPreferences = getSharedPreferences("auth", Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString("token", token);
-        editor.apply();
+    private void saveToken(String token, String email) {
+        TokenManager.getInstance(this).setToken(token);
+        // Resumes sending whatever this account left queued when it last signed out
+        SyncManager.getInstance(this).signIn(email);
     }
 
     /**
      * Helper method to retrieve saved token
      */
     public static String getToken(Context context) {
-        SharedPreferences sharedPreferences = context.getSharedPreferences("auth", Context.MODE_PRIVATE);
-        return sharedPreferences.getString("token", null);
+        return TokenManager.getInstance(context).getToken();
     }
 }
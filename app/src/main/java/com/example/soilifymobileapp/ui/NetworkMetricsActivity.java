@@ -0,0 +1,80 @@
+package com.example.soilifymobileapp.ui;
+
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.NetworkMetrics;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Debug screen showing where network time goes: per-endpoint latency percentiles, bytes and
+ * errors from {@link NetworkMetrics}, plus the HTTP cache counters. Reached by long-pressing
+ * the dashboard greeting in debug builds.
+ */
+public class NetworkMetricsActivity extends AppCompatActivity {
+
+    private static final String REPORT_FILE = "network-metrics.txt";
+
+    private TextView tvCacheStats, tvMetricsReport;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_network_metrics);
+
+        tvCacheStats = findViewById(R.id.tvCacheStats);
+        tvMetricsReport = findViewById(R.id.tvMetricsReport);
+        Button btnRefreshMetrics = findViewById(R.id.btnRefreshMetrics);
+        Button btnExportMetrics = findViewById(R.id.btnExportMetrics);
+        Button btnResetMetrics = findViewById(R.id.btnResetMetrics);
+
+        btnRefreshMetrics.setOnClickListener(v -> showMetrics());
+        btnExportMetrics.setOnClickListener(v -> exportMetrics());
+        btnResetMetrics.setOnClickListener(v -> {
+            ApiClient.getNetworkMetrics().reset();
+            showMetrics();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showMetrics();
+    }
+
+    private void showMetrics() {
+        tvCacheStats.setText("HTTP cache: " + ApiClient.getCacheStats());
+        tvMetricsReport.setText(ApiClient.getNetworkMetrics().report());
+    }
+
+    /**
+     * Write the report to app-specific external storage, where it can be pulled with adb
+     * without root, falling back to internal storage.
+     */
+    private void exportMetrics() {
+        File directory = getExternalFilesDir(null);
+        File file = new File(directory != null ? directory : getFilesDir(), REPORT_FILE);
+        AppExecutors executors = AppExecutors.getInstance();
+        executors.diskIO().execute(() -> {
+            String message;
+            try {
+                ApiClient.getNetworkMetrics().writeReport(file);
+                message = "Saved to " + file.getAbsolutePath();
+            } catch (IOException e) {
+                message = "Failed to save metrics";
+            }
+            String result = message;
+            executors.mainThread().execute(() ->
+                    Toast.makeText(NetworkMetricsActivity.this, result, Toast.LENGTH_LONG).show());
+        });
+    }
+}
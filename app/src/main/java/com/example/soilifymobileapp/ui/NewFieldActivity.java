@@ -8,17 +8,14 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.FieldRepository;
 import com.example.soilifymobileapp.models.FieldCreate;
-import com.example.soilifymobileapp.models.FieldRead;
-import com.example.soilifymobileapp.network.ApiClient;
-import com.example.soilifymobileapp.network.FieldsApi;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 public class NewFieldActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private EditText editTextFieldName, editTextSoilType, editTextCropType, editTextSize;
     private Button buttonSave;
 
@@ -51,24 +48,9 @@ public class NewFieldActivity extends AppCompatActivity {
 
         FieldCreate fieldCreate = new FieldCreate(fieldName, soilType, cropType, (float) size);
 
-        FieldsApi apiService = ApiClient.getClient(this).create(FieldsApi.class);
-        Call<FieldRead> call = apiService.createField(fieldCreate);
-
-        call.enqueue(new Callback<FieldRead>() {
-            @Override
-            public void onResponse(Call<FieldRead> call, Response<FieldRead> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(NewFieldActivity.this, "Field created successfully", Toast.LENGTH_SHORT).show();
-                    finish(); // Go back to FieldsActivity
-                } else {
-                    Toast.makeText(NewFieldActivity.this, "Failed to create field", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<FieldRead> call, Throwable t) {
-                Toast.makeText(NewFieldActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        FieldRepository.getInstance(this).createField(fieldCreate, requestScope.bind(() -> {
+            Toast.makeText(NewFieldActivity.this, "Field saved", Toast.LENGTH_SHORT).show();
+            finish(); // Go back to FieldsActivity
+        }));
     }
 }
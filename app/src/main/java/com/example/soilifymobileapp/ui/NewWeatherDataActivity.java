@@ -10,12 +10,12 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.WeatherDataRepository;
 import com.example.soilifymobileapp.models.FieldRead;
 import com.example.soilifymobileapp.models.WeatherDataCreate;
-import com.example.soilifymobileapp.models.WeatherDataRead;
 import com.example.soilifymobileapp.network.ApiClient;
 import com.example.soilifymobileapp.network.FieldsApi;
-import com.example.soilifymobileapp.network.WeatherApi;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +26,8 @@ import retrofit2.Response;
 
 public class NewWeatherDataActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private Spinner spinnerField;
     private EditText editTextTemperature, editTextRainfall, editTextSoilMoisture;
     private Button buttonSave;
@@ -48,10 +50,10 @@ public class NewWeatherDataActivity extends AppCompatActivity {
     }
 
     private void loadFields() {
-        FieldsApi apiService = ApiClient.getClient(this).create(FieldsApi.class);
+        FieldsApi apiService = ApiClient.getService(this, FieldsApi.class);
         Call<List<FieldRead>> call = apiService.getAllFields();
 
-        call.enqueue(new Callback<List<FieldRead>>() {
+        requestScope.enqueue(call, new Callback<List<FieldRead>>() {
             @Override
             public void onResponse(Call<List<FieldRead>> call, Response<List<FieldRead>> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -99,24 +101,10 @@ public class NewWeatherDataActivity extends AppCompatActivity {
 
         WeatherDataCreate weatherDataCreate = new WeatherDataCreate(fieldId, temperature, rainfall, soilMoisture);
 
-        WeatherApi apiService = ApiClient.getClient(this).create(WeatherApi.class);
-        Call<WeatherDataRead> call = apiService.createWeatherData(weatherDataCreate);
-
-        call.enqueue(new Callback<WeatherDataRead>() {
-            @Override
-            public void onResponse(Call<WeatherDataRead> call, Response<WeatherDataRead> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(NewWeatherDataActivity.this, "Weather data created successfully", Toast.LENGTH_SHORT).show();
-                    finish();
-                } else {
-                    Toast.makeText(NewWeatherDataActivity.this, "Failed to create weather data", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<WeatherDataRead> call, Throwable t) {
-                Toast.makeText(NewWeatherDataActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Journaled locally and sent by SyncManager, so the entry survives a bad connection
+        WeatherDataRepository.getInstance(this).createWeatherData(weatherDataCreate, requestScope.bind(() -> {
+            Toast.makeText(NewWeatherDataActivity.this, "Weather data saved", Toast.LENGTH_SHORT).show();
+            finish();
+        }));
     }
 }
@@ -13,17 +13,18 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.PagedWindow;
 import com.example.soilifymobileapp.models.FertiliserUsageCreate;
 import com.example.soilifymobileapp.models.FertiliserUsageRead;
 import com.example.soilifymobileapp.models.FertiliserUsageUpdate;
 import com.example.soilifymobileapp.models.FieldOption;
-import com.example.soilifymobileapp.network.ApiClient;
-import com.example.soilifymobileapp.network.FertiliserApi;
 import com.example.soilifymobileapp.ui.adapters.FertiliserUsageAdapter;
+import com.example.soilifymobileapp.ui.adapters.FertiliserUsageRow;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.text.SimpleDateFormat;
@@ -32,14 +33,10 @@ import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class RecordFertiliserActivity extends AppCompatActivity {
 
     private FertiliserUsageAdapter adapter;
-    private final List<FertiliserUsageRead> usageList = new ArrayList<>();
+    private FertiliserUsageViewModel viewModel;
     private final List<FieldOption> fieldOptions = new ArrayList<>();
 
     @Override
@@ -50,8 +47,12 @@ public class RecordFertiliserActivity extends AppCompatActivity {
         RecyclerView recyclerViewFertiliser = findViewById(R.id.recyclerViewFertiliser);
         FloatingActionButton fabAddFertiliser = findViewById(R.id.fabAddFertiliser);
 
-        recyclerViewFertiliser.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new FertiliserUsageAdapter(usageList, new FertiliserUsageAdapter.OnItemClickListener() {
+        viewModel = new ViewModelProvider(this).get(FertiliserUsageViewModel.class);
+        PagedWindow<FertiliserUsageRow> usageWindow = viewModel.getWindow();
+
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerViewFertiliser.setLayoutManager(layoutManager);
+        adapter = new FertiliserUsageAdapter(usageWindow, new FertiliserUsageAdapter.OnItemClickListener() {
             @Override
             public void onEditClick(FertiliserUsageRead usage) {
                 showAddEditFertiliserDialog(usage);
@@ -59,54 +60,28 @@ public class RecordFertiliserActivity extends AppCompatActivity {
 
             @Override
             public void onDeleteClick(FertiliserUsageRead usage) {
-                deleteFertiliserUsage(usage.getId());
+                viewModel.deleteFertiliserUsage(usage.getId());
             }
         });
         recyclerViewFertiliser.setAdapter(adapter);
-
-        fabAddFertiliser.setOnClickListener(v -> showAddEditFertiliserDialog(null));
-
-        loadFertiliserUsage();
-        loadFieldOptions();
-    }
-
-    private void loadFertiliserUsage() {
-        FertiliserApi fertiliserApi = ApiClient.getClient(this).create(FertiliserApi.class);
-        Call<List<FertiliserUsageRead>> call = fertiliserApi.getAllFertiliserUsage();
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<List<FertiliserUsageRead>> call, @NonNull Response<List<FertiliserUsageRead>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    usageList.clear();
-                    usageList.addAll(response.body());
-                    adapter.setUsageList(usageList);
-                } else {
-                    Toast.makeText(RecordFertiliserActivity.this, "Failed to load records", Toast.LENGTH_SHORT).show();
-                }
-            }
-
+        recyclerViewFertiliser.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public void onFailure(@NonNull Call<List<FertiliserUsageRead>> call, @NonNull Throwable t) {
-                Toast.makeText(RecordFertiliserActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                usageWindow.onVisibleRange(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
             }
         });
-    }
 
-    private void loadFieldOptions() {
-        FertiliserApi fertiliserApi = ApiClient.getClient(this).create(FertiliserApi.class);
-        Call<List<FieldOption>> call = fertiliserApi.getFieldsForDropdown();
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<List<FieldOption>> call, @NonNull Response<List<FieldOption>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    fieldOptions.clear();
-                    fieldOptions.addAll(response.body());
-                }
-            }
+        fabAddFertiliser.setOnClickListener(v -> showAddEditFertiliserDialog(null));
 
-            @Override
-            public void onFailure(@NonNull Call<List<FieldOption>> call, @NonNull Throwable t) {
-                Toast.makeText(RecordFertiliserActivity.this, "Failed to load fields", Toast.LENGTH_SHORT).show();
+        viewModel.getFieldOptions().observe(this, options -> {
+            fieldOptions.clear();
+            fieldOptions.addAll(options);
+        });
+        viewModel.getMessages().observe(this, event -> {
+            String message = event.take();
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             }
         });
     }
@@ -179,10 +154,10 @@ public class RecordFertiliserActivity extends AppCompatActivity {
 
             if (usage == null) {
                 FertiliserUsageCreate newUsage = new FertiliserUsageCreate(selectedFieldId, fertiliserType, amount, weather, notes, dateStr);
-                createFertiliserUsage(newUsage);
+                viewModel.createFertiliserUsage(newUsage);
             } else {
                 FertiliserUsageUpdate updatedUsage = new FertiliserUsageUpdate(selectedFieldId, fertiliserType, amount, weather, notes, dateStr);
-                updateFertiliserUsage(usage.getId(), updatedUsage);
+                viewModel.updateFertiliserUsage(usage.getId(), updatedUsage);
             }
         });
         builder.setNegativeButton("Cancel", (dialog, which) -> dialog.cancel());
@@ -190,66 +165,10 @@ public class RecordFertiliserActivity extends AppCompatActivity {
         builder.show();
     }
 
-    private void createFertiliserUsage(FertiliserUsageCreate newUsage) {
-        FertiliserApi fertiliserApi = ApiClient.getClient(this).create(FertiliserApi.class);
-        Call<FertiliserUsageRead> call = fertiliserApi.createFertiliserUsage(newUsage);
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<FertiliserUsageRead> call, @NonNull Response<FertiliserUsageRead> response) {
-                if (response.isSuccessful()) {
-                    loadFertiliserUsage();
-                    Toast.makeText(RecordFertiliserActivity.this, "Record created successfully", Toast.LENGTH_SHORT).show();
-                } else {
-                    Toast.makeText(RecordFertiliserActivity.this, "Failed to create record", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(@NonNull Call<FertiliserUsageRead> call, @NonNull Throwable t) {
-                Toast.makeText(RecordFertiliserActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
-    private void updateFertiliserUsage(int usageId, FertiliserUsageUpdate updatedUsage) {
-        FertiliserApi fertiliserApi = ApiClient.getClient(this).create(FertiliserApi.class);
-        Call<FertiliserUsageRead> call = fertiliserApi.updateFertiliserUsage(usageId, updatedUsage);
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<FertiliserUsageRead> call, @NonNull Response<FertiliserUsageRead> response) {
-                if (response.isSuccessful()) {
-                    loadFertiliserUsage();
-                    Toast.makeText(RecordFertiliserActivity.this, "Record updated successfully", Toast.LENGTH_SHORT).show();
-                } else {
-                    Toast.makeText(RecordFertiliserActivity.this, "Failed to update record", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(@NonNull Call<FertiliserUsageRead> call, @NonNull Throwable t) {
-                Toast.makeText(RecordFertiliserActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
-    private void deleteFertiliserUsage(int usageId) {
-        FertiliserApi fertiliserApi = ApiClient.getClient(this).create(FertiliserApi.class);
-        Call<Void> call = fertiliserApi.deleteFertiliserUsage(usageId);
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
-                if (response.isSuccessful()) {
-                    loadFertiliserUsage();
-                    Toast.makeText(RecordFertiliserActivity.this, "Record deleted successfully", Toast.LENGTH_SHORT).show();
-                } else {
-                    Toast.makeText(RecordFertiliserActivity.this, "Failed to delete record", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {
-                Toast.makeText(RecordFertiliserActivity.this, "An error occurred", Toast.LENGTH_SHORT).show();
-            }
-        });
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Kept across rotations; only syncs when stale
+        viewModel.refreshIfStale();
     }
 }
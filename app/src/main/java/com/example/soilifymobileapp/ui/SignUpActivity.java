@@ -1,8 +1,6 @@
 package com.example.soilifymobileapp.ui;
 
-import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.EditText;
@@ -15,6 +13,9 @@ import com.example.soilifymobileapp.models.Token;
 import com.example.soilifymobileapp.models.UserCreate;
 import com.example.soilifymobileapp.network.ApiClient;
 import com.example.soilifymobileapp.network.AuthApi;
+import com.example.soilifymobileapp.network.TokenManager;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.lifecycle.RequestScope;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -22,6 +23,8 @@ import retrofit2.Response;
 
 public class SignUpActivity extends AppCompatActivity {
 
+    private final RequestScope requestScope = RequestScope.of(this);
+
     private EditText etName, etOtherName, etPhone, etEmail, etPassword, etConfirmPass, etLocation;
     private Button btnRegister;
 
@@ -58,15 +61,15 @@ public class SignUpActivity extends AppCompatActivity {
     }
 
     private void signUpUser(String firstName, String otherName, String phone, String email, String password, String location) {
-        AuthApi authApi = ApiClient.getClientNoAuth().create(AuthApi.class);
+        AuthApi authApi = ApiClient.getServiceNoAuth(AuthApi.class);
         UserCreate userCreate = new UserCreate(firstName, otherName, phone, email, password, location);
 
         Call<Token> call = authApi.signup(userCreate);
-        call.enqueue(new Callback<Token>() {
+        requestScope.enqueue(call, new Callback<Token>() {
             @Override
             public void onResponse(Call<Token> call, Response<Token> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    saveToken(response.body().getAccessToken());
+                    saveToken(response.body().getAccessToken(), email);
                     Toast.makeText(SignUpActivity.this, "Registration successful", Toast.LENGTH_SHORT).show();
                     startActivity(new Intent(SignUpActivity.this, DashboardActivity.class));
                     finish();
@@ -82,10 +85,9 @@ public class SignUpActivity extends AppCompatActivity {
         });
     }
 
-    private void saveToken(String token) {
-        SharedPreferences sharedPreferences = getSharedPreferences("auth", Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString("token", token);
-        editor.apply();
+    private void saveToken(String token, String email) {
+        TokenManager.getInstance(this).setToken(token);
+        // Resumes sending whatever this account left queued when it last signed out
+        SyncManager.getInstance(this).signIn(email);
     }
 }
@@ -1,33 +1,50 @@
 package com.example.soilifymobileapp.ui;
 
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.PagedWindow;
+import com.example.soilifymobileapp.importer.ImportProgress;
 import com.example.soilifymobileapp.models.WeatherDataRead;
-import com.example.soilifymobileapp.network.ApiClient;
-import com.example.soilifymobileapp.network.WeatherApi;
 import com.example.soilifymobileapp.ui.adapters.WeatherDataAdapter;
+import com.example.soilifymobileapp.ui.adapters.WeatherDataRow;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class WeatherDataActivity extends AppCompatActivity implements WeatherDataAdapter.OnItemClickListener {
 
+    // Loggers and spreadsheets label CSV exports inconsistently
+    private static final String[] CSV_TYPES = {
+            "text/csv", "text/comma-separated-values", "text/plain", "application/vnd.ms-excel"
+    };
+
     private RecyclerView recyclerViewWeatherData;
     private WeatherDataAdapter weatherDataAdapter;
-    private List<WeatherDataRead> weatherDataList = new ArrayList<>();
+    private WeatherDataViewModel viewModel;
+    private LinearLayout layoutImport;
+    private TextView tvImportStatus;
+    private ProgressBar progressImport;
+    private Button btnImportAction;
+    private Button btnImportDismiss;
+
+    private final ActivityResultLauncher<String[]> pickCsv = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::onCsvPicked);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -36,39 +53,102 @@ public class WeatherDataActivity extends AppCompatActivity implements WeatherDat
 
         recyclerViewWeatherData = findViewById(R.id.recyclerViewWeatherData);
         FloatingActionButton fabAddWeatherData = findViewById(R.id.fabAddWeatherData);
-
-        recyclerViewWeatherData.setLayoutManager(new LinearLayoutManager(this));
-        weatherDataAdapter = new WeatherDataAdapter(weatherDataList, this);
+        FloatingActionButton fabImportWeatherData = findViewById(R.id.fabImportWeatherData);
+        layoutImport = findViewById(R.id.layoutImport);
+        tvImportStatus = findViewById(R.id.tvImportStatus);
+        progressImport = findViewById(R.id.progressImport);
+        btnImportAction = findViewById(R.id.btnImportAction);
+        btnImportDismiss = findViewById(R.id.btnImportDismiss);
+
+        viewModel = new ViewModelProvider(this).get(WeatherDataViewModel.class);
+        PagedWindow<WeatherDataRow> weatherDataWindow = viewModel.getWindow();
+
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerViewWeatherData.setLayoutManager(layoutManager);
+        weatherDataAdapter = new WeatherDataAdapter(weatherDataWindow, this);
         recyclerViewWeatherData.setAdapter(weatherDataAdapter);
-
-        fabAddWeatherData.setOnClickListener(view -> {
-            Intent intent = new Intent(WeatherDataActivity.this, NewWeatherDataActivity.class);
-            startActivity(intent);
-        });
-
-        loadWeatherData();
-    }
-
-    private void loadWeatherData() {
-        WeatherApi apiService = ApiClient.getClient(this).create(WeatherApi.class);
-        Call<List<WeatherDataRead>> call = apiService.getAllWeatherData();
-
-        call.enqueue(new Callback<List<WeatherDataRead>>() {
+        recyclerViewWeatherData.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public void onResponse(Call<List<WeatherDataRead>> call, Response<List<WeatherDataRead>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    weatherDataList = response.body();
-                    weatherDataAdapter.setWeatherDataList(weatherDataList);
-                } else {
-                    Toast.makeText(WeatherDataActivity.this, "Failed to load weather data", Toast.LENGTH_SHORT).show();
-                }
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                weatherDataWindow.onVisibleRange(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
             }
+        });
 
-            @Override
-            public void onFailure(Call<List<WeatherDataRead>> call, Throwable t) {
-                Toast.makeText(WeatherDataActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+        fabAddWeatherData.setOnClickListener(view ->
+                startActivity(new Intent(WeatherDataActivity.this, NewWeatherDataActivity.class)));
+        fabImportWeatherData.setOnClickListener(view -> pickCsv.launch(CSV_TYPES));
+        btnImportDismiss.setOnClickListener(view -> viewModel.dismissImport());
+
+        viewModel.getMessages().observe(this, event -> {
+            String message = event.take();
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             }
         });
+        viewModel.getImportProgress().observe(this, this::showImportProgress);
+    }
+
+    private void onCsvPicked(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        ImportProgress current = viewModel.getImportProgress().getValue();
+        if (current != null && current.getState() == ImportProgress.State.RUNNING) {
+            Toast.makeText(this, "An import is already running", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        viewModel.importCsv(uri);
+    }
+
+    private void showImportProgress(ImportProgress progress) {
+        if (progress == null) {
+            layoutImport.setVisibility(View.GONE);
+            return;
+        }
+        layoutImport.setVisibility(View.VISIBLE);
+
+        StringBuilder status = new StringBuilder();
+        switch (progress.getState()) {
+            case RUNNING:
+                status.append("Importing…");
+                break;
+            case STOPPED:
+                status.append("Import paused");
+                break;
+            case FAILED:
+                status.append("Import failed");
+                break;
+            case DONE:
+                status.append("Import complete");
+                break;
+        }
+        status.append("\n").append(String.format("%,d rows read, %,d uploaded, %,d duplicates, %,d invalid",
+                progress.getRowsRead(), progress.getUploaded(), progress.getDuplicates(), progress.getInvalid()));
+        if (progress.getMessage() != null) {
+            status.append("\n").append(progress.getMessage());
+        }
+        tvImportStatus.setText(status.toString());
+
+        boolean running = progress.getState() == ImportProgress.State.RUNNING;
+        float fraction = progress.getFraction();
+        progressImport.setVisibility(running || progress.isResumable() ? View.VISIBLE : View.GONE);
+        progressImport.setIndeterminate(running && fraction < 0);
+        progressImport.setProgress(fraction < 0 ? 0 : Math.round(fraction * progressImport.getMax()));
+
+        if (running) {
+            btnImportAction.setVisibility(View.VISIBLE);
+            btnImportAction.setText("Stop");
+            btnImportAction.setOnClickListener(view -> viewModel.stopImport());
+        } else if (progress.isResumable()) {
+            btnImportAction.setVisibility(View.VISIBLE);
+            btnImportAction.setText("Resume");
+            btnImportAction.setOnClickListener(view -> viewModel.resumeImport());
+        } else {
+            btnImportAction.setVisibility(View.GONE);
+        }
+        // Only a finished or paused import can be dismissed
+        btnImportDismiss.setVisibility(running ? View.GONE : View.VISIBLE);
     }
 
     @Override
@@ -83,37 +163,16 @@ public class WeatherDataActivity extends AppCompatActivity implements WeatherDat
         new AlertDialog.Builder(this)
                 .setTitle("Delete Weather Data")
                 .setMessage("Are you sure you want to delete this weather data entry?")
-                .setPositiveButton("Delete", (dialog, which) -> deleteWeatherData(weatherData.getId()))
+                .setPositiveButton("Delete", (dialog, which) -> viewModel.deleteWeatherData(weatherData.getId()))
                 .setNegativeButton(android.R.string.no, null)
                 .setIcon(android.R.drawable.ic_dialog_alert)
                 .show();
     }
 
-    private void deleteWeatherData(int weatherId) {
-        WeatherApi apiService = ApiClient.getClient(this).create(WeatherApi.class);
-        Call<Void> call = apiService.deleteWeatherData(weatherId);
-
-        call.enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(WeatherDataActivity.this, "Weather data deleted successfully", Toast.LENGTH_SHORT).show();
-                    loadWeatherData(); // Refresh the list
-                } else {
-                    Toast.makeText(WeatherDataActivity.this, "Failed to delete weather data", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(WeatherDataActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
     @Override
     protected void onResume() {
         super.onResume();
-        loadWeatherData(); // Refresh weather data when returning to the activity
+        // Kept across rotations and trips to other screens; only syncs when dirty or stale
+        viewModel.refreshIfStale();
     }
 }
@@ -0,0 +1,182 @@
+package com.example.soilifymobileapp.ui;
+
+import android.app.Application;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.PagedWindow;
+import com.example.soilifymobileapp.data.WeatherDataRepository;
+import com.example.soilifymobileapp.data.local.OutboxEntry;
+import com.example.soilifymobileapp.data.local.TableChanges;
+import com.example.soilifymobileapp.importer.ImportProgress;
+import com.example.soilifymobileapp.importer.WeatherImporter;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.sync.DeltaSyncEngine;
+import com.example.soilifymobileapp.sync.SyncManager;
+import com.example.soilifymobileapp.ui.adapters.WeatherDataAdapter;
+import com.example.soilifymobileapp.ui.adapters.WeatherDataRow;
+import com.example.soilifymobileapp.ui.lifecycle.Event;
+import com.example.soilifymobileapp.ui.lifecycle.Staleness;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds the weather window for {@link WeatherDataActivity}, so a rotation keeps the pages in
+ * memory and does not sync again. CSV imports run in {@link WeatherImporter}, which outlives
+ * the screen; this only relays their progress.
+ */
+public class WeatherDataViewModel extends AndroidViewModel {
+
+    private static final long MAX_AGE_MS = 5 * 60_000;
+
+    private final WeatherDataRepository repository;
+    private final SyncManager syncManager;
+    private final WeatherImporter importer;
+    private final AppExecutors executors = AppExecutors.getInstance();
+    private final PagedWindow<WeatherDataRow> window;
+    private final Staleness staleness = new Staleness(MAX_AGE_MS);
+    private final MutableLiveData<Event<String>> messages = new MutableLiveData<>();
+
+    private final SyncManager.Listener syncListener = new SyncManager.Listener() {
+        @Override
+        public void onRejected(String entityType, String operation, int httpCode) {
+            if (!OutboxEntry.TYPE_WEATHER_DATA.equals(entityType)) {
+                return;
+            }
+            if (OutboxEntry.OP_CREATE.equals(operation)) {
+                // The pending row has been rolled back; say so rather than let it just vanish
+                messages.setValue(new Event<>("Weather entry was rejected by the server (HTTP " + httpCode + ") and has been removed"));
+            } else {
+                messages.setValue(new Event<>("Weather change was rejected by the server (HTTP " + httpCode + ") and has been undone"));
+            }
+        }
+    };
+
+    // Patches the window row by row as the cache changes, whoever wrote it
+    private final TableChanges.Observer<WeatherDataRead> changeObserver = new TableChanges.Observer<WeatherDataRead>() {
+        @Override
+        public void onUpserted(List<WeatherDataRead> rows) {
+            if (rows.size() == 1) {
+                // An edit or a synced save: rebind the one row if it is on screen
+                WeatherDataRow row = WeatherDataRow.from(rows.get(0));
+                executors.mainThread().execute(() -> {
+                    if (!window.replace(row)) {
+                        window.refresh();
+                    }
+                });
+            } else {
+                executors.mainThread().execute(window::refresh);
+            }
+        }
+
+        @Override
+        public void onDeleted(Collection<Integer> ids) {
+            executors.mainThread().execute(window::refresh);
+        }
+
+        @Override
+        public void onRetained(Set<Integer> ids) {
+            executors.mainThread().execute(window::refresh);
+        }
+    };
+
+    // Imported readings reach the cache with the next sync, so run one as soon as an import ends
+    private final Observer<ImportProgress> importObserver = progress -> {
+        if (progress != null && progress.getState() == ImportProgress.State.DONE) {
+            staleness.markDirty();
+            refreshIfStale();
+        }
+    };
+
+    public WeatherDataViewModel(@NonNull Application application) {
+        super(application);
+        repository = WeatherDataRepository.getInstance(application);
+        syncManager = SyncManager.getInstance(application);
+        window = repository.newPagedWindow(WeatherDataRow::from, WeatherDataAdapter.DIFF_CALLBACK);
+        window.refresh();
+        syncManager.addListener(syncListener);
+        repository.changes().addObserver(changeObserver);
+        importer = WeatherImporter.getInstance(application);
+        importer.getProgress().observeForever(importObserver);
+    }
+
+    public PagedWindow<WeatherDataRow> getWindow() {
+        return window;
+    }
+
+    public LiveData<Event<String>> getMessages() {
+        return messages;
+    }
+
+    /**
+     * @return the current CSV import, or null when there is none to show
+     */
+    public LiveData<ImportProgress> getImportProgress() {
+        return importer.getProgress();
+    }
+
+    public void importCsv(Uri uri) {
+        importer.start(uri);
+    }
+
+    public void resumeImport() {
+        importer.resume();
+    }
+
+    public void stopImport() {
+        importer.stop();
+    }
+
+    public void dismissImport() {
+        importer.discard();
+    }
+
+    /**
+     * Sync with the server if the records have never been synced here, are dirty, or have gone
+     * stale; otherwise a no-op. The window shows the cached rows either way.
+     */
+    public void refreshIfStale() {
+        if (!staleness.beginIfStale()) {
+            return;
+        }
+        repository.refreshWeatherData(new DeltaSyncEngine.Callback() {
+            @Override
+            public void onComplete(boolean changed) {
+                // Changed rows reach the window through changeObserver
+                staleness.onLoaded();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                staleness.onFailed();
+                if (t == null) {
+                    messages.setValue(new Event<>("Failed to load weather data"));
+                } else {
+                    messages.setValue(new Event<>("Network error: " + t.getMessage()));
+                }
+            }
+        });
+    }
+
+    public void deleteWeatherData(int weatherId) {
+        // The cached row is dropped straight away and changeObserver removes it from the window
+        repository.deleteWeatherData(weatherId, () ->
+                messages.setValue(new Event<>("Weather data deleted successfully")));
+    }
+
+    @Override
+    protected void onCleared() {
+        syncManager.removeListener(syncListener);
+        repository.changes().removeObserver(changeObserver);
+        importer.getProgress().removeObserver(importObserver);
+        window.setUpdateCallback(null);
+    }
+}
@@ -7,24 +7,53 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
 import com.example.soilifymobileapp.models.AIConversation;
+import com.example.soilifymobileapp.models.QueryResultTable;
 
-import java.util.List;
-
-public class AIConversationsAdapter extends RecyclerView.Adapter<AIConversationsAdapter.ViewHolder> {
+public class AIConversationsAdapter extends ListAdapter<AIConversation, AIConversationsAdapter.ViewHolder> {
 
     private static final int VIEW_TYPE_USER = 1;
     private static final int VIEW_TYPE_AI = 2;
 
+    // Messages are immutable and a streamed reply is republished as a new copy with the same id,
+    // so comparing contents here is safe on the diff thread and picks up every new chunk
+    private static final DiffUtil.ItemCallback<AIConversation> DIFF_CALLBACK = new DiffUtil.ItemCallback<AIConversation>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull AIConversation oldItem, @NonNull AIConversation newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull AIConversation oldItem, @NonNull AIConversation newItem) {
+            return oldItem.getSender().equals(newItem.getSender())
+                    && oldItem.getMessage().equals(newItem.getMessage())
+                    && oldItem.getResults() == newItem.getResults();
+        }
+    };
+
+    /**
+     * Called when the user asks to see the rows behind a query answer.
+     */
+    public interface OnResultsClickListener {
+        void onResultsClick(AIConversation conversation);
+    }
+
     private final Context context;
-    private final List<AIConversation> conversationList;
+    private OnResultsClickListener onResultsClickListener;
 
-    public AIConversationsAdapter(Context context, List<AIConversation> conversationList) {
+    public AIConversationsAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.conversationList = conversationList;
+        setHasStableIds(true);
+    }
+
+    public void setOnResultsClickListener(OnResultsClickListener listener) {
+        onResultsClickListener = listener;
     }
 
     @NonNull
@@ -36,23 +65,31 @@ public class AIConversationsAdapter extends RecyclerView.Adapter<AIConversations
         } else {
             view = LayoutInflater.from(context).inflate(R.layout.item_chat_ai, parent, false);
         }
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+        if (holder.viewResultsText != null) {
+            holder.viewResultsText.setOnClickListener(v -> {
+                if (onResultsClickListener != null && holder.conversation != null) {
+                    onResultsClickListener.onResultsClick(holder.conversation);
+                }
+            });
+        }
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        AIConversation conversation = conversationList.get(position);
+        AIConversation conversation = getItem(position);
         holder.bind(conversation);
     }
 
     @Override
-    public int getItemCount() {
-        return conversationList.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     @Override
     public int getItemViewType(int position) {
-        if (conversationList.get(position).getSender().equals("You")) {
+        if (getItem(position).getSender().equals("You")) {
             return VIEW_TYPE_USER;
         } else {
             return VIEW_TYPE_AI;
@@ -61,14 +98,27 @@ public class AIConversationsAdapter extends RecyclerView.Adapter<AIConversations
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
         TextView messageText;
+        TextView viewResultsText; // Only in AI rows
+        AIConversation conversation;
 
         public ViewHolder(@NonNull View itemView) {
             super(itemView);
             messageText = itemView.findViewById(R.id.text_message_body);
+            viewResultsText = itemView.findViewById(R.id.text_view_results);
         }
 
         void bind(AIConversation conversation) {
+            this.conversation = conversation;
             messageText.setText(conversation.getMessage());
+            if (viewResultsText != null) {
+                QueryResultTable results = conversation.getResults();
+                if (results != null && results.getRowCount() > 0) {
+                    viewResultsText.setText("View " + results.getRowCount() + " rows");
+                    viewResultsText.setVisibility(View.VISIBLE);
+                } else {
+                    viewResultsText.setVisibility(View.GONE);
+                }
+            }
         }
     }
 }
@@ -7,17 +7,35 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.PagedWindow;
 import com.example.soilifymobileapp.models.FertiliserUsageRead;
 
-import java.util.List;
-import java.util.Locale;
-
 public class FertiliserUsageAdapter extends RecyclerView.Adapter<FertiliserUsageAdapter.FertiliserUsageViewHolder> {
 
-    private List<FertiliserUsageRead> usageList;
+    // Rows the server has not confirmed yet are dimmed
+    private static final float PENDING_ALPHA = 0.5f;
+
+    /**
+     * Rows are the same record when their ids match; a refreshed row is only rebound if it differs.
+     */
+    public static final DiffUtil.ItemCallback<FertiliserUsageRow> DIFF_CALLBACK = new DiffUtil.ItemCallback<FertiliserUsageRow>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FertiliserUsageRow oldItem, @NonNull FertiliserUsageRow newItem) {
+            return oldItem.getUsage().getId() == newItem.getUsage().getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FertiliserUsageRow oldItem, @NonNull FertiliserUsageRow newItem) {
+            return oldItem.getUsage().equals(newItem.getUsage());
+        }
+    };
+
+    private final PagedWindow<FertiliserUsageRow> window;
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -25,39 +43,54 @@ public class FertiliserUsageAdapter extends RecyclerView.Adapter<FertiliserUsage
         void onDeleteClick(FertiliserUsageRead usage);
     }
 
-    public FertiliserUsageAdapter(List<FertiliserUsageRead> usageList, OnItemClickListener listener) {
-        this.usageList = usageList;
+    /**
+     * Rows come from a {@link PagedWindow}; positions whose page is not loaded yet bind as
+     * placeholders and are rebound when the page arrives. Create the window with
+     * {@link #DIFF_CALLBACK} so refreshes rebind only the rows that changed, and with
+     * {@link FertiliserUsageRow#from} so display strings are formatted as pages are read.
+     */
+    public FertiliserUsageAdapter(PagedWindow<FertiliserUsageRow> window, OnItemClickListener listener) {
+        this.window = window;
         this.listener = listener;
-    }
-
-    public void setUsageList(List<FertiliserUsageRead> usageList) {
-        this.usageList = usageList;
-        notifyDataSetChanged();
+        window.setUpdateCallback(new AdapterListUpdateCallback(this));
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public FertiliserUsageViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_fertiliser_usage, parent, false);
-        return new FertiliserUsageViewHolder(view);
+        return new FertiliserUsageViewHolder(view, listener);
     }
 
     @Override
     public void onBindViewHolder(@NonNull FertiliserUsageViewHolder holder, int position) {
-        FertiliserUsageRead usage = usageList.get(position);
-        holder.bind(usage, listener);
+        FertiliserUsageRow row = window.get(position);
+        if (row == null) {
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(row);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return usageList.size();
+        return window.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        FertiliserUsageRow row = window.get(position);
+        // Placeholders get an id per position that can never collide with a record id
+        return row != null ? row.getUsage().getId() : Long.MIN_VALUE + position;
     }
 
     static class FertiliserUsageViewHolder extends RecyclerView.ViewHolder {
         private TextView tvFieldName, tvFertiliserType, tvAmount, tvDate, tvWeather, tvNotes;
         private Button btnEdit, btnDelete;
+        private FertiliserUsageRow row;
 
-        public FertiliserUsageViewHolder(@NonNull View itemView) {
+        public FertiliserUsageViewHolder(@NonNull View itemView, final OnItemClickListener listener) {
             super(itemView);
             tvFieldName = itemView.findViewById(R.id.tvFieldName);
             tvFertiliserType = itemView.findViewById(R.id.tvFertiliserType);
@@ -67,22 +100,45 @@ public class FertiliserUsageAdapter extends RecyclerView.Adapter<FertiliserUsage
             tvNotes = itemView.findViewById(R.id.tvNotes);
             btnEdit = itemView.findViewById(R.id.btnEdit);
             btnDelete = itemView.findViewById(R.id.btnDelete);
-        }
 
-        public void bind(final FertiliserUsageRead usage, final OnItemClickListener listener) {
-            tvFieldName.setText(usage.getFieldName());
-            tvFertiliserType.setText("Fertiliser: " + usage.getFertiliserType());
-            tvAmount.setText(String.format(Locale.getDefault(), "Amount: %.2f kg", usage.getAmountKg()));
-            
-            // Date is already a formatted string (YYYY-MM-DD) from the API
-            String dateStr = usage.getDate() != null ? usage.getDate() : "N/A";
-            tvDate.setText("Date: " + dateStr);
+            // Click listeners are set once per holder and read the row bound at click time
+            btnEdit.setOnClickListener(v -> {
+                if (row != null) {
+                    listener.onEditClick(row.getUsage());
+                }
+            });
+            btnDelete.setOnClickListener(v -> {
+                if (row != null) {
+                    listener.onDeleteClick(row.getUsage());
+                }
+            });
+        }
 
-            tvWeather.setText("Weather: " + (usage.getWeather() != null ? usage.getWeather() : "N/A"));
-            tvNotes.setText("Notes: " + (usage.getNotes() != null ? usage.getNotes() : "N/A"));
+        public void bindPlaceholder() {
+            row = null;
+            tvFieldName.setText("");
+            tvFertiliserType.setText("");
+            tvAmount.setText("");
+            tvDate.setText("");
+            tvWeather.setText("");
+            tvNotes.setText("");
+            btnEdit.setEnabled(false);
+            btnDelete.setEnabled(false);
+            itemView.setAlpha(1f);
+        }
 
-            btnEdit.setOnClickListener(v -> listener.onEditClick(usage));
-            btnDelete.setOnClickListener(v -> listener.onDeleteClick(usage));
+        public void bind(FertiliserUsageRow row) {
+            this.row = row;
+            tvFieldName.setText(row.getFieldName());
+            tvFertiliserType.setText(row.getFertiliserType());
+            tvAmount.setText(row.getAmount());
+            tvDate.setText(row.getDate());
+            tvWeather.setText(row.getWeather());
+            tvNotes.setText(row.getNotes());
+            // A pending row can be deleted, which cancels the create, but not edited until it has an id
+            btnEdit.setEnabled(!row.isPending());
+            btnDelete.setEnabled(true);
+            itemView.setAlpha(row.isPending() ? PENDING_ALPHA : 1f);
         }
     }
 }
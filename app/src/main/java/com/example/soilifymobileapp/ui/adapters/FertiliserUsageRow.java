@@ -0,0 +1,68 @@
+package com.example.soilifymobileapp.ui.adapters;
+
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.ui.format.DisplayFormat;
+
+/**
+ * A fertiliser record with its display strings already formatted, so binding a row only sets
+ * text. Build it off the main thread with {@link #from}.
+ */
+public class FertiliserUsageRow {
+    private final FertiliserUsageRead usage;
+    private final String fieldName;
+    private final String fertiliserType;
+    private final String amount;
+    private final String date;
+    private final String weather;
+    private final String notes;
+    private final boolean pending;
+
+    private FertiliserUsageRow(FertiliserUsageRead usage) {
+        this.usage = usage;
+        // Created here and not yet confirmed by the server; the sync swaps in the real id
+        this.pending = usage.getId() < 0;
+        this.fieldName = usage.getFieldName();
+        this.fertiliserType = DisplayFormat.labelled("Fertiliser: ", usage.getFertiliserType());
+        this.amount = DisplayFormat.twoDecimals("Amount: ", usage.getAmountKg(), " kg");
+        // Date is already a formatted string (YYYY-MM-DD) from the API
+        this.date = DisplayFormat.labelled("Date: ", usage.getDate()) + (pending ? " · Saving…" : "");
+        this.weather = DisplayFormat.labelled("Weather: ", usage.getWeather());
+        this.notes = DisplayFormat.labelled("Notes: ", usage.getNotes());
+    }
+
+    public static FertiliserUsageRow from(FertiliserUsageRead usage) {
+        return new FertiliserUsageRow(usage);
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public FertiliserUsageRead getUsage() {
+        return usage;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getFertiliserType() {
+        return fertiliserType;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getWeather() {
+        return weather;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+}
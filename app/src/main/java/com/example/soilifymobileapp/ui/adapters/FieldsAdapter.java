@@ -7,6 +7,8 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
@@ -14,9 +16,20 @@ import com.example.soilifymobileapp.models.FieldRead;
 
 import java.util.List;
 
-public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewHolder> {
+public class FieldsAdapter extends ListAdapter<FieldRead, FieldsAdapter.FieldViewHolder> {
+
+    private static final DiffUtil.ItemCallback<FieldRead> DIFF_CALLBACK = new DiffUtil.ItemCallback<FieldRead>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FieldRead oldItem, @NonNull FieldRead newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FieldRead oldItem, @NonNull FieldRead newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
 
-    private List<FieldRead> fields;
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -24,14 +37,18 @@ public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewH
         void onDeleteClick(FieldRead field);
     }
 
-    public FieldsAdapter(List<FieldRead> fields, OnItemClickListener listener) {
-        this.fields = fields;
+    public FieldsAdapter(OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
+    /**
+     * Diff {@code fields} against the current list on a background thread and rebind only the
+     * rows that changed. Pass a new list each time; the adapter keeps a reference to it.
+     */
     public void setFields(List<FieldRead> fields) {
-        this.fields = fields;
-        notifyDataSetChanged();
+        submitList(fields);
     }
 
     @NonNull
@@ -43,13 +60,13 @@ public class FieldsAdapter extends RecyclerView.Adapter<FieldsAdapter.FieldViewH
 
     @Override
     public void onBindViewHolder(@NonNull FieldViewHolder holder, int position) {
-        FieldRead field = fields.get(position);
+        FieldRead field = getItem(position);
         holder.bind(field, listener);
     }
 
     @Override
-    public int getItemCount() {
-        return fields.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     static class FieldViewHolder extends RecyclerView.ViewHolder {
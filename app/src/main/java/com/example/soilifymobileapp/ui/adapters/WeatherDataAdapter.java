@@ -7,18 +7,37 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.data.PagedWindow;
 import com.example.soilifymobileapp.models.WeatherDataRead;
 
-import java.text.SimpleDateFormat;
-import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 
 public class WeatherDataAdapter extends RecyclerView.Adapter<WeatherDataAdapter.WeatherDataViewHolder> {
 
-    private List<WeatherDataRead> weatherDataList;
+    // Rows the server has not confirmed yet are dimmed
+    private static final float PENDING_ALPHA = 0.5f;
+
+    /**
+     * Rows are the same record when their ids match; a refreshed row is only rebound if it differs.
+     */
+    public static final DiffUtil.ItemCallback<WeatherDataRow> DIFF_CALLBACK = new DiffUtil.ItemCallback<WeatherDataRow>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull WeatherDataRow oldItem, @NonNull WeatherDataRow newItem) {
+            return Objects.equals(oldItem.getWeatherData().getId(), newItem.getWeatherData().getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull WeatherDataRow oldItem, @NonNull WeatherDataRow newItem) {
+            return oldItem.getWeatherData().equals(newItem.getWeatherData());
+        }
+    };
+
+    private final PagedWindow<WeatherDataRow> window;
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -26,39 +45,54 @@ public class WeatherDataAdapter extends RecyclerView.Adapter<WeatherDataAdapter.
         void onDeleteClick(WeatherDataRead weatherData);
     }
 
-    public WeatherDataAdapter(List<WeatherDataRead> weatherDataList, OnItemClickListener listener) {
-        this.weatherDataList = weatherDataList;
+    /**
+     * Rows come from a {@link PagedWindow}; positions whose page is not loaded yet bind as
+     * placeholders and are rebound when the page arrives. Create the window with
+     * {@link #DIFF_CALLBACK} so refreshes rebind only the rows that changed, and with
+     * {@link WeatherDataRow#from} so display strings are formatted as pages are read.
+     */
+    public WeatherDataAdapter(PagedWindow<WeatherDataRow> window, OnItemClickListener listener) {
+        this.window = window;
         this.listener = listener;
-    }
-
-    public void setWeatherDataList(List<WeatherDataRead> weatherDataList) {
-        this.weatherDataList = weatherDataList;
-        notifyDataSetChanged();
+        window.setUpdateCallback(new AdapterListUpdateCallback(this));
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public WeatherDataViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_weather_data, parent, false);
-        return new WeatherDataViewHolder(view);
+        return new WeatherDataViewHolder(view, listener);
     }
 
     @Override
     public void onBindViewHolder(@NonNull WeatherDataViewHolder holder, int position) {
-        WeatherDataRead weatherData = weatherDataList.get(position);
-        holder.bind(weatherData, listener);
+        WeatherDataRow row = window.get(position);
+        if (row == null) {
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(row);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return weatherDataList.size();
+        return window.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        WeatherDataRow row = window.get(position);
+        // Placeholders get an id per position that can never collide with a record id
+        return row != null ? row.getWeatherData().getId() : Long.MIN_VALUE + position;
     }
 
     static class WeatherDataViewHolder extends RecyclerView.ViewHolder {
         private TextView tvFieldName, tvTemperature, tvRainfall, tvSoilMoisture, tvDate;
         private Button btnEdit, btnDelete;
+        private WeatherDataRow row;
 
-        public WeatherDataViewHolder(@NonNull View itemView) {
+        public WeatherDataViewHolder(@NonNull View itemView, final OnItemClickListener listener) {
             super(itemView);
             tvFieldName = itemView.findViewById(R.id.tvFieldName);
             tvTemperature = itemView.findViewById(R.id.tvTemperature);
@@ -67,19 +101,43 @@ public class WeatherDataAdapter extends RecyclerView.Adapter<WeatherDataAdapter.
             tvDate = itemView.findViewById(R.id.tvDate);
             btnEdit = itemView.findViewById(R.id.btnEdit);
             btnDelete = itemView.findViewById(R.id.btnDelete);
-        }
 
-        public void bind(final WeatherDataRead weatherData, final OnItemClickListener listener) {
-            tvFieldName.setText(weatherData.getFieldName());
-            tvTemperature.setText(String.format(Locale.getDefault(), "Temperature: %.1f°C", weatherData.getTemperature()));
-            tvRainfall.setText(String.format(Locale.getDefault(), "Rainfall: %.1fmm", weatherData.getRainfall()));
-            tvSoilMoisture.setText(String.format(Locale.getDefault(), "Soil Moisture: %.1f%%", weatherData.getSoilMoisture()));
+            // Click listeners are set once per holder and read the row bound at click time
+            btnEdit.setOnClickListener(v -> {
+                if (row != null) {
+                    listener.onEditClick(row.getWeatherData());
+                }
+            });
+            btnDelete.setOnClickListener(v -> {
+                if (row != null) {
+                    listener.onDeleteClick(row.getWeatherData());
+                }
+            });
+        }
 
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
-            tvDate.setText(sdf.format(weatherData.getCreatedAt()));
+        public void bindPlaceholder() {
+            row = null;
+            tvFieldName.setText("");
+            tvTemperature.setText("");
+            tvRainfall.setText("");
+            tvSoilMoisture.setText("");
+            tvDate.setText("");
+            btnEdit.setEnabled(false);
+            btnDelete.setEnabled(false);
+            itemView.setAlpha(1f);
+        }
 
-            btnEdit.setOnClickListener(v -> listener.onEditClick(weatherData));
-            btnDelete.setOnClickListener(v -> listener.onDeleteClick(weatherData));
+        public void bind(WeatherDataRow row) {
+            this.row = row;
+            tvFieldName.setText(row.getFieldName());
+            tvTemperature.setText(row.getTemperature());
+            tvRainfall.setText(row.getRainfall());
+            tvSoilMoisture.setText(row.getSoilMoisture());
+            tvDate.setText(row.getDate());
+            // A pending row can be deleted, which cancels the create, but not edited until it has an id
+            btnEdit.setEnabled(!row.isPending());
+            btnDelete.setEnabled(true);
+            itemView.setAlpha(row.isPending() ? PENDING_ALPHA : 1f);
         }
     }
 }
@@ -0,0 +1,61 @@
+package com.example.soilifymobileapp.ui.adapters;
+
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.ui.format.DisplayFormat;
+
+/**
+ * A weather record with its display strings already formatted, so binding a row only sets text.
+ * Build it off the main thread with {@link #from}.
+ */
+public class WeatherDataRow {
+    private final WeatherDataRead weatherData;
+    private final String fieldName;
+    private final String temperature;
+    private final String rainfall;
+    private final String soilMoisture;
+    private final String date;
+    private final boolean pending;
+
+    private WeatherDataRow(WeatherDataRead weatherData) {
+        this.weatherData = weatherData;
+        // Created here and not yet confirmed by the server; the sync swaps in the real id
+        this.pending = weatherData.getId() != null && weatherData.getId() < 0;
+        this.fieldName = weatherData.getFieldName();
+        this.temperature = DisplayFormat.oneDecimal("Temperature: ", weatherData.getTemperature(), "°C");
+        this.rainfall = DisplayFormat.oneDecimal("Rainfall: ", weatherData.getRainfall(), "mm");
+        this.soilMoisture = DisplayFormat.oneDecimal("Soil Moisture: ", weatherData.getSoilMoisture(), "%");
+        this.date = pending ? "Saving…" : DisplayFormat.dateTime(weatherData.getCreatedAt());
+    }
+
+    public static WeatherDataRow from(WeatherDataRead weatherData) {
+        return new WeatherDataRow(weatherData);
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public WeatherDataRead getWeatherData() {
+        return weatherData;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getTemperature() {
+        return temperature;
+    }
+
+    public String getRainfall() {
+        return rainfall;
+    }
+
+    public String getSoilMoisture() {
+        return soilMoisture;
+    }
+
+    public String getDate() {
+        return date;
+    }
+}
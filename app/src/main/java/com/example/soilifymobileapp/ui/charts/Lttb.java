@@ -0,0 +1,72 @@
+package com.example.soilifymobileapp.ui.charts;
+
+import com.github.mikephil.charting.data.Entry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling.
+ *
+ * Keeps the first and last points, splits the rest into {@code threshold - 2} buckets and from
+ * each keeps the point forming the largest triangle with the previously kept point and the
+ * average of the next bucket. Peaks and troughs survive, so a long series drawn at one point
+ * per pixel looks the same as the full series at a fraction of the drawing cost.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * @param data points sorted by x
+     * @return at most {@code threshold} points of {@code data}, or {@code data} itself if it
+     * is already small enough
+     */
+    public static List<Entry> downsample(List<Entry> data, int threshold) {
+        int size = data.size();
+        if (threshold >= size || threshold < 3) {
+            return data;
+        }
+
+        List<Entry> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        sampled.add(data.get(0));
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket, the third corner of the triangle
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += data.get(i).getX();
+                averageY += data.get(i).getY();
+            }
+            int nextLength = nextEnd - nextStart;
+            averageX /= nextLength;
+            averageY /= nextLength;
+
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            Entry anchor = data.get(previous);
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                Entry candidate = data.get(i);
+                double area = Math.abs((anchor.getX() - averageX) * (candidate.getY() - anchor.getY())
+                        - (anchor.getX() - candidate.getX()) * (averageY - anchor.getY()));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            sampled.add(data.get(chosen));
+            previous = chosen;
+        }
+
+        sampled.add(data.get(size - 1));
+        return sampled;
+    }
+}
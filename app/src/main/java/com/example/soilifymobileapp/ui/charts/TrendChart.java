@@ -0,0 +1,226 @@
+package com.example.soilifymobileapp.ui.charts;
+
+import android.graphics.Color;
+import android.view.MotionEvent;
+
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.XAxis;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Drives a {@link LineChart} showing one daily series, however long.
+ *
+ * The full series is kept here; the chart only gets a {@link Lttb} downsample of about one
+ * point per horizontal pixel at the current zoom, re-sampled when a pinch changes the zoom
+ * enough to matter. Updates reuse the chart's single data set: a series that extends the one
+ * on screen only has its new points appended, anything else replaces the values in place, so
+ * the viewport survives and nothing is reallocated while the user pans.
+ * Call on the main thread.
+ */
+public class TrendChart {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    // Re-sample once the zoom has changed the point budget by this factor
+    private static final float RESAMPLE_FACTOR = 1.5f;
+
+    private final LineChart chart;
+    private final LineDataSet dataSet;
+    private final List<Entry> series = new ArrayList<>();
+    private int sampledBudget;
+
+    public TrendChart(LineChart chart, String label, int color) {
+        this.chart = chart;
+
+        dataSet = new LineDataSet(new ArrayList<>(), label);
+        dataSet.setColor(color);
+        dataSet.setLineWidth(1.5f);
+        dataSet.setDrawCircles(false); // Circles dominate the drawing cost of long series
+        dataSet.setDrawValues(false);
+        dataSet.setHighLightColor(Color.GRAY);
+        dataSet.setMode(LineDataSet.Mode.LINEAR);
+
+        chart.getDescription().setEnabled(false);
+        chart.setDrawGridBackground(false);
+        chart.setNoDataText("No weather records yet");
+        chart.setScaleYEnabled(false);
+        chart.getAxisRight().setEnabled(false);
+        chart.getAxisLeft().setTextColor(Color.BLACK);
+
+        XAxis xAxis = chart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setDrawGridLines(false);
+        xAxis.setTextColor(Color.BLACK);
+        xAxis.setGranularity(1f); // One day
+        xAxis.setValueFormatter(new ValueFormatter() {
+            private final SimpleDateFormat format = utcFormat("MMM d");
+
+            @Override
+            public String getFormattedValue(float value) {
+                return format.format(new Date((long) value * DAY_MS));
+            }
+        });
+
+        chart.setOnChartGestureListener(new GestureAdapter() {
+            @Override
+            public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+                if (lastPerformedGesture == ChartTouchListener.ChartGesture.PINCH_ZOOM
+                        || lastPerformedGesture == ChartTouchListener.ChartGesture.X_ZOOM
+                        || lastPerformedGesture == ChartTouchListener.ChartGesture.DOUBLE_TAP) {
+                    resampleIfNeeded();
+                }
+            }
+        });
+    }
+
+    /**
+     * @param date a {@code yyyy-MM-dd} day, as returned by the trends endpoint
+     * @return the x value for that day, or null if it cannot be parsed
+     */
+    public static Float dayToX(String date, SimpleDateFormat dayFormat) {
+        try {
+            return (float) (dayFormat.parse(date).getTime() / DAY_MS);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a parser for {@link #dayToX}; reuse it for a whole series
+     */
+    public static SimpleDateFormat newDayFormat() {
+        return utcFormat("yyyy-MM-dd");
+    }
+
+    /**
+     * Show a new version of the series, sorted by x.
+     */
+    public void setSeries(List<Entry> newSeries) {
+        if (extendsCurrent(newSeries)) {
+            List<Entry> tail = newSeries.subList(series.size(), newSeries.size());
+            series.addAll(tail);
+            if (dataSet.getEntryCount() + tail.size() > sampledBudget * RESAMPLE_FACTOR) {
+                resample();
+            } else {
+                for (Entry entry : tail) {
+                    dataSet.addEntry(entry);
+                }
+                refresh();
+            }
+            return;
+        }
+        series.clear();
+        series.addAll(newSeries);
+        resample();
+    }
+
+    /**
+     * Forget the series and zoom out, e.g. when switching to another field.
+     */
+    public void clear() {
+        series.clear();
+        chart.fitScreen();
+        resample();
+    }
+
+    private boolean extendsCurrent(List<Entry> newSeries) {
+        if (series.isEmpty() || newSeries.size() <= series.size()) {
+            return false;
+        }
+        for (int i = 0; i < series.size(); i++) {
+            Entry old = series.get(i);
+            Entry updated = newSeries.get(i);
+            if (old.getX() != updated.getX() || old.getY() != updated.getY()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int pointBudget() {
+        int width = chart.getWidth() > 0 ? chart.getWidth() : chart.getResources().getDisplayMetrics().widthPixels;
+        return Math.max(3, (int) (width * chart.getViewPortHandler().getScaleX()));
+    }
+
+    private void resampleIfNeeded() {
+        int budget = pointBudget();
+        if (budget > sampledBudget * RESAMPLE_FACTOR || budget * RESAMPLE_FACTOR < sampledBudget) {
+            resample();
+        }
+    }
+
+    private void resample() {
+        sampledBudget = pointBudget();
+        dataSet.setValues(new ArrayList<>(Lttb.downsample(series, sampledBudget)));
+        refresh();
+    }
+
+    private void refresh() {
+        if (series.isEmpty()) {
+            chart.clear();
+            return;
+        }
+        if (chart.getData() == null) {
+            chart.setData(new LineData(dataSet));
+        } else {
+            chart.getData().notifyDataChanged();
+            chart.notifyDataSetChanged();
+        }
+        chart.invalidate();
+    }
+
+    private static SimpleDateFormat utcFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    /**
+     * {@link OnChartGestureListener} with every callback empty.
+     */
+    private static class GestureAdapter implements OnChartGestureListener {
+        @Override
+        public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        }
+
+        @Override
+        public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        }
+
+        @Override
+        public void onChartLongPressed(MotionEvent me) {
+        }
+
+        @Override
+        public void onChartDoubleTapped(MotionEvent me) {
+        }
+
+        @Override
+        public void onChartSingleTapped(MotionEvent me) {
+        }
+
+        @Override
+        public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+        }
+
+        @Override
+        public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+        }
+
+        @Override
+        public void onChartTranslate(MotionEvent me, float dX, float dY) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.soilifymobileapp.ui.format;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Shared, thread-safe formatting for display strings.
+ *
+ * {@link SimpleDateFormat} and {@link DecimalFormat} are expensive to create and not
+ * thread-safe, so each thread reuses its own instances instead of building one per call.
+ * Formatting is meant to run once per record when data arrives, off the main thread; view
+ * holders then only set the finished strings.
+ */
+public final class DisplayFormat {
+
+    public static final String NOT_AVAILABLE = "N/A";
+
+    private static final ThreadLocal<SimpleDateFormat> DATE_TIME = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+        }
+    };
+
+    private static final ThreadLocal<NumberFormat> ONE_DECIMAL = new ThreadLocal<NumberFormat>() {
+        @Override
+        protected NumberFormat initialValue() {
+            return fixedDecimals(1);
+        }
+    };
+
+    private static final ThreadLocal<NumberFormat> TWO_DECIMALS = new ThreadLocal<NumberFormat>() {
+        @Override
+        protected NumberFormat initialValue() {
+            return fixedDecimals(2);
+        }
+    };
+
+    private DisplayFormat() {
+    }
+
+    /**
+     * @return e.g. "2024-05-01 14:30", or {@link #NOT_AVAILABLE} for a missing date
+     */
+    public static String dateTime(Date date) {
+        return date != null ? DATE_TIME.get().format(date) : NOT_AVAILABLE;
+    }
+
+    /**
+     * @return {@code prefix + value + suffix} with one decimal place, or the value as
+     * {@link #NOT_AVAILABLE} if it is missing
+     */
+    public static String oneDecimal(String prefix, Float value, String suffix) {
+        if (value == null) {
+            return prefix + NOT_AVAILABLE;
+        }
+        return prefix + ONE_DECIMAL.get().format(value) + suffix;
+    }
+
+    public static String twoDecimals(String prefix, float value, String suffix) {
+        return prefix + TWO_DECIMALS.get().format(value) + suffix;
+    }
+
+    /**
+     * @return {@code prefix + value}, or the value as {@link #NOT_AVAILABLE} if it is missing
+     */
+    public static String labelled(String prefix, String value) {
+        return prefix + (value != null ? value : NOT_AVAILABLE);
+    }
+
+    private static NumberFormat fixedDecimals(int decimals) {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.getDefault());
+        format.setMinimumFractionDigits(decimals);
+        format.setMaximumFractionDigits(decimals);
+        format.setGroupingUsed(false);
+        return format;
+    }
+}
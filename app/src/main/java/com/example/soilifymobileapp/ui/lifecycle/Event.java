@@ -0,0 +1,26 @@
+package com.example.soilifymobileapp.ui.lifecycle;
+
+/**
+ * A one-off message published through LiveData, such as a toast. LiveData replays its last value
+ * to a new observer, so without this a rotated screen would show the same toast again.
+ */
+public final class Event<T> {
+
+    private final T content;
+    private boolean handled;
+
+    public Event(T content) {
+        this.content = content;
+    }
+
+    /**
+     * @return the content the first time it is asked for, then null
+     */
+    public T take() {
+        if (handled) {
+            return null;
+        }
+        handled = true;
+        return content;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.soilifymobileapp.ui.lifecycle;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.soilifymobileapp.data.DashboardRepository;
+import com.example.soilifymobileapp.data.DataCallback;
+import com.example.soilifymobileapp.models.DashboardResponse;
+import com.example.soilifymobileapp.sync.DeltaSyncEngine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Ties the requests a screen makes to its lifecycle.
+ *
+ * Calls enqueued through the scope are cancelled when the owner is destroyed, and every
+ * callback handed out by the scope forgets its delegate at that point. A request that outlives
+ * its screen, such as a two-minute AI answer or a repository refresh the scope cannot cancel,
+ * then holds only an empty wrapper rather than the activity and its views. Results that arrive
+ * later are dropped instead of updating views that are gone.
+ *
+ * Create one per screen with {@link #of(LifecycleOwner)}, typically as a field initializer.
+ * Use it from the main thread; Retrofit and the repositories deliver there.
+ */
+public final class RequestScope implements DefaultLifecycleObserver {
+
+    private final Set<Call<?>> calls = new HashSet<>();
+    private final List<Scoped<?>> scoped = new ArrayList<>();
+    private boolean destroyed;
+
+    private RequestScope() {
+    }
+
+    public static RequestScope of(LifecycleOwner owner) {
+        RequestScope scope = new RequestScope();
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Enqueue {@code call}, cancelling it if the owner is destroyed first.
+     */
+    public <T> void enqueue(Call<T> call, Callback<T> callback) {
+        if (destroyed) {
+            call.cancel();
+            return;
+        }
+        calls.add(call);
+        call.enqueue(new ScopedCallback<>(call, track(callback)));
+    }
+
+    public <T> DataCallback<T> bind(DataCallback<T> callback) {
+        Scoped<DataCallback<T>> holder = track(callback);
+        return new DataCallback<T>() {
+            @Override
+            public void onData(T data, boolean fromCache) {
+                // The network copy is the last delivery; a cached one is followed by another
+                DataCallback<T> delegate = fromCache ? holder.get() : holder.take();
+                if (delegate != null) {
+                    delegate.onData(data, fromCache);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                DataCallback<T> delegate = holder.take();
+                if (delegate != null) {
+                    delegate.onError(t);
+                }
+            }
+        };
+    }
+
+    public DeltaSyncEngine.Callback bind(DeltaSyncEngine.Callback callback) {
+        Scoped<DeltaSyncEngine.Callback> holder = track(callback);
+        return new DeltaSyncEngine.Callback() {
+            @Override
+            public void onComplete(boolean changed) {
+                DeltaSyncEngine.Callback delegate = holder.take();
+                if (delegate != null) {
+                    delegate.onComplete(changed);
+                }
+            }
+
+            @Override
+            public void onProgress() {
+                DeltaSyncEngine.Callback delegate = holder.get();
+                if (delegate != null) {
+                    delegate.onProgress();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                DeltaSyncEngine.Callback delegate = holder.take();
+                if (delegate != null) {
+                    delegate.onError(t);
+                }
+            }
+        };
+    }
+
+    public DashboardRepository.Callback bind(DashboardRepository.Callback callback) {
+        Scoped<DashboardRepository.Callback> holder = track(callback);
+        return new DashboardRepository.Callback() {
+            @Override
+            public void onDashboard(DashboardResponse dashboard, long fetchedAt, boolean fromCache) {
+                DashboardRepository.Callback delegate = fromCache ? holder.get() : holder.take();
+                if (delegate != null) {
+                    delegate.onDashboard(dashboard, fetchedAt, fromCache);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t, int httpCode) {
+                DashboardRepository.Callback delegate = holder.take();
+                if (delegate != null) {
+                    delegate.onError(t, httpCode);
+                }
+            }
+        };
+    }
+
+    /**
+     * For one-shot completions such as a repository's {@code onSaved}.
+     */
+    public Runnable bind(Runnable runnable) {
+        Scoped<Runnable> holder = track(runnable);
+        return () -> {
+            Runnable delegate = holder.take();
+            if (delegate != null) {
+                delegate.run();
+            }
+        };
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        destroyed = true;
+        owner.getLifecycle().removeObserver(this);
+        for (Call<?> call : calls) {
+            call.cancel();
+        }
+        calls.clear();
+        for (Scoped<?> holder : scoped) {
+            holder.release();
+        }
+        scoped.clear();
+    }
+
+    private <T> Scoped<T> track(T delegate) {
+        Scoped<T> holder = new Scoped<>(this, destroyed ? null : delegate);
+        if (!destroyed) {
+            scoped.add(holder);
+        }
+        return holder;
+    }
+
+    /**
+     * A delegate the scope can let go of. Terminal events {@link #take()} it, so the scope
+     * stops tracking callbacks that are finished.
+     */
+    private static final class Scoped<T> {
+        private final RequestScope scope;
+        private T delegate;
+
+        Scoped(RequestScope scope, T delegate) {
+            this.scope = scope;
+            this.delegate = delegate;
+        }
+
+        T get() {
+            return delegate;
+        }
+
+        T take() {
+            T taken = delegate;
+            release();
+            scope.scoped.remove(this);
+            return taken;
+        }
+
+        void release() {
+            delegate = null;
+        }
+    }
+
+    private final class ScopedCallback<T> implements Callback<T> {
+        // The call as enqueued; call adapters may report a different instance to the callback
+        private final Call<T> enqueued;
+        private final Scoped<Callback<T>> holder;
+
+        ScopedCallback(Call<T> enqueued, Scoped<Callback<T>> holder) {
+            this.enqueued = enqueued;
+            this.holder = holder;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            calls.remove(enqueued);
+            Callback<T> delegate = holder.take();
+            if (delegate != null) {
+                delegate.onResponse(call, response);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            calls.remove(enqueued);
+            Callback<T> delegate = holder.take();
+            if (delegate != null) {
+                delegate.onFailure(call, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.soilifymobileapp.ui.lifecycle;
+
+import android.os.SystemClock;
+
+/**
+ * Decides when a screen's data is worth fetching from the server again.
+ *
+ * Local edits, deletes and sync results never make data stale: they are written to the cache
+ * and reach the screen row by row through the repository's {@code changes()}. A refresh is due
+ * only when the data has never loaded, when the last attempt failed, when the server has changes
+ * the cache cannot know about ({@link #markDirty()}), or when the last successful load is older
+ * than {@code maxAgeMs}. Returning to a screen or rotating it therefore costs nothing unless one
+ * of those is true. Only one refresh is in flight at a time. Call it from the main thread.
+ */
+public final class Staleness {
+
+    private final long maxAgeMs;
+    // elapsedRealtime of the last successful load, or 0 if it has never loaded
+    private long loadedAt;
+    private boolean dirty = true;
+    private boolean loading;
+
+    public Staleness(long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * @return true if a refresh should start now; the caller must then start one, since this
+     * marks it as loading
+     */
+    public boolean beginIfStale() {
+        if (loading) {
+            return false;
+        }
+        boolean stale = dirty || loadedAt == 0 || SystemClock.elapsedRealtime() - loadedAt > maxAgeMs;
+        if (stale) {
+            loading = true;
+            dirty = false;
+        }
+        return stale;
+    }
+
+    public void onLoaded() {
+        loading = false;
+        loadedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * The refresh failed; the next {@link #beginIfStale()} tries again.
+     */
+    public void onFailed() {
+        loading = false;
+        dirty = true;
+    }
+
+    /**
+     * The server holds rows that did not pass through the cache, such as readings a CSV import
+     * uploaded; the next {@link #beginIfStale()} fetches them.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.soilifymobileapp.ui.table;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AlertDialog;
+
+import com.example.soilifymobileapp.R;
+import com.example.soilifymobileapp.models.QueryResultTable;
+
+/**
+ * Shows a query result in a {@link ResultGridView} with a filter box.
+ */
+public final class QueryResultDialog {
+
+    private QueryResultDialog() {
+    }
+
+    public static void show(Context context, String title, QueryResultTable table) {
+        View view = LayoutInflater.from(context).inflate(R.layout.dialog_query_results, null);
+        EditText etFilter = view.findViewById(R.id.etResultFilter);
+        TextView tvCount = view.findViewById(R.id.tvResultCount);
+        ResultGridView grid = view.findViewById(R.id.gridResults);
+
+        grid.setOnRowsChangedListener((shown, total) -> tvCount.setText(shown == total
+                ? total + " rows"
+                : shown + " of " + total + " rows"));
+        grid.setTable(table);
+        etFilter.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                grid.setFilter(s.toString());
+            }
+        });
+
+        new AlertDialog.Builder(context)
+                .setTitle(title)
+                .setView(view)
+                .setPositiveButton("Close", null)
+                .show();
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.soilifymobileapp.ui.table;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.soilifymobileapp.models.QueryResultTable;
+
+/**
+ * Scrollable grid for a {@link QueryResultTable}.
+ *
+ * Nothing is inflated per cell: each frame draws only the rows and columns that intersect the
+ * viewport, straight from the table's column arrays, so a result of thousands of rows costs
+ * the same to scroll as one of ten. The header row stays pinned while scrolling vertically;
+ * tapping a header sorts by that column, tapping it again reverses the order.
+ */
+public class ResultGridView extends View {
+
+    private static final int SAMPLE_ROWS_FOR_WIDTH = 50;
+    private static final String ELLIPSIS = "…";
+
+    private final Paint cellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint headerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint headerBackground = new Paint();
+    private final Paint stripeBackground = new Paint();
+    private final Paint gridPaint = new Paint();
+    private final OverScroller scroller;
+    private final GestureDetector gestureDetector;
+
+    private final float rowHeight;
+    private final float cellPadding;
+    private final float minColumnWidth;
+    private final float maxColumnWidth;
+
+    private QueryResultTable table;
+    private int[] rows = new int[0];
+    private float[] columnLefts = new float[1];
+    private int sortColumn = -1;
+    private boolean sortAscending = true;
+    private String filter;
+    private OnRowsChangedListener onRowsChangedListener;
+
+    /**
+     * Told how many rows are visible after filtering.
+     */
+    public interface OnRowsChangedListener {
+        void onRowsChanged(int shown, int total);
+    }
+
+    public ResultGridView(Context context) {
+        this(context, null);
+    }
+
+    public ResultGridView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        rowHeight = dp(40);
+        cellPadding = dp(12);
+        minColumnWidth = dp(64);
+        maxColumnWidth = dp(240);
+
+        cellPaint.setColor(Color.BLACK);
+        cellPaint.setTextSize(sp(14));
+        headerPaint.setColor(Color.BLACK);
+        headerPaint.setTextSize(sp(14));
+        headerPaint.setFakeBoldText(true);
+        headerBackground.setColor(Color.rgb(224, 242, 233));
+        stripeBackground.setColor(Color.rgb(247, 247, 247));
+        gridPaint.setColor(Color.rgb(221, 221, 221));
+        gridPaint.setStrokeWidth(1);
+
+        scroller = new OverScroller(context);
+        gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                scroller.forceFinished(true);
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+                // Keep the gesture inside the grid rather than the dialog or list around it
+                getParent().requestDisallowInterceptTouchEvent(true);
+                scrollTo(clamp(getScrollX() + (int) distanceX, maxScrollX()),
+                        clamp(getScrollY() + (int) distanceY, maxScrollY()));
+                return true;
+            }
+
+            @Override
+            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+                scroller.fling(getScrollX(), getScrollY(), (int) -velocityX, (int) -velocityY,
+                        0, maxScrollX(), 0, maxScrollY());
+                postInvalidateOnAnimation();
+                return true;
+            }
+
+            @Override
+            public boolean onSingleTapUp(MotionEvent e) {
+                if (e.getY() < rowHeight) {
+                    onHeaderTapped(columnAt(e.getX() + getScrollX()));
+                }
+                return true;
+            }
+        });
+    }
+
+    public void setTable(QueryResultTable table) {
+        this.table = table;
+        sortColumn = -1;
+        sortAscending = true;
+        measureColumns();
+        applyQuery();
+        scrollTo(0, 0);
+    }
+
+    /**
+     * Show only rows with a cell containing {@code filter} (case-insensitive).
+     */
+    public void setFilter(String filter) {
+        this.filter = filter;
+        applyQuery();
+        scrollTo(clamp(getScrollX(), maxScrollX()), 0);
+    }
+
+    public void setOnRowsChangedListener(OnRowsChangedListener listener) {
+        onRowsChangedListener = listener;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return gestureDetector.onTouchEvent(event) || super.onTouchEvent(event);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            scrollTo(scroller.getCurrX(), scroller.getCurrY());
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        scrollTo(clamp(getScrollX(), maxScrollX()), clamp(getScrollY(), maxScrollY()));
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        if (table == null) {
+            return;
+        }
+        int scrollX = getScrollX();
+        int scrollY = getScrollY();
+        int width = getWidth();
+        int height = getHeight();
+        int columnCount = table.getColumnCount();
+
+        // Visible column range
+        int firstColumn = Math.max(0, columnAt(scrollX));
+        int lastColumn = Math.min(columnCount - 1, columnAt(scrollX + width));
+
+        // Visible row range, below the pinned header
+        int firstRow = Math.max(0, (int) (scrollY / rowHeight));
+        int lastRow = Math.min(rows.length - 1, (int) ((scrollY + height - rowHeight) / rowHeight));
+
+        float textOffset = (rowHeight - cellPaint.descent() - cellPaint.ascent()) / 2;
+        for (int i = firstRow; i <= lastRow; i++) {
+            float top = rowHeight + i * rowHeight; // Content y; the first row sits below the header
+            if (i % 2 == 1) {
+                canvas.drawRect(scrollX, top, scrollX + width, top + rowHeight, stripeBackground);
+            }
+            int row = rows[i];
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                String value = table.getText(column, row);
+                drawCell(canvas, value != null ? value : "NULL", column, top + textOffset, cellPaint,
+                        table.isNumeric(column));
+            }
+            canvas.drawLine(scrollX, top + rowHeight, scrollX + width, top + rowHeight, gridPaint);
+        }
+
+        // The header is drawn last, over the rows, at the current vertical scroll position
+        float headerTop = scrollY;
+        canvas.drawRect(scrollX, headerTop, scrollX + width, headerTop + rowHeight, headerBackground);
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            String name = table.getColumnName(column);
+            if (column == sortColumn) {
+                name += sortAscending ? " ▲" : " ▼";
+            }
+            drawCell(canvas, name, column, headerTop + textOffset, headerPaint, false);
+            canvas.drawLine(columnLefts[column + 1], headerTop, columnLefts[column + 1], scrollY + height, gridPaint);
+        }
+    }
+
+    private void drawCell(Canvas canvas, String text, int column, float baseline, Paint paint, boolean alignEnd) {
+        float available = columnLefts[column + 1] - columnLefts[column] - 2 * cellPadding;
+        String shown = text;
+        int fits = paint.breakText(text, true, available, null);
+        if (fits < text.length()) {
+            int keep = paint.breakText(text, true, available - paint.measureText(ELLIPSIS), null);
+            shown = text.substring(0, Math.max(0, keep)) + ELLIPSIS;
+        }
+        float x = alignEnd
+                ? columnLefts[column + 1] - cellPadding - paint.measureText(shown)
+                : columnLefts[column] + cellPadding;
+        canvas.drawText(shown, x, baseline, paint);
+    }
+
+    private void onHeaderTapped(int column) {
+        if (table == null || column < 0 || column >= table.getColumnCount()) {
+            return;
+        }
+        if (column == sortColumn) {
+            sortAscending = !sortAscending;
+        } else {
+            sortColumn = column;
+            sortAscending = true;
+        }
+        applyQuery();
+    }
+
+    private void applyQuery() {
+        rows = table != null ? table.query(sortColumn, sortAscending, filter) : new int[0];
+        if (onRowsChangedListener != null) {
+            onRowsChangedListener.onRowsChanged(rows.length, table != null ? table.getRowCount() : 0);
+        }
+        invalidate();
+    }
+
+    /**
+     * Size each column to its header and a sample of its first rows, within min/max bounds.
+     */
+    private void measureColumns() {
+        int columnCount = table != null ? table.getColumnCount() : 0;
+        columnLefts = new float[columnCount + 1];
+        for (int column = 0; column < columnCount; column++) {
+            float widest = headerPaint.measureText(table.getColumnName(column) + " ▲");
+            int sample = Math.min(table.getRowCount(), SAMPLE_ROWS_FOR_WIDTH);
+            for (int row = 0; row < sample; row++) {
+                String value = table.getText(column, row);
+                if (value != null) {
+                    widest = Math.max(widest, cellPaint.measureText(value));
+                }
+            }
+            float width = Math.min(maxColumnWidth, Math.max(minColumnWidth, widest + 2 * cellPadding));
+            columnLefts[column + 1] = columnLefts[column] + width;
+        }
+    }
+
+    /**
+     * @return the column under content x, -1 left of the grid or the column count right of it
+     */
+    private int columnAt(float x) {
+        if (x < 0) {
+            return -1;
+        }
+        for (int column = 0; column < columnLefts.length - 1; column++) {
+            if (x < columnLefts[column + 1]) {
+                return column;
+            }
+        }
+        return columnLefts.length - 1;
+    }
+
+    private int maxScrollX() {
+        return Math.max(0, (int) columnLefts[columnLefts.length - 1] - getWidth());
+    }
+
+    private int maxScrollY() {
+        return Math.max(0, (int) ((rows.length + 1) * rowHeight) - getHeight());
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    private float sp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, value, getResources().getDisplayMetrics());
+    }
+}
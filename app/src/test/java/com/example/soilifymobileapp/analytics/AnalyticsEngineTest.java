@@ -0,0 +1,266 @@
+package com.example.soilifymobileapp.analytics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class AnalyticsEngineTest {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+    // 2024-05-10T12:00:00Z
+    private static final long NOW = 1_715_342_400_000L;
+    private static final float DELTA = 1e-4f;
+
+    private final AnalyticsEngine engine = new AnalyticsEngine();
+
+    @Test
+    public void emptyEngineReportsNothing() {
+        assertFalse(engine.hasData());
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals(0, overview.getWeatherSummary().getTotalRecords());
+        assertNull(overview.getWeatherSummary().getAverageTemperature());
+        assertNull(overview.getFertilizerSummary().getMostUsedFertilizer());
+        assertNull(overview.getLastWeatherRecord());
+        assertTrue(engine.fertilizerByType().isEmpty());
+        assertTrue(engine.weatherTrends(7, null, NOW).isEmpty());
+    }
+
+    @Test
+    public void overviewAveragesIgnoreMissingReadings() {
+        engine.upsertWeather(Arrays.asList(
+                weather(1, 10, 20f, 5f, null, NOW - DAY_MS),
+                weather(2, 10, 30f, null, 40f, NOW),
+                weather(3, 11, null, 15f, 60f, NOW)));
+
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals(3, overview.getWeatherSummary().getTotalRecords());
+        assertEquals(25f, overview.getWeatherSummary().getAverageTemperature(), DELTA);
+        assertEquals(10f, overview.getWeatherSummary().getAverageRainfall(), DELTA);
+        assertEquals(50f, overview.getWeatherSummary().getAverageSoilMoisture(), DELTA);
+        assertEquals(30f, overview.getWeatherSummary().getMaxTemperature(), DELTA);
+        assertEquals(20f, overview.getWeatherSummary().getMinTemperature(), DELTA);
+        assertEquals(15f, overview.getWeatherSummary().getMaxRainfall(), DELTA);
+        assertEquals(2, overview.getWeatherSummary().getFieldsMonitored());
+        assertEquals("2024-05-10T12:00:00.000Z", overview.getLastWeatherRecord());
+    }
+
+    @Test
+    public void editAndDeleteUndoTheOldValues() {
+        engine.upsertWeather(Arrays.asList(
+                weather(1, 10, 40f, 0f, 0f, NOW),
+                weather(2, 10, 10f, 0f, 0f, NOW)));
+        engine.upsertWeather(Collections.singletonList(weather(1, 10, 20f, 0f, 0f, NOW)));
+
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals(2, overview.getWeatherSummary().getTotalRecords());
+        assertEquals(20f, overview.getWeatherSummary().getMaxTemperature(), DELTA);
+        assertEquals(15f, overview.getWeatherSummary().getAverageTemperature(), DELTA);
+
+        engine.deleteWeather(Arrays.asList(1, 2, 99));
+        overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals(0, overview.getWeatherSummary().getTotalRecords());
+        assertNull(overview.getWeatherSummary().getMaxTemperature());
+        assertEquals(0, overview.getWeatherSummary().getFieldsMonitored());
+        assertFalse(engine.hasData());
+    }
+
+    @Test
+    public void retainDropsRowsNotSeen() {
+        engine.upsertFertiliser(Arrays.asList(
+                fertiliser(1, 10, "NPK", 50f, "2024-05-01"),
+                fertiliser(2, 11, "Urea", 20f, "2024-05-03")));
+        engine.retainFertiliser(new HashSet<>(Collections.singletonList(1)));
+
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals(1, overview.getFertilizerSummary().getTotalApplications());
+        assertEquals(1, overview.getFertilizerSummary().getFieldsFertilized());
+        assertEquals("2024-05-01", overview.getLastFertilizerApplication());
+    }
+
+    @Test
+    public void fertiliserByTypeIsLargestFirstWithShares() {
+        engine.upsertFertiliser(Arrays.asList(
+                fertiliser(1, 10, "NPK", 30f, "2024-05-01"),
+                fertiliser(2, 10, "Urea", 40f, "2024-05-02"),
+                fertiliser(3, 11, "NPK", 30f, "2024-05-03")));
+
+        List<FertilizerByType> byType = engine.fertilizerByType();
+        assertEquals(2, byType.size());
+        assertEquals("NPK", byType.get(0).getFertiliserType());
+        assertEquals(60f, byType.get(0).getTotalAmountKg(), DELTA);
+        assertEquals(2, byType.get(0).getApplicationCount());
+        assertEquals(60f, byType.get(0).getPercentageOfTotal(), DELTA);
+        assertEquals("Urea", byType.get(1).getFertiliserType());
+
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals("NPK", overview.getFertilizerSummary().getMostUsedFertilizer());
+        assertEquals(100f / 3, overview.getFertilizerSummary().getAverageAmountPerApplication(), DELTA);
+    }
+
+    @Test
+    public void mostUsedFertiliserTieGoesToTheLargerAmount() {
+        engine.upsertFertiliser(Arrays.asList(
+                fertiliser(1, 10, "NPK", 30f, "2024-05-01"),
+                fertiliser(2, 10, "Urea", 45f, "2024-05-02")));
+
+        FarmOverview overview = engine.overview(Collections.emptyList(), Collections.emptyList(), NOW);
+        assertEquals("Urea", overview.getFertilizerSummary().getMostUsedFertilizer());
+    }
+
+    @Test
+    public void weatherTrendsCoverTheLastDaysOldestFirst() {
+        engine.upsertWeather(Arrays.asList(
+                weather(1, 10, 10f, 1f, 30f, NOW - 8 * DAY_MS),
+                weather(2, 10, 20f, 2f, 40f, NOW - DAY_MS),
+                weather(3, 11, 30f, null, null, NOW - DAY_MS),
+                weather(4, 10, 16f, 4f, 20f, NOW)));
+
+        List<WeatherTrend> farm = engine.weatherTrends(7, null, NOW);
+        assertEquals(2, farm.size());
+        assertEquals("2024-05-09", farm.get(0).getDate());
+        assertEquals(25f, farm.get(0).getAverageTemperature(), DELTA);
+        assertEquals(2f, farm.get(0).getAverageRainfall(), DELTA);
+        assertEquals("2024-05-10", farm.get(1).getDate());
+
+        List<WeatherTrend> field = engine.weatherTrends(7, 11, NOW);
+        assertEquals(1, field.size());
+        assertEquals(0f, field.get(0).getAverageRainfall(), DELTA);
+        assertTrue(engine.weatherTrends(7, 12, NOW).isEmpty());
+    }
+
+    @Test
+    public void fieldAnalyticsCountsOnlyThatField() {
+        engine.upsertWeather(Arrays.asList(
+                weather(1, 10, 20f, 4f, 30f, NOW),
+                weather(2, 11, 40f, 8f, 50f, NOW)));
+        engine.upsertFertiliser(Arrays.asList(
+                fertiliser(1, 10, "NPK", 30f, "2024-05-01"),
+                fertiliser(2, 10, "NPK", 10f, "2024-05-07")));
+        List<AlertRead> alerts = Arrays.asList(
+                alert(1, 10, NOW - DAY_MS),
+                alert(2, 10, NOW - 30 * DAY_MS),
+                alert(3, 11, NOW));
+
+        FieldAnalytics analytics = engine.fieldAnalytics(field(10, 2.5f), alerts, NOW);
+        assertEquals(10, analytics.getFieldId());
+        assertEquals(40f, analytics.getTotalFertilizerKg(), DELTA);
+        assertEquals(2, analytics.getFertilizerApplications());
+        assertEquals("2024-05-07", analytics.getLastFertilizerDate());
+        assertEquals(1, analytics.getWeatherRecords());
+        assertEquals(20f, analytics.getAvgTemperature(), DELTA);
+        assertEquals(2, analytics.getTotalAlerts());
+        assertEquals(1, analytics.getRecentAlerts());
+
+        FarmOverview overview = engine.overview(Arrays.asList(field(10, 2.5f), field(11, 1.5f)), alerts, NOW);
+        assertEquals(4f, overview.getTotalAreaHectares(), DELTA);
+        assertEquals(3, overview.getTotalAlerts());
+        assertEquals(2, overview.getAlertsThisWeek());
+        assertEquals(1, overview.getAlertsToday());
+        assertEquals("2024-05-10T12:00:00.000Z", overview.getLastAlert());
+    }
+
+    @Test
+    public void incrementalUpdatesMatchAFreshBuild() {
+        Random random = new Random(7);
+        List<WeatherDataRead> current = new ArrayList<>();
+        for (int id = 1; id <= 200; id++) {
+            current.add(randomWeather(random, id));
+        }
+        engine.upsertWeather(current);
+        for (int round = 0; round < 500; round++) {
+            int index = random.nextInt(current.size());
+            if (random.nextBoolean()) {
+                WeatherDataRead edited = randomWeather(random, current.get(index).getId());
+                current.set(index, edited);
+                engine.upsertWeather(Collections.singletonList(edited));
+            } else {
+                engine.deleteWeather(Collections.singletonList(current.remove(index).getId()));
+                WeatherDataRead added = randomWeather(random, 1000 + round);
+                current.add(added);
+                engine.upsertWeather(Collections.singletonList(added));
+            }
+        }
+
+        AnalyticsEngine fresh = new AnalyticsEngine();
+        fresh.upsertWeather(current);
+        Gson gson = new Gson();
+        assertEquals(gson.toJson(fresh.overview(Collections.emptyList(), Collections.emptyList(), NOW)),
+                gson.toJson(engine.overview(Collections.emptyList(), Collections.emptyList(), NOW)));
+        for (Integer fieldId : Arrays.asList(null, 1, 2, 3)) {
+            List<WeatherTrend> expected = fresh.weatherTrends(30, fieldId, NOW);
+            List<WeatherTrend> actual = engine.weatherTrends(30, fieldId, NOW);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getDate(), actual.get(i).getDate());
+                assertEquals(expected.get(i).getAverageTemperature(), actual.get(i).getAverageTemperature(), 1e-3f);
+                assertEquals(expected.get(i).getAverageRainfall(), actual.get(i).getAverageRainfall(), 1e-3f);
+            }
+        }
+    }
+
+    private static WeatherDataRead randomWeather(Random random, int id) {
+        return weather(id, 1 + random.nextInt(3),
+                random.nextInt(5) == 0 ? null : random.nextInt(400) / 10f,
+                random.nextInt(5) == 0 ? null : random.nextInt(200) / 10f,
+                random.nextInt(1000) / 10f,
+                NOW - random.nextInt(30) * DAY_MS);
+    }
+
+    private static WeatherDataRead weather(int id, int fieldId, Float temperature, Float rainfall,
+                                           Float soilMoisture, long time) {
+        WeatherDataRead row = new WeatherDataRead();
+        row.setId(id);
+        row.setFieldId(fieldId);
+        row.setTemperature(temperature);
+        row.setRainfall(rainfall);
+        row.setSoilMoisture(soilMoisture);
+        row.setCreatedAt(new Date(time));
+        return row;
+    }
+
+    private static FertiliserUsageRead fertiliser(int id, int fieldId, String type, float amountKg, String date) {
+        FertiliserUsageRead row = new FertiliserUsageRead();
+        row.setId(id);
+        row.setFieldId(fieldId);
+        row.setFertiliserType(type);
+        row.setAmountKg(amountKg);
+        row.setDate(date);
+        return row;
+    }
+
+    private static AlertRead alert(int id, int fieldId, long time) {
+        AlertRead alert = new AlertRead();
+        alert.setId(id);
+        alert.setFieldId(fieldId);
+        alert.setCreatedAt(new Date(time));
+        return alert;
+    }
+
+    private static FieldRead field(int id, float sizeHectares) {
+        FieldRead field = new FieldRead();
+        field.setId(id);
+        field.setSizeHectares(sizeHectares);
+        return field;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.soilifymobileapp.analytics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class RunningStatsTest {
+
+    @Test
+    public void ignoresNullsAndResetsWhenEmpty() {
+        RunningStats stats = new RunningStats(true);
+        stats.add(null);
+        assertNull(stats.average());
+        stats.add(0.1f);
+        stats.add(0.2f);
+        assertEquals(2, stats.count());
+        assertEquals(0.15f, stats.average(), 1e-6f);
+        assertEquals(0.2f, stats.max(), 0f);
+        stats.remove(0.1f);
+        stats.remove(0.2f);
+        assertEquals(0f, stats.sum(), 0f);
+        assertNull(stats.min());
+        assertNull(new RunningStats(false).max());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.soilifymobileapp.analytics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SortedCountsTest {
+
+    @Test
+    public void extremesFollowAddsAndRemoves() {
+        SortedCounts<Integer> counts = new SortedCounts<>();
+        assertNull(counts.first());
+        counts.add(5);
+        counts.add(1);
+        counts.add(9);
+        counts.add(1);
+        assertEquals(Integer.valueOf(1), counts.first());
+        assertEquals(Integer.valueOf(9), counts.last());
+
+        // One of the two 1s remains
+        counts.remove(1);
+        assertEquals(Integer.valueOf(1), counts.first());
+        counts.remove(1);
+        assertEquals(Integer.valueOf(5), counts.first());
+        counts.remove(9);
+        assertEquals(Integer.valueOf(5), counts.last());
+    }
+
+    @Test
+    public void removingAnAbsentValueChangesNothing() {
+        SortedCounts<Integer> counts = new SortedCounts<>();
+        counts.add(3);
+        counts.remove(4);
+        assertEquals(Integer.valueOf(3), counts.first());
+        counts.remove(3);
+        assertNull(counts.last());
+    }
+}
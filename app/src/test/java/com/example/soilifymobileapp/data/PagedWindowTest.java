@@ -0,0 +1,234 @@
+package com.example.soilifymobileapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.soilifymobileapp.models.WeatherDataRead;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks which rows a window tells its adapter to rebind, which is what keeps a refresh from
+ * rebinding the whole screen.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagedWindowTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final DiffUtil.ItemCallback<WeatherDataRead> BY_ID = new DiffUtil.ItemCallback<WeatherDataRead>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull WeatherDataRead oldItem, @NonNull WeatherDataRead newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull WeatherDataRead oldItem, @NonNull WeatherDataRead newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    /**
+     * The backing list; tests edit it and then refresh the window.
+     */
+    private final List<WeatherDataRead> rows = Collections.synchronizedList(new ArrayList<>());
+    private final Updates updates = new Updates();
+    private PagedWindow<WeatherDataRead> window;
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 45; i++) {
+            rows.add(reading(i + 1, i));
+        }
+        window = new PagedWindow<>(new PagedWindow.PageReader<WeatherDataRead>() {
+            @Override
+            public int count() {
+                return rows.size();
+            }
+
+            @Override
+            public List<WeatherDataRead> read(int offset, int limit) {
+                synchronized (rows) {
+                    return new ArrayList<>(rows.subList(offset, Math.min(rows.size(), offset + limit)));
+                }
+            }
+        }, BY_ID, PAGE_SIZE, 1, 3);
+        window.setUpdateCallback(updates);
+        window.refresh();
+        settle();
+        window.onVisibleRange(0, 5);
+        settle();
+        updates.clear();
+    }
+
+    @Test
+    public void loadsPagesAroundTheVisibleRange() {
+        assertEquals(45, window.size());
+        assertEquals(Integer.valueOf(1), window.get(0).getId());
+        assertEquals(Integer.valueOf(20), window.get(19).getId());
+        assertTrue(updates.events.isEmpty());
+    }
+
+    @Test
+    public void placeholderUntilThePageIsRead() {
+        assertNull(window.get(44));
+        settle();
+
+        assertEquals(Integer.valueOf(45), window.get(44).getId());
+        assertEquals(Collections.singletonList("changed 40+5"), updates.events);
+    }
+
+    @Test
+    public void evictsPagesFarFromTheVisibleRange() {
+        window.onVisibleRange(40, 44);
+        settle();
+        updates.clear();
+
+        assertNull("page 0 was evicted", window.get(0));
+    }
+
+    @Test
+    public void refreshRebindsOnlyTheChangedRow() {
+        WeatherDataRead edited = reading(4, 3);
+        edited.setTemperature(30f);
+        rows.set(3, edited);
+
+        window.refresh();
+        settle();
+
+        assertEquals(Collections.singletonList("changed 3+1"), updates.events);
+        assertSame(edited, window.get(3));
+    }
+
+    @Test
+    public void unchangedRefreshRebindsNothing() {
+        window.refresh();
+        settle();
+
+        assertTrue(updates.events.toString(), updates.events.isEmpty());
+    }
+
+    @Test
+    public void refreshInsertsANewRowWithoutRebindingTheRest() {
+        rows.add(0, reading(100, 100));
+
+        window.refresh();
+        settle();
+
+        assertEquals(46, window.size());
+        assertTrue(updates.events.toString(), updates.events.contains("inserted 0+1"));
+        assertEquals(0, updates.changedRows());
+        assertEquals(Integer.valueOf(100), window.get(0).getId());
+    }
+
+    @Test
+    public void refreshRemovesADeletedRow() {
+        rows.remove(2);
+
+        window.refresh();
+        settle();
+
+        assertEquals(44, window.size());
+        assertTrue(updates.events.toString(), updates.events.contains("removed 2+1"));
+        assertEquals(0, updates.changedRows());
+    }
+
+    @Test
+    public void replaceRebindsOnlyThatRow() {
+        WeatherDataRead saved = reading(6, 5);
+        saved.setRainfall(12f);
+
+        assertTrue(window.replace(saved));
+        assertEquals(Collections.singletonList("changed 5+1"), updates.events);
+        assertSame(saved, window.get(5));
+    }
+
+    @Test
+    public void replaceWithSameContentsRebindsNothing() {
+        assertTrue(window.replace(reading(6, 5)));
+        assertTrue(updates.events.isEmpty());
+    }
+
+    @Test
+    public void replaceOfAnItemNotResident() {
+        assertFalse(window.replace(reading(999, 1)));
+        assertTrue(updates.events.isEmpty());
+    }
+
+    /**
+     * Runs the disk work queued so far, then the main-thread results it posted.
+     */
+    private static void settle() {
+        try {
+            AppExecutors.getInstance().diskIO().submit(() -> {
+            }).get();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static WeatherDataRead reading(int id, int seed) {
+        WeatherDataRead reading = new WeatherDataRead();
+        reading.setId(id);
+        reading.setFieldId(1);
+        reading.setFieldName("North");
+        reading.setTemperature(15f + seed);
+        return reading;
+    }
+
+    private static class Updates implements ListUpdateCallback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onInserted(int position, int count) {
+            events.add("inserted " + position + "+" + count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            events.add("removed " + position + "+" + count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            events.add("moved " + fromPosition + ">" + toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            events.add("changed " + position + "+" + count);
+        }
+
+        int changedRows() {
+            int rows = 0;
+            for (String event : events) {
+                if (event.startsWith("changed ")) {
+                    rows += Integer.parseInt(event.substring(event.indexOf('+') + 1));
+                }
+            }
+            return rows;
+        }
+
+        void clear() {
+            events.clear();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.soilifymobileapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class AlertDaoTest {
+
+    private OutboxDao outboxDao;
+    private AlertDao alertDao;
+
+    @Before
+    public void setUp() {
+        SoilifyDatabase database = SoilifyDatabase.getInstance(RuntimeEnvironment.getApplication());
+        database.clearCache();
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_OUTBOX, null, null);
+        outboxDao = new OutboxDao(database, new Gson());
+        outboxDao.setAccount("farmer@example.com");
+        alertDao = new AlertDao(database);
+    }
+
+    @Test
+    public void replaceAllKeepsTheNewestFirst() {
+        alertDao.replaceAll(Arrays.asList(alert(1, 10, 100L), alert(2, 10, 200L)), outboxDao);
+
+        List<AlertRead> recent = alertDao.getRecent(1);
+        assertEquals(1, recent.size());
+        assertEquals(2, recent.get(0).getId());
+    }
+
+    @Test
+    public void alertsForAFieldWithQueuedDeleteAreLeftOut() {
+        outboxDao.enqueueDelete(OutboxEntry.TYPE_FIELD, 10);
+
+        alertDao.replaceAll(Arrays.asList(alert(1, 10, 100L), alert(2, 11, 200L), alert(3, null, 300L)),
+                outboxDao);
+
+        List<AlertRead> recent = alertDao.getRecent(10);
+        assertEquals(2, recent.size());
+        assertEquals(3, recent.get(0).getId());
+        assertEquals(2, recent.get(1).getId());
+    }
+
+    private static AlertRead alert(int id, Integer fieldId, long createdAt) {
+        AlertRead alert = new AlertRead();
+        alert.setId(id);
+        alert.setFieldId(fieldId);
+        alert.setMessage("Frost expected");
+        alert.setCreatedAt(new Date(createdAt));
+        return alert;
+    }
+}
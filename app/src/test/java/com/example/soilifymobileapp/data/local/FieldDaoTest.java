@@ -0,0 +1,111 @@
+package com.example.soilifymobileapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.FieldUpdate;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A full refresh of the field list must not undo local changes that are still queued.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FieldDaoTest {
+
+    private SoilifyDatabase database;
+    private OutboxDao outboxDao;
+    private FieldDao fieldDao;
+
+    @Before
+    public void setUp() {
+        database = SoilifyDatabase.getInstance(RuntimeEnvironment.getApplication());
+        database.clearCache();
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_OUTBOX, null, null);
+        outboxDao = new OutboxDao(database, new Gson());
+        outboxDao.setAccount("farmer@example.com");
+        fieldDao = new FieldDao(database);
+    }
+
+    @Test
+    public void replaceAllSwapsInTheServerList() {
+        fieldDao.replaceAll(Arrays.asList(field(1, "North"), field(2, "South")), outboxDao);
+        fieldDao.replaceAll(Arrays.asList(field(2, "South paddock"), field(3, "East")), outboxDao);
+
+        assertEquals(Arrays.asList(2, 3), ids(fieldDao.getAll()));
+        assertEquals("South paddock", fieldDao.getById(2).getFieldName());
+    }
+
+    @Test
+    public void fieldWithQueuedDeleteIsNotBroughtBack() {
+        fieldDao.replaceAll(Arrays.asList(field(1, "North"), field(2, "South")), outboxDao);
+
+        // What FieldRepository.deleteField does
+        outboxDao.enqueueDelete(OutboxEntry.TYPE_FIELD, 1);
+        fieldDao.delete(1);
+        // The server has not seen the delete, so it still lists the field
+        fieldDao.replaceAll(Arrays.asList(field(1, "North"), field(2, "South")), outboxDao);
+
+        assertNull(fieldDao.getById(1));
+        assertEquals(Arrays.asList(2), ids(fieldDao.getAll()));
+    }
+
+    @Test
+    public void anotherAccountsQueuedDeleteIsIgnored() {
+        outboxDao.setAccount("neighbour@example.com");
+        outboxDao.enqueueDelete(OutboxEntry.TYPE_FIELD, 1);
+        outboxDao.setAccount("farmer@example.com");
+
+        fieldDao.replaceAll(Arrays.asList(field(1, "North")), outboxDao);
+
+        assertEquals(Arrays.asList(1), ids(fieldDao.getAll()));
+    }
+
+    @Test
+    public void queuedEditKeepsTheFieldListed() {
+        fieldDao.replaceAll(Arrays.asList(field(1, "North")), outboxDao);
+        outboxDao.enqueueUpdate(OutboxEntry.TYPE_FIELD, 1, new FieldUpdate("North field", null, null, null));
+
+        fieldDao.replaceAll(Arrays.asList(field(1, "North")), outboxDao);
+
+        assertEquals(Arrays.asList(1), ids(fieldDao.getAll()));
+    }
+
+    @Test
+    public void localRowsSurviveARefresh() {
+        fieldDao.upsert(field(-7, "Pending"));
+
+        fieldDao.replaceAll(Arrays.asList(field(1, "North")), outboxDao);
+
+        assertEquals("Pending", fieldDao.getById(-7).getFieldName());
+        assertEquals(2, fieldDao.getAll().size());
+    }
+
+    private static FieldRead field(int id, String name) {
+        FieldRead field = new FieldRead();
+        field.setId(id);
+        field.setFieldName(name);
+        // Newest first in getAll, so order by id for readable assertions
+        field.setCreatedAt(new Date(1_000_000L - id));
+        return field;
+    }
+
+    private static List<Integer> ids(List<FieldRead> fields) {
+        List<Integer> ids = new ArrayList<>();
+        for (FieldRead field : fields) {
+            ids.add(field.getId());
+        }
+        return ids;
+    }
+}
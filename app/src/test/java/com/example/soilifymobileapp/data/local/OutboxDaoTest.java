@@ -0,0 +1,127 @@
+package com.example.soilifymobileapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The outbox and cache steps SyncManager takes for a create, including one deleted while its
+ * request is in flight.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class OutboxDaoTest {
+
+    private static final int SERVER_ID = 42;
+
+    private SoilifyDatabase database;
+    private OutboxDao outboxDao;
+    private WeatherDataDao weatherDataDao;
+
+    @Before
+    public void setUp() {
+        database = SoilifyDatabase.getInstance(RuntimeEnvironment.getApplication());
+        // The database is a process-wide singleton, so start each test from empty tables
+        database.clearCache();
+        database.getWritableDatabase().delete(SoilifyDatabase.TABLE_OUTBOX, null, null);
+        outboxDao = new OutboxDao(database, new Gson());
+        outboxDao.setAccount("farmer@example.com");
+        weatherDataDao = new WeatherDataDao(database);
+    }
+
+    @Test
+    public void createDeliveredIsReplacedByServerCopy() {
+        int localId = createPending();
+        OutboxEntry sent = single(outboxDao.getBatch(20));
+
+        weatherDataDao.reconcile(localId, serverCopy());
+        assertTrue(outboxDao.completeCreate(sent, SERVER_ID));
+
+        assertTrue(outboxDao.getBatch(20).isEmpty());
+        assertNull(weatherDataDao.getById(localId));
+        assertEquals(Integer.valueOf(SERVER_ID), weatherDataDao.getById(SERVER_ID).getId());
+    }
+
+    @Test
+    public void createDeletedInFlightQueuesDeleteForServerId() {
+        int localId = createPending();
+        OutboxEntry sent = single(outboxDao.getBatch(20));
+
+        // The user deletes the pending row while the create is on its way
+        outboxDao.enqueueDelete(OutboxEntry.TYPE_WEATHER_DATA, localId);
+        weatherDataDao.delete(localId);
+        assertTrue(outboxDao.getBatch(20).isEmpty());
+
+        // The create then succeeds
+        weatherDataDao.reconcile(localId, serverCopy());
+        assertFalse(outboxDao.completeCreate(sent, SERVER_ID));
+        weatherDataDao.delete(SERVER_ID);
+
+        OutboxEntry delete = single(outboxDao.getBatch(20));
+        assertEquals(OutboxEntry.OP_DELETE, delete.getOperation());
+        assertEquals(SERVER_ID, delete.getEntityId());
+        assertTrue(weatherDataDao.getAll().isEmpty());
+
+        outboxDao.complete(delete);
+        assertTrue(outboxDao.getBatch(20).isEmpty());
+    }
+
+    @Test
+    public void editDuringCreateIsReaddressedToServerId() {
+        int localId = createPending();
+        OutboxEntry sent = single(outboxDao.getBatch(20));
+
+        outboxDao.enqueueUpdate(OutboxEntry.TYPE_WEATHER_DATA, localId,
+                new WeatherDataCreate(1, 25f, null, null));
+        weatherDataDao.reconcile(localId, serverCopy());
+        assertTrue(outboxDao.completeCreate(sent, SERVER_ID));
+
+        OutboxEntry update = single(outboxDao.getBatch(20));
+        assertEquals(OutboxEntry.OP_UPDATE, update.getOperation());
+        assertEquals(SERVER_ID, update.getEntityId());
+        assertTrue(update.getPayload().contains("25"));
+    }
+
+    /**
+     * What WeatherDataRepository.createWeatherData journals and caches.
+     */
+    private int createPending() {
+        WeatherDataCreate create = new WeatherDataCreate(1, 21.5f, 3f, 40f);
+        int localId = outboxDao.enqueueCreate(OutboxEntry.TYPE_WEATHER_DATA, create);
+        WeatherDataRead pending = new WeatherDataRead();
+        pending.setId(localId);
+        pending.setFieldId(1);
+        pending.setTemperature(21.5f);
+        pending.setCreatedAt(new Date());
+        weatherDataDao.upsert(pending);
+        assertTrue(localId < 0);
+        return localId;
+    }
+
+    private static WeatherDataRead serverCopy() {
+        WeatherDataRead saved = new WeatherDataRead();
+        saved.setId(SERVER_ID);
+        saved.setFieldId(1);
+        saved.setTemperature(21.5f);
+        saved.setCreatedAt(new Date());
+        return saved;
+    }
+
+    private static OutboxEntry single(List<OutboxEntry> entries) {
+        assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+}
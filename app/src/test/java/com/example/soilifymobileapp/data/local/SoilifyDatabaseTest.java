@@ -0,0 +1,59 @@
+package com.example.soilifymobileapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An install upgraded from the first release must end up with the same schema as a new one.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SoilifyDatabaseTest {
+
+    private final SoilifyDatabase database = SoilifyDatabase.getInstance(RuntimeEnvironment.getApplication());
+    private final SQLiteDatabase fresh = SQLiteDatabase.create(null);
+    private final SQLiteDatabase upgraded = SQLiteDatabase.create(null);
+
+    @After
+    public void tearDown() {
+        fresh.close();
+        upgraded.close();
+    }
+
+    @Test
+    public void upgradeFromVersion1MatchesAFreshInstall() {
+        database.onCreate(fresh);
+
+        // Version 1 had the cache tables only
+        database.onCreate(upgraded);
+        upgraded.execSQL("DROP TABLE " + SoilifyDatabase.TABLE_OUTBOX);
+        upgraded.execSQL("DROP TABLE " + SoilifyDatabase.TABLE_SYNC_STATE);
+        database.onUpgrade(upgraded, 1, database.getReadableDatabase().getVersion());
+
+        assertEquals(schema(fresh), schema(upgraded));
+    }
+
+    /**
+     * @return the SQL of every table and index, by name
+     */
+    private static Map<String, String> schema(SQLiteDatabase db) {
+        Map<String, String> schema = new TreeMap<>();
+        try (Cursor cursor = db.rawQuery("SELECT name, sql FROM sqlite_master"
+                + " WHERE type IN ('table', 'index') AND sql IS NOT NULL", null)) {
+            while (cursor.moveToNext()) {
+                schema.put(cursor.getString(0), cursor.getString(1));
+            }
+        }
+        return schema;
+    }
+}
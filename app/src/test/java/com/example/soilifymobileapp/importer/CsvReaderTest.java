@@ -0,0 +1,91 @@
+package com.example.soilifymobileapp.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CsvReaderTest {
+
+    @Test
+    public void readsPlainRecords() throws IOException {
+        assertEquals(Arrays.asList(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList("1", "", "3")),
+                readAll("a,b,c\n1,,3\n"));
+    }
+
+    @Test
+    public void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        assertEquals(Arrays.asList(
+                Arrays.asList("x, y", "say \"hi\"", "two\nlines"),
+                Arrays.asList("last")),
+                readAll("\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\nlast"));
+    }
+
+    @Test
+    public void acceptsEveryLineEndingAndSkipsBlankLinesAndBom() throws IOException {
+        assertEquals(Arrays.asList(
+                Arrays.asList("a"), Arrays.asList("b"), Arrays.asList("c"), Arrays.asList("d")),
+                readAll("﻿a\r\nb\rc\n\n\r\nd"));
+    }
+
+    @Test
+    public void reportsTheLineEachRecordStartsOn() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h\n\"multi\nline\"\n\nnext\n"));
+        reader.next();
+        assertEquals(1, reader.getLineNumber());
+        reader.next();
+        assertEquals(2, reader.getLineNumber());
+        reader.next();
+        assertEquals(5, reader.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void recordsSpanningTheBufferAreReadWhole() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            csv.append(i).append(",\"value ").append(i).append("\"\r\n");
+        }
+        List<List<String>> records = readAll(csv.toString());
+        assertEquals(5_000, records.size());
+        assertEquals(Arrays.asList("4321", "value 4321"), records.get(4321));
+    }
+
+    @Test
+    public void unterminatedQuoteFails() {
+        try {
+            readAll("a\n\"never closed\n");
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("line 2"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void overlongFieldFails() throws IOException {
+        char[] field = new char[CsvReader.MAX_FIELD_LENGTH + 1];
+        Arrays.fill(field, 'x');
+        readAll(new String(field));
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            // The reader reuses its list
+            records.add(new ArrayList<>(record));
+        }
+        return records;
+    }
+}
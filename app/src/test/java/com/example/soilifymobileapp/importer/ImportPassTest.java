@@ -0,0 +1,178 @@
+package com.example.soilifymobileapp.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherImportResult;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportPassTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    private final List<List<Integer>> uploads = new ArrayList<>();
+    private final List<Long> checkpoints = new ArrayList<>();
+    // Batches after this many are refused, to stand in for a failure part way through
+    private int acceptBatches = Integer.MAX_VALUE;
+    // Readings the server reports as already held, per batch
+    private int serverDuplicates;
+
+    @Test
+    public void uploadsValidUniqueRowsInBatches() throws Exception {
+        String csv = "field_id,timestamp,temperature\n"
+                + "1,2024-05-01 10:00,20\n"
+                + "1,2024-05-01 11:00,21\n"
+                + "1,2024-05-01 10:00,20\n"   // repeats row 1
+                + "2,2024-05-01 10:00,hot\n"  // invalid
+                + "2,2024-05-01 10:00,19\n"
+                + "2,2024-05-01 11:00,18\n";
+        ImportPass pass = new ImportPass(BATCH_SIZE, 0, 0, 0, 0, null);
+
+        assertTrue(run(pass, csv));
+        assertEquals(6, pass.getRowsRead());
+        assertEquals(4, pass.getUploaded());
+        assertEquals(1, pass.getDuplicates());
+        assertEquals(1, pass.getInvalid());
+        assertTrue(pass.getNote(), pass.getNote().startsWith("Line 5 skipped"));
+        assertEquals(4, uploadedCount());
+        // A checkpoint follows the full batch only; the final partial batch ends the pass
+        assertEquals(1, checkpoints.size());
+        assertEquals(Long.valueOf(5), checkpoints.get(0));
+    }
+
+    @Test
+    public void resumesAfterTheLastCheckpointWithoutRepeatingWork() throws Exception {
+        String csv = file(10);
+        acceptBatches = 2;
+        ImportPass first = new ImportPass(BATCH_SIZE, 0, 0, 0, 0, null);
+        try {
+            run(first, csv);
+            fail();
+        } catch (ImportException expected) {
+            // The third batch was refused
+        }
+        assertEquals(Long.valueOf(6), checkpoints.get(checkpoints.size() - 1));
+        assertEquals(6, uploadedCount());
+
+        // Resume from the checkpoint the failed pass left behind
+        acceptBatches = Integer.MAX_VALUE;
+        uploads.clear();
+        ImportPass resumed = new ImportPass(BATCH_SIZE, 6, 6, 0, 0, null);
+        assertTrue(run(resumed, csv));
+
+        assertEquals(4, uploadedCount());
+        assertEquals(7, (int) uploads.get(0).get(0));
+        assertEquals(10, resumed.getUploaded());
+        assertEquals(10, resumed.getRowsRead());
+        assertEquals(0, resumed.getDuplicates());
+    }
+
+    @Test
+    public void resumeStillRecognisesRowsRepeatedFromBeforeTheCheckpoint() throws Exception {
+        String csv = file(3) + "1,2024-05-01 01:00,20\n";
+        ImportPass resumed = new ImportPass(BATCH_SIZE, 3, 3, 0, 0, null);
+
+        assertTrue(run(resumed, csv));
+        assertEquals(0, uploadedCount());
+        assertEquals(1, resumed.getDuplicates());
+    }
+
+    @Test
+    public void invalidRowsBeforeTheCheckpointAreNotCountedAgain() throws Exception {
+        String csv = "field_id,timestamp,temperature\n"
+                + "1,2024-05-01 10:00,oops\n"
+                + "1,2024-05-01 11:00,21\n";
+        ImportPass resumed = new ImportPass(BATCH_SIZE, 1, 0, 0, 1, null);
+
+        assertTrue(run(resumed, csv));
+        assertEquals(1, resumed.getInvalid());
+        assertNull(resumed.getNote());
+        assertEquals(1, resumed.getUploaded());
+    }
+
+    @Test
+    public void serverDuplicatesAreCounted() throws Exception {
+        serverDuplicates = 1;
+        ImportPass pass = new ImportPass(BATCH_SIZE, 0, 0, 0, 0, null);
+
+        assertTrue(run(pass, file(6)));
+        assertEquals(4, pass.getUploaded());
+        assertEquals(2, pass.getDuplicates());
+    }
+
+    @Test
+    public void stopsWhenAsked() throws Exception {
+        ImportPass pass = new ImportPass(BATCH_SIZE, 0, 0, 0, 0, null);
+        int[] polls = {0};
+
+        assertFalse(pass.run(new StringReader(file(10)), this::upload, () -> ++polls[0] > 4, listener()));
+        assertEquals(4, pass.getRowsRead());
+        assertEquals(3, uploadedCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void fileWithoutAWeatherHeaderFails() throws Exception {
+        run(new ImportPass(BATCH_SIZE, 0, 0, 0, 0, null), "name,age\nx,1\n");
+    }
+
+    private boolean run(ImportPass pass, String csv) throws ImportException, IOException {
+        return pass.run(new StringReader(csv), this::upload, () -> false, listener());
+    }
+
+    private ImportPass.Listener listener() {
+        return new ImportPass.Listener() {
+            @Override
+            public void onCheckpoint(ImportPass pass) {
+                checkpoints.add(pass.getRowsRead());
+            }
+
+            @Override
+            public void onProgress(ImportPass pass) {
+            }
+        };
+    }
+
+    private WeatherImportResult upload(List<WeatherDataCreate> batch) throws ImportException {
+        if (uploads.size() >= acceptBatches) {
+            throw new ImportException("refused");
+        }
+        List<Integer> hours = new ArrayList<>();
+        for (WeatherDataCreate reading : batch) {
+            hours.add(Integer.parseInt(reading.getRecordedAt().substring(11, 13)));
+        }
+        uploads.add(hours);
+        WeatherImportResult result = new WeatherImportResult();
+        result.setInserted(batch.size() - serverDuplicates);
+        result.setDuplicates(serverDuplicates);
+        return result;
+    }
+
+    private int uploadedCount() {
+        int count = 0;
+        for (List<Integer> batch : uploads) {
+            count += batch.size();
+        }
+        return count;
+    }
+
+    /**
+     * {@code rows} readings for field 1, one per hour from 01:00 UTC.
+     */
+    private static String file(int rows) {
+        StringBuilder csv = new StringBuilder("field_id,timestamp,temperature\n");
+        for (int hour = 1; hour <= rows; hour++) {
+            csv.append("1,2024-05-01T").append(hour < 10 ? "0" : "").append(hour).append(":00:00Z,20\n");
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.soilifymobileapp.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongSetTest {
+
+    @Test
+    public void matchesHashSetThroughGrowth() {
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            // A narrow range so plenty of keys repeat
+            long key = 1 + random.nextInt(30_000) * 0x1_0000_0000L;
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    public void negativeKeysAreStored() {
+        LongSet set = new LongSet();
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(-1));
+        assertEquals(2, set.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroIsRejected() {
+        new LongSet().add(0);
+    }
+}
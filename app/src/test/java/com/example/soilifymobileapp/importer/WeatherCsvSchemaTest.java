@@ -0,0 +1,111 @@
+package com.example.soilifymobileapp.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class WeatherCsvSchemaTest {
+
+    @Test
+    public void findsColumnsByAliasInAnyOrder() throws Exception {
+        WeatherCsvSchema schema = WeatherCsvSchema.fromHeader(
+                Arrays.asList("Battery", "Rain", "Soil Moisture", "Field-ID", "Timestamp"));
+        WeatherDataCreate reading = schema.parse(Arrays.asList("3.7", "1.5", "42", "7", "2024-05-01T10:00:00Z"));
+        assertEquals(Integer.valueOf(7), reading.getFieldId());
+        assertNull(reading.getTemperature());
+        assertEquals(1.5f, reading.getRainfall(), 0f);
+        assertEquals(42f, reading.getSoilMoisture(), 0f);
+        assertTrue(reading.getRecordedAt(), reading.getRecordedAt().startsWith("2024-05-01T10:00:00"));
+    }
+
+    @Test
+    public void headerWithoutRequiredColumnsFails() {
+        assertHeaderFails(Arrays.asList("timestamp", "temperature"), "field_id");
+        assertHeaderFails(Arrays.asList("field_id", "temperature"), "timestamp");
+        assertHeaderFails(Arrays.asList("field_id", "timestamp"), "temperature");
+    }
+
+    @Test
+    public void acceptsEpochSecondsAndMilliseconds() throws Exception {
+        WeatherCsvSchema schema = schema();
+        WeatherDataCreate seconds = schema.parse(row("1", "1714557600", "20"));
+        long secondsKey = schema.lastKey();
+        WeatherDataCreate millis = schema.parse(row("1", "1714557600000", "20"));
+        assertEquals(seconds.getRecordedAt(), millis.getRecordedAt());
+        assertEquals(secondsKey, schema.lastKey());
+    }
+
+    @Test
+    public void keyTellsFieldsAndTimesApart() throws Exception {
+        WeatherCsvSchema schema = schema();
+        schema.parse(row("1", "2024-05-01 10:00", "20"));
+        long first = schema.lastKey();
+        schema.parse(row("2", "2024-05-01 10:00", "20"));
+        assertNotEquals(first, schema.lastKey());
+        schema.parse(row("1", "2024-05-01 10:01", "21"));
+        assertNotEquals(first, schema.lastKey());
+        schema.parse(row("1", "2024-05-01 10:00", "25"));
+        assertEquals(first, schema.lastKey());
+    }
+
+    @Test
+    public void rejectsInvalidRows() {
+        assertRowFails(row("x", "2024-05-01", "20"), "not a number");
+        assertRowFails(row("0", "2024-05-01", "20"), "out of range");
+        assertRowFails(row("1", "", "20"), "no timestamp");
+        assertRowFails(row("1", "01/05/2024", "20"), "not a recognised date");
+        // A date followed by something else must not parse as the date alone
+        assertRowFails(row("1", "2024-05-01 25:00", "20"), "not a recognised date");
+        assertRowFails(row("1", "2999-01-01", "20"), "in the future");
+        assertRowFails(row("1", "2024-05-01", "85"), "outside");
+        assertRowFails(row("1", "2024-05-01", "NaN"), "outside");
+        assertRowFails(row("1", "2024-05-01", ""), "no readings");
+    }
+
+    @Test
+    public void shortRowsReadMissingCellsAsEmpty() throws Exception {
+        WeatherCsvSchema schema = WeatherCsvSchema.fromHeader(
+                Arrays.asList("field_id", "timestamp", "temperature", "rainfall"));
+        WeatherDataCreate reading = schema.parse(Arrays.asList("1", "2024-05-01", " 18.5 "));
+        assertEquals(18.5f, reading.getTemperature(), 0f);
+        assertNull(reading.getRainfall());
+    }
+
+    private static WeatherCsvSchema schema() throws IOException {
+        return WeatherCsvSchema.fromHeader(Arrays.asList("field_id", "timestamp", "temperature"));
+    }
+
+    private static List<String> row(String field, String time, String temperature) {
+        return Arrays.asList(field, time, temperature);
+    }
+
+    private static void assertHeaderFails(List<String> header, String missing) {
+        try {
+            WeatherCsvSchema.fromHeader(header);
+            fail(header.toString());
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(missing));
+        }
+    }
+
+    private static void assertRowFails(List<String> row, String reason) {
+        try {
+            schema().parse(row);
+            fail(row.toString());
+        } catch (WeatherCsvSchema.InvalidRowException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.soilifymobileapp.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.WeatherApi;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Runs whole imports through the real uploader against a local server, with a file large
+ * enough that holding it, or the rows parsed from it, in memory would show.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WeatherImporterTest {
+
+    private static final int ROWS = 100_000;
+    // Every hundredth row repeats the one before it
+    private static final int DUPLICATES = ROWS / 100;
+    private static final int UNIQUE = ROWS - DUPLICATES;
+    private static final Type BATCH = new TypeToken<List<WeatherDataCreate>>() {
+    }.getType();
+
+    private final Context context = RuntimeEnvironment.getApplication();
+    private final Uri uri = Uri.parse("content://com.example.logger/export.csv");
+    private final MockWebServer server = new MockWebServer();
+    private final Server bulk = new Server();
+    private WeatherImporter importer;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(bulk);
+        server.start();
+        WeatherApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(ApiClient.getGson()))
+                .build()
+                .create(WeatherApi.class);
+        importer = new WeatherImporter(context, api, 1);
+        // Generated as it is read, so the test itself never holds the file either
+        shadowOf(context.getContentResolver()).registerInputStreamSupplier(uri, GeneratedCsv::new);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void uploadsUniqueRowsInBatches() throws Exception {
+        importer.start(uri);
+        ImportProgress done = await();
+
+        assertEquals(done.getMessage(), ImportProgress.State.DONE, done.getState());
+        assertEquals(ROWS, done.getRowsRead());
+        assertEquals(UNIQUE, done.getUploaded());
+        assertEquals(DUPLICATES, done.getDuplicates());
+        assertEquals(0, done.getInvalid());
+
+        int batches = (UNIQUE + WeatherImporter.BATCH_SIZE - 1) / WeatherImporter.BATCH_SIZE;
+        assertEquals(batches, server.getRequestCount());
+        assertEquals(batches, bulk.accepted);
+        assertEquals(WeatherImporter.BATCH_SIZE, bulk.largestBatch);
+        assertEquals("no reading was sent twice", UNIQUE, bulk.readings.size());
+    }
+
+    @Test
+    public void transientServerErrorIsRetried() throws Exception {
+        bulk.failBatch = 50;
+        bulk.failures = 1;
+
+        importer.start(uri);
+        ImportProgress done = await();
+
+        assertEquals(done.getMessage(), ImportProgress.State.DONE, done.getState());
+        assertEquals(UNIQUE, done.getUploaded());
+        assertEquals(UNIQUE, bulk.readings.size());
+    }
+
+    @Test
+    public void resumesAfterServerErrorsPartWayThrough() throws Exception {
+        // Refuse the 100th batch on every attempt, so the import gives up there
+        bulk.failBatch = 100;
+        bulk.failures = Integer.MAX_VALUE;
+
+        importer.start(uri);
+        ImportProgress failed = await();
+
+        assertEquals(ImportProgress.State.FAILED, failed.getState());
+        assertTrue(failed.isResumable());
+        assertTrue(failed.getMessage(), failed.getMessage().startsWith("Upload failed after 4 attempts: HTTP 503"));
+        assertEquals(99 * WeatherImporter.BATCH_SIZE, failed.getUploaded());
+        assertEquals(99 * WeatherImporter.BATCH_SIZE, bulk.readings.size());
+
+        bulk.failures = 0;
+        int requestsBefore = server.getRequestCount();
+        importer.resume();
+        ImportProgress done = await();
+
+        assertEquals(done.getMessage(), ImportProgress.State.DONE, done.getState());
+        assertEquals(ROWS, done.getRowsRead());
+        assertEquals(UNIQUE, done.getUploaded());
+        assertEquals(DUPLICATES, done.getDuplicates());
+        // Only the refused batch and those after it were sent again
+        assertEquals(UNIQUE / WeatherImporter.BATCH_SIZE - 99, server.getRequestCount() - requestsBefore);
+        assertEquals("no acknowledged reading was sent again", UNIQUE, bulk.readings.size());
+    }
+
+    /**
+     * Runs the main looper until the import has stopped, for whatever reason.
+     */
+    private ImportProgress await() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            ImportProgress progress = importer.getProgress().getValue();
+            assertNotNull(progress);
+            if (progress.getState() != ImportProgress.State.RUNNING) {
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("the import did not finish");
+    }
+
+    /**
+     * The bulk endpoint: acknowledges batches, remembering every reading it accepted, and
+     * answers 503 to batch {@link #failBatch} for the next {@link #failures} attempts.
+     */
+    private static class Server extends Dispatcher {
+        final Set<String> readings = new HashSet<>();
+        int accepted;
+        int largestBatch;
+        int failBatch = -1;
+        int failures;
+
+        @NonNull
+        @Override
+        public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+            if (!"/api/weather-data/bulk".equals(request.getPath())) {
+                return new MockResponse().setResponseCode(404);
+            }
+            if (accepted + 1 == failBatch && failures > 0) {
+                failures--;
+                return new MockResponse().setResponseCode(503);
+            }
+            List<WeatherDataCreate> batch = ApiClient.getGson().fromJson(request.getBody().readUtf8(), BATCH);
+            int inserted = 0;
+            for (WeatherDataCreate reading : batch) {
+                if (readings.add(reading.getFieldId() + "@" + reading.getRecordedAt())) {
+                    inserted++;
+                }
+            }
+            accepted++;
+            largestBatch = Math.max(largestBatch, batch.size());
+            return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody("{\"inserted\":" + inserted + ",\"duplicates\":" + (batch.size() - inserted) + "}");
+        }
+    }
+
+    /**
+     * A logger export of {@link #ROWS} rows, produced a line at a time as it is read.
+     */
+    private static class GeneratedCsv extends InputStream {
+        private byte[] line = "field_id,timestamp,temperature,rainfall\n".getBytes(StandardCharsets.US_ASCII);
+        private int position;
+        private int row;
+
+        @Override
+        public int read() {
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(@NonNull byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLine() {
+            if (row == ROWS) {
+                return false;
+            }
+            // Five fields logging once a minute; a repeated row keeps the previous row's values
+            int source = row % 100 == 99 ? row - 1 : row;
+            long seconds = 1_700_000_000L + (source / 5) * 60L;
+            line = ((source % 5 + 1) + "," + seconds + "," + (source % 40) + ".5," + (source % 7) + "\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            position = 0;
+            row++;
+            return true;
+        }
+    }
+}
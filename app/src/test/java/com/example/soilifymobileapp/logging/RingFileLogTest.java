@@ -0,0 +1,78 @@
+package com.example.soilifymobileapp.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class RingFileLogTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesTaggedLinesInOrder() throws Exception {
+        File directory = new File(folder.getRoot(), "logs");
+        RingFileLog log = new RingFileLog(directory, 64 * 1024, false);
+        log.log("Http", "first");
+        log.log("Sync", "second");
+
+        File current = log.getFiles()[1];
+        String text = awaitLine(current, "second");
+        assertTrue(text, text.matches("(?s)\\d\\d-\\d\\d [\\d:.]+ Http: first\n\\d\\d-\\d\\d [\\d:.]+ Sync: second\n"));
+        assertFalse(log.getFiles()[0].exists());
+    }
+
+    @Test
+    public void rotatesWhenTheFileIsFull() throws Exception {
+        RingFileLog log = new RingFileLog(folder.getRoot(), 200, false);
+        for (int i = 0; i < 20; i++) {
+            log.log("T", "line " + i);
+        }
+
+        File previous = log.getFiles()[0];
+        File current = log.getFiles()[1];
+        String last = awaitLine(current, "line 19");
+        assertTrue(previous.exists());
+        assertTrue(current.length() <= 200);
+        assertTrue(previous.length() <= 200);
+        assertFalse("the oldest lines are gone", (read(previous) + last).contains("line 0\n"));
+    }
+
+    @Test
+    public void nothingDroppedWhileKeepingUp() throws Exception {
+        RingFileLog log = new RingFileLog(folder.getRoot(), 64 * 1024, false);
+        log.log("T", "only");
+        awaitLine(log.getFiles()[1], "only");
+        assertEquals(0, log.getDroppedCount());
+    }
+
+    /**
+     * Lines are written on the log thread, so waits for {@code line} to reach the file.
+     */
+    private static String awaitLine(File file, String line) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (file.exists()) {
+                String text = read(file);
+                if (text.contains(": " + line + "\n")) {
+                    return text;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError(line + " never written to " + file);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.soilifymobileapp.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class AIConversationTest {
+
+    @Test
+    public void withMessageCopiesIntoTheSameRow() {
+        QueryResultTable results = new QueryResultTable(new String[0], new String[0][], new double[0][], 0);
+        AIConversation thinking = new AIConversation("AI", "Thinking...", results);
+        AIConversation reply = thinking.withMessage("Plant after the rain");
+
+        assertNotSame(thinking, reply);
+        assertEquals(thinking.getId(), reply.getId());
+        assertEquals("AI", reply.getSender());
+        assertSame(results, reply.getResults());
+        assertEquals("Plant after the rain", reply.getMessage());
+        assertEquals("the earlier snapshot keeps its text", "Thinking...", thinking.getMessage());
+    }
+
+    @Test
+    public void newMessagesGetNewIds() {
+        assertNotEquals(new AIConversation("You", "a").getId(), new AIConversation("You", "a").getId());
+    }
+
+    @Test
+    public void nullMessageIsEmpty() {
+        assertEquals("", new AIConversation("AI", null).getMessage());
+        assertEquals("", new AIConversation("AI", "x").withMessage(null).getMessage());
+    }
+}
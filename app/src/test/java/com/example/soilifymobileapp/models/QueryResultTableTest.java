@@ -0,0 +1,109 @@
+package com.example.soilifymobileapp.models;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+public class QueryResultTableTest {
+
+    private static final String ROWS_AS_ARRAYS = "{\"columns\":[\"field\",\"rainfall\",\"crop\"],\"rows\":["
+            + "[\"North\",12.5,\"Maize\"],"
+            + "[\"South\",3,null],"
+            + "[\"east meadow\",null,\"Wheat\"],"
+            + "[\"West\",40,\"maize\"]]}";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void readsRowsAsArrays() {
+        QueryResultTable table = gson.fromJson(ROWS_AS_ARRAYS, QueryResultTable.class);
+
+        assertEquals(3, table.getColumnCount());
+        assertEquals(4, table.getRowCount());
+        assertEquals("rainfall", table.getColumnName(1));
+        assertTrue(table.isNumeric(1));
+        assertFalse(table.isNumeric(0));
+        assertEquals("12.5", table.getText(1, 0));
+        assertEquals("3", table.getText(1, 1));
+        assertNull(table.getText(1, 2));
+        assertNull(table.getText(2, 1));
+    }
+
+    @Test
+    public void readsRowsAsObjects() {
+        QueryResultTable table = gson.fromJson("{\"columns\":[\"b\",\"a\"],\"rows\":["
+                + "{\"a\":1,\"b\":\"x\"},{\"b\":\"y\",\"a\":2,\"c\":true}]}", QueryResultTable.class);
+
+        assertEquals(3, table.getColumnCount());
+        assertEquals("b", table.getColumnName(0));
+        assertEquals("a", table.getColumnName(1));
+        assertEquals("c", table.getColumnName(2));
+        assertEquals("x", table.getText(0, 0));
+        assertEquals("2", table.getText(1, 1));
+        assertEquals("true", table.getText(2, 1));
+        assertNull(table.getText(2, 0));
+    }
+
+    @Test
+    public void namesMissingColumnsAndShowsNestedValues() {
+        QueryResultTable table = gson.fromJson("{\"rows\":[[1,{\"k\":[2]}]],\"extra\":5}", QueryResultTable.class);
+
+        assertEquals("column_1", table.getColumnName(0));
+        assertEquals("{\"k\":[2]}", table.getText(1, 0));
+    }
+
+    @Test
+    public void trimsFloatNoise() {
+        QueryResultTable table = gson.fromJson("{\"columns\":[\"v\"],\"rows\":[[12.300000000000001],[2.0]]}",
+                QueryResultTable.class);
+
+        assertEquals("12.3", table.getText(0, 0));
+        assertEquals("2", table.getText(0, 1));
+    }
+
+    @Test
+    public void sortsNumbersNumericallyWithNullsLast() {
+        QueryResultTable table = gson.fromJson(ROWS_AS_ARRAYS, QueryResultTable.class);
+
+        assertArrayEquals(new int[]{1, 0, 3, 2}, table.query(1, true, null));
+        assertArrayEquals(new int[]{3, 0, 1, 2}, table.query(1, false, null));
+    }
+
+    @Test
+    public void sortsTextIgnoringCase() {
+        QueryResultTable table = gson.fromJson(ROWS_AS_ARRAYS, QueryResultTable.class);
+
+        assertArrayEquals(new int[]{2, 0, 1, 3}, table.query(0, true, ""));
+        assertArrayEquals(new int[]{0, 3, 2, 1}, table.query(2, true, null));
+    }
+
+    @Test
+    public void filtersOnAnyCell() {
+        QueryResultTable table = gson.fromJson(ROWS_AS_ARRAYS, QueryResultTable.class);
+
+        assertArrayEquals(new int[]{0, 3}, table.query(-1, true, " MAIZE "));
+        assertArrayEquals(new int[]{3, 0}, table.query(1, false, "maize"));
+        assertArrayEquals(new int[0], table.query(-1, true, "barley"));
+    }
+
+    @Test
+    public void writesWhatItReads() {
+        QueryResultTable table = gson.fromJson(ROWS_AS_ARRAYS, QueryResultTable.class);
+        QueryResultTable copy = gson.fromJson(gson.toJson(table), QueryResultTable.class);
+
+        assertEquals(table.getRowCount(), copy.getRowCount());
+        for (int column = 0; column < table.getColumnCount(); column++) {
+            assertEquals(table.getColumnName(column), copy.getColumnName(column));
+            assertEquals(table.isNumeric(column), copy.isNumeric(column));
+            for (int row = 0; row < table.getRowCount(); row++) {
+                assertEquals(table.getText(column, row), copy.getText(column, row));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.soilifymobileapp.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import com.example.soilifymobileapp.models.NLToSQLRequest;
+import com.example.soilifymobileapp.models.UserLogin;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Runs the real client stack against a local server and counts the connections it opens: the
+ * MockWebServer numbers requests per connection, so a request numbered 0 opened a new one.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ApiClientTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final Context context = RuntimeEnvironment.getApplication();
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        ApiClient.resetForTesting(server.url("/").toString());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ApiClient.resetForTesting(ApiClient.BASE_URL);
+        server.shutdown();
+    }
+
+    @Test
+    public void repeatedCallsReuseOneConnection() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            server.enqueue(json("{\"id\":" + i + "}"));
+            assertTrue(ApiClient.getService(context, FieldsApi.class).getField(i).execute().isSuccessful());
+        }
+
+        assertEquals(5, server.getRequestCount());
+        assertEquals(1, connectionsOpened(5));
+    }
+
+    @Test
+    public void authNoAuthAndAiClientsShareConnections() throws Exception {
+        server.enqueue(json("{\"id\":1}"));
+        server.enqueue(json("{\"access_token\":\"t\"}"));
+        server.enqueue(json("{}"));
+
+        assertTrue(ApiClient.getService(context, FieldsApi.class).getField(1).execute().isSuccessful());
+        assertTrue(ApiClient.getServiceNoAuth(AuthApi.class)
+                .signin(new UserLogin("ann@example.com", null, "secret")).execute().isSuccessful());
+        assertTrue(ApiClient.getService(context, AiApi.class)
+                .askWithSql(new NLToSQLRequest("How wet was May?", null)).execute().isSuccessful());
+
+        assertEquals(1, connectionsOpened(3));
+    }
+
+    @Test
+    public void clientsAreDerivedFromOneBase() {
+        OkHttpClient auth = (OkHttpClient) ApiClient.getClient(context).callFactory();
+        OkHttpClient ai = (OkHttpClient) ApiClient.getAiClient(context).callFactory();
+        OkHttpClient noAuth = (OkHttpClient) ApiClient.getClientNoAuth().callFactory();
+
+        assertSame(auth.connectionPool(), noAuth.connectionPool());
+        assertSame(auth.connectionPool(), ai.connectionPool());
+        assertSame(auth.dispatcher(), noAuth.dispatcher());
+        assertSame(auth.dispatcher(), ai.dispatcher());
+        assertEquals(30_000, auth.readTimeoutMillis());
+        assertEquals(120_000, ai.readTimeoutMillis());
+    }
+
+    @Test
+    public void serviceProxiesAreCached() {
+        assertSame(ApiClient.getService(context, FieldsApi.class), ApiClient.getService(context, FieldsApi.class));
+        assertSame(ApiClient.getServiceNoAuth(AuthApi.class), ApiClient.getServiceNoAuth(AuthApi.class));
+        assertSame(ApiClient.getClient(context), ApiClient.getClient(context));
+        assertNotSame("login must not send the token", ApiClient.getServiceNoAuth(AuthApi.class),
+                ApiClient.getService(context, AuthApi.class));
+    }
+
+    /**
+     * Takes the next {@code requests} requests off the server and counts those that came in
+     * on a connection of their own.
+     */
+    private int connectionsOpened(int requests) throws InterruptedException {
+        int opened = 0;
+        for (int i = 0; i < requests; i++) {
+            if (server.takeRequest().getSequenceNumber() == 0) {
+                opened++;
+            }
+        }
+        return opened;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
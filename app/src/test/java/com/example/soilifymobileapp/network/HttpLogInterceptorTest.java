@@ -0,0 +1,276 @@
+package com.example.soilifymobileapp.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.logging.RingFileLog;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+
+public class HttpLogInterceptorTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    /**
+     * Keeps lines in memory instead of handing them to the log thread.
+     */
+    private static class CapturingLog extends RingFileLog {
+        final List<String> lines = new ArrayList<>();
+
+        CapturingLog() {
+            super(new File("unused"), 1024, false);
+        }
+
+        @Override
+        public void log(String tag, String message) {
+            lines.add(message);
+        }
+    }
+
+    private final CapturingLog log = new CapturingLog();
+
+    @Test
+    public void redactsJsonSecrets() {
+        assertEquals("{\"username\":\"ann\",\"password\":\"***\"}",
+                HttpLogInterceptor.redact("{\"username\":\"ann\",\"password\":\"hunter2\"}"));
+        assertEquals("{\"refresh_token\" : \"***\",\"n\":1}",
+                HttpLogInterceptor.redact("{\"refresh_token\" : \"a\\\"b\",\"n\":1}"));
+        assertEquals("{\"clientSecret\":\"***\"}",
+                HttpLogInterceptor.redact("{\"clientSecret\":\"x\"}"));
+    }
+
+    @Test
+    public void redactsValueCutOffByThePreview() {
+        assertEquals("{\"access_token\":\"***\"", HttpLogInterceptor.redact("{\"access_token\":\"eyJhbGciOi"));
+    }
+
+    @Test
+    public void redactsFormSecrets() {
+        assertEquals("username=ann&password=***&remember=1",
+                HttpLogInterceptor.redact("username=ann&password=hunter2&remember=1"));
+        assertEquals("token=***", HttpLogInterceptor.redact("token=abc"));
+    }
+
+    @Test
+    public void leavesOtherBodiesAlone() {
+        String body = "{\"field_name\":\"North\",\"tokens_used\":3}";
+        assertEquals(body, HttpLogInterceptor.redact(body));
+    }
+
+    @Test
+    public void logsRequestAndResponseWithBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 1), "{\"id\":1}");
+        execute(client, post("https://example.com/api/fields?farmer=7", "{\"field_name\":\"North\"}"));
+
+        assertEquals(2, log.lines.size());
+        assertEquals("--> POST /api/fields {\"field_name\":\"North\"}", log.lines.get(0));
+        String response = log.lines.get(1);
+        assertTrue(response, response.startsWith("<-- 200 POST /api/fields ("));
+        assertTrue(response, response.endsWith("B) {\"id\":1}"));
+        assertFalse("query string is not logged", response.contains("farmer"));
+    }
+
+    @Test
+    public void truncatesLongResponseBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 8, 1), "[1,2,3,4,5,6,7,8,9]");
+        execute(client, new Request.Builder().url("https://example.com/api/weather").build());
+
+        assertTrue(log.lines.get(1), log.lines.get(1).endsWith(" [1,2,3,4…(truncated)"));
+    }
+
+    @Test
+    public void neverLogsAuthBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 1), "{\"access_token\":\"abc\"}");
+        execute(client, post("https://example.com/api/auth/login", "{\"password\":\"hunter2\"}"));
+
+        assertEquals("--> POST /api/auth/login", log.lines.get(0));
+        assertFalse(log.lines.get(1), log.lines.get(1).contains("access_token"));
+    }
+
+    @Test
+    public void masksSecretsInOtherBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 1), "{\"ok\":true}");
+        execute(client, post("https://example.com/api/users/me", "{\"new_password\":\"hunter2\"}"));
+
+        assertEquals("--> POST /api/users/me {\"new_password\":\"***\"}", log.lines.get(0));
+    }
+
+    @Test
+    public void samplesBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 3), "{}");
+        for (int i = 0; i < 6; i++) {
+            execute(client, post("https://example.com/api/fields", "{\"n\":" + i + "}"));
+        }
+
+        List<String> requests = new ArrayList<>();
+        for (String line : log.lines) {
+            if (line.startsWith("-->")) {
+                requests.add(line);
+            }
+        }
+        assertEquals(6, requests.size());
+        assertEquals("--> POST /api/fields {\"n\":0}", requests.get(0));
+        assertEquals("--> POST /api/fields", requests.get(1));
+        assertEquals("--> POST /api/fields", requests.get(2));
+        assertEquals("--> POST /api/fields {\"n\":3}", requests.get(3));
+    }
+
+    @Test
+    public void withoutBodiesLogsOnlyLines() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 1).withoutBodies(), "{\"id\":1}");
+        execute(client, post("https://example.com/api/fields", "{\"field_name\":\"North\"}"));
+
+        assertEquals("--> POST /api/fields", log.lines.get(0));
+        assertTrue(log.lines.get(1), log.lines.get(1).endsWith("B)"));
+    }
+
+    @Test
+    public void describesBinaryRequestBodies() throws IOException {
+        OkHttpClient client = client(new HttpLogInterceptor(log, 1024, 1), "{}");
+        RequestBody upload = RequestBody.create(new byte[300], MediaType.get("application/octet-stream"));
+        execute(client, new Request.Builder().url("https://example.com/api/import").post(upload).build());
+
+        assertEquals("--> POST /api/import (300-byte body)", log.lines.get(0));
+    }
+
+    @Test
+    public void logsFailures() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new HttpLogInterceptor(log, 1024, 1))
+                .addInterceptor(chain -> {
+                    throw new IOException("offline");
+                })
+                .build();
+        try {
+            execute(client, new Request.Builder().url("https://example.com/api/fields").build());
+        } catch (IOException expected) {
+            // Rethrown to the caller after logging
+        }
+        assertEquals("<-- FAILED GET /api/fields: java.io.IOException: offline", log.lines.get(1));
+    }
+
+    @Test
+    public void bodiesAreStreamedWhenBodyLoggingIsOff() throws IOException {
+        // The release configuration: request and status lines only
+        CountingSource source = new CountingSource(5 * 1024 * 1024);
+        OkHttpClient client = client(new HttpLogInterceptor(log, 0, 1), source);
+
+        try (Response response = client.newCall(
+                new Request.Builder().url("https://example.com/api/weather").build()).execute()) {
+            assertEquals("nothing read before the caller asks", 0, source.read);
+
+            BufferedSource body = response.body().source();
+            body.require(1024);
+            assertTrue("read " + source.read, source.read <= 64 * 1024);
+        }
+        assertTrue(log.lines.get(1), log.lines.get(1).endsWith("B)"));
+    }
+
+    @Test
+    public void previewReadsOnlyTheLoggedBytes() throws IOException {
+        CountingSource source = new CountingSource(5 * 1024 * 1024);
+        OkHttpClient client = client(new HttpLogInterceptor(log, 4 * 1024, 1), source);
+
+        try (Response response = client.newCall(
+                new Request.Builder().url("https://example.com/api/weather").build()).execute()) {
+            assertTrue("read " + source.read, source.read >= 4 * 1024 && source.read <= 64 * 1024);
+        }
+        assertTrue(log.lines.get(1), log.lines.get(1).endsWith("…(truncated)"));
+    }
+
+    /**
+     * A response body of {@code size} bytes that counts how much of it has been read.
+     */
+    private static class CountingSource implements Source {
+        final long size;
+        long read;
+
+        CountingSource(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public long read(@NonNull Buffer sink, long byteCount) {
+            if (read == size) {
+                return -1;
+            }
+            long count = Math.min(byteCount, size - read);
+            for (long i = 0; i < count; i++) {
+                sink.writeByte('x');
+            }
+            read += count;
+            return count;
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static OkHttpClient client(HttpLogInterceptor logger, CountingSource source) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(logger)
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create(Okio.buffer(source), JSON, source.size))
+                        .build())
+                .build();
+    }
+
+    /**
+     * A client whose calls never leave the process: every request is answered with 200 and the
+     * given JSON body.
+     */
+    private static OkHttpClient client(HttpLogInterceptor logger, String responseBody) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(logger)
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create(responseBody, JSON))
+                        .build())
+                .build();
+    }
+
+    private static Request post(String url, String json) {
+        return new Request.Builder().url(url).post(RequestBody.create(json, JSON)).build();
+    }
+
+    private static void execute(OkHttpClient client, Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.soilifymobileapp.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void emptyHistogram() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertEquals(0, histogram.getMeanMicros());
+        assertEquals("-", histogram.toString());
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+        assertEquals(3, histogram.getPercentileMicros(50));
+        assertEquals(7, histogram.getPercentileMicros(100));
+        assertEquals(7, histogram.getMaxMicros());
+        assertEquals(3, histogram.getMeanMicros());
+    }
+
+    @Test
+    public void percentilesStayWithinBucketError() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            // Spread over six orders of magnitude
+            values[i] = (long) Math.pow(10, 6 * random.nextDouble());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long reported = histogram.getPercentileMicros(percentile);
+            assertTrue(percentile + ": " + reported + " < " + exact, reported >= exact);
+            assertTrue(percentile + ": " + reported + " vs " + exact, reported <= exact * 1.125 + 1);
+        }
+        assertEquals(values[values.length - 1], histogram.getPercentileMicros(100));
+    }
+
+    @Test
+    public void hugeAndNegativeValuesAreClamped() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE / 4);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMicros(50));
+        assertEquals(Long.MAX_VALUE / 4, histogram.getMaxMicros());
+        assertTrue("lands in the last bucket", histogram.getPercentileMicros(100) >= 1L << 32);
+    }
+
+    @Test
+    public void resetForgetsEverything() {
+        histogram.record(1_500);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals("-", histogram.toString());
+    }
+
+    @Test
+    public void formatsUnits() {
+        assertEquals("999µs", LatencyHistogram.formatMicros(999));
+        assertEquals("1.5ms", LatencyHistogram.formatMicros(1_500));
+        assertEquals("2.25s", LatencyHistogram.formatMicros(2_250_000));
+    }
+
+    @Test
+    public void summary() {
+        histogram.record(2_000);
+        assertEquals("p50=2.0ms p90=2.0ms p99=2.0ms max=2.0ms", histogram.toString());
+    }
+}
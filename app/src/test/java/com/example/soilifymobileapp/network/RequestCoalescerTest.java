@@ -0,0 +1,164 @@
+package com.example.soilifymobileapp.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+@RunWith(RobolectricTestRunner.class)
+public class RequestCoalescerTest {
+
+    interface Service {
+        @Coalesced
+        @GET("api/fields")
+        Call<String> fields();
+
+        @POST("api/fields")
+        Call<String> create();
+    }
+
+    private final MockWebServer server = new MockWebServer();
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    // Held until released, so a GET stays in flight while the test acts
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Service service;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            private int served;
+
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                if ("GET".equals(request.getMethod())) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setBody("\"response " + ++served + "\"");
+            }
+        });
+        server.start();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(coalescer.invalidator()).build();
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .callbackExecutor(Runnable::run)
+                .addCallAdapterFactory(coalescer)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(Service.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentCallsShareOneRequest() throws Exception {
+        Results results = new Results();
+        service.fields().enqueue(results);
+        service.fields().enqueue(results);
+        release.countDown();
+
+        assertEquals("response 1", results.take());
+        assertEquals("response 1", results.take());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void responseIsRememberedForTheTtl() throws Exception {
+        release.countDown();
+        Results results = new Results();
+        service.fields().enqueue(results);
+        assertEquals("response 1", results.take());
+
+        service.fields().enqueue(results);
+        assertEquals("response 1", results.take());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void writeDropsTheRememberedResponse() throws Exception {
+        release.countDown();
+        Results results = new Results();
+        service.fields().enqueue(results);
+        assertEquals("response 1", results.take());
+        assertTrue(service.create().execute().isSuccessful());
+
+        service.fields().enqueue(results);
+        assertEquals("response 3", results.take());
+    }
+
+    @Test
+    public void callAfterInvalidationDoesNotJoinTheStaleFlight() throws Exception {
+        Results before = new Results();
+        service.fields().enqueue(before);
+        server.takeRequest(5, TimeUnit.SECONDS);
+
+        coalescer.invalidateAll();
+        Results after = new Results();
+        service.fields().enqueue(after);
+        release.countDown();
+
+        String first = before.take();
+        String second = after.take();
+        assertEquals(2, server.getRequestCount());
+        assertTrue(first + " / " + second, !first.equals(second));
+
+        // Neither response from before the invalidation is remembered in place of the new one
+        Results later = new Results();
+        service.fields().enqueue(later);
+        assertEquals(second, later.take());
+    }
+
+    /**
+     * Collects responses as they are delivered.
+     */
+    private static class Results implements Callback<String> {
+        private final BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onResponse(@NonNull Call<String> call, @NonNull Response<String> response) {
+            bodies.add(response.isSuccessful() ? response.body() : "HTTP " + response.code());
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<String> call, @NonNull Throwable t) {
+            bodies.add(t.toString());
+        }
+
+        String take() throws InterruptedException {
+            String body = bodies.poll(5, TimeUnit.SECONDS);
+            if (body == null) {
+                throw new AssertionError("no response delivered");
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.soilifymobileapp.network.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JsonListReaderTest {
+
+    private final TypeAdapter<Integer> adapter = new Gson().getAdapter(Integer.class);
+
+    @Test
+    public void deliversFullBatchesThenTheRemainder() throws IOException {
+        List<List<Integer>> batches = new ArrayList<>();
+        int count = JsonListReader.read(new StringReader("[1,2,3,4,5,6,7]"), adapter, 3, batch -> {
+            batches.add(batch);
+            return true;
+        });
+        assertEquals(7, count);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7)), batches);
+    }
+
+    @Test
+    public void batchesAreNotReused() throws IOException {
+        List<List<Integer>> batches = new ArrayList<>();
+        JsonListReader.read(new StringReader("[1,2,3,4]"), adapter, 2, batch -> {
+            batches.add(batch);
+            return true;
+        });
+        assertEquals(Arrays.asList(1, 2), batches.get(0));
+        assertEquals(Arrays.asList(3, 4), batches.get(1));
+    }
+
+    @Test
+    public void skipsNullItems() throws IOException {
+        List<Integer> items = new ArrayList<>();
+        int count = JsonListReader.read(new StringReader("[null,1,null,2]"), adapter, 10, batch -> {
+            items.addAll(batch);
+            return true;
+        });
+        assertEquals(2, count);
+        assertEquals(Arrays.asList(1, 2), items);
+    }
+
+    @Test
+    public void emptyAndNullListsDeliverNothing() throws IOException {
+        List<List<Integer>> batches = new ArrayList<>();
+        assertEquals(0, JsonListReader.read(new StringReader("[]"), adapter, 3, batches::add));
+        assertEquals(0, JsonListReader.read(new StringReader("null"), adapter, 3, batches::add));
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void consumerCanStopTheRead() throws IOException {
+        List<List<Integer>> batches = new ArrayList<>();
+        // Everything after the first batch is malformed, so reading on would throw
+        int count = JsonListReader.read(new StringReader("[1,2,{{{"), adapter, 2, batch -> {
+            batches.add(batch);
+            return false;
+        });
+        assertEquals(2, count);
+        assertEquals(1, batches.size());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void malformedItemFailsTheRead() throws IOException {
+        JsonListReader.read(new StringReader("[1,\"x\"]"), adapter, 10, batch -> true);
+    }
+}
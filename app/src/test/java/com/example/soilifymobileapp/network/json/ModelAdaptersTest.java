@@ -0,0 +1,215 @@
+package com.example.soilifymobileapp.network.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.ChatStreamEvent;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldOption;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.example.soilifymobileapp.network.AiApi;
+import com.example.soilifymobileapp.network.AlertsApi;
+import com.example.soilifymobileapp.network.AnalyticsApi;
+import com.example.soilifymobileapp.network.AuthApi;
+import com.example.soilifymobileapp.network.FertiliserApi;
+import com.example.soilifymobileapp.network.FieldsApi;
+import com.example.soilifymobileapp.network.HomeApi;
+import com.example.soilifymobileapp.network.WeatherApi;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import retrofit2.http.Body;
+
+/**
+ * The hand-written adapters must read and write exactly what Gson's reflective adapter does,
+ * so every model is round-tripped through both with all of its fields set.
+ */
+public class ModelAdaptersTest {
+
+    private static final Class<?>[] MODELS = {
+            WeatherDataRead.class, WeatherDataCreate.class, FertiliserUsageRead.class, AlertRead.class,
+            FieldRead.class, FieldOption.class, FertilizerByType.class, WeatherTrend.class,
+            FieldAnalytics.class,
+    };
+
+    private static final Class<?>[] APIS = {
+            AiApi.class, AlertsApi.class, AnalyticsApi.class, AuthApi.class, FertiliserApi.class,
+            FieldsApi.class, HomeApi.class, WeatherApi.class,
+    };
+
+    private final Gson reflective = new Gson();
+    private final Gson adapted = new GsonBuilder().registerTypeAdapterFactory(new ModelAdapters()).create();
+
+    @Test
+    public void everyModelHasAnAdapter() {
+        ModelAdapters factory = new ModelAdapters();
+        for (Class<?> model : MODELS) {
+            assertNotNull(model.getSimpleName(), factory.create(adapted, TypeToken.get(model)));
+        }
+    }
+
+    @Test
+    public void everyModelOnTheWireIsAdaptedOrListedAsReflective() {
+        Set<String> unaccounted = new TreeSet<>();
+        for (Class<?> model : modelsOnTheWire()) {
+            if (!Arrays.asList(MODELS).contains(model) && !ModelAdapters.REFLECTIVE.contains(model)
+                    && !model.isAnnotationPresent(JsonAdapter.class)) {
+                unaccounted.add(model.getSimpleName());
+            }
+        }
+        assertTrue("Neither adapted nor listed in ModelAdapters.REFLECTIVE: " + unaccounted, unaccounted.isEmpty());
+    }
+
+    @Test
+    public void readsWhatReflectionReads() throws Exception {
+        for (Class<?> model : MODELS) {
+            String json = reflective.toJson(populated(model));
+            Object read = adapted.fromJson(json, model);
+            assertEquals(model.getSimpleName(), reflective.toJsonTree(reflective.fromJson(json, model)),
+                    reflective.toJsonTree(read));
+        }
+    }
+
+    @Test
+    public void writesWhatReflectionWrites() throws Exception {
+        for (Class<?> model : MODELS) {
+            Object value = populated(model);
+            JsonElement expected = reflective.toJsonTree(value);
+            JsonElement written = reflective.fromJson(adapted.toJson(value), JsonElement.class);
+            assertEquals(model.getSimpleName(), expected, written);
+        }
+    }
+
+    @Test
+    public void nullsUnknownNamesAndQuotedNumbersAreReadLikeReflection() {
+        String json = "{\"id\":\"12\",\"farmer_id\":null,\"field_name\":true,\"size_hectares\":3,"
+                + "\"extra\":{\"nested\":[1,2]},\"crop_type\":\"maize\"}";
+        FieldRead expected = reflective.fromJson(json, FieldRead.class);
+        FieldRead read = adapted.fromJson(json, FieldRead.class);
+        assertEquals(reflective.toJsonTree(expected), reflective.toJsonTree(read));
+        assertEquals(12, read.getId());
+        assertEquals("true", read.getFieldName());
+    }
+
+    @Test
+    public void nullModelIsNull() {
+        assertNull(adapted.fromJson("null", WeatherDataRead.class));
+        assertEquals("null", adapted.toJson(null, WeatherDataRead.class));
+    }
+
+    @Test
+    public void absentBoxedFieldsStayNull() {
+        WeatherDataRead read = adapted.fromJson("{\"id\":5}", WeatherDataRead.class);
+        assertEquals(Integer.valueOf(5), read.getId());
+        assertNull(read.getTemperature());
+        JsonObject written = adapted.toJsonTree(read).getAsJsonObject();
+        assertTrue(written.has("id"));
+        assertEquals(reflective.toJsonTree(read), written);
+    }
+
+    /**
+     * The models the API interfaces send and receive, including those nested in them, plus the
+     * events of the AI answer stream, which are decoded line by line.
+     */
+    private static Set<Class<?>> modelsOnTheWire() {
+        Set<Class<?>> models = new LinkedHashSet<>();
+        collect(ChatStreamEvent.class, models);
+        for (Class<?> api : APIS) {
+            for (Method method : api.getDeclaredMethods()) {
+                collect(method.getGenericReturnType(), models);
+                Type[] parameters = method.getGenericParameterTypes();
+                Annotation[][] annotations = method.getParameterAnnotations();
+                for (int i = 0; i < parameters.length; i++) {
+                    for (Annotation annotation : annotations[i]) {
+                        if (annotation instanceof Body) {
+                            collect(parameters[i], models);
+                        }
+                    }
+                }
+            }
+        }
+        return models;
+    }
+
+    private static void collect(Type type, Set<Class<?>> models) {
+        if (type instanceof ParameterizedType) {
+            collect(((ParameterizedType) type).getRawType(), models);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collect(argument, models);
+            }
+        } else if (type instanceof GenericArrayType) {
+            collect(((GenericArrayType) type).getGenericComponentType(), models);
+        } else if (type instanceof Class) {
+            Class<?> model = (Class<?>) type;
+            if (model.isArray()) {
+                collect(model.getComponentType(), models);
+                return;
+            }
+            if (!model.getName().startsWith(WeatherDataRead.class.getPackage().getName() + ".")
+                    || !models.add(model)) {
+                return;
+            }
+            for (Field field : model.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    collect(field.getGenericType(), models);
+                }
+            }
+        }
+    }
+
+    /**
+     * An instance with every serialized field set to a distinct non-default value.
+     */
+    private static Object populated(Class<?> model) throws Exception {
+        Object value = model.getDeclaredConstructor().newInstance();
+        int next = 1;
+        for (Field field : model.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            Class<?> type = field.getType();
+            if (type == int.class || type == Integer.class) {
+                field.set(value, next);
+            } else if (type == float.class || type == Float.class) {
+                field.set(value, next + 0.25f);
+            } else if (type == String.class) {
+                field.set(value, field.getName() + "-" + next);
+            } else if (type == Date.class) {
+                // Whole seconds, which is all Gson's default date format keeps
+                field.set(value, new Date(1_714_557_600_000L + next * 1000L));
+            } else {
+                throw new AssertionError("No test value for " + model.getSimpleName() + "." + field.getName());
+            }
+            next++;
+        }
+        return value;
+    }
+}
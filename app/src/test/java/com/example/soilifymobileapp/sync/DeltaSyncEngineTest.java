@@ -0,0 +1,311 @@
+package com.example.soilifymobileapp.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.example.soilifymobileapp.data.AppExecutors;
+import com.example.soilifymobileapp.data.local.SoilifyDatabase;
+import com.example.soilifymobileapp.data.local.SyncStateDao;
+import com.example.soilifymobileapp.models.DeltaResponse;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.network.ApiClient;
+import com.example.soilifymobileapp.network.WeatherApi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Syncs weather readings through the real engine, database and API interface from a local
+ * server that serves keyset pages of a list of rows and, unless told otherwise, deltas.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DeltaSyncEngineTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 500;
+    private static final String SERVER_DATE = "Tue, 01 Oct 2024 12:00:00 GMT";
+    // The Date header less the minute the engine winds cursors back by
+    private static final String HEADER_CURSOR = "2024-10-01T11:59:00.000Z";
+
+    private final Context context = RuntimeEnvironment.getApplication();
+    private final MockWebServer server = new MockWebServer();
+    private final Backend backend = new Backend();
+    private final Cache cache = new Cache();
+    private DeltaSyncEngine engine;
+    private SyncStateDao syncStateDao;
+    private DeltaSyncEngine.Source<WeatherDataRead> source;
+    // The engine is a process-wide singleton that remembers which collections lack deltas,
+    // so each test syncs a collection of its own
+    private String entityType;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(backend);
+        server.start();
+        WeatherApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(ApiClient.getGson()))
+                .build()
+                .create(WeatherApi.class);
+        source = new DeltaSyncEngine.Source<WeatherDataRead>() {
+            @Override
+            public Call<DeltaResponse<WeatherDataRead>> changesSince(String cursor) {
+                return api.getWeatherDataChanges(cursor);
+            }
+
+            @Override
+            public Class<WeatherDataRead> type() {
+                return WeatherDataRead.class;
+            }
+
+            @Override
+            public Call<ResponseBody> page(WeatherDataRead last, int limit) {
+                return api.getWeatherDataPage(limit, null, last != null ? last.getId() : null);
+            }
+        };
+        SoilifyDatabase database = SoilifyDatabase.getInstance(context);
+        database.clearCache();
+        syncStateDao = new SyncStateDao(database);
+        engine = DeltaSyncEngine.getInstance(context);
+        entityType = "weather_data_" + System.nanoTime();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void firstSyncDownloadsKeysetPagesAndTakesTheCursorFromTheDateHeader() throws Exception {
+        backend.rows = 250;
+
+        Result result = sync();
+
+        assertTrue(result.changed);
+        assertEquals(250, cache.rows.size());
+        assertEquals(3, server.getRequestCount());
+        assertEquals("/api/weather-data?limit=100", server.takeRequest().getPath());
+        assertEquals("/api/weather-data?limit=100&before_id=151", server.takeRequest().getPath());
+        assertEquals("/api/weather-data?limit=100&before_id=51", server.takeRequest().getPath());
+        assertEquals(HEADER_CURSOR, cursor());
+    }
+
+    @Test
+    public void deltaAppliesChangesAndTombstones() throws Exception {
+        cache.put(1, 2, 3);
+        setCursor("2024-09-30T00:00:00.000Z");
+        backend.delta = "{\"items\":[" + row(2, 30f) + "," + row(4, 10f) + "],"
+                + "\"deleted_ids\":[3],\"server_time\":\"2024-10-01T12:00:00.000Z\"}";
+
+        Result result = sync();
+
+        assertTrue(result.changed);
+        assertEquals(new TreeSet<>(Arrays.asList(1, 2, 4)), cache.rows.keySet());
+        assertEquals(Float.valueOf(30f), cache.rows.get(2).getTemperature());
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/api/weather-data/changes?updated_since=2024-09-30T00%3A00%3A00.000Z",
+                server.takeRequest().getPath());
+        assertEquals("2024-10-01T12:00:00.000Z", cursor());
+    }
+
+    @Test
+    public void deltaWithoutServerTimeTakesTheCursorFromTheDateHeader() throws Exception {
+        setCursor("2024-09-30T00:00:00.000Z");
+        backend.delta = "{\"items\":[],\"deleted_ids\":[]}";
+
+        Result result = sync();
+
+        assertFalse(result.changed);
+        assertEquals(HEADER_CURSOR, cursor());
+    }
+
+    @Test
+    public void missingChangesEndpointFallsBackToFullDownloads() throws Exception {
+        // Row 999 was deleted on the server while deltas were unavailable
+        cache.put(1, 999);
+        setCursor("2024-09-30T00:00:00.000Z");
+        backend.rows = 120;
+
+        Result result = sync();
+
+        assertTrue(result.changed);
+        assertEquals(120, cache.rows.size());
+        assertFalse("rows missing from the full list are dropped", cache.rows.containsKey(999));
+        assertEquals("/api/weather-data/changes?updated_since=2024-09-30T00%3A00%3A00.000Z",
+                server.takeRequest().getPath());
+        assertEquals("/api/weather-data?limit=100", server.takeRequest().getPath());
+        assertEquals("/api/weather-data?limit=100&before_id=21", server.takeRequest().getPath());
+        assertEquals(HEADER_CURSOR, cursor());
+
+        // The changes endpoint is not asked again
+        sync();
+        assertEquals(5, server.getRequestCount());
+        assertEquals("/api/weather-data?limit=100", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void fullDownloadStopsAtThePageCap() throws Exception {
+        backend.rows = (MAX_PAGES + 10) * PAGE_SIZE;
+
+        Result result = sync();
+
+        assertTrue(result.changed);
+        assertEquals(MAX_PAGES, server.getRequestCount());
+        assertEquals(MAX_PAGES * PAGE_SIZE, cache.rows.size());
+        assertFalse("an incomplete download prunes nothing", cache.retained);
+        assertNull("an incomplete download keeps no cursor", cursor());
+    }
+
+    private Result sync() throws Exception {
+        Result result = new Result();
+        engine.sync(entityType, source, cache, result);
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!result.done) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("the sync did not finish");
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(5);
+        }
+        if (result.error != null) {
+            throw new AssertionError("sync failed", result.error);
+        }
+        // Let the last writes reach the cache and the cursor
+        AppExecutors.getInstance().diskIO().submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private String cursor() throws Exception {
+        return AppExecutors.getInstance().diskIO().submit(() -> syncStateDao.getCursor(entityType))
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private void setCursor(String cursor) throws Exception {
+        AppExecutors.getInstance().diskIO().submit(() -> syncStateDao.setCursor(entityType, cursor))
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private static String row(int id, float temperature) {
+        return "{\"id\":" + id + ",\"field_id\":1,\"temperature\":" + temperature + "}";
+    }
+
+    /**
+     * Serves rows {@link #rows} down to 1, newest first, a keyset page at a time, and answers
+     * the changes endpoint with {@link #delta}, or 404 when it is null.
+     */
+    private static class Backend extends Dispatcher {
+        volatile int rows;
+        volatile String delta;
+
+        @NonNull
+        @Override
+        public MockResponse dispatch(@NonNull RecordedRequest request) {
+            MockResponse response = new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setHeader("Date", SERVER_DATE);
+            if ("/api/weather-data/changes".equals(request.getRequestUrl().encodedPath())) {
+                return delta != null ? response.setBody(delta) : response.setResponseCode(404);
+            }
+            String beforeId = request.getRequestUrl().queryParameter("before_id");
+            int limit = Integer.parseInt(request.getRequestUrl().queryParameter("limit"));
+            int first = beforeId != null ? Integer.parseInt(beforeId) - 1 : rows;
+            StringBuilder body = new StringBuilder("[");
+            for (int id = first; id > Math.max(0, first - limit); id--) {
+                if (body.length() > 1) {
+                    body.append(',');
+                }
+                body.append(row(id, 20f));
+            }
+            return response.setBody(body.append(']').toString());
+        }
+    }
+
+    /**
+     * The local copy; written on the disk thread.
+     */
+    private static class Cache implements DeltaSyncEngine.Store<WeatherDataRead> {
+        final Map<Integer, WeatherDataRead> rows = new ConcurrentHashMap<>();
+        volatile boolean retained;
+
+        void put(Integer... ids) {
+            for (int id : ids) {
+                WeatherDataRead reading = new WeatherDataRead();
+                reading.setId(id);
+                rows.put(id, reading);
+            }
+        }
+
+        @Override
+        public void applyChanges(List<WeatherDataRead> changed, List<Integer> deletedIds) {
+            if (changed != null) {
+                for (WeatherDataRead reading : changed) {
+                    rows.put(reading.getId(), reading);
+                }
+            }
+            if (deletedIds != null) {
+                rows.keySet().removeAll(deletedIds);
+            }
+        }
+
+        @Override
+        public void retainOnly(Set<Integer> ids) {
+            retained = true;
+            rows.keySet().retainAll(new HashSet<>(ids));
+        }
+
+        @Override
+        public int idOf(WeatherDataRead item) {
+            return item.getId();
+        }
+    }
+
+    private static class Result implements DeltaSyncEngine.Callback {
+        volatile boolean done;
+        volatile boolean changed;
+        volatile Throwable error;
+
+        @Override
+        public void onComplete(boolean changed) {
+            this.changed = changed;
+            done = true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t != null ? t : new AssertionError("error response");
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.soilifymobileapp.ui.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Locale;
+
+public class FertiliserUsageRowTest {
+
+    private static Locale defaultLocale;
+
+    @BeforeClass
+    public static void useUsLocale() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @AfterClass
+    public static void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void formatsAStoredUsage() {
+        FertiliserUsageRead usage = usage(12);
+
+        FertiliserUsageRow row = FertiliserUsageRow.from(usage);
+        assertSame(usage, row.getUsage());
+        assertFalse(row.isPending());
+        assertEquals("North", row.getFieldName());
+        assertEquals("Fertiliser: Urea", row.getFertiliserType());
+        assertEquals("Amount: 25.50 kg", row.getAmount());
+        assertEquals("Date: 2024-05-01", row.getDate());
+        assertEquals("Weather: Sunny", row.getWeather());
+        assertEquals("Notes: Top dressing", row.getNotes());
+    }
+
+    @Test
+    public void missingValuesAreNotAvailable() {
+        FertiliserUsageRead usage = new FertiliserUsageRead();
+        usage.setId(3);
+
+        FertiliserUsageRow row = FertiliserUsageRow.from(usage);
+        assertEquals("Fertiliser: N/A", row.getFertiliserType());
+        assertEquals("Amount: 0.00 kg", row.getAmount());
+        assertEquals("Date: N/A", row.getDate());
+        assertEquals("Weather: N/A", row.getWeather());
+        assertEquals("Notes: N/A", row.getNotes());
+    }
+
+    @Test
+    public void unsyncedUsageIsSaving() {
+        FertiliserUsageRow row = FertiliserUsageRow.from(usage(-1));
+        assertTrue(row.isPending());
+        assertEquals("Date: 2024-05-01 · Saving…", row.getDate());
+    }
+
+    private static FertiliserUsageRead usage(int id) {
+        FertiliserUsageRead usage = new FertiliserUsageRead();
+        usage.setId(id);
+        usage.setFieldName("North");
+        usage.setFertiliserType("Urea");
+        usage.setAmountKg(25.5f);
+        usage.setDate("2024-05-01");
+        usage.setWeather("Sunny");
+        usage.setNotes("Top dressing");
+        return usage;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.soilifymobileapp.ui.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.soilifymobileapp.models.WeatherDataRead;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+public class WeatherDataRowTest {
+
+    private static Locale defaultLocale;
+
+    @BeforeClass
+    public static void useUsLocale() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @AfterClass
+    public static void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void formatsAStoredReading() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.MAY, 1, 6, 5);
+        WeatherDataRead reading = reading(42);
+        reading.setCreatedAt(calendar.getTime());
+
+        WeatherDataRow row = WeatherDataRow.from(reading);
+        assertSame(reading, row.getWeatherData());
+        assertFalse(row.isPending());
+        assertEquals("North", row.getFieldName());
+        assertEquals("Temperature: 21.5°C", row.getTemperature());
+        assertEquals("Rainfall: 3.0mm", row.getRainfall());
+        assertEquals("Soil Moisture: 40.3%", row.getSoilMoisture());
+        assertEquals("2024-05-01 06:05", row.getDate());
+    }
+
+    @Test
+    public void missingValuesAreNotAvailable() {
+        WeatherDataRead reading = new WeatherDataRead();
+        reading.setId(7);
+
+        WeatherDataRow row = WeatherDataRow.from(reading);
+        assertEquals("Temperature: N/A", row.getTemperature());
+        assertEquals("Rainfall: N/A", row.getRainfall());
+        assertEquals("Soil Moisture: N/A", row.getSoilMoisture());
+        assertEquals("N/A", row.getDate());
+    }
+
+    @Test
+    public void unsyncedReadingIsSaving() {
+        WeatherDataRow row = WeatherDataRow.from(reading(-3));
+        assertTrue(row.isPending());
+        assertEquals("Saving…", row.getDate());
+    }
+
+    private static WeatherDataRead reading(int id) {
+        WeatherDataRead reading = new WeatherDataRead();
+        reading.setId(id);
+        reading.setFieldName("North");
+        reading.setTemperature(21.5f);
+        reading.setRainfall(3f);
+        reading.setSoilMoisture(40.26f);
+        return reading;
+    }
+}
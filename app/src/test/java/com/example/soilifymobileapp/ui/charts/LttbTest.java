@@ -0,0 +1,62 @@
+package com.example.soilifymobileapp.ui.charts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mikephil.charting.data.Entry;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LttbTest {
+
+    @Test
+    public void smallSeriesIsReturnedAsIs() {
+        List<Entry> data = series(10);
+        assertSame(data, Lttb.downsample(data, 10));
+        assertSame(data, Lttb.downsample(data, 50));
+        assertSame("too few buckets to sample", data, Lttb.downsample(data, 2));
+    }
+
+    @Test
+    public void keepsEndsAndOnePointPerBucket() {
+        List<Entry> data = series(1_000);
+        List<Entry> sampled = Lttb.downsample(data, 100);
+
+        assertEquals(100, sampled.size());
+        assertSame(data.get(0), sampled.get(0));
+        assertSame(data.get(999), sampled.get(99));
+        double bucketSize = 998 / 98.0;
+        for (int bucket = 0; bucket < 98; bucket++) {
+            int index = data.indexOf(sampled.get(bucket + 1));
+            assertTrue(bucket + ": " + index, index >= (int) (bucket * bucketSize) + 1);
+            assertTrue(bucket + ": " + index, index < (int) ((bucket + 1) * bucketSize) + 1);
+        }
+    }
+
+    @Test
+    public void keepsPeaksAndTroughs() {
+        List<Entry> data = series(500);
+        data.get(123).setY(1_000);
+        data.get(377).setY(-1_000);
+
+        List<Entry> sampled = Lttb.downsample(data, 20);
+
+        assertTrue(sampled.contains(data.get(123)));
+        assertTrue(sampled.contains(data.get(377)));
+    }
+
+    /**
+     * A gently varying series at x = 0, 1, 2, ...
+     */
+    private static List<Entry> series(int size) {
+        List<Entry> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new Entry(i, (float) Math.sin(i / 25.0) * 10));
+        }
+        return data;
+    }
+}
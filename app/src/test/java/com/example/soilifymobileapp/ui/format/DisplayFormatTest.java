@@ -0,0 +1,85 @@
+package com.example.soilifymobileapp.ui.format;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DisplayFormatTest {
+
+    private static Locale defaultLocale;
+
+    @BeforeClass
+    public static void useUsLocale() {
+        // Formats are created per thread from the default locale on first use
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @AfterClass
+    public static void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void dateTime() {
+        assertEquals("2024-05-01 14:30", DisplayFormat.dateTime(date(2024, Calendar.MAY, 1, 14, 30)));
+        assertEquals(DisplayFormat.NOT_AVAILABLE, DisplayFormat.dateTime(null));
+    }
+
+    @Test
+    public void oneDecimal() {
+        assertEquals("Rainfall: 12.3mm", DisplayFormat.oneDecimal("Rainfall: ", 12.34f, "mm"));
+        assertEquals("Rainfall: 0.0mm", DisplayFormat.oneDecimal("Rainfall: ", 0f, "mm"));
+        assertEquals("Rainfall: N/A", DisplayFormat.oneDecimal("Rainfall: ", null, "mm"));
+    }
+
+    @Test
+    public void twoDecimalsWithoutGrouping() {
+        assertEquals("Amount: 1250.50 kg", DisplayFormat.twoDecimals("Amount: ", 1250.5f, " kg"));
+        assertEquals("Amount: -0.25 kg", DisplayFormat.twoDecimals("Amount: ", -0.25f, " kg"));
+    }
+
+    @Test
+    public void labelled() {
+        assertEquals("Notes: dry", DisplayFormat.labelled("Notes: ", "dry"));
+        assertEquals("Notes: N/A", DisplayFormat.labelled("Notes: ", null));
+    }
+
+    @Test
+    public void agreesAcrossThreads() throws Exception {
+        Date date = date(2023, Calendar.DECEMBER, 31, 23, 59);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[200];
+            for (int i = 0; i < results.length; i++) {
+                float value = i / 10f;
+                results[i] = executor.submit(() -> {
+                    assertEquals("2023-12-31 23:59", DisplayFormat.dateTime(date));
+                    assertEquals(String.format(Locale.US, "%.1f", value), DisplayFormat.oneDecimal("", value, ""));
+                    return null;
+                });
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Date date(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTime();
+    }
+}
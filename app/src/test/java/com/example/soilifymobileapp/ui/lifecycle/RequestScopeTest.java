@@ -0,0 +1,318 @@
+package com.example.soilifymobileapp.ui.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import com.example.soilifymobileapp.data.DashboardRepository;
+import com.example.soilifymobileapp.data.DataCallback;
+import com.example.soilifymobileapp.models.DashboardResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class RequestScopeTest {
+
+    private LifecycleRegistry lifecycle;
+    private RequestScope scope;
+    private final List<String> delivered = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        LifecycleOwner owner = new LifecycleOwner() {
+            @NonNull
+            @Override
+            public Lifecycle getLifecycle() {
+                return lifecycle;
+            }
+        };
+        lifecycle = LifecycleRegistry.createUnsafe(owner);
+        lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        scope = RequestScope.of(owner);
+    }
+
+    @Test
+    public void dataCallbackHearsCacheThenNetworkAndNothingAfter() {
+        DataCallback<String> bound = scope.bind(dataCallback());
+
+        bound.onData("cached", true);
+        bound.onData("fresh", false);
+        bound.onData("late", false);
+        bound.onError(null);
+
+        assertEquals(Arrays.asList("cached", "fresh"), delivered);
+    }
+
+    @Test
+    public void dataCallbackIsReleasedByAnError() {
+        DataCallback<String> bound = scope.bind(dataCallback());
+
+        bound.onError(null);
+        bound.onData("late", false);
+
+        assertEquals(Arrays.asList("error"), delivered);
+    }
+
+    @Test
+    public void dashboardCallbackIsReleasedByTheNetworkCopy() {
+        DashboardRepository.Callback bound = scope.bind(dashboardCallback());
+
+        bound.onDashboard(new DashboardResponse(), 1L, true);
+        bound.onDashboard(new DashboardResponse(), 2L, false);
+        bound.onError(null, 500);
+
+        assertEquals(Arrays.asList("dashboard 1", "dashboard 2"), delivered);
+    }
+
+    @Test
+    public void dashboardCallbackIsReleasedByAnError() {
+        DashboardRepository.Callback bound = scope.bind(dashboardCallback());
+
+        bound.onError(null, 503);
+        bound.onDashboard(new DashboardResponse(), 2L, false);
+
+        assertEquals(Arrays.asList("error 503"), delivered);
+    }
+
+    @Test
+    public void nothingIsDeliveredOnceTheOwnerIsDestroyed() {
+        DataCallback<String> data = scope.bind(dataCallback());
+        DashboardRepository.Callback dashboard = scope.bind(dashboardCallback());
+        Runnable saved = scope.bind(() -> delivered.add("saved"));
+
+        lifecycle.setCurrentState(Lifecycle.State.DESTROYED);
+        data.onData("cached", true);
+        dashboard.onDashboard(new DashboardResponse(), 1L, false);
+        saved.run();
+
+        assertEquals(Collections.emptyList(), delivered);
+    }
+
+    @Test
+    public void callbacksBoundAfterDestructionAreInert() {
+        lifecycle.setCurrentState(Lifecycle.State.DESTROYED);
+
+        scope.bind(dataCallback()).onData("fresh", false);
+        scope.bind(() -> delivered.add("saved")).run();
+
+        assertEquals(Collections.emptyList(), delivered);
+    }
+
+    @Test
+    public void destroyedScreenIsCollectableWhileItsCallIsInFlight() throws InterruptedException {
+        InFlightCall call = new InFlightCall();
+        Screen screen = new Screen();
+        screen.load(call);
+        WeakReference<Screen> reference = new WeakReference<>(screen);
+
+        screen.destroy();
+        screen = null;
+        collectGarbage(reference);
+
+        assertNull("the in-flight call still reaches the destroyed screen", reference.get());
+        assertTrue(call.isCanceled());
+        // The response arrives anyway, e.g. it was already being delivered, and goes nowhere
+        call.complete("late");
+    }
+
+    @Test
+    public void destroyedScreenIsCollectableWhileARepositoryHoldsItsCallback() throws InterruptedException {
+        Screen screen = new Screen();
+        // What a repository keeps until its request, which the scope cannot cancel, finishes
+        DataCallback<String> inFlight = screen.refresh();
+        WeakReference<Screen> reference = new WeakReference<>(screen);
+
+        screen.destroy();
+        screen = null;
+        collectGarbage(reference);
+
+        assertNull("the repository's callback still reaches the destroyed screen", reference.get());
+        inFlight.onData("late", false);
+    }
+
+    @Test
+    public void liveScreenIsKeptByItsCallInFlight() throws InterruptedException {
+        // Shows the checks above can see a leak: without the destroy the screen stays reachable
+        InFlightCall call = new InFlightCall();
+        Screen screen = new Screen();
+        screen.load(call);
+        WeakReference<Screen> reference = new WeakReference<>(screen);
+
+        screen = null;
+        collectGarbage(reference);
+
+        assertNotNull(reference.get());
+        call.complete("fresh");
+        assertEquals(Collections.singletonList("fresh"), reference.get().shown);
+    }
+
+    /**
+     * Runs the collector until {@code reference} is cleared or a few rounds have passed, the way
+     * LeakCanary does before it reports an object as retained.
+     */
+    private static void collectGarbage(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            Runtime.getRuntime().gc();
+            // Gives the reference queue daemon time to clear references
+            Thread.sleep(50);
+            System.runFinalization();
+        }
+    }
+
+    /**
+     * A screen whose callbacks, being inner classes, hold it and everything it shows.
+     */
+    private static class Screen implements LifecycleOwner {
+        final LifecycleRegistry lifecycle = LifecycleRegistry.createUnsafe(this);
+        final RequestScope scope;
+        final List<String> shown = new ArrayList<>();
+        // Stands in for the views
+        final byte[] views = new byte[1024 * 1024];
+
+        Screen() {
+            lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+            scope = RequestScope.of(this);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return lifecycle;
+        }
+
+        void load(Call<String> call) {
+            scope.enqueue(call, new Callback<String>() {
+                @Override
+                public void onResponse(@NonNull Call<String> call, @NonNull Response<String> response) {
+                    shown.add(response.body());
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<String> call, @NonNull Throwable t) {
+                    shown.add("error");
+                }
+            });
+        }
+
+        DataCallback<String> refresh() {
+            return scope.bind(new DataCallback<String>() {
+                @Override
+                public void onData(String data, boolean fromCache) {
+                    shown.add(data);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    shown.add("error");
+                }
+            });
+        }
+
+        void destroy() {
+            lifecycle.setCurrentState(Lifecycle.State.DESTROYED);
+        }
+    }
+
+    /**
+     * A call that holds its callback, as OkHttp's dispatcher does, until {@link #complete}.
+     */
+    private static class InFlightCall implements Call<String> {
+        private Callback<String> callback;
+        private boolean canceled;
+
+        @Override
+        public void enqueue(@NonNull Callback<String> callback) {
+            this.callback = callback;
+        }
+
+        void complete(String body) {
+            callback.onResponse(this, Response.success(body));
+        }
+
+        @NonNull
+        @Override
+        public Response<String> execute() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return callback != null;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @NonNull
+        @Override
+        public Call<String> clone() {
+            return new InFlightCall();
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://example.com/api/dashboard").build();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+    }
+
+    private DataCallback<String> dataCallback() {
+        return new DataCallback<String>() {
+            @Override
+            public void onData(String data, boolean fromCache) {
+                delivered.add(data);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                delivered.add("error");
+            }
+        };
+    }
+
+    private DashboardRepository.Callback dashboardCallback() {
+        return new DashboardRepository.Callback() {
+            @Override
+            public void onDashboard(DashboardResponse dashboard, long fetchedAt, boolean fromCache) {
+                delivered.add("dashboard " + fetchedAt);
+            }
+
+            @Override
+            public void onError(Throwable t, int httpCode) {
+                delivered.add("error " + httpCode);
+            }
+        };
+    }
+}
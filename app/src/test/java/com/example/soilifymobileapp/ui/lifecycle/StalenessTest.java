@@ -0,0 +1,48 @@
+package com.example.soilifymobileapp.ui.lifecycle;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+
+@RunWith(RobolectricTestRunner.class)
+public class StalenessTest {
+
+    private static final long MAX_AGE_MS = 60_000;
+
+    private final Staleness staleness = new Staleness(MAX_AGE_MS);
+
+    @Test
+    public void loadsOnceThenWaitsUntilStale() {
+        assertTrue(staleness.beginIfStale());
+        assertFalse("one refresh at a time", staleness.beginIfStale());
+        staleness.onLoaded();
+
+        assertFalse(staleness.beginIfStale());
+        ShadowSystemClock.advanceBy(Duration.ofMillis(MAX_AGE_MS + 1));
+        assertTrue(staleness.beginIfStale());
+    }
+
+    @Test
+    public void failureRetriesOnTheNextCall() {
+        assertTrue(staleness.beginIfStale());
+        staleness.onFailed();
+
+        assertTrue(staleness.beginIfStale());
+    }
+
+    @Test
+    public void markDirtyDuringALoadRefreshesAgainAfterIt() {
+        assertTrue(staleness.beginIfStale());
+        staleness.markDirty();
+        assertFalse(staleness.beginIfStale());
+        staleness.onLoaded();
+
+        assertTrue(staleness.beginIfStale());
+    }
+}
@@ -0,0 +1,46 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// :app is an Android application module, so a JVM module cannot depend on it. The packages
+// below have no Android dependencies and are compiled here from the app's own sources.
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include(
+                "com/example/soilifymobileapp/models/**",
+                "com/example/soilifymobileapp/network/json/**",
+                "com/example/soilifymobileapp/network/LatencyHistogram.java",
+                "com/example/soilifymobileapp/analytics/**",
+                "com/example/soilifymobileapp/importer/CsvReader.java",
+                "com/example/soilifymobileapp/ui/format/**",
+                "com/example/soilifymobileapp/ui/adapters/WeatherDataRow.java",
+                "com/example/soilifymobileapp/ui/adapters/FertiliserUsageRow.java",
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.gson)
+}
+
+// Run with ./gradlew :benchmarks:jmh; add e.g. -Pjmh.includes=ModelDecode to pick benchmarks
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    fork.set(1)
+    // The largest datasets hold a million records
+    jvmArgs.add("-Xmx2g")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
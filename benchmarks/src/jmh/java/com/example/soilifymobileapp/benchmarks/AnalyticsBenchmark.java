@@ -0,0 +1,108 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.analytics.AnalyticsEngine;
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.FarmOverview;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The analytics screens' figures from {@link AnalyticsEngine}: folding the cached rows in on
+ * first open, each query against the folded aggregates, and keeping them current as a synced
+ * edit arrives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyticsBenchmark {
+
+    private static final int TREND_DAYS = 30;
+
+    @Param({"10000", "100000", "1000000"})
+    public int records;
+
+    private List<FieldRead> fields;
+    private List<AlertRead> alerts;
+    private List<WeatherDataRead> weather;
+    private List<FertiliserUsageRead> fertiliser;
+    private AnalyticsEngine engine;
+    private WeatherDataRead edited;
+    private int edits;
+
+    @Setup
+    public void setUp() {
+        fields = Datasets.fields();
+        alerts = Datasets.alerts(500);
+        weather = Datasets.weather(records);
+        // Fertiliser is applied far less often than readings are taken
+        fertiliser = Datasets.fertiliser(records / 10);
+        engine = load();
+        edited = Datasets.weather(1).get(0);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AnalyticsEngine loadCache() {
+        return load();
+    }
+
+    @Benchmark
+    public FarmOverview overview() {
+        return engine.overview(fields, alerts, Datasets.NOW);
+    }
+
+    @Benchmark
+    public List<FertilizerByType> fertilizerByType() {
+        return engine.fertilizerByType();
+    }
+
+    @Benchmark
+    public List<WeatherTrend> weatherTrendsForFarm() {
+        return engine.weatherTrends(TREND_DAYS, null, Datasets.NOW);
+    }
+
+    @Benchmark
+    public List<WeatherTrend> weatherTrendsForField() {
+        return engine.weatherTrends(TREND_DAYS, 7, Datasets.NOW);
+    }
+
+    @Benchmark
+    public FieldAnalytics fieldAnalytics() {
+        return engine.fieldAnalytics(fields.get(6), alerts, Datasets.NOW);
+    }
+
+    /**
+     * A synced edit of one reading: the old values come out of every aggregate and the new
+     * ones go in.
+     */
+    @Benchmark
+    public AnalyticsEngine applyEdit() {
+        edited.setTemperature((float) (edits++ % 30));
+        engine.upsertWeather(Collections.singletonList(edited));
+        return engine;
+    }
+
+    private AnalyticsEngine load() {
+        AnalyticsEngine loaded = new AnalyticsEngine();
+        loaded.upsertWeather(weather);
+        loaded.upsertFertiliser(fertiliser);
+        return loaded;
+    }
+}
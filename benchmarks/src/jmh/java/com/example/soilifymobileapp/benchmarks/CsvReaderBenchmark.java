@@ -0,0 +1,48 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.importer.CsvReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenising a weather CSV export, the first stage of every import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvReaderBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        csv = Datasets.weatherCsv(rows);
+    }
+
+    @Benchmark
+    public long read(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                blackhole.consume(record);
+            }
+            return reader.getLineNumber();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Synthetic records shaped like a farm's data: a few dozen fields, readings every few minutes
+ * spread over a year, and a handful of fertiliser types. Seeded, so every run and every fork
+ * measures the same rows.
+ */
+final class Datasets {
+
+    static final int FIELDS = 40;
+    static final long NOW = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+    static final long YEAR_MS = 365L * 24 * 60 * 60 * 1000;
+
+    private static final String[] SOILS = {"Loam", "Clay", "Sandy", "Silt", "Peat"};
+    private static final String[] CROPS = {"Maize", "Wheat", "Sorghum", "Beans", "Cassava", "Tea"};
+    private static final String[] FERTILISERS = {"Urea", "DAP", "CAN", "NPK 17-17-17", "Manure", "Compost"};
+    private static final String[] WEATHER = {"Sunny", "Cloudy", "Light rain", "Heavy rain", "Windy"};
+
+    private Datasets() {
+    }
+
+    static List<FieldRead> fields() {
+        Random random = new Random(1);
+        List<FieldRead> fields = new ArrayList<>(FIELDS);
+        for (int id = 1; id <= FIELDS; id++) {
+            FieldRead field = new FieldRead();
+            field.setId(id);
+            field.setFarmerId(1);
+            field.setFieldName("Field " + id);
+            field.setSoilType(SOILS[random.nextInt(SOILS.length)]);
+            field.setCropType(CROPS[random.nextInt(CROPS.length)]);
+            field.setSizeHectares(0.5f + random.nextInt(400) / 10f);
+            field.setCreatedAt(new Date(NOW - YEAR_MS - id * 86_400_000L));
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    static List<WeatherDataRead> weather(int count) {
+        Random random = new Random(2);
+        List<WeatherDataRead> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int fieldId = 1 + random.nextInt(FIELDS);
+            WeatherDataRead row = new WeatherDataRead();
+            row.setId(i + 1);
+            row.setFieldId(fieldId);
+            row.setFieldName("Field " + fieldId);
+            row.setTemperature(round(8 + random.nextFloat() * 27));
+            // Most readings are dry
+            row.setRainfall(random.nextInt(5) == 0 ? round(random.nextFloat() * 40) : 0f);
+            row.setSoilMoisture(random.nextInt(20) == 0 ? null : round(10 + random.nextFloat() * 60));
+            // Whole seconds, as the server sends them
+            row.setCreatedAt(new Date(NOW - (long) (random.nextDouble() * YEAR_MS) / 1000 * 1000));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<FertiliserUsageRead> fertiliser(int count) {
+        Random random = new Random(3);
+        SimpleDateFormat day = utc("yyyy-MM-dd");
+        SimpleDateFormat timestamp = utc("yyyy-MM-dd'T'HH:mm:ss");
+        List<FertiliserUsageRead> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int fieldId = 1 + random.nextInt(FIELDS);
+            Date applied = new Date(NOW - (long) (random.nextDouble() * YEAR_MS));
+            FertiliserUsageRead row = new FertiliserUsageRead();
+            row.setId(i + 1);
+            row.setFarmerId(1);
+            row.setFieldId(fieldId);
+            row.setFieldName("Field " + fieldId);
+            row.setFertiliserType(FERTILISERS[random.nextInt(FERTILISERS.length)]);
+            row.setAmountKg(round(5 + random.nextFloat() * 245));
+            row.setWeather(WEATHER[random.nextInt(WEATHER.length)]);
+            row.setNotes(random.nextInt(3) == 0 ? "Applied before planting, split dose" : null);
+            row.setDate(day.format(applied));
+            row.setCreatedAt(timestamp.format(applied));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<AlertRead> alerts(int count) {
+        Random random = new Random(4);
+        List<AlertRead> alerts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int fieldId = 1 + random.nextInt(FIELDS);
+            AlertRead alert = new AlertRead();
+            alert.setId(i + 1);
+            alert.setFarmerId(1);
+            alert.setFarmerName("Wanjiru Kamau");
+            alert.setFieldId(fieldId);
+            alert.setFieldName("Field " + fieldId);
+            alert.setMessage("Soil moisture below 20% for 3 days");
+            alert.setCreatedAt(new Date(NOW - (long) (random.nextDouble() * YEAR_MS) / 1000 * 1000));
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+
+    /**
+     * {@code count} instances of {@code model}, for models without a dedicated generator: every
+     * serialized field gets a value that varies from one instance to the next.
+     */
+    static List<Object> generic(Class<?> model, int count) {
+        Random random = new Random(5);
+        List<Object> rows = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Object row = model.getDeclaredConstructor().newInstance();
+                for (Field field : model.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    field.set(row, value(field.getType(), field.getName(), i, random));
+                }
+                rows.add(row);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build " + model.getSimpleName(), e);
+        }
+        return rows;
+    }
+
+    /**
+     * A CSV export in the layout the weather importer reads.
+     */
+    static String weatherCsv(int rows) {
+        SimpleDateFormat timestamp = utc("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        StringBuilder csv = new StringBuilder("field_id,timestamp,temperature,rainfall,soil_moisture,notes\r\n");
+        for (WeatherDataRead row : weather(rows)) {
+            csv.append(row.getFieldId()).append(',')
+                    .append(timestamp.format(row.getCreatedAt())).append(',')
+                    .append(row.getTemperature()).append(',')
+                    .append(row.getRainfall()).append(',')
+                    .append(row.getSoilMoisture() != null ? row.getSoilMoisture().toString() : "").append(',');
+            if (row.getId() % 10 == 0) {
+                csv.append("\"Probe moved, reading \"\"estimated\"\"\"");
+            }
+            csv.append("\r\n");
+        }
+        return csv.toString();
+    }
+
+    private static Object value(Class<?> type, String name, int i, Random random) {
+        if (type == int.class || type == Integer.class) {
+            return 1 + random.nextInt(10_000);
+        } else if (type == float.class || type == Float.class) {
+            return round(random.nextFloat() * 100);
+        } else if (type == String.class) {
+            return name + " " + (i % 50);
+        } else if (type == Date.class) {
+            return new Date(NOW - (long) (random.nextDouble() * YEAR_MS) / 1000 * 1000);
+        }
+        throw new IllegalArgumentException("No generator for " + type + " " + name);
+    }
+
+    private static float round(float value) {
+        return Math.round(value * 10) / 10f;
+    }
+
+    private static SimpleDateFormat utc(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.network.LatencyHistogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording a request's latency, which every HTTP call does, and reading the percentiles for
+ * the metrics report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LatencyHistogramBenchmark {
+
+    private static final int SAMPLES = 1 << 16;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final long[] samples = new long[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Log-normal-ish: most calls take tens of milliseconds, a few take seconds
+            samples[i] = (long) Math.exp(10 + random.nextGaussian() * 1.2);
+        }
+        for (long sample : samples) {
+            histogram.record(sample);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(samples[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * The network dispatcher's threads recording at once.
+     */
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(samples[ThreadLocalRandom.current().nextInt(SAMPLES)]);
+    }
+
+    @Benchmark
+    public long p95() {
+        return histogram.getPercentileMicros(95);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.models.AlertRead;
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.FertilizerByType;
+import com.example.soilifymobileapp.models.FieldAnalytics;
+import com.example.soilifymobileapp.models.FieldOption;
+import com.example.soilifymobileapp.models.FieldRead;
+import com.example.soilifymobileapp.models.WeatherDataCreate;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.models.WeatherTrend;
+import com.example.soilifymobileapp.network.json.JsonListReader;
+import com.example.soilifymobileapp.network.json.ModelAdapters;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a JSON array of each list model, as ApiClient's Gson does it (with
+ * {@link ModelAdapters}), as plain reflective Gson would, and streamed in batches the way
+ * DeltaSyncEngine reads sync pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModelDecodeBenchmark {
+
+    @Param({"WeatherDataRead", "WeatherDataCreate", "FertiliserUsageRead", "AlertRead", "FieldRead",
+            "FieldOption", "FertilizerByType", "WeatherTrend", "FieldAnalytics"})
+    public String model;
+
+    @Param({"10000", "100000", "1000000"})
+    public int records;
+
+    private final Gson adapted = new GsonBuilder().registerTypeAdapterFactory(new ModelAdapters()).create();
+    private final Gson reflective = new Gson();
+
+    private String json;
+    private Type listType;
+    private TypeAdapter<?> adapter;
+
+    @Setup
+    public void setUp() {
+        Class<?> type = modelClass(model);
+        List<?> rows;
+        if (type == WeatherDataRead.class) {
+            rows = Datasets.weather(records);
+        } else if (type == FertiliserUsageRead.class) {
+            rows = Datasets.fertiliser(records);
+        } else if (type == AlertRead.class) {
+            rows = Datasets.alerts(records);
+        } else {
+            rows = Datasets.generic(type, records);
+        }
+        listType = TypeToken.getParameterized(List.class, type).getType();
+        json = adapted.toJson(rows, listType);
+        adapter = adapted.getAdapter(type);
+    }
+
+    @Benchmark
+    public List<?> adapters() {
+        return adapted.fromJson(json, listType);
+    }
+
+    @Benchmark
+    public List<?> reflection() {
+        return reflective.fromJson(json, listType);
+    }
+
+    @Benchmark
+    public int streamedInPages(Blackhole blackhole) throws IOException {
+        return JsonListReader.read(new StringReader(json), adapter, 100, batch -> {
+            blackhole.consume(batch);
+            return true;
+        });
+    }
+
+    private static Class<?> modelClass(String name) {
+        switch (name) {
+            case "WeatherDataRead":
+                return WeatherDataRead.class;
+            case "WeatherDataCreate":
+                return WeatherDataCreate.class;
+            case "FertiliserUsageRead":
+                return FertiliserUsageRead.class;
+            case "AlertRead":
+                return AlertRead.class;
+            case "FieldRead":
+                return FieldRead.class;
+            case "FieldOption":
+                return FieldOption.class;
+            case "FertilizerByType":
+                return FertilizerByType.class;
+            case "WeatherTrend":
+                return WeatherTrend.class;
+            case "FieldAnalytics":
+                return FieldAnalytics.class;
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.models.QueryResultTable;
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An NL-to-SQL result: decoding it into columns, then the sorts and filters the results
+ * screen runs as the user taps headers and types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueryResultTableBenchmark {
+
+    private static final int FIELD_NAME = 1;
+    private static final int TEMPERATURE = 3;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private final Gson gson = new Gson();
+    private String json;
+    private QueryResultTable table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(6);
+        StringBuilder out = new StringBuilder(rows * 64);
+        out.append("{\"columns\":[\"id\",\"field_name\",\"day\",\"avg_temperature\",\"total_rainfall\"],\"rows\":[");
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                out.append(',');
+            }
+            out.append('[').append(row + 1)
+                    .append(",\"Field ").append(1 + random.nextInt(Datasets.FIELDS)).append('"')
+                    .append(",\"2024-").append(String.format("%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28))).append('"')
+                    .append(',').append(Math.round(random.nextDouble() * 300) / 10.0)
+                    // Some days have no rain gauge reading
+                    .append(',').append(random.nextInt(8) == 0 ? "null" : String.valueOf(random.nextInt(400) / 10.0))
+                    .append(']');
+        }
+        json = out.append("]}").toString();
+        table = decode();
+    }
+
+    @Benchmark
+    public QueryResultTable decode() {
+        return gson.fromJson(json, QueryResultTable.class);
+    }
+
+    @Benchmark
+    public int[] sortByNumber() {
+        return table.query(TEMPERATURE, false, null);
+    }
+
+    @Benchmark
+    public int[] sortByText() {
+        return table.query(FIELD_NAME, true, null);
+    }
+
+    @Benchmark
+    public int[] filter() {
+        return table.query(-1, true, "field 12");
+    }
+}
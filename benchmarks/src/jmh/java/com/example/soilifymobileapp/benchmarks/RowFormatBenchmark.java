@@ -0,0 +1,111 @@
+package com.example.soilifymobileapp.benchmarks;
+
+import com.example.soilifymobileapp.models.FertiliserUsageRead;
+import com.example.soilifymobileapp.models.WeatherDataRead;
+import com.example.soilifymobileapp.ui.adapters.FertiliserUsageRow;
+import com.example.soilifymobileapp.ui.adapters.WeatherDataRow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning records into the display strings the list adapters bind, once per record as a page
+ * arrives, plus the date handling the fertiliser edit dialog does each time it opens. The
+ * baselines repeat what the adapters did on every bind before rows were formatted ahead of time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowFormatBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int records;
+
+    private List<WeatherDataRead> weather;
+    private List<FertiliserUsageRead> fertiliser;
+
+    @Setup
+    public void setUp() {
+        weather = Datasets.weather(records);
+        fertiliser = Datasets.fertiliser(records);
+    }
+
+    @Benchmark
+    public void weatherRows(Blackhole blackhole) {
+        for (WeatherDataRead row : weather) {
+            blackhole.consume(WeatherDataRow.from(row));
+        }
+    }
+
+    /**
+     * The strings WeatherDataAdapter used to build in onBindViewHolder: a String.format per
+     * reading and a new SimpleDateFormat for the date.
+     */
+    @Benchmark
+    public void weatherRowsBaseline(Blackhole blackhole) {
+        for (WeatherDataRead row : weather) {
+            blackhole.consume(String.format(Locale.getDefault(), "Temperature: %.1f°C", row.getTemperature()));
+            blackhole.consume(String.format(Locale.getDefault(), "Rainfall: %.1fmm", row.getRainfall()));
+            blackhole.consume(String.format(Locale.getDefault(), "Soil Moisture: %.1f%%", row.getSoilMoisture()));
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+            blackhole.consume(sdf.format(row.getCreatedAt()));
+        }
+    }
+
+    @Benchmark
+    public void fertiliserRows(Blackhole blackhole) {
+        for (FertiliserUsageRead row : fertiliser) {
+            blackhole.consume(FertiliserUsageRow.from(row));
+        }
+    }
+
+    /**
+     * The strings FertiliserUsageAdapter used to build in onBindViewHolder.
+     */
+    @Benchmark
+    public void fertiliserRowsBaseline(Blackhole blackhole) {
+        for (FertiliserUsageRead row : fertiliser) {
+            blackhole.consume("Fertiliser: " + row.getFertiliserType());
+            blackhole.consume(String.format(Locale.getDefault(), "Amount: %.2f kg", row.getAmountKg()));
+            blackhole.consume("Date: " + (row.getDate() != null ? row.getDate() : "N/A"));
+            blackhole.consume("Weather: " + (row.getWeather() != null ? row.getWeather() : "N/A"));
+            blackhole.consume("Notes: " + (row.getNotes() != null ? row.getNotes() : "N/A"));
+        }
+    }
+
+    /**
+     * What RecordFertiliserActivity.showAddEditFertiliserDialog does with the record's date:
+     * build a formatter, parse the date into a calendar and format it for the button.
+     */
+    @Benchmark
+    public void fertiliserDialogDates(Blackhole blackhole) {
+        for (FertiliserUsageRead row : fertiliser) {
+            Calendar calendar = Calendar.getInstance();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+            try {
+                Date parsedDate = dateFormat.parse(row.getDate());
+                if (parsedDate != null) {
+                    calendar.setTime(parsedDate);
+                }
+            } catch (ParseException e) {
+                // The dialog falls back to today
+            }
+            blackhole.consume(dateFormat.format(calendar.getTime()));
+        }
+    }
+}
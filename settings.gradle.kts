@@ -22,3 +22,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "SoilifyMobileApp"
 include(":app")
+include(":benchmarks")